@@ -1,15 +1,36 @@
 package org.carlspring.strongbox.services;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Set;
 
 import org.carlspring.strongbox.data.criteria.Selector;
+import org.carlspring.strongbox.dependency.snippet.CodeSnippet;
 import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.storage.search.SearchResultField;
 import org.carlspring.strongbox.storage.search.SearchResults;
 
 public interface AqlSearchService
 {
 
+    /**
+     * Searches with the {@link SearchResultField#DEFAULT default} projection.
+     */
     public SearchResults search(Selector<ArtifactEntry> selector)
         throws IOException;
 
+    /**
+     * @param fields the parts of each {@link org.carlspring.strongbox.storage.search.SearchResult} to populate
+     */
+    public SearchResults search(Selector<ArtifactEntry> selector,
+                                Set<SearchResultField> fields)
+        throws IOException;
+
+    /**
+     * @return the dependency snippets of the artifact, or <code>null</code> if there is no such artifact
+     */
+    public List<CodeSnippet> generateSnippets(String storageId,
+                                              String repositoryId,
+                                              String path);
+
 }
@@ -1,5 +1,7 @@
 package org.carlspring.strongbox.services.impl;
 
+import org.carlspring.strongbox.configuration.Configuration;
+import org.carlspring.strongbox.configuration.ConfigurationManager;
 import org.carlspring.strongbox.data.criteria.DetachQueryTemplate;
 import org.carlspring.strongbox.data.criteria.OQueryTemplate;
 import org.carlspring.strongbox.data.criteria.QueryTemplate;
@@ -7,23 +9,32 @@ import org.carlspring.strongbox.data.criteria.Selector;
 import org.carlspring.strongbox.dependency.snippet.CodeSnippet;
 import org.carlspring.strongbox.dependency.snippet.SnippetGenerator;
 import org.carlspring.strongbox.domain.ArtifactEntry;
-import org.carlspring.strongbox.providers.io.RepositoryFiles;
-import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.services.AqlSearchService;
-import org.carlspring.strongbox.services.ArtifactResolutionService;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.storage.search.SearchResult;
+import org.carlspring.strongbox.storage.search.SearchResultField;
 import org.carlspring.strongbox.storage.search.SearchResults;
 import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import javax.inject.Inject;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.transaction.Transactional;
 import java.io.IOException;
-import java.net.URL;
+import java.net.URI;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+/**
+ * Builds {@link SearchResults} straight from the matching {@link ArtifactEntry}s and the configuration: artifact URLs
+ * are derived from the base URL, and snippets and sizes are only computed when they are part of the requested
+ * projection, so that no result needs a round trip to the storage.
+ */
 @Component
 @Transactional
 public class AqlSearchServiceImpl implements AqlSearchService
@@ -33,16 +44,30 @@ public class AqlSearchServiceImpl implements AqlSearchService
     private EntityManager entityManager;
 
     @Inject
-    private ArtifactResolutionService artifactResolutionService;
+    private ConfigurationManager configurationManager;
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
 
     @Inject
     private SnippetGenerator snippetGenerator;
 
     public SearchResults search(Selector<ArtifactEntry> selector)
         throws IOException
+    {
+        return search(selector, SearchResultField.DEFAULT);
+    }
+
+    public SearchResults search(Selector<ArtifactEntry> selector,
+                                Set<SearchResultField> fields)
+        throws IOException
     {
         SearchResults result = new SearchResults();
 
+        Configuration configuration = configurationManager.getConfiguration();
+        URI baseUri = fields.contains(SearchResultField.URL) ? configurationManager.getBaseUri() : null;
+        Map<String, URI> repositoryUris = new HashMap<>();
+
         QueryTemplate<List<ArtifactEntry>, ArtifactEntry> queryTemplate = new DetachQueryTemplate<>(
                 new OQueryTemplate<>(entityManager));
         for (ArtifactEntry artifactEntry : queryTemplate.select(selector))
@@ -54,21 +79,65 @@ public class AqlSearchServiceImpl implements AqlSearchService
             r.setRepositoryId(artifactEntry.getRepositoryId());
             r.setArtifactCoordinates(artifactEntry.getArtifactCoordinates());
 
-            RepositoryPath repositoryPath = artifactResolutionService.resolvePath(artifactEntry.getStorageId(),
-                                                                                  artifactEntry.getRepositoryId(),
-                                                                                  artifactEntry.getArtifactPath());
+            if (baseUri != null)
+            {
+                URI repositoryUri = repositoryUris.computeIfAbsent(
+                        artifactEntry.getStorageId() + ":" + artifactEntry.getRepositoryId(),
+                        k -> UriComponentsBuilder.fromUri(baseUri)
+                                                 .pathSegment("storages",
+                                                              artifactEntry.getStorageId(),
+                                                              artifactEntry.getRepositoryId(),
+                                                              "/")
+                                                 .build()
+                                                 .toUri());
 
-            Repository repository = repositoryPath.getRepository();
+                r.setUrl(repositoryUri.resolve(artifactEntry.getArtifactCoordinates().toResource()).toString());
+            }
 
-            URL artifactResource = RepositoryFiles.readResourceUrl(repositoryPath);
-            r.setUrl(artifactResource.toString());
+            if (fields.contains(SearchResultField.SIZE))
+            {
+                r.setSizeInBytes(artifactEntry.getSizeInBytes());
+            }
 
-            List<CodeSnippet> snippets = snippetGenerator.generateSnippets(repository.getLayout(),
-                                                                             artifactEntry.getArtifactCoordinates());
-            r.setSnippets(snippets);
+            if (fields.contains(SearchResultField.SNIPPETS))
+            {
+                Repository repository = getRepository(configuration, artifactEntry);
+                if (repository != null)
+                {
+                    r.setSnippets(snippetGenerator.generateSnippets(repository.getLayout(),
+                                                                    artifactEntry.getArtifactCoordinates()));
+                }
+            }
         }
 
         return result;
     }
 
+    public List<CodeSnippet> generateSnippets(String storageId,
+                                              String repositoryId,
+                                              String path)
+    {
+        ArtifactEntry artifactEntry = artifactEntryService.findOneArtifact(storageId, repositoryId, path);
+        if (artifactEntry == null)
+        {
+            return null;
+        }
+
+        Repository repository = getRepository(configurationManager.getConfiguration(), artifactEntry);
+        if (repository == null)
+        {
+            return null;
+        }
+
+        return snippetGenerator.generateSnippets(repository.getLayout(), artifactEntry.getArtifactCoordinates());
+    }
+
+    private Repository getRepository(Configuration configuration,
+                                      ArtifactEntry artifactEntry)
+    {
+        Storage storage = configuration.getStorage(artifactEntry.getStorageId());
+
+        return storage != null ? storage.getRepository(artifactEntry.getRepositoryId()) : null;
+    }
+
 }
@@ -4,6 +4,7 @@ import javax.ws.rs.client.Client;
 import javax.ws.rs.client.Invocation;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 import java.io.Closeable;
 
@@ -95,6 +96,36 @@ public class RestArtifactResolver
         return new CloseableRestResponse(response);
     }
 
+    /**
+     * A conditional GET: the remote answers with <code>304 Not Modified</code> and no body when the resource still
+     * matches the given validators (either can be <code>null</code>).
+     */
+    public CloseableRestResponse getIfModified(String path,
+                                               String etag,
+                                               String lastModified)
+    {
+        String url = escapeUrl(path);
+
+        logger.debug("Revalidating " + url + "...");
+
+        WebTarget resource = new WebTargetBuilder(url)
+                                     .withAuthentication()
+                                     .customRequestConfig()
+                                     .build();
+
+        Invocation.Builder request = resource.request();
+        if (etag != null)
+        {
+            request = request.header(HttpHeaders.IF_NONE_MATCH, etag);
+        }
+        if (lastModified != null)
+        {
+            request = request.header(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+        }
+
+        return new CloseableRestResponse(request.get());
+    }
+
     public CloseableRestResponse head(String path)
     {
         String url = escapeUrl(path);
@@ -0,0 +1,149 @@
+package org.carlspring.strongbox.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Breaks the time spent serving a request down into phases (routing, group traversal, lock waits, database lookups,
+ * remote fetches, checksums, response copy).
+ * <p>
+ * A timing context is bound to the request thread by {@link #start()} and released by {@link #end()}. The storage and
+ * provider layers wrap their phases with {@link #phase(String)}, which returns a no-op when there is no context, so
+ * that code running outside of a request (cron jobs, event listeners) does not pay for it. Phases can nest (a lock wait
+ * during a remote fetch is counted in both), so their durations don't necessarily add up to the total.
+ */
+public final class RequestTimings
+{
+
+    public static final String ROUTING = "routing";
+
+    public static final String GROUP = "group";
+
+    public static final String LOCK = "lock";
+
+    public static final String DATABASE = "db";
+
+    public static final String REMOTE = "remote";
+
+    public static final String CHECKSUM = "checksum";
+
+    public static final String COPY = "copy";
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private static final Phase NO_PHASE = () -> {
+    };
+
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * The total time, in nanoseconds, and the number of occurrences of each phase, in the order they first occurred.
+     */
+    private final Map<String, long[]> phases = new LinkedHashMap<>();
+
+    private RequestTimings()
+    {
+    }
+
+    public static RequestTimings start()
+    {
+        RequestTimings result = new RequestTimings();
+        CURRENT.set(result);
+
+        return result;
+    }
+
+    public static RequestTimings current()
+    {
+        return CURRENT.get();
+    }
+
+    public static void end()
+    {
+        CURRENT.remove();
+    }
+
+    /**
+     * Starts timing a phase of the current request; the phase ends when the returned {@link Phase} is closed.
+     */
+    public static Phase phase(String name)
+    {
+        RequestTimings timings = CURRENT.get();
+        if (timings == null)
+        {
+            return NO_PHASE;
+        }
+
+        long phaseStartNanos = System.nanoTime();
+
+        return () -> timings.record(name, System.nanoTime() - phaseStartNanos);
+    }
+
+    public void record(String name,
+                       long nanos)
+    {
+        long[] phase = phases.computeIfAbsent(name, k -> new long[2]);
+        phase[0] += nanos;
+        phase[1]++;
+    }
+
+    public long getElapsed(TimeUnit unit)
+    {
+        return unit.convert(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the breakdown for the logs, like <code>routing=0.12ms db=3.40ms(x2) copy=812.00ms</code>
+     */
+    public String toLogString()
+    {
+        StringBuilder result = new StringBuilder();
+        for (Map.Entry<String, long[]> phase : phases.entrySet())
+        {
+            if (result.length() > 0)
+            {
+                result.append(' ');
+            }
+
+            result.append(phase.getKey()).append('=').append(toMillis(phase.getValue()[0])).append("ms");
+            if (phase.getValue()[1] > 1)
+            {
+                result.append("(x").append(phase.getValue()[1]).append(')');
+            }
+        }
+
+        return result.toString();
+    }
+
+    /**
+     * @return the breakdown as a <code>Server-Timing</code> header value, including the time elapsed so far
+     */
+    public String toServerTiming()
+    {
+        StringBuilder result = new StringBuilder();
+        for (Map.Entry<String, long[]> phase : phases.entrySet())
+        {
+            result.append(phase.getKey()).append(";dur=").append(toMillis(phase.getValue()[0])).append(", ");
+        }
+
+        return result.append("total;dur=").append(toMillis(System.nanoTime() - startNanos)).toString();
+    }
+
+    private static String toMillis(long nanos)
+    {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000d);
+    }
+
+    @FunctionalInterface
+    public interface Phase
+            extends AutoCloseable
+    {
+
+        @Override
+        void close();
+
+    }
+
+}
@@ -0,0 +1,128 @@
+package org.carlspring.strongbox.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The meters of the hot paths of Strongbox.
+ * <p>
+ * Meters are registered in the global Micrometer registry, to which Spring Boot adds the registries it configures, such
+ * as the Prometheus one scraped from <code>/api/monitoring/prometheus</code>. Until a registry is added, recording is
+ * a no-op. Timers do not publish histograms, and tags are limited to bounded values (storage and repository ids,
+ * outcomes, class names), so that the meters can stay on in production.
+ */
+public final class StrongboxMetrics
+{
+
+    public static final String ARTIFACT_DOWNLOADS = "strongbox.artifact.downloads";
+
+    public static final String ARTIFACT_DOWNLOADED_BYTES = "strongbox.artifact.downloaded.bytes";
+
+    public static final String ARTIFACT_UPLOADS = "strongbox.artifact.uploads";
+
+    public static final String PROXY_REQUESTS = "strongbox.proxy.requests";
+
+    public static final String PROXY_REMOTE_FETCHES = "strongbox.proxy.remote.fetches";
+
+    public static final String GROUP_RESOLUTIONS = "strongbox.group.resolutions";
+
+    public static final String LOCK_WAITS = "strongbox.lock.waits";
+
+    public static final String EVENTS = "strongbox.events";
+
+    public static final String EVENT_QUEUE_SIZE = "strongbox.events.queue.size";
+
+    public static final String EVENT_EXECUTOR_ACTIVE = "strongbox.events.executor.active";
+
+    public static final String EVENTS_DROPPED = "strongbox.events.dropped";
+
+    public static final String DATABASE_QUERIES = "strongbox.database.queries";
+
+    public static final String CRON_JOBS = "strongbox.cron.jobs";
+
+    public static final String TAG_STORAGE = "storage";
+
+    public static final String TAG_REPOSITORY = "repository";
+
+    public static final String TAG_OUTCOME = "outcome";
+
+    public static final String TAG_MODE = "mode";
+
+    public static final String TAG_TYPE = "type";
+
+    public static final String TAG_QUERY = "query";
+
+    public static final String TAG_JOB = "job";
+
+    public static final String TAG_EXECUTOR = "executor";
+
+    public static final String OUTCOME_SUCCESS = "success";
+
+    public static final String OUTCOME_FAILURE = "failure";
+
+    public static final String OUTCOME_HIT = "hit";
+
+    public static final String OUTCOME_MISS = "miss";
+
+    public static final String OUTCOME_NOT_FOUND = "not-found";
+
+    public static final String OUTCOME_NOT_MODIFIED = "not-modified";
+
+    public static final String OUTCOME_CANCELLED = "cancelled";
+
+    private StrongboxMetrics()
+    {
+    }
+
+    public static MeterRegistry registry()
+    {
+        return Metrics.globalRegistry;
+    }
+
+    public static Timer timer(String name,
+                              String storageId,
+                              String repositoryId,
+                              String outcome)
+    {
+        return Timer.builder(name)
+                    .tag(TAG_STORAGE, String.valueOf(storageId))
+                    .tag(TAG_REPOSITORY, String.valueOf(repositoryId))
+                    .tag(TAG_OUTCOME, outcome)
+                    .register(registry());
+    }
+
+    public static Counter counter(String name,
+                                  String storageId,
+                                  String repositoryId,
+                                  String outcome)
+    {
+        return Counter.builder(name)
+                      .tag(TAG_STORAGE, String.valueOf(storageId))
+                      .tag(TAG_REPOSITORY, String.valueOf(repositoryId))
+                      .tag(TAG_OUTCOME, outcome)
+                      .register(registry());
+    }
+
+    public static Counter byteCounter(String name,
+                                      String storageId,
+                                      String repositoryId)
+    {
+        return Counter.builder(name)
+                      .baseUnit("bytes")
+                      .tag(TAG_STORAGE, String.valueOf(storageId))
+                      .tag(TAG_REPOSITORY, String.valueOf(repositoryId))
+                      .register(registry());
+    }
+
+    public static Timer timer(String name,
+                              String tagKey,
+                              String tagValue)
+    {
+        return Timer.builder(name)
+                    .tag(tagKey, tagValue)
+                    .register(registry());
+    }
+
+}
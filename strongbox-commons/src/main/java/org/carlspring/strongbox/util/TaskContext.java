@@ -0,0 +1,160 @@
+package org.carlspring.strongbox.util;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Tracks the progress of a long running task (a cron job, for example) and lets it be cancelled.
+ * <p>
+ * The context is bound to the thread running the task, and the code doing the actual work (storage walkers, index
+ * downloads) calls {@link #checkpoint()} between units of work: it counts the unit, and throws a
+ * {@link CancellationException} once the task has been {@link #cancel() cancelled}. Outside of a task, a checkpoint
+ * does nothing. Cancellation is cooperative: the current unit of work is always completed, so that files and indexes
+ * are never left half written.
+ */
+public class TaskContext
+{
+
+    private static final ThreadLocal<TaskContext> CURRENT = new ThreadLocal<>();
+
+    private static final long REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final String name;
+
+    private final long startTime = System.currentTimeMillis();
+
+    private final AtomicLong processed = new AtomicLong();
+
+    private volatile String stage;
+
+    private volatile boolean cancelled;
+
+    private volatile Consumer<TaskContext> progressListener;
+
+    private long lastReportNanos = System.nanoTime();
+
+    public TaskContext(String name)
+    {
+        this.name = name;
+    }
+
+    public static TaskContext bind(TaskContext context)
+    {
+        CURRENT.set(context);
+
+        return context;
+    }
+
+    public static void unbind()
+    {
+        CURRENT.remove();
+    }
+
+    public static TaskContext current()
+    {
+        return CURRENT.get();
+    }
+
+    /**
+     * Counts a unit of work of the current task.
+     *
+     * @throws CancellationException if the current task has been cancelled
+     */
+    public static void checkpoint()
+    {
+        TaskContext context = CURRENT.get();
+        if (context == null)
+        {
+            return;
+        }
+
+        context.checkCancelled();
+        context.processed.incrementAndGet();
+        context.reportProgress(false);
+    }
+
+    /**
+     * Starts a new stage of the current task, like the repository being walked.
+     *
+     * @throws CancellationException if the current task has been cancelled
+     */
+    public static void stage(String stage)
+    {
+        TaskContext context = CURRENT.get();
+        if (context == null)
+        {
+            return;
+        }
+
+        context.checkCancelled();
+        context.stage = stage;
+        context.reportProgress(true);
+    }
+
+    public void cancel()
+    {
+        cancelled = true;
+    }
+
+    public boolean isCancelled()
+    {
+        return cancelled;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public long getStartTime()
+    {
+        return startTime;
+    }
+
+    public long getProcessed()
+    {
+        return processed.get();
+    }
+
+    public String getStage()
+    {
+        return stage;
+    }
+
+    /**
+     * @param progressListener called on stage changes and, at most once per second, on checkpoints
+     */
+    public void setProgressListener(Consumer<TaskContext> progressListener)
+    {
+        this.progressListener = progressListener;
+    }
+
+    private void checkCancelled()
+    {
+        if (cancelled)
+        {
+            throw new CancellationException(String.format("Task [%s] cancelled.", name));
+        }
+    }
+
+    private void reportProgress(boolean force)
+    {
+        Consumer<TaskContext> listener = progressListener;
+        if (listener == null)
+        {
+            return;
+        }
+
+        long now = System.nanoTime();
+        if (!force && now - lastReportNanos < REPORT_INTERVAL_NANOS)
+        {
+            return;
+        }
+
+        lastReportNanos = now;
+        listener.accept(this);
+    }
+
+}
@@ -71,6 +71,46 @@ public abstract class XmlFileManager<T>
         }
     }
 
+    /**
+     * Stores a configuration {@link #serialize(Object) serialized} beforehand, so that the file can be written
+     * without holding the lock protecting the configuration.
+     */
+    public void store(final String serialized)
+    {
+        try
+        {
+            parser.storeSerialized(serialized, getResource());
+        }
+        catch (IOException e)
+        {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+
+    public String serialize(final T configuration)
+    {
+        try
+        {
+            return parser.serialize(configuration);
+        }
+        catch (JAXBException e)
+        {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+
+    public T deserialize(final String input)
+    {
+        try
+        {
+            return parser.deserialize(input);
+        }
+        catch (JAXBException e)
+        {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+
     public T read()
     {
         Resource resource;
@@ -13,9 +13,12 @@ import javax.xml.bind.Unmarshaller;
 import java.io.*;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Set;
@@ -146,14 +149,73 @@ public class GenericParser<T>
         store(object, Paths.get(fileResource.getURI()));
     }
     
+    /**
+     * Writes to a temporary sibling file first, and renames it over the target, so that readers never see a partially
+     * written file, and a failed write leaves the previous file in place.
+     */
     public void store(T object,
                       Path path)
             throws JAXBException, IOException
     {
+        Path tempPath = getTempPath(path);
+        try
+        {
+            try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(tempPath)))
+            {
+                store(object, os);
+            }
 
-        try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(path)))
+            moveIntoPlace(tempPath, path);
+        }
+        finally
+        {
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    /**
+     * Stores the output of {@link #serialize(Object)}, the same way as {@link #store(Object, Path)}.
+     */
+    public void storeSerialized(String serialized,
+                                Resource fileResource)
+            throws IOException
+    {
+        if (!fileResource.isFile() || fileResource instanceof ClassPathResource)
+        {
+            logger.warn(String.format("Skip resource store [%s]", fileResource));
+            return;
+        }
+
+        Path path = Paths.get(fileResource.getURI());
+        Path tempPath = getTempPath(path);
+        try
+        {
+            Files.write(tempPath, serialized.getBytes(StandardCharsets.UTF_8));
+
+            moveIntoPlace(tempPath, path);
+        }
+        finally
+        {
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    private Path getTempPath(Path path)
+    {
+        return path.resolveSibling(path.getFileName() + ".tmp");
+    }
+
+    private void moveIntoPlace(Path tempPath,
+                               Path path)
+            throws IOException
+    {
+        try
+        {
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (AtomicMoveNotSupportedException e)
         {
-            store(object, os);
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
         }
     }
 
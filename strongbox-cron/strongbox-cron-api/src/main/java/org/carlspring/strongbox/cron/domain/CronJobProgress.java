@@ -0,0 +1,159 @@
+package org.carlspring.strongbox.cron.domain;
+
+import org.carlspring.strongbox.util.TaskContext;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * The progress of the latest execution of a cron job, as seen from any node of the cluster.
+ */
+@XmlRootElement(name = "cron-job-progress")
+@XmlAccessorType(XmlAccessType.NONE)
+public class CronJobProgress
+        implements Serializable
+{
+
+    @XmlElement(name = "uuid")
+    private String uuid;
+
+    @XmlElement(name = "name")
+    private String name;
+
+    @XmlElement(name = "node")
+    private String node;
+
+    @XmlElement(name = "started")
+    private Date started;
+
+    @XmlElement(name = "updated")
+    private Date updated;
+
+    @XmlElement(name = "stage")
+    private String stage;
+
+    @XmlElement(name = "processed")
+    private long processed;
+
+    @XmlElement(name = "running")
+    private boolean running;
+
+    @XmlElement(name = "cancelled")
+    private boolean cancelled;
+
+
+    public CronJobProgress()
+    {
+    }
+
+    public CronJobProgress(String uuid,
+                           String node,
+                           TaskContext context,
+                           boolean running)
+    {
+        this.uuid = uuid;
+        this.name = context.getName();
+        this.node = node;
+        this.started = new Date(context.getStartTime());
+        this.updated = new Date();
+        this.stage = context.getStage();
+        this.processed = context.getProcessed();
+        this.running = running;
+        this.cancelled = context.isCancelled();
+    }
+
+    public String getUuid()
+    {
+        return uuid;
+    }
+
+    public void setUuid(String uuid)
+    {
+        this.uuid = uuid;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public void setName(String name)
+    {
+        this.name = name;
+    }
+
+    public String getNode()
+    {
+        return node;
+    }
+
+    public void setNode(String node)
+    {
+        this.node = node;
+    }
+
+    public Date getStarted()
+    {
+        return started;
+    }
+
+    public void setStarted(Date started)
+    {
+        this.started = started;
+    }
+
+    public Date getUpdated()
+    {
+        return updated;
+    }
+
+    public void setUpdated(Date updated)
+    {
+        this.updated = updated;
+    }
+
+    public String getStage()
+    {
+        return stage;
+    }
+
+    public void setStage(String stage)
+    {
+        this.stage = stage;
+    }
+
+    public long getProcessed()
+    {
+        return processed;
+    }
+
+    public void setProcessed(long processed)
+    {
+        this.processed = processed;
+    }
+
+    public boolean isRunning()
+    {
+        return running;
+    }
+
+    public void setRunning(boolean running)
+    {
+        this.running = running;
+    }
+
+    public boolean isCancelled()
+    {
+        return cancelled;
+    }
+
+    public void setCancelled(boolean cancelled)
+    {
+        this.cancelled = cancelled;
+    }
+
+}
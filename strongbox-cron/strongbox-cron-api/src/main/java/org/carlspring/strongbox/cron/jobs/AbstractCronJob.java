@@ -2,12 +2,17 @@ package org.carlspring.strongbox.cron.jobs;
 
 import org.carlspring.strongbox.cron.CronJobStatusEnum;
 import org.carlspring.strongbox.cron.domain.CronTaskConfigurationDto;
+import org.carlspring.strongbox.cron.services.CronJobCoordinator;
 import org.carlspring.strongbox.cron.services.CronTaskConfigurationService;
 import org.carlspring.strongbox.cron.services.JobManager;
 import org.carlspring.strongbox.event.cron.CronTaskEventListenerRegistry;
+import org.carlspring.strongbox.metrics.StrongboxMetrics;
+import org.carlspring.strongbox.util.TaskContext;
 
 import javax.inject.Inject;
+import java.util.concurrent.CancellationException;
 
+import io.micrometer.core.instrument.Timer;
 import org.quartz.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,6 +21,10 @@ import org.springframework.core.env.Profiles;
 import org.springframework.scheduling.quartz.QuartzJobBean;
 
 /**
+ * Runs a cron task once per cluster at a time: a node skips the execution if another node is already running the same
+ * job, or has already run it for the same fire time. The task can be cancelled through {@link #interrupt()} or {@link CronJobCoordinator#cancel(String)}, which
+ * takes effect at the next {@link TaskContext#checkpoint() checkpoint} of the task.
+ *
  * @author carlspring
  */
 @DisallowConcurrentExecution
@@ -38,8 +47,13 @@ public abstract class AbstractCronJob
     @Inject
     protected CronTaskConfigurationService cronTaskConfigurationService;
 
+    @Inject
+    private CronJobCoordinator cronJobCoordinator;
+
     private String status = CronJobStatusEnum.SLEEPING.getStatus();
 
+    private volatile TaskContext taskContext;
+
     public abstract void executeTask(CronTaskConfigurationDto config)
         throws Throwable;
 
@@ -70,20 +84,51 @@ public abstract class AbstractCronJob
             return;
         }
 
+        TaskContext context = new TaskContext(configuration.getName());
+        if (!cronJobCoordinator.tryStart(jobKey, jobExecutionContext.getScheduledFireTime(), context))
+        {
+            logger.info(String.format("Cron job [%s] is running or has run on another node, skip execution.",
+                                      configuration.getName()));
+
+            return;
+        }
+
         logger.info(String.format("Cron job [%s] enabled, executing.", configuration.getName()));
 
         setStatus(CronJobStatusEnum.EXECUTING.getStatus());
         cronTaskEventListenerRegistry.dispatchCronTaskExecutingEvent(configuration.getName());
 
+        taskContext = TaskContext.bind(context);
+
+        Timer.Sample sample = Timer.start();
+        String outcome = StrongboxMetrics.OUTCOME_FAILURE;
         try
         {
             executeTask(configuration);
+            outcome = StrongboxMetrics.OUTCOME_SUCCESS;
             logger.info(String.format("Cron job task [%s] execution completed.", configuration.getName()));
         }
+        catch (CancellationException e)
+        {
+            outcome = StrongboxMetrics.OUTCOME_CANCELLED;
+            logger.info(String.format("Cron job task [%s] cancelled after [%s] steps.", configuration.getName(),
+                                      context.getProcessed()));
+        }
         catch (Throwable e)
         {
             logger.error(String.format("Failed to execute cron job task [%s].", configuration.getName()), e);
         }
+        finally
+        {
+            TaskContext.unbind();
+            taskContext = null;
+            cronJobCoordinator.finish(jobKey, context);
+
+            sample.stop(Timer.builder(StrongboxMetrics.CRON_JOBS)
+                             .tag(StrongboxMetrics.TAG_JOB, getClass().getSimpleName())
+                             .tag(StrongboxMetrics.TAG_OUTCOME, outcome)
+                             .register(StrongboxMetrics.registry()));
+        }
         manager.addExecutedJob(configuration.getName(), true);
 
         cronTaskEventListenerRegistry.dispatchCronTaskExecutedEvent(configuration.getName());
@@ -95,6 +140,14 @@ public abstract class AbstractCronJob
     public void interrupt()
         throws UnableToInterruptJobException
     {
+        TaskContext context = taskContext;
+        if (context == null)
+        {
+            throw new UnableToInterruptJobException(String.format("Cron job [%s] is not running.",
+                                                                  getClass().getSimpleName()));
+        }
+
+        context.cancel();
     }
 
     public boolean enabled(CronTaskConfigurationDto configuration,
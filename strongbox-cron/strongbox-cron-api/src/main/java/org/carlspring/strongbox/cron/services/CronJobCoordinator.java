@@ -0,0 +1,41 @@
+package org.carlspring.strongbox.cron.services;
+
+import org.carlspring.strongbox.cron.domain.CronJobProgress;
+import org.carlspring.strongbox.util.TaskContext;
+
+import java.util.Date;
+
+/**
+ * Makes sure that a cron job runs on a single node of the cluster at a time, and only once for each time it is fired
+ * (every node schedules the job), and shares its progress with the other nodes.
+ */
+public interface CronJobCoordinator
+{
+
+    /**
+     * Claims the execution of a job for this node. Must be followed by {@link #finish(String, TaskContext)} in the
+     * same thread, if successful.
+     *
+     * @param scheduledFireTime the time the job was scheduled to fire at, which is the same on all the nodes for a
+     *                          cron trigger; can be <code>null</code> if unknown
+     * @return <code>false</code> if the job is already running on another node, or if another node has already run it
+     *         for this (or a later) fire time
+     */
+    boolean tryStart(String jobKey,
+                     Date scheduledFireTime,
+                     TaskContext context);
+
+    void finish(String jobKey,
+                TaskContext context);
+
+    /**
+     * @return the progress of the running or latest execution of the job, or <code>null</code> if it has not run yet
+     */
+    CronJobProgress getProgress(String jobKey);
+
+    /**
+     * Asks the node running the job to stop it at its next checkpoint.
+     */
+    void cancel(String jobKey);
+
+}
@@ -0,0 +1,143 @@
+package org.carlspring.strongbox.cron.services.impl;
+
+import org.carlspring.strongbox.cron.domain.CronJobProgress;
+import org.carlspring.strongbox.cron.services.CronJobCoordinator;
+import org.carlspring.strongbox.util.TaskContext;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ILock;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.ITopic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coordinates the cron jobs through Hazelcast: a job holds a cluster-wide lock while it runs, its progress is kept in
+ * a distributed map, and cancellations are broadcast to all the nodes. The lock of a node leaving the cluster is
+ * released by Hazelcast, so that the job can run again elsewhere.
+ * <p>
+ * As every node fires the job, the latest fire time handled for each job is kept in a distributed map as well: a node
+ * which gets the lock after a quick job has already run elsewhere for the same fire time skips it.
+ */
+@Component
+public class CronJobCoordinatorImpl
+        implements CronJobCoordinator
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(CronJobCoordinatorImpl.class);
+
+    private static final String NAME = "strongbox-cron";
+
+    @Inject
+    private HazelcastInstance hazelcastInstance;
+
+    private IMap<String, CronJobProgress> progress;
+
+    private IMap<String, Long> fireTimes;
+
+    private ITopic<String> cancellations;
+
+    private final Map<String, TaskContext> runningJobs = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init()
+    {
+        progress = hazelcastInstance.getMap(NAME);
+        fireTimes = hazelcastInstance.getMap(NAME + "-fire-times");
+        cancellations = hazelcastInstance.getTopic(NAME);
+        cancellations.addMessageListener(message -> cancelLocally(message.getMessageObject()));
+    }
+
+    @Override
+    public boolean tryStart(String jobKey,
+                            Date scheduledFireTime,
+                            TaskContext context)
+    {
+        ILock lock = getLock(jobKey);
+        if (!lock.tryLock())
+        {
+            return false;
+        }
+
+        if (scheduledFireTime != null)
+        {
+            // Only updated under the lock of the job.
+            Long lastFireTime = fireTimes.get(jobKey);
+            if (lastFireTime != null && lastFireTime >= scheduledFireTime.getTime())
+            {
+                lock.unlock();
+
+                return false;
+            }
+
+            fireTimes.set(jobKey, scheduledFireTime.getTime());
+        }
+
+        runningJobs.put(jobKey, context);
+        context.setProgressListener(c -> publishProgress(jobKey, c, true));
+        publishProgress(jobKey, context, true);
+
+        return true;
+    }
+
+    @Override
+    public void finish(String jobKey,
+                       TaskContext context)
+    {
+        try
+        {
+            context.setProgressListener(null);
+            runningJobs.remove(jobKey, context);
+            publishProgress(jobKey, context, false);
+        }
+        finally
+        {
+            getLock(jobKey).unlock();
+        }
+    }
+
+    @Override
+    public CronJobProgress getProgress(String jobKey)
+    {
+        return progress.get(jobKey);
+    }
+
+    @Override
+    public void cancel(String jobKey)
+    {
+        cancellations.publish(jobKey);
+    }
+
+    private void cancelLocally(String jobKey)
+    {
+        Optional.ofNullable(runningJobs.get(jobKey)).ifPresent(context -> {
+            logger.info(String.format("Cancelling cron job [%s].", context.getName()));
+
+            context.cancel();
+        });
+    }
+
+    private void publishProgress(String jobKey,
+                                 TaskContext context,
+                                 boolean running)
+    {
+        progress.set(jobKey, new CronJobProgress(jobKey,
+                                                 hazelcastInstance.getCluster().getLocalMember().getUuid(),
+                                                 context,
+                                                 running));
+    }
+
+    private ILock getLock(String jobKey)
+    {
+        return hazelcastInstance.getLock(NAME + "-" + jobKey);
+    }
+
+}
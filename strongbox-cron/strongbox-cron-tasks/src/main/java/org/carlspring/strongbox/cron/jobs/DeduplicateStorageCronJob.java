@@ -0,0 +1,124 @@
+package org.carlspring.strongbox.cron.jobs;
+
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.cron.domain.CronTaskConfigurationDto;
+import org.carlspring.strongbox.providers.io.BlobStore;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathLock;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.util.TaskContext;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Migrates the artifact files of storages with deduplication enabled into their {@link BlobStore}, and removes the
+ * blobs which are no longer referenced.
+ * <p>
+ * Takes an optional <code>storageId</code> property; all the storages are scanned when it is not set.
+ */
+public class DeduplicateStorageCronJob
+        extends JavaCronJob
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(DeduplicateStorageCronJob.class);
+
+    @Inject
+    private ConfigurationManager configurationManager;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @Inject
+    private RepositoryPathLock repositoryPathLock;
+
+    @Override
+    public void executeTask(CronTaskConfigurationDto config)
+            throws Throwable
+    {
+        String storageId = config.getProperty("storageId");
+
+        Collection<Storage> storages = storageId == null ?
+                                       configurationManager.getConfiguration().getStorages().values() :
+                                       Collections.singleton(configurationManager.getConfiguration()
+                                                                                 .getStorage(storageId));
+        for (Storage storage : storages)
+        {
+            if (storage == null || !storage.isDeduplicate())
+            {
+                continue;
+            }
+
+            deduplicate(storage);
+        }
+    }
+
+    private void deduplicate(Storage storage)
+            throws IOException
+    {
+        long freed = 0;
+        BlobStore blobStore = null;
+        for (Repository repository : storage.getRepositories().values())
+        {
+            RepositoryPath repositoryRoot = repositoryPathResolver.resolve(repository);
+            if (!Files.isDirectory(repositoryRoot))
+            {
+                continue;
+            }
+
+            if (blobStore == null)
+            {
+                blobStore = BlobStore.of(repositoryRoot);
+            }
+
+            TaskContext.stage(String.format("Deduplicating [%s:%s]", storage.getId(), repository.getId()));
+
+            try (Stream<Path> paths = Files.walk(repositoryRoot))
+            {
+                for (Path path : (Iterable<Path>) paths::iterator)
+                {
+                    TaskContext.checkpoint();
+
+                    RepositoryPath repositoryPath = (RepositoryPath) path;
+                    if (!Files.isRegularFile(repositoryPath) ||
+                        Boolean.TRUE.equals(RepositoryFiles.isTemp(repositoryPath)) ||
+                        !Boolean.TRUE.equals(RepositoryFiles.isArtifact(repositoryPath)) ||
+                        Boolean.TRUE.equals(RepositoryFiles.isChecksum(repositoryPath)))
+                    {
+                        continue;
+                    }
+
+                    // Digested and linked under the lock, so that an upload can't be replaced by the former content.
+                    Lock lock = repositoryPathLock.lock(repositoryPath).writeLock();
+                    lock.lock();
+                    try
+                    {
+                        freed += blobStore.deduplicate(repositoryPath);
+                    }
+                    finally
+                    {
+                        lock.unlock();
+                    }
+                }
+            }
+        }
+
+        int collected = blobStore != null ? blobStore.collectGarbage() : 0;
+
+        logger.info(String.format("Deduplicated storage [%s]: freed [%s] bytes, removed [%s] unreferenced blobs.",
+                                  storage.getId(), freed, collected));
+    }
+
+}
@@ -0,0 +1,127 @@
+package org.carlspring.strongbox.cron.services;
+
+import org.carlspring.strongbox.cron.context.CronTaskTest;
+import org.carlspring.strongbox.util.TaskContext;
+
+import javax.inject.Inject;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The cluster locks are owned by threads, so each node is simulated with a thread of its own.
+ */
+@CronTaskTest
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+public class CronJobCoordinatorTest
+{
+
+    @Inject
+    private CronJobCoordinator cronJobCoordinator;
+
+    private ExecutorService node1;
+
+    private ExecutorService node2;
+
+    private String jobKey;
+
+    @BeforeEach
+    public void setUp()
+    {
+        node1 = Executors.newSingleThreadExecutor();
+        node2 = Executors.newSingleThreadExecutor();
+        jobKey = UUID.randomUUID().toString();
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        node1.shutdownNow();
+        node2.shutdownNow();
+    }
+
+    @Test
+    public void testFireTimeIsHandledOnce()
+            throws Exception
+    {
+        Date fireTime = new Date();
+        Date nextFireTime = new Date(fireTime.getTime() + 60000);
+
+        assertTrue(run(node1, fireTime));
+
+        // The other node gets the lock once the job has completed, but for a fire time which was already handled.
+        assertFalse(run(node2, fireTime));
+        assertFalse(run(node1, fireTime));
+
+        assertTrue(run(node2, nextFireTime));
+        assertFalse(run(node1, fireTime));
+    }
+
+    @Test
+    public void testRunningJobIsNotStartedAgain()
+            throws Exception
+    {
+        Date fireTime = new Date();
+        Date nextFireTime = new Date(fireTime.getTime() + 60000);
+
+        TaskContext context = new TaskContext(jobKey);
+        assertTrue(call(node1, () -> cronJobCoordinator.tryStart(jobKey, fireTime, context)));
+
+        assertFalse(run(node2, nextFireTime));
+
+        call(node1, () -> {
+            cronJobCoordinator.finish(jobKey, context);
+
+            return null;
+        });
+
+        assertTrue(run(node2, nextFireTime));
+    }
+
+    @Test
+    public void testUnknownFireTime()
+            throws Exception
+    {
+        assertTrue(run(node1, null));
+        assertTrue(run(node2, null));
+    }
+
+    /**
+     * @return whether the job has been run by the node
+     */
+    private boolean run(ExecutorService node,
+                        Date fireTime)
+            throws Exception
+    {
+        return call(node, () -> {
+            TaskContext context = new TaskContext(jobKey);
+            if (!cronJobCoordinator.tryStart(jobKey, fireTime, context))
+            {
+                return false;
+            }
+
+            cronJobCoordinator.finish(jobKey, context);
+
+            return true;
+        });
+    }
+
+    private <T> T call(ExecutorService node,
+                       Callable<T> task)
+            throws Exception
+    {
+        return node.submit(task).get();
+    }
+
+}
@@ -23,14 +23,24 @@ public class HazelcastConfiguration
 
     public static final int ARTIFACT_ENTRY_CACHE_INVALIDATE_INTERVAL = 60;
     public static final int AUTHENTICATION_CACHE_INVALIDATE_INTERVAL = 10;
+    public static final int AUTHENTICATION_CACHE_TIME_TO_LIVE = 300;
+    public static final int AUTHENTICATION_CACHE_MAX_SIZE = 10000;
+    public static final int NPM_PACKUMENT_CACHE_TIME_TO_LIVE = 300;
+    public static final int ARTIFACT_CHECKSUM_CACHE_MAX_IDLE = 60;
+    public static final int ARTIFACT_CHECKSUM_CACHE_MAX_SIZE = 10000;
 
     public static MapConfig authenticationCacheConfig(String name)
     {
-        return new MapConfig().setName(name).setNearCacheConfig(new NearCacheConfig().setCacheLocalEntries(true)
-                                                                                     .setEvictionConfig(new EvictionConfig().setMaximumSizePolicy(MaxSizePolicy.ENTRY_COUNT)
-                                                                                                                            .setSize(1000))
-                                                                                     .setInvalidateOnChange(true)
-                                                                                     .setTimeToLiveSeconds(AUTHENTICATION_CACHE_INVALIDATE_INTERVAL));
+        return new MapConfig().setName(name)
+                              .setTimeToLiveSeconds(AUTHENTICATION_CACHE_TIME_TO_LIVE)
+                              .setMaxSizeConfig(new MaxSizeConfig(AUTHENTICATION_CACHE_MAX_SIZE,
+                                                                  MaxSizeConfig.MaxSizePolicy.PER_NODE))
+                              .setEvictionPolicy(EvictionPolicy.LRU)
+                              .setNearCacheConfig(new NearCacheConfig().setCacheLocalEntries(true)
+                                                                       .setEvictionConfig(new EvictionConfig().setMaximumSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+                                                                                                              .setSize(1000))
+                                                                       .setInvalidateOnChange(true)
+                                                                       .setTimeToLiveSeconds(AUTHENTICATION_CACHE_INVALIDATE_INTERVAL));
     }
 
     public static MapConfig artifactEntryCacheConfig(String name)
@@ -42,6 +52,24 @@ public class HazelcastConfiguration
                                                                                      .setTimeToLiveSeconds(ARTIFACT_ENTRY_CACHE_INVALIDATE_INTERVAL));
     }
 
+    public static MapConfig npmPackumentCacheConfig(String name)
+    {
+        return newDefaultMapConfig(name).setTimeToLiveSeconds(NPM_PACKUMENT_CACHE_TIME_TO_LIVE)
+                                        .setNearCacheConfig(new NearCacheConfig().setCacheLocalEntries(true)
+                                                                                 .setEvictionConfig(new EvictionConfig().setMaximumSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+                                                                                                                        .setSize(1000))
+                                                                                 .setInvalidateOnChange(true));
+    }
+
+    public static MapConfig artifactChecksumCacheConfig(String name)
+    {
+        return new MapConfig().setName(name)
+                              .setMaxIdleSeconds(ARTIFACT_CHECKSUM_CACHE_MAX_IDLE)
+                              .setMaxSizeConfig(new MaxSizeConfig(ARTIFACT_CHECKSUM_CACHE_MAX_SIZE,
+                                                                  MaxSizeConfig.MaxSizePolicy.PER_NODE))
+                              .setEvictionPolicy(EvictionPolicy.LRU);
+    }
+
     public static MapConfig newDefaultMapConfig(String name)
     {
         return new MapConfig().setName(name)
@@ -66,8 +94,13 @@ public class HazelcastConfiguration
     {
         final Config config = new Config().setInstanceName(hazelcastInstanceId.getInstanceName())
                                           .addMapConfig(newDefaultMapConfig(CacheName.Repository.REMOTE_REPOSITORY_ALIVENESS))
+                                          .addMapConfig(newDefaultMapConfig(CacheName.Repository.REMOTE_RESOURCE_VALIDATORS))
+                                          .addMapConfig(npmPackumentCacheConfig(CacheName.Repository.NPM_PACKUMENTS))
+                                          .addMapConfig(newDefaultMapConfig(CacheName.Repository.NPM_PACKUMENT_VERSIONS))
                                           .addMapConfig(newDefaultMapConfig(CacheName.Artifact.TAGS))
-                                          .addMapConfig(authenticationCacheConfig(CacheName.User.AUTHENTICATIONS));
+                                          .addMapConfig(artifactChecksumCacheConfig(CacheName.Artifact.CHECKSUMS))
+                                          .addMapConfig(authenticationCacheConfig(CacheName.User.AUTHENTICATIONS))
+                                          .addMapConfig(new MapConfig(CacheName.User.AUTHENTICATION_SECRETS));
         config.getGroupConfig().setName("strongbox").setPassword("password");
         config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
 
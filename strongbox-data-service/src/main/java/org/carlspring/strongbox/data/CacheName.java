@@ -8,6 +8,8 @@ public final class CacheName
     public static final class User
     {
         public static final String AUTHENTICATIONS = "authentications";
+
+        public static final String AUTHENTICATION_SECRETS = "authenticationSecrets";
     }
     
     public static final class Artifact
@@ -15,6 +17,8 @@ public final class CacheName
 
         public static final String TAGS = "tags";
 
+        public static final String CHECKSUMS = "artifactChecksums";
+
     }
 
     public static final class Repository
@@ -22,6 +26,12 @@ public final class CacheName
 
         public static final String REMOTE_REPOSITORY_ALIVENESS = "remoteRepositoryAliveness";
 
+        public static final String REMOTE_RESOURCE_VALIDATORS = "remoteResourceValidators";
+
+        public static final String NPM_PACKUMENTS = "npmPackuments";
+
+        public static final String NPM_PACKUMENT_VERSIONS = "npmPackumentVersions";
+
     }
 
 
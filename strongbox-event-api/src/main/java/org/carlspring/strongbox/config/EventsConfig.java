@@ -2,6 +2,7 @@ package org.carlspring.strongbox.config;
 
 import javax.servlet.ServletContext;
 
+import org.carlspring.strongbox.event.AsyncEventListener;
 import org.carlspring.strongbox.event.EventExecutorFactoryBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
@@ -15,10 +16,22 @@ import org.springframework.scheduling.annotation.EnableAsync;
 public class EventsConfig
 {
 
-    @Bean
+    @Bean(name = AsyncEventListener.DEFAULT_EXECUTOR)
     public EventExecutorFactoryBean eventTaskExecutor(@Autowired(required = false) ServletContext servletContext)
     {
-        return new EventExecutorFactoryBean(servletContext);
+        return new EventExecutorFactoryBean(AsyncEventListener.DEFAULT_EXECUTOR, servletContext);
+    }
+
+    @Bean(name = AsyncEventListener.ARTIFACT_ENTRY_EXECUTOR)
+    public EventExecutorFactoryBean artifactEntryEventExecutor(@Autowired(required = false) ServletContext servletContext)
+    {
+        return new EventExecutorFactoryBean(AsyncEventListener.ARTIFACT_ENTRY_EXECUTOR, servletContext);
+    }
+
+    @Bean(name = AsyncEventListener.INDEXING_EXECUTOR)
+    public EventExecutorFactoryBean indexingEventExecutor(@Autowired(required = false) ServletContext servletContext)
+    {
+        return new EventExecutorFactoryBean(AsyncEventListener.INDEXING_EXECUTOR, servletContext);
     }
 
 }
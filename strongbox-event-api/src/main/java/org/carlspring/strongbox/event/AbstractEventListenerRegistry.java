@@ -1,7 +1,10 @@
 package org.carlspring.strongbox.event;
 
+import org.carlspring.strongbox.metrics.StrongboxMetrics;
+
 import javax.inject.Inject;
 
+import io.micrometer.core.instrument.Timer;
 import org.springframework.context.ApplicationEventPublisher;
 
 /**
@@ -13,9 +16,22 @@ public abstract class AbstractEventListenerRegistry
     @Inject
     private ApplicationEventPublisher eventPublisher;
 
+    /**
+     * Dispatches the event to the synchronous listeners, which are timed, and queues it for the asynchronous ones.
+     */
     public <T extends Event> void dispatchEvent(T event)
     {
-        eventPublisher.publishEvent(event);
+        Timer.Sample sample = Timer.start();
+        try
+        {
+            eventPublisher.publishEvent(event);
+        }
+        finally
+        {
+            sample.stop(StrongboxMetrics.timer(StrongboxMetrics.EVENTS,
+                                               StrongboxMetrics.TAG_TYPE,
+                                               event.getClass().getSimpleName()));
+        }
     }
 
 }
@@ -6,17 +6,40 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+import org.springframework.core.annotation.AliasFor;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
+/**
+ * Handles an event after the transaction it was published in commits, on the {@link EventTaskExecutor} of the
+ * listener's category.
+ */
 @Target({ ElementType.METHOD, ElementType.ANNOTATION_TYPE })
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
 // TransactionalEventListener.fallbackExecution() needed only for test environment
 @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
-@Async("eventTaskExecutor")
+@Async(AsyncEventListener.DEFAULT_EXECUTOR)
 public @interface AsyncEventListener
 {
 
+    String DEFAULT_EXECUTOR = "eventTaskExecutor";
+
+    /**
+     * For the listeners which keep the <code>ArtifactEntry</code> records up to date.
+     */
+    String ARTIFACT_ENTRY_EXECUTOR = "artifactEntryEventExecutor";
+
+    /**
+     * For the listeners which update the search indexes.
+     */
+    String INDEXING_EXECUTOR = "indexingEventExecutor";
+
+    /**
+     * @return the name of the executor bean to run the listener on
+     */
+    @AliasFor(annotation = Async.class, attribute = "value")
+    String value() default DEFAULT_EXECUTOR;
+
 }
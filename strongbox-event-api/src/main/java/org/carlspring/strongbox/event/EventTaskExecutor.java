@@ -0,0 +1,208 @@
+package org.carlspring.strongbox.event;
+
+import org.carlspring.strongbox.metrics.StrongboxMetrics;
+
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * A fixed size thread pool with a bounded queue, which runs one category of {@link AsyncEventListener}s.
+ * <p>
+ * Each category gets its own pool, so that a burst of events (say, indexing during a bulk deploy) neither competes
+ * with the HTTP request threads nor delays the other categories. What happens when the queue is full is decided by
+ * the {@link OverflowPolicy}. On shutdown, the queued events are given some time to drain.
+ * <p>
+ * The pool is configured with the following system properties, where <code>name</code> is the executor bean name:
+ * <ul>
+ * <li><code>strongbox.events.executor.{name}.threads</code></li>
+ * <li><code>strongbox.events.executor.{name}.queue</code></li>
+ * <li><code>strongbox.events.executor.{name}.overflow</code>: <code>block</code> or <code>drop</code></li>
+ * <li><code>strongbox.events.executor.shutdownTimeout</code>: in seconds</li>
+ * </ul>
+ */
+public class EventTaskExecutor
+        extends ThreadPoolExecutor
+        implements DisposableBean
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(EventTaskExecutor.class);
+
+    public static final String PROPERTY_PREFIX = "strongbox.events.executor.";
+
+    public static final String SHUTDOWN_TIMEOUT_PROPERTY = PROPERTY_PREFIX + "shutdownTimeout";
+
+    private static final int DEFAULT_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 1000;
+
+    private static final long DEFAULT_SHUTDOWN_TIMEOUT = 30;
+
+    private final String name;
+
+    public EventTaskExecutor(String name,
+                             int threads,
+                             int queueCapacity,
+                             OverflowPolicy overflowPolicy)
+    {
+        super(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+              new EventThreadFactory(name), overflowPolicy.newHandler(name));
+        this.name = name;
+
+        Gauge.builder(StrongboxMetrics.EVENT_QUEUE_SIZE, this, e -> e.getQueue().size())
+             .tag(StrongboxMetrics.TAG_EXECUTOR, name)
+             .register(StrongboxMetrics.registry());
+        Gauge.builder(StrongboxMetrics.EVENT_EXECUTOR_ACTIVE, this, ThreadPoolExecutor::getActiveCount)
+             .tag(StrongboxMetrics.TAG_EXECUTOR, name)
+             .register(StrongboxMetrics.registry());
+    }
+
+    public static EventTaskExecutor create(String name)
+    {
+        int threads = Integer.getInteger(PROPERTY_PREFIX + name + ".threads", DEFAULT_THREADS);
+        int queueCapacity = Integer.getInteger(PROPERTY_PREFIX + name + ".queue", DEFAULT_QUEUE_CAPACITY);
+        OverflowPolicy overflowPolicy = OverflowPolicy.valueOf(System.getProperty(PROPERTY_PREFIX + name + ".overflow",
+                                                                                  OverflowPolicy.BLOCK.name())
+                                                                      .toUpperCase(Locale.ROOT));
+
+        logger.info(String.format("Creating event executor [%s] with [%s] threads, a queue of [%s] and the [%s] " +
+                                  "overflow policy.", name, threads, queueCapacity, overflowPolicy));
+
+        return new EventTaskExecutor(name, threads, queueCapacity, overflowPolicy);
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    @Override
+    public void destroy()
+        throws InterruptedException
+    {
+        shutdown();
+
+        long timeout = Long.getLong(SHUTDOWN_TIMEOUT_PROPERTY, DEFAULT_SHUTDOWN_TIMEOUT);
+        if (!awaitTermination(timeout, TimeUnit.SECONDS))
+        {
+            logger.warn(String.format("Event executor [%s] did not drain within [%s] seconds, dropping [%s] " +
+                                      "queued events.", name, timeout, shutdownNow().size()));
+        }
+    }
+
+    public enum OverflowPolicy
+    {
+
+        /**
+         * The publishing thread waits for room in the queue, which slows the producer down instead of losing events.
+         * A listener (of any event executor) runs the event itself instead: waiting would hold a pool thread, and two
+         * executors whose listeners publish to each other could otherwise wait for one another forever.
+         */
+        BLOCK
+        {
+            @Override
+            RejectedExecutionHandler newHandler(String name)
+            {
+                return (r, executor) -> {
+                    if (executor.isShutdown())
+                    {
+                        throw new RejectedExecutionException(String.format("Event executor [%s] is shut down.",
+                                                                           name));
+                    }
+
+                    if (Thread.currentThread() instanceof EventThread)
+                    {
+                        r.run();
+
+                        return;
+                    }
+
+                    try
+                    {
+                        executor.getQueue().put(r);
+                    }
+                    catch (InterruptedException e)
+                    {
+                        Thread.currentThread().interrupt();
+
+                        throw new RejectedExecutionException(e);
+                    }
+                };
+            }
+        },
+
+        /**
+         * The event is logged and dropped, for listeners whose work can be redone later (by a cron task, for example).
+         */
+        DROP
+        {
+            @Override
+            RejectedExecutionHandler newHandler(String name)
+            {
+                Counter dropped = Counter.builder(StrongboxMetrics.EVENTS_DROPPED)
+                                         .tag(StrongboxMetrics.TAG_EXECUTOR, name)
+                                         .register(StrongboxMetrics.registry());
+
+                return (r, executor) -> {
+                    dropped.increment();
+
+                    logger.warn(String.format("Event executor [%s] is full, dropping [%s].", name, r));
+                };
+            }
+        };
+
+        abstract RejectedExecutionHandler newHandler(String name);
+
+    }
+
+    private static class EventThreadFactory
+            implements ThreadFactory
+    {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        private final String namePrefix;
+
+        EventThreadFactory(String name)
+        {
+            this.namePrefix = name + "-";
+        }
+
+        @Override
+        public Thread newThread(Runnable r)
+        {
+            Thread thread = new EventThread(r, namePrefix + threadNumber.getAndIncrement());
+            thread.setDaemon(false);
+
+            return thread;
+        }
+
+    }
+
+    /**
+     * Marks the threads of all the event executors, see {@link OverflowPolicy#BLOCK}.
+     */
+    private static class EventThread
+            extends Thread
+    {
+
+        EventThread(Runnable target,
+                    String name)
+        {
+            super(target, name);
+        }
+
+    }
+
+}
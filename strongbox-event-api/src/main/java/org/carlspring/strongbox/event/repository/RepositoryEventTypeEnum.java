@@ -58,7 +58,17 @@ public enum RepositoryEventTypeEnum
     /**
      * Occurs when all the trash for repositories has been undeleted.
      */
-    EVENT_REPOSITORY_UNDELETE_TRASH_FOR_ALL_REPOSITORIES(10);
+    EVENT_REPOSITORY_UNDELETE_TRASH_FOR_ALL_REPOSITORIES(10),
+
+    /**
+     * Occurs periodically while a proxy repository's remote index is being downloaded.
+     */
+    EVENT_REPOSITORY_REMOTE_INDEX_DOWNLOAD_PROGRESS(11),
+
+    /**
+     * Occurs once a batch of artifacts has been promoted (copied or moved) into a repository.
+     */
+    EVENT_REPOSITORY_ARTIFACTS_PROMOTED(12);
 
     private int type;
 
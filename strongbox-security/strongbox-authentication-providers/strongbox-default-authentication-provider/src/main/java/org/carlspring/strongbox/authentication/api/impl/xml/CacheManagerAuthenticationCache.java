@@ -1,15 +1,81 @@
 package org.carlspring.strongbox.authentication.api.impl.xml;
 
 import org.carlspring.strongbox.data.CacheName;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.inject.Inject;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.Cache.ValueWrapper;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 
+/**
+ * Caches the credentials of the successful authentications as an HMAC-SHA256 of the password, so that checking them
+ * again costs a single keyed hash instead of the password encoder of the user store.
+ * <p>
+ * The HMAC key is generated by the first node and shared through the
+ * {@link CacheName.User#AUTHENTICATION_SECRETS} cache, so that the cached authentications can be verified by every
+ * node of the cluster.
+ */
 public class CacheManagerAuthenticationCache implements AuthenticationCache
 {
 
-    @SuppressWarnings("deprecation")
-    private org.springframework.security.crypto.password.StandardPasswordEncoder standardPasswordEncoder = new
-            org.springframework.security.crypto.password.StandardPasswordEncoder();
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private static final String SECRET_KEY = "hmac";
+
+    private static final int SECRET_LENGTH = 32;
+
+    @Inject
+    private CacheManager cacheManager;
+
+    private ThreadLocal<Mac> mac;
+
+    @PostConstruct
+    void init()
+    {
+        SecretKeySpec secretKey = new SecretKeySpec(getSecret(), HMAC_ALGORITHM);
+
+        mac = ThreadLocal.withInitial(() -> {
+            try
+            {
+                Mac result = Mac.getInstance(HMAC_ALGORITHM);
+                result.init(secretKey);
+
+                return result;
+            }
+            catch (GeneralSecurityException e)
+            {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private byte[] getSecret()
+    {
+        byte[] secret = new byte[SECRET_LENGTH];
+        new SecureRandom().nextBytes(secret);
+
+        Cache cache = cacheManager.getCache(CacheName.User.AUTHENTICATION_SECRETS);
+        if (cache == null)
+        {
+            return secret;
+        }
+
+        ValueWrapper existing = cache.putIfAbsent(SECRET_KEY, secret);
+
+        return existing != null && existing.get() != null ? (byte[]) existing.get() : secret;
+    }
 
     @Cacheable(cacheNames = CacheName.User.AUTHENTICATIONS, key = "#p0", unless = "true")
     public UsernamePasswordAuthenticationToken getAuthenticationToken(String userName)
@@ -17,7 +83,7 @@ public class CacheManagerAuthenticationCache implements AuthenticationCache
         return null;
     }
 
-    @Cacheable(cacheNames = CacheName.User.AUTHENTICATIONS, key = "#p0.principal")
+    @CachePut(cacheNames = CacheName.User.AUTHENTICATIONS, key = "#p0.principal")
     public UsernamePasswordAuthenticationToken putAuthenticationToken(UsernamePasswordAuthenticationToken authentication)
     {
         return createCachableAuthentication(authentication);
@@ -32,13 +98,16 @@ public class CacheManagerAuthenticationCache implements AuthenticationCache
 
     public String encode(CharSequence rawPassword)
     {
-        return standardPasswordEncoder.encode(rawPassword);
+        byte[] digest = mac.get().doFinal(rawPassword.toString().getBytes(StandardCharsets.UTF_8));
+
+        return Base64.getEncoder().encodeToString(digest);
     }
 
     public boolean matches(CharSequence rawPassword,
                            String encodedPassword)
     {
-        return standardPasswordEncoder.matches(rawPassword, encodedPassword);
+        return MessageDigest.isEqual(encode(rawPassword).getBytes(StandardCharsets.UTF_8),
+                                     encodedPassword.getBytes(StandardCharsets.UTF_8));
     }
 
 }
@@ -0,0 +1,315 @@
+package org.carlspring.strongbox.authentication.api.impl.xml;
+
+import org.carlspring.strongbox.config.HazelcastConfiguration;
+import org.carlspring.strongbox.data.CacheName;
+import org.carlspring.strongbox.users.dto.UserDto;
+import org.carlspring.strongbox.users.security.AuthoritiesProvider;
+import org.carlspring.strongbox.users.security.SecurityTokenProvider;
+import org.carlspring.strongbox.users.service.UserService;
+import org.carlspring.strongbox.users.service.impl.InMemoryUserService;
+
+import javax.inject.Inject;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.spring.cache.HazelcastCacheManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.Cache.ValueWrapper;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration
+public class CacheManagerAuthenticationCacheTest
+{
+
+    private static final int TIME_TO_LIVE = 2;
+
+    private static final String USERNAME = "cached-user";
+
+    private static final String PASSWORD = "password";
+
+    @Configuration
+    @EnableCaching
+    public static class SpringConfig
+    {
+
+        @Bean(destroyMethod = "shutdown")
+        public HazelcastInstance hazelcastInstance()
+        {
+            // The production TTL, shortened so that the expiry can be tested.
+            MapConfig authenticationsConfig = HazelcastConfiguration.authenticationCacheConfig(
+                    CacheName.User.AUTHENTICATIONS).setTimeToLiveSeconds(TIME_TO_LIVE);
+            authenticationsConfig.getNearCacheConfig().setTimeToLiveSeconds(TIME_TO_LIVE);
+
+            Config config = new Config().setInstanceName("authentication-cache-test")
+                                        .addMapConfig(authenticationsConfig)
+                                        .addMapConfig(new MapConfig(CacheName.User.AUTHENTICATION_SECRETS));
+            config.getGroupConfig().setName("authentication-cache-test");
+            config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+
+            return Hazelcast.newHazelcastInstance(config);
+        }
+
+        @Bean
+        public CacheManager cacheManager(HazelcastInstance hazelcastInstance)
+        {
+            return new HazelcastCacheManager(hazelcastInstance);
+        }
+
+        @Bean
+        public AuthenticationCache authenticationCache()
+        {
+            return new CacheManagerAuthenticationCache();
+        }
+
+        @Bean
+        public UserService userService()
+        {
+            return new InMemoryUserService();
+        }
+
+        @Bean
+        public SecurityTokenProvider securityTokenProvider()
+        {
+            return Mockito.mock(SecurityTokenProvider.class);
+        }
+
+        @Bean
+        public AuthoritiesProvider authoritiesProvider()
+        {
+            return Mockito.mock(AuthoritiesProvider.class);
+        }
+
+        @Bean
+        public UserDetailsService userDetailsService(UserService userService)
+        {
+            return username -> Optional.ofNullable(userService.findByUserName(username))
+                                       .map(u -> new User(u.getUsername(), u.getPassword(), Collections.emptyList()))
+                                       .orElseThrow(() -> new UsernameNotFoundException(username));
+        }
+
+        @Bean
+        @Primary
+        public CountingPasswordEncoder passwordEncoder()
+        {
+            return new CountingPasswordEncoder();
+        }
+
+        @Bean
+        public PasswordAuthenticationProvider passwordAuthenticationProvider()
+        {
+            return new PasswordAuthenticationProvider();
+        }
+
+    }
+
+    @Inject
+    private PasswordAuthenticationProvider passwordAuthenticationProvider;
+
+    @Inject
+    private AuthenticationCache authenticationCache;
+
+    @Inject
+    private CountingPasswordEncoder passwordEncoder;
+
+    @Inject
+    private UserService userService;
+
+    @Inject
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    public void setUp()
+    {
+        getAuthenticationsCache().clear();
+        passwordEncoder.matches.set(0);
+
+        UserDto user = new UserDto();
+        user.setUsername(USERNAME);
+        user.setPassword(PASSWORD);
+        user.setEnabled(true);
+        userService.save(user);
+    }
+
+    @Test
+    public void cachedAuthenticationShouldSkipTheUserStoreCheck()
+    {
+        authenticate(PASSWORD);
+        assertEquals(1, passwordEncoder.matches.get());
+
+        String cachedCredentials = getCachedCredentials();
+        assertNotNull(cachedCredentials);
+        assertNotEquals(PASSWORD, cachedCredentials);
+
+        authenticate(PASSWORD);
+        assertEquals(1, passwordEncoder.matches.get());
+    }
+
+    @Test
+    public void wrongPasswordShouldNeverMatchCachedAuthentication()
+    {
+        authenticate(PASSWORD);
+        String cachedCredentials = getCachedCredentials();
+
+        assertTrue(authenticationCache.matches(PASSWORD, cachedCredentials));
+        assertFalse(authenticationCache.matches("wrong-password", cachedCredentials));
+        assertFalse(authenticationCache.matches("", cachedCredentials));
+        assertFalse(authenticationCache.matches(cachedCredentials, cachedCredentials));
+
+        assertThrows(BadCredentialsException.class, () -> authenticate("wrong-password"));
+        assertEquals(cachedCredentials, getCachedCredentials());
+    }
+
+    @Test
+    public void passwordChangeShouldEvictCachedAuthentication()
+    {
+        authenticate(PASSWORD);
+
+        UserDto user = new UserDto();
+        user.setUsername(USERNAME);
+        user.setPassword("new-password");
+        userService.updatePassword(user);
+
+        assertNull(getCachedCredentials());
+        assertThrows(BadCredentialsException.class, () -> authenticate(PASSWORD));
+
+        authenticate("new-password");
+        assertTrue(authenticationCache.matches("new-password", getCachedCredentials()));
+    }
+
+    @Test
+    public void accountDetailsChangeShouldEvictCachedAuthentication()
+    {
+        authenticate(PASSWORD);
+
+        UserDto user = new UserDto();
+        user.setUsername(USERNAME);
+        user.setPassword("new-password");
+        userService.updateAccountDetailsByUsername(user);
+
+        assertNull(getCachedCredentials());
+        assertThrows(BadCredentialsException.class, () -> authenticate(PASSWORD));
+    }
+
+    @Test
+    public void userDeletionShouldEvictCachedAuthentication()
+    {
+        authenticate(PASSWORD);
+
+        userService.delete(USERNAME);
+
+        assertNull(getCachedCredentials());
+        assertThrows(BadCredentialsException.class, () -> authenticate(PASSWORD));
+    }
+
+    @Test
+    public void cachedAuthenticationShouldExpire()
+            throws InterruptedException
+    {
+        assertEquals(HazelcastConfiguration.AUTHENTICATION_CACHE_TIME_TO_LIVE,
+                     HazelcastConfiguration.authenticationCacheConfig(CacheName.User.AUTHENTICATIONS)
+                                           .getTimeToLiveSeconds());
+
+        authenticate(PASSWORD);
+        assertNotNull(getCachedCredentials());
+
+        TimeUnit.SECONDS.sleep(TIME_TO_LIVE + 1);
+
+        assertNull(getCachedCredentials());
+
+        authenticate(PASSWORD);
+        assertEquals(2, passwordEncoder.matches.get());
+    }
+
+    @Test
+    public void secretShouldBeSharedThroughTheCacheManager()
+    {
+        CacheManagerAuthenticationCache otherNode = new CacheManagerAuthenticationCache();
+        ReflectionTestUtils.setField(otherNode, "cacheManager", cacheManager);
+        otherNode.init();
+
+        assertEquals(authenticationCache.encode(PASSWORD), otherNode.encode(PASSWORD));
+
+        authenticate(PASSWORD);
+        assertTrue(otherNode.matches(PASSWORD, getCachedCredentials()));
+    }
+
+    private void authenticate(String password)
+    {
+        passwordAuthenticationProvider.authenticate(new PasswordAuthentication(USERNAME, password));
+    }
+
+    private String getCachedCredentials()
+    {
+        ValueWrapper cached = getAuthenticationsCache().get(USERNAME);
+        if (cached == null || cached.get() == null)
+        {
+            return null;
+        }
+
+        return ((UsernamePasswordAuthenticationToken) cached.get()).getCredentials().toString();
+    }
+
+    private Cache getAuthenticationsCache()
+    {
+        return cacheManager.getCache(CacheName.User.AUTHENTICATIONS);
+    }
+
+    /**
+     * Counts the password checks against the user store, which the cached authentications are meant to skip.
+     */
+    public static class CountingPasswordEncoder
+            implements PasswordEncoder
+    {
+
+        private final AtomicInteger matches = new AtomicInteger();
+
+        @Override
+        public String encode(CharSequence rawPassword)
+        {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword,
+                               String encodedPassword)
+        {
+            matches.incrementAndGet();
+
+            return rawPassword.toString().equals(encodedPassword);
+        }
+
+    }
+
+}
@@ -0,0 +1,143 @@
+package org.carlspring.strongbox.users.domain;
+
+import org.carlspring.strongbox.authorization.dto.PrivelegieReadContract;
+import org.carlspring.strongbox.users.dto.UserAccessModelReadContract;
+import org.carlspring.strongbox.users.dto.UserPathPrivelegiesReadContract;
+import org.carlspring.strongbox.users.dto.UserRepositoryReadContract;
+import org.carlspring.strongbox.users.dto.UserStorageReadContract;
+
+import javax.annotation.concurrent.Immutable;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * The privileges of an access model, indexed by storage, repository and path segments, so that resolving the
+ * privileges of a URL only walks the segments of that URL.
+ *
+ * @see AccessModel#getPathPrivileges(UserAccessModelReadContract, String)
+ */
+@Immutable
+public class PathPrivilegesIndex
+        implements Serializable
+{
+
+    private static final String STORAGES_PREFIX = "/storages/";
+
+    private final Map<String, Map<String, PathNode>> storages = new HashMap<>();
+
+    public PathPrivilegesIndex(UserAccessModelReadContract accessModel)
+    {
+        for (UserStorageReadContract storage : accessModel.getStorages())
+        {
+            Map<String, PathNode> repositories = storages.computeIfAbsent(storage.getStorageId(),
+                                                                          k -> new HashMap<>());
+            for (UserRepositoryReadContract repository : storage.getRepositories())
+            {
+                PathNode root = repositories.computeIfAbsent(repository.getRepositoryId(), k -> new PathNode());
+                addNames(root.repositoryPrivileges, repository.getRepositoryPrivileges());
+
+                for (UserPathPrivelegiesReadContract pathPrivilege : repository.getPathPrivileges())
+                {
+                    String normalizedPath = StringUtils.chomp(pathPrivilege.getPath(), "/");
+                    if (normalizedPath == null)
+                    {
+                        continue;
+                    }
+
+                    PathNode node = root;
+                    if (!normalizedPath.isEmpty())
+                    {
+                        for (String segment : normalizedPath.split("/", -1))
+                        {
+                            node = node.children.computeIfAbsent(segment, k -> new PathNode());
+                        }
+                    }
+
+                    addNames(pathPrivilege.isWildcard() ? node.wildcardPrivileges : node.privileges,
+                             pathPrivilege.getPrivileges());
+                }
+            }
+        }
+    }
+
+    /**
+     * @param url the request URL, like <code>/storages/{storageId}/{repositoryId}/{path}</code>
+     * @return the privileges of the repository, plus those of the path privileges matching the URL exactly, or as
+     *         a parent path for the wildcard ones
+     */
+    public Collection<String> getPathPrivileges(String url)
+    {
+        String normalizedUrl = StringUtils.chomp(url, "/");
+        if (!normalizedUrl.startsWith(STORAGES_PREFIX))
+        {
+            return Collections.emptySet();
+        }
+
+        String[] segments = normalizedUrl.substring(STORAGES_PREFIX.length()).split("/", -1);
+        if (segments.length < 2)
+        {
+            return Collections.emptySet();
+        }
+
+        Map<String, PathNode> repositories = storages.get(segments[0]);
+        PathNode node = repositories != null ? repositories.get(segments[1]) : null;
+        if (node == null)
+        {
+            return Collections.emptySet();
+        }
+
+        Collection<String> privileges = new HashSet<>(node.repositoryPrivileges);
+        for (int i = 2; i < segments.length; i++)
+        {
+            // A wildcard path privilege applies to everything below its path.
+            privileges.addAll(node.wildcardPrivileges);
+
+            node = node.children.get(segments[i]);
+            if (node == null)
+            {
+                return privileges;
+            }
+        }
+
+        if (segments.length > 2)
+        {
+            privileges.addAll(node.wildcardPrivileges);
+            privileges.addAll(node.privileges);
+        }
+
+        return privileges;
+    }
+
+    private static void addNames(Set<String> target,
+                                 Collection<? extends PrivelegieReadContract> privileges)
+    {
+        if (privileges == null)
+        {
+            return;
+        }
+
+        privileges.forEach(p -> target.add(p.getName()));
+    }
+
+    private static class PathNode
+            implements Serializable
+    {
+
+        private final Map<String, PathNode> children = new HashMap<>();
+
+        private final Set<String> repositoryPrivileges = new HashSet<>();
+
+        private final Set<String> privileges = new HashSet<>();
+
+        private final Set<String> wildcardPrivileges = new HashSet<>();
+
+    }
+
+}
@@ -167,6 +167,7 @@ public class InMemoryUserService implements UserService
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheName.User.AUTHENTICATIONS, key = "#p0")
     public void delete(final String username)
     {
         modifyInLock(users -> {
@@ -185,6 +186,7 @@ public class InMemoryUserService implements UserService
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheName.User.AUTHENTICATIONS, key = "#p0.username")
     public void updatePassword(final UserDto userToUpdate)
     {
         if (StringUtils.isBlank(userToUpdate.getPassword()))
@@ -208,6 +210,7 @@ public class InMemoryUserService implements UserService
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheName.User.AUTHENTICATIONS, key = "#p0.username")
     public void updateAccountDetailsByUsername(UserDto userToUpdate)
     {
         modifyInLock(users -> {
@@ -2,12 +2,18 @@ package org.carlspring.strongbox.users.userdetails;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.inject.Inject;
 
+import org.carlspring.strongbox.users.domain.AccessModel;
 import org.carlspring.strongbox.users.domain.User;
+import org.carlspring.strongbox.users.dto.UserAccessModelDto;
+import org.carlspring.strongbox.users.dto.UserAccessModelReadContract;
 import org.carlspring.strongbox.users.security.AuthoritiesProvider;
 import org.springframework.security.core.GrantedAuthority;
+
+import com.google.common.cache.CacheBuilder;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -17,6 +23,12 @@ public class UserDetailsMapper implements StrongboxUserToUserDetails
     @Inject
     private AuthoritiesProvider authoritiesProvider;
 
+    /**
+     * Keyed by identity: the access model of a user is replaced, not modified, when the user changes.
+     */
+    private final ConcurrentMap<UserAccessModelReadContract, AccessModel> compiledAccessModels =
+            CacheBuilder.newBuilder().weakKeys().<UserAccessModelReadContract, AccessModel>build().asMap();
+
     @Override
     public SpringSecurityUser apply(User user)
     {
@@ -30,10 +42,24 @@ public class UserDetailsMapper implements StrongboxUserToUserDetails
         springUser.setPassword(user.getPassword());
         springUser.setUsername(user.getUsername());
         springUser.setAuthorities(authorities);
-        springUser.setAccessModel(user.getUserAccessModel());
+        springUser.setAccessModel(compileAccessModel(user.getUserAccessModel()));
         springUser.setSecurityKey(user.getSecurityTokenKey());
 
         return springUser;
     }
 
+    /**
+     * The user details are mapped on every request, so the path privileges of an access model are indexed once, and
+     * reused until the access model gets replaced.
+     */
+    private UserAccessModelReadContract compileAccessModel(UserAccessModelReadContract accessModel)
+    {
+        if (!(accessModel instanceof UserAccessModelDto))
+        {
+            return accessModel;
+        }
+
+        return compiledAccessModels.computeIfAbsent(accessModel, a -> new AccessModel((UserAccessModelDto) a));
+    }
+
 }
@@ -0,0 +1,171 @@
+package org.carlspring.strongbox.users.domain;
+
+import org.carlspring.strongbox.authorization.dto.PrivilegeDto;
+import org.carlspring.strongbox.users.dto.UserAccessModelDto;
+import org.carlspring.strongbox.users.dto.UserPathPrivilegesDto;
+import org.carlspring.strongbox.users.dto.UserRepositoryDto;
+import org.carlspring.strongbox.users.dto.UserStorageDto;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PathPrivilegesIndexTest
+{
+
+    @Test
+    public void exactPathPrivilegesShouldOnlyApplyToTheirPath()
+    {
+        UserAccessModelDto accessModel = new UserAccessModelDto();
+        addPathPrivilege(accessModel, "storage0", "releases", "org/carlspring", false, "ARTIFACTS_RESOLVE");
+
+        PathPrivilegesIndex index = new PathPrivilegesIndex(accessModel);
+
+        assertPrivileges(index, "/storages/storage0/releases/org/carlspring", "ARTIFACTS_RESOLVE");
+        assertPrivileges(index, "/storages/storage0/releases/org/carlspring/strongbox");
+        assertPrivileges(index, "/storages/storage0/releases/org");
+        assertPrivileges(index, "/storages/storage0/releases");
+    }
+
+    @Test
+    public void wildcardPathPrivilegesShouldApplyToTheirPathAndBelow()
+    {
+        UserAccessModelDto accessModel = new UserAccessModelDto();
+        addPathPrivilege(accessModel, "storage0", "releases", "org/carlspring", true, "ARTIFACTS_RESOLVE");
+
+        PathPrivilegesIndex index = new PathPrivilegesIndex(accessModel);
+
+        assertPrivileges(index, "/storages/storage0/releases/org/carlspring", "ARTIFACTS_RESOLVE");
+        assertPrivileges(index, "/storages/storage0/releases/org/carlspring/strongbox", "ARTIFACTS_RESOLVE");
+        assertPrivileges(index,
+                         "/storages/storage0/releases/org/carlspring/strongbox/strongbox-web-core/1.0/foo.jar",
+                         "ARTIFACTS_RESOLVE");
+        assertPrivileges(index, "/storages/storage0/releases/org");
+        assertPrivileges(index, "/storages/storage0/releases/org/carlspring-foo");
+        assertPrivileges(index, "/storages/storage0/releases/org/carlspringfoo/bar");
+    }
+
+    @Test
+    public void repositoryPrivilegesShouldApplyToTheWholeRepository()
+    {
+        UserAccessModelDto accessModel = new UserAccessModelDto();
+        getRepository(accessModel, "storage0", "releases").getRepositoryPrivileges()
+                                                          .add(new PrivilegeDto("ARTIFACTS_RESOLVE", null));
+
+        PathPrivilegesIndex index = new PathPrivilegesIndex(accessModel);
+
+        assertPrivileges(index, "/storages/storage0/releases", "ARTIFACTS_RESOLVE");
+        assertPrivileges(index, "/storages/storage0/releases/org/carlspring/foo.jar", "ARTIFACTS_RESOLVE");
+        assertPrivileges(index, "/storages/storage0/snapshots/org/carlspring/foo.jar");
+        assertPrivileges(index, "/storages/storage0");
+        assertPrivileges(index, "/api/storages/storage0/releases");
+    }
+
+    @Test
+    public void storageAndRepositoryIdsShouldNotMatchByPrefix()
+    {
+        UserAccessModelDto accessModel = new UserAccessModelDto();
+        getRepository(accessModel, "storage0", "releases").getRepositoryPrivileges()
+                                                          .add(new PrivilegeDto("ARTIFACTS_RESOLVE", null));
+        addPathPrivilege(accessModel, "storage0", "snapshots", "org", true, "ARTIFACTS_DEPLOY");
+
+        PathPrivilegesIndex index = new PathPrivilegesIndex(accessModel);
+
+        assertPrivileges(index, "/storages/storage0/releases/org/foo.jar", "ARTIFACTS_RESOLVE");
+        assertPrivileges(index, "/storages/storage01/releases/org/foo.jar");
+        assertPrivileges(index, "/storages/storage0/releases1/org/foo.jar");
+        assertPrivileges(index, "/storages/storage0/snapshots/org/foo.jar", "ARTIFACTS_DEPLOY");
+        assertPrivileges(index, "/storages/storage01/snapshots/org/foo.jar");
+        assertPrivileges(index, "/storages/storage0/snapshots/organization/foo.jar");
+    }
+
+    @Test
+    public void trailingSlashesShouldBeIgnored()
+    {
+        UserAccessModelDto accessModel = new UserAccessModelDto();
+        addPathPrivilege(accessModel, "storage0", "releases", "org/carlspring/", false, "ARTIFACTS_RESOLVE");
+        addPathPrivilege(accessModel, "storage0", "releases", "com/", true, "ARTIFACTS_DEPLOY");
+
+        PathPrivilegesIndex index = new PathPrivilegesIndex(accessModel);
+
+        assertPrivileges(index, "/storages/storage0/releases/org/carlspring", "ARTIFACTS_RESOLVE");
+        assertPrivileges(index, "/storages/storage0/releases/org/carlspring/", "ARTIFACTS_RESOLVE");
+        assertPrivileges(index, "/storages/storage0/releases/com", "ARTIFACTS_DEPLOY");
+        assertPrivileges(index, "/storages/storage0/releases/com/", "ARTIFACTS_DEPLOY");
+        assertPrivileges(index, "/storages/storage0/releases/com/foo/", "ARTIFACTS_DEPLOY");
+    }
+
+    @Test
+    public void overlappingPrivilegesShouldBeCombined()
+    {
+        UserAccessModelDto accessModel = new UserAccessModelDto();
+        getRepository(accessModel, "storage0", "releases").getRepositoryPrivileges()
+                                                          .add(new PrivilegeDto("ARTIFACTS_VIEW", null));
+        addPathPrivilege(accessModel, "storage0", "releases", "", true, "ARTIFACTS_RESOLVE");
+        addPathPrivilege(accessModel, "storage0", "releases", "org/carlspring", true, "ARTIFACTS_DEPLOY");
+        addPathPrivilege(accessModel, "storage0", "releases", "org/carlspring/strongbox", false, "ARTIFACTS_DELETE",
+                         "ARTIFACTS_DEPLOY");
+
+        PathPrivilegesIndex index = new PathPrivilegesIndex(accessModel);
+
+        assertPrivileges(index, "/storages/storage0/releases", "ARTIFACTS_VIEW");
+        assertPrivileges(index, "/storages/storage0/releases/com/foo.jar", "ARTIFACTS_VIEW", "ARTIFACTS_RESOLVE");
+        assertPrivileges(index,
+                         "/storages/storage0/releases/org/carlspring/foo.jar",
+                         "ARTIFACTS_VIEW", "ARTIFACTS_RESOLVE", "ARTIFACTS_DEPLOY");
+        assertPrivileges(index,
+                         "/storages/storage0/releases/org/carlspring/strongbox",
+                         "ARTIFACTS_VIEW", "ARTIFACTS_RESOLVE", "ARTIFACTS_DEPLOY", "ARTIFACTS_DELETE");
+        assertPrivileges(index,
+                         "/storages/storage0/releases/org/carlspring/strongbox/foo.jar",
+                         "ARTIFACTS_VIEW", "ARTIFACTS_RESOLVE", "ARTIFACTS_DEPLOY");
+    }
+
+    private static void assertPrivileges(PathPrivilegesIndex index,
+                                         String url,
+                                         String... expected)
+    {
+        Collection<String> privileges = index.getPathPrivileges(url);
+
+        assertEquals(new HashSet<>(Arrays.asList(expected)), new HashSet<>(privileges), url);
+    }
+
+    private static void addPathPrivilege(UserAccessModelDto accessModel,
+                                         String storageId,
+                                         String repositoryId,
+                                         String path,
+                                         boolean wildcard,
+                                         String... privileges)
+    {
+        UserPathPrivilegesDto pathPrivilege = new UserPathPrivilegesDto();
+        pathPrivilege.setPath(path);
+        pathPrivilege.setWildcard(wildcard);
+        Arrays.stream(privileges).forEach(p -> pathPrivilege.getPrivileges().add(new PrivilegeDto(p, null)));
+
+        assertTrue(getRepository(accessModel, storageId, repositoryId).getPathPrivileges().add(pathPrivilege));
+    }
+
+    private static UserRepositoryDto getRepository(UserAccessModelDto accessModel,
+                                                   String storageId,
+                                                   String repositoryId)
+    {
+        UserStorageDto storage = accessModel.getStorage(storageId).orElseGet(() -> {
+            UserStorageDto s = new UserStorageDto();
+            s.setStorageId(storageId);
+            accessModel.getStorages().add(s);
+            return s;
+        });
+
+        return storage.getRepository(repositoryId).orElseGet(() -> {
+            UserRepositoryDto r = new UserRepositoryDto();
+            r.setRepositoryId(repositoryId);
+            storage.getRepositories().add(r);
+            return r;
+        });
+    }
+
+}
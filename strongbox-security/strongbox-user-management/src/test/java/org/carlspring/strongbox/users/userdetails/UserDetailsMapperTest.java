@@ -0,0 +1,93 @@
+package org.carlspring.strongbox.users.userdetails;
+
+import org.carlspring.strongbox.authorization.dto.PrivilegeDto;
+import org.carlspring.strongbox.users.domain.AccessModel;
+import org.carlspring.strongbox.users.domain.User;
+import org.carlspring.strongbox.users.dto.UserAccessModelDto;
+import org.carlspring.strongbox.users.dto.UserDto;
+import org.carlspring.strongbox.users.dto.UserRepositoryDto;
+import org.carlspring.strongbox.users.dto.UserStorageDto;
+import org.carlspring.strongbox.users.security.AuthoritiesProvider;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class UserDetailsMapperTest
+{
+
+    private static final String URL = "/storages/storage0/releases/org/carlspring/foo.jar";
+
+    @Mock
+    private AuthoritiesProvider authoritiesProvider;
+
+    @InjectMocks
+    private UserDetailsMapper userDetailsMapper;
+
+    @BeforeEach
+    public void setUp()
+    {
+        initMocks(this);
+    }
+
+    @Test
+    public void compiledAccessModelShouldBeReusedWhileTheAccessModelIsTheSame()
+    {
+        UserAccessModelDto accessModel = accessModel("ARTIFACTS_RESOLVE");
+
+        SpringSecurityUser first = userDetailsMapper.apply(user(accessModel));
+        SpringSecurityUser second = userDetailsMapper.apply(user(accessModel));
+
+        assertTrue(first.getAccessModel() instanceof AccessModel);
+        assertSame(first.getAccessModel(), second.getAccessModel());
+    }
+
+    @Test
+    public void replacedAccessModelShouldBeCompiledAgain()
+    {
+        SpringSecurityUser before = userDetailsMapper.apply(user(accessModel("ARTIFACTS_RESOLVE")));
+        SpringSecurityUser after = userDetailsMapper.apply(user(accessModel("ARTIFACTS_DEPLOY")));
+
+        assertNotSame(before.getAccessModel(), after.getAccessModel());
+        assertEquals(Collections.singleton("ARTIFACTS_RESOLVE"),
+                     AccessModel.getPathPrivileges(before.getAccessModel(), URL));
+        assertEquals(Collections.singleton("ARTIFACTS_DEPLOY"),
+                     AccessModel.getPathPrivileges(after.getAccessModel(), URL));
+    }
+
+    private static User user(UserAccessModelDto accessModel)
+    {
+        UserDto user = new UserDto();
+        user.setUsername("test-user");
+        user.setPassword("password");
+        user.setEnabled(true);
+        user.setUserAccessModel(accessModel);
+
+        return new User(user);
+    }
+
+    private static UserAccessModelDto accessModel(String privilege)
+    {
+        UserRepositoryDto repository = new UserRepositoryDto();
+        repository.setRepositoryId("releases");
+        repository.getRepositoryPrivileges().add(new PrivilegeDto(privilege, null));
+
+        UserStorageDto storage = new UserStorageDto();
+        storage.setStorageId("storage0");
+        storage.getRepositories().add(repository);
+
+        UserAccessModelDto accessModel = new UserAccessModelDto();
+        accessModel.getStorages().add(storage);
+
+        return accessModel;
+    }
+
+}
@@ -45,7 +45,7 @@ public abstract class AsyncArtifactEntryHandler
         this.eventType = eventType;
     }
 
-    @AsyncEventListener
+    @AsyncEventListener(AsyncEventListener.ARTIFACT_ENTRY_EXECUTOR)
     public void handleEvent(final ArtifactEvent<RepositoryPath> event)
         throws IOException,
         InterruptedException
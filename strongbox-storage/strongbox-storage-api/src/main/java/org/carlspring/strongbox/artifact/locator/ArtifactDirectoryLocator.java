@@ -2,6 +2,7 @@ package org.carlspring.strongbox.artifact.locator;
 
 import org.carlspring.strongbox.artifact.locator.handlers.ArtifactDirectoryOperation;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.util.TaskContext;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -33,6 +34,7 @@ public class ArtifactDirectoryLocator
         long startTime = System.currentTimeMillis();
 
         RepositoryPath startingPath = getStartingPath();
+        TaskContext.stage(String.format("%s [%s]", operation.getClass().getSimpleName(), startingPath));
 
         try (Stream<Path> pathStream = Files.walk(startingPath))
         {
@@ -90,6 +92,8 @@ public class ArtifactDirectoryLocator
 
     void execute(Path path)
     {
+        TaskContext.checkpoint();
+
         try
         {
             operation.execute((RepositoryPath) path);
@@ -5,6 +5,7 @@ import org.carlspring.strongbox.configuration.ConfigurationManager;
 import org.carlspring.strongbox.providers.layout.LayoutProviderRegistry;
 import org.carlspring.strongbox.providers.repository.group.GroupRepositorySetCollector;
 import org.carlspring.strongbox.repository.RepositoryManagementStrategyException;
+import org.carlspring.strongbox.services.ConfigurationManagementService;
 import org.carlspring.strongbox.services.RepositoryManagementService;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
@@ -18,12 +19,21 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 /**
  * @author mtodorov
@@ -33,6 +43,11 @@ public class StorageBooter
 
     private static final Logger logger = LoggerFactory.getLogger(StorageBooter.class);
 
+    /**
+     * The number of threads used to initialize the repositories; defaults to the number of available processors.
+     */
+    public static final String INITIALIZATION_THREADS_PROPERTY = "strongbox.storage.booter.threads";
+
     @Inject
     private ConfigurationManager configurationManager;
 
@@ -42,6 +57,9 @@ public class StorageBooter
     @Inject
     private RepositoryManagementService repositoryManagementService;
 
+    @Inject
+    private ConfigurationManagementService configurationManagementService;
+
     @Inject
     private GroupRepositorySetCollector groupRepositorySetCollector;
 
@@ -50,6 +68,14 @@ public class StorageBooter
 
     private Path lockFile;
 
+    /**
+     * The initialization state of the repositories initialized by this booter, keyed by
+     * <code>storageId:repositoryId</code>.
+     */
+    private final Map<String, RepositoryInitializationState> repositoryStates = new ConcurrentHashMap<>();
+
+    private volatile CompletableFuture<Void> initialization = CompletableFuture.completedFuture(null);
+
 
     public StorageBooter()
     {
@@ -77,17 +103,7 @@ public class StorageBooter
                 logger.info(" -> Initializing repositories...");
             }
 
-            for (Repository repository : repositories)
-            {
-                try
-                {
-                    initializeRepository(repository);
-                }
-                catch (IOException e)
-                {
-                    throw new RuntimeException("Failed to initialize the repository '" + repository + "'.", e);
-                }
-            }
+            initializeRepositories(repositories);
         }
         else
         {
@@ -194,6 +210,140 @@ public class StorageBooter
         return storagesBaseDir;
     }
 
+    /**
+     * Initializes the repositories in parallel, in the background, so that startup does not wait for all of them: each
+     * repository is reported {@link RepositoryInitializationState#READY ready} as soon as it has been initialized, and
+     * requests to the other ones are rejected until then. Each group repository is only initialized after all of its
+     * members. The repositories are then put in service in a single configuration change, rather than one
+     * (cluster-wide) configuration change per repository.
+     */
+    private void initializeRepositories(Collection<Repository> repositories)
+    {
+        int threads = Math.max(1, Math.min(repositories.size(), Integer.getInteger(INITIALIZATION_THREADS_PROPERTY,
+                                                                                   Runtime.getRuntime()
+                                                                                          .availableProcessors())));
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory(
+                "storage-booter-"));
+
+        for (Repository repository : repositories)
+        {
+            repositoryStates.put(getRepositoryKey(repository), RepositoryInitializationState.PENDING);
+        }
+
+        Map<String, CompletableFuture<Void>> initializations = new LinkedHashMap<>();
+
+        // The hierarchy is ordered children first, so the members of a group are always scheduled before it.
+        for (Repository repository : repositories)
+        {
+            CompletableFuture<?>[] members = getGroupMembers(repository).stream()
+                                                                        .map(m -> initializations.get(
+                                                                                getRepositoryKey(m)))
+                                                                        .filter(Objects::nonNull)
+                                                                        .toArray(CompletableFuture[]::new);
+
+            // A group is still initialized when some of its members have failed, to serve the other ones.
+            CompletableFuture<Void> repositoryInitialization = CompletableFuture.allOf(members)
+                                                                                .handle((r, e) -> null)
+                                                                                .thenRunAsync(
+                                                                                        () -> initializeRepositoryUnchecked(
+                                                                                                repository), executor)
+                                                                                .whenComplete(
+                                                                                        (r, e) -> completeInitialization(
+                                                                                                repository, e));
+
+            initializations.put(getRepositoryKey(repository), repositoryInitialization);
+        }
+
+        initialization = CompletableFuture.allOf(initializations.values().toArray(new CompletableFuture[0]))
+                                          .handle((r, e) -> null)
+                                          .thenRun(() -> {
+                                              executor.shutdown();
+                                              putInService(repositories);
+                                          });
+    }
+
+    private void completeInitialization(Repository repository,
+                                        Throwable failure)
+    {
+        if (failure != null)
+        {
+            logger.error(String.format("Failed to initialize repository [%s].", getRepositoryKey(repository)),
+                         failure);
+        }
+
+        repositoryStates.put(getRepositoryKey(repository),
+                             failure == null ? RepositoryInitializationState.READY : RepositoryInitializationState.FAILED);
+    }
+
+    private void putInService(Collection<Repository> repositories)
+    {
+        List<Repository> inServiceRepositories = repositories.stream()
+                                                             .filter(r -> RepositoryInitializationState.READY.equals(
+                                                                     repositoryStates.get(getRepositoryKey(r))))
+                                                             .filter(r -> layoutProviderRegistry.getProvider(
+                                                                     r.getLayout()) != null)
+                                                             .filter(r -> RepositoryStatusEnum.IN_SERVICE.getStatus()
+                                                                                                         .equals(r.getStatus()))
+                                                             .collect(Collectors.toList());
+        if (inServiceRepositories.isEmpty())
+        {
+            return;
+        }
+
+        try
+        {
+            configurationManagementService.modifyInBatch(
+                    () -> inServiceRepositories.forEach(r -> repositoryManagementService.putInService(r.getStorage()
+                                                                                                       .getId(),
+                                                                                                      r.getId())));
+        }
+        catch (RuntimeException e)
+        {
+            logger.error("Failed to put the repositories in service.", e);
+        }
+    }
+
+    /**
+     * @return the initialization state of every repository initialized at startup, keyed by
+     * <code>storageId:repositoryId</code>
+     */
+    public Map<String, RepositoryInitializationState> getRepositoryInitializationStates()
+    {
+        return Collections.unmodifiableMap(repositoryStates);
+    }
+
+    /**
+     * @return whether the repository can serve requests; repositories which have not been initialized at startup,
+     * such as the ones created later on, are always ready
+     */
+    public boolean isRepositoryReady(String storageId,
+                                     String repositoryId)
+    {
+        RepositoryInitializationState state = repositoryStates.get(storageId + ":" + repositoryId);
+
+        return state == null || RepositoryInitializationState.READY.equals(state);
+    }
+
+    /**
+     * @return the initialization of all the repositories, completed once each of them is either ready or failed
+     */
+    public CompletableFuture<Void> getInitialization()
+    {
+        return initialization;
+    }
+
+    private void initializeRepositoryUnchecked(Repository repository)
+    {
+        try
+        {
+            initializeRepository(repository);
+        }
+        catch (IOException | RepositoryManagementStrategyException e)
+        {
+            throw new RuntimeException("Failed to initialize the repository '" + repository + "'.", e);
+        }
+    }
+
     private void initializeRepository(Repository repository)
             throws IOException, RepositoryManagementStrategyException
     {
@@ -208,11 +358,21 @@ public class StorageBooter
         }
 
         repositoryManagementService.createRepository(repository.getStorage().getId(), repository.getId());
+    }
 
-        if (RepositoryStatusEnum.IN_SERVICE.getStatus().equals(repository.getStatus()))
+    private Collection<Repository> getGroupMembers(Repository repository)
+    {
+        if (!repository.isGroupRepository())
         {
-            repositoryManagementService.putInService(repository.getStorage().getId(), repository.getId());
+            return Collections.emptyList();
         }
+
+        return groupRepositorySetCollector.collect(repository, true);
+    }
+
+    private static String getRepositoryKey(Repository repository)
+    {
+        return repository.getStorage().getId() + ":" + repository.getId();
     }
 
     private Collection<Repository> getRepositoriesHierarchy(final Map<String, Storage> storages)
@@ -234,7 +394,7 @@ public class StorageBooter
     {
         if (!repository.isGroupRepository())
         {
-            repositoriesHierarchy.putIfAbsent(repository.getId(), repository);
+            repositoriesHierarchy.putIfAbsent(getRepositoryKey(repository), repository);
 
             return;
         }
@@ -242,7 +402,7 @@ public class StorageBooter
         groupRepositorySetCollector.collect(repository, true)
                                    .stream().forEach(r -> addRepositoriesByChildrenFirst(repositoriesHierarchy, r));
 
-        repositoriesHierarchy.putIfAbsent(repository.getId(), repository);
+        repositoriesHierarchy.putIfAbsent(getRepositoryKey(repository), repository);
     }
 
     public RepositoryManagementService getRepositoryManagementService()
@@ -255,4 +415,9 @@ public class StorageBooter
         this.repositoryManagementService = repositoryManagementService;
     }
 
+    public enum RepositoryInitializationState
+    {
+        PENDING, READY, FAILED
+    }
+
 }
@@ -0,0 +1,107 @@
+package org.carlspring.strongbox.configuration;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import java.util.function.Consumer;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ILock;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.ITopic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serializes the configuration changes of all the nodes of the cluster into a single sequence of versioned
+ * {@link ConfigurationSnapshot}s.
+ * <p>
+ * A node changes the configuration while holding the cluster-wide {@link #lock()}, after catching up with the
+ * {@link #getLatest() latest} snapshot, and {@link #append(String) appends} the result as the next version, which is
+ * then broadcast to the other nodes. Only the latest snapshot is kept: it is all a node needs to catch up, whether it
+ * missed a broadcast or just joined the cluster.
+ */
+@Component
+public class ClusterConfigurationLog
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterConfigurationLog.class);
+
+    private static final String NAME = "strongbox-configuration";
+
+    private static final String LATEST = "latest";
+
+    @Inject
+    private HazelcastInstance hazelcastInstance;
+
+    private ILock lock;
+
+    private IMap<String, ConfigurationSnapshot> snapshots;
+
+    private ITopic<ConfigurationSnapshot> topic;
+
+    @PostConstruct
+    public void init()
+    {
+        lock = hazelcastInstance.getLock(NAME);
+        snapshots = hazelcastInstance.getMap(NAME);
+        topic = hazelcastInstance.getTopic(NAME);
+    }
+
+    public void lock()
+    {
+        lock.lock();
+    }
+
+    public void unlock()
+    {
+        lock.unlock();
+    }
+
+    /**
+     * @return the latest snapshot, or <code>null</code> if no node has published a configuration yet
+     */
+    public ConfigurationSnapshot getLatest()
+    {
+        return snapshots.get(LATEST);
+    }
+
+    /**
+     * Publishes a configuration as the next version, unless it is the same as the latest one. Must be called while
+     * holding the {@link #lock()}.
+     *
+     * @param configuration the serialized <code>strongbox.xml</code>
+     * @return the latest snapshot
+     */
+    public ConfigurationSnapshot append(String configuration)
+    {
+        ConfigurationSnapshot latest = getLatest();
+        if (latest != null && latest.getConfiguration().equals(configuration))
+        {
+            return latest;
+        }
+
+        ConfigurationSnapshot snapshot = new ConfigurationSnapshot(latest != null ? latest.getVersion() + 1 : 1,
+                                                                   configuration);
+        snapshots.set(LATEST, snapshot);
+        topic.publish(snapshot);
+
+        logger.debug(String.format("Published configuration version [%s].", snapshot.getVersion()));
+
+        return snapshot;
+    }
+
+    /**
+     * Registers a listener for the snapshots published by the other nodes.
+     */
+    public void subscribe(Consumer<ConfigurationSnapshot> listener)
+    {
+        topic.addMessageListener(message -> {
+            if (!message.getPublishingMember().localMember())
+            {
+                listener.accept(message.getMessageObject());
+            }
+        });
+    }
+
+}
@@ -0,0 +1,38 @@
+package org.carlspring.strongbox.configuration;
+
+import java.io.Serializable;
+
+/**
+ * A version of the <code>strongbox.xml</code> configuration, as shared between the nodes of a cluster.
+ */
+public class ConfigurationSnapshot
+        implements Serializable
+{
+
+    private static final long serialVersionUID = 1L;
+
+    private final long version;
+
+    private final String configuration;
+
+    public ConfigurationSnapshot(long version,
+                                 String configuration)
+    {
+        this.version = version;
+        this.configuration = configuration;
+    }
+
+    public long getVersion()
+    {
+        return version;
+    }
+
+    /**
+     * @return the serialized <code>strongbox.xml</code>
+     */
+    public String getConfiguration()
+    {
+        return configuration;
+    }
+
+}
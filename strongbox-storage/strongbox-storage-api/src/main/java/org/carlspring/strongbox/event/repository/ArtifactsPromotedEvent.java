@@ -0,0 +1,53 @@
+package org.carlspring.strongbox.event.repository;
+
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Occurs once per promotion, after all the artifacts have been placed into the target repository, so that layout
+ * specific metadata and indexes can be updated in one go, rather than once per artifact.
+ */
+public class ArtifactsPromotedEvent
+        extends RepositoryEvent
+{
+
+    private final List<RepositoryPath> paths;
+
+    private final List<RepositoryPath> movedPaths;
+
+    public ArtifactsPromotedEvent(String storageId,
+                                  String repositoryId,
+                                  List<RepositoryPath> paths)
+    {
+        this(storageId, repositoryId, paths, Collections.emptyList());
+    }
+
+    public ArtifactsPromotedEvent(String storageId,
+                                  String repositoryId,
+                                  List<RepositoryPath> paths,
+                                  List<RepositoryPath> movedPaths)
+    {
+        super(storageId, repositoryId, RepositoryEventTypeEnum.EVENT_REPOSITORY_ARTIFACTS_PROMOTED.getType());
+        this.paths = Collections.unmodifiableList(paths);
+        this.movedPaths = Collections.unmodifiableList(movedPaths);
+    }
+
+    /**
+     * @return the promoted artifact paths within the target repository
+     */
+    public List<RepositoryPath> getPaths()
+    {
+        return paths;
+    }
+
+    /**
+     * @return the artifact paths which have been removed from the source repository, when the artifacts have been moved
+     */
+    public List<RepositoryPath> getMovedPaths()
+    {
+        return movedPaths;
+    }
+
+}
@@ -0,0 +1,607 @@
+package org.carlspring.strongbox.providers.io;
+
+import org.carlspring.strongbox.storage.Storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+
+import org.apache.commons.codec.binary.Hex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * A content-addressable store which keeps a single physical copy of each artifact file of a {@link Storage}.
+ * <p>
+ * Blobs live under <code>{storage.basedir}/.blobs/sha-256/ab/cd/abcd...</code> and repository paths are hard links to
+ * them, so reading an artifact is not any different from reading a plain file, and moving a path to and from the
+ * trash keeps the blob referenced. The number of references of a blob is the link count of its file: a blob with a
+ * single link is only referenced by the store and can be removed, which {@link #release(Path)} does when the last
+ * repository path goes away, and {@link #collectGarbage()} does for the whole store.
+ * <p>
+ * All the links of a blob share its file attributes, so each linked repository path also has a reference file at the
+ * same relative path under <code>{storage.basedir}/.blobs/refs/</code>. It holds the digest of the blob, so that the
+ * blob can be released without reading the file again, and its modification time is the one of the repository path,
+ * which {@link StorageFileSystemProvider} reports and updates instead of the one of the blob. A linked file is copied
+ * before being written in place (see {@link #detach(Path)}), so that the other links keep their content.
+ * <p>
+ * Hard links need a file system with the <code>unix</code> attribute view; on other file systems the store falls back
+ * to keeping plain copies.
+ */
+public class BlobStore
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(BlobStore.class);
+
+    public static final String BLOBS = ".blobs";
+
+    public static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private static final String DIGEST_DIRECTORY = "sha-256";
+
+    private static final String REFS_DIRECTORY = "refs";
+
+    private static final String LINK_COUNT_ATTRIBUTE = "unix:nlink";
+
+    private final Path basedir;
+
+    private final Path root;
+
+    private final Path refs;
+
+    private final boolean linksSupported;
+
+    public BlobStore(Path storageBasedir)
+    {
+        this.basedir = storageBasedir.toAbsolutePath().normalize();
+        this.root = basedir.resolve(BLOBS).resolve(DIGEST_DIRECTORY);
+        this.refs = basedir.resolve(BLOBS).resolve(REFS_DIRECTORY);
+        this.linksSupported = storageBasedir.getFileSystem().supportedFileAttributeViews().contains("unix");
+    }
+
+    public static BlobStore of(RepositoryPath path)
+    {
+        Storage storage = path.getFileSystem().getRepository().getStorage();
+        if (storage == null || !storage.isDeduplicate())
+        {
+            return null;
+        }
+
+        return new BlobStore(path.getTarget().getFileSystem().getPath(storage.getBasedir()).toAbsolutePath());
+    }
+
+    /**
+     * Unlike {@link #of(RepositoryPath)}, also returns the store of a storage which no longer deduplicates its files,
+     * as the files linked while it did still need to be {@link #detach(Path) detached} before being written.
+     */
+    public static BlobStore ofLinks(RepositoryPath path)
+    {
+        Storage storage = path.getFileSystem().getRepository().getStorage();
+        if (storage == null)
+        {
+            return null;
+        }
+
+        return new BlobStore(path.getTarget().getFileSystem().getPath(storage.getBasedir()).toAbsolutePath());
+    }
+
+    public static MessageDigest newMessageDigest()
+    {
+        try
+        {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public Path getRoot()
+    {
+        return root;
+    }
+
+    public boolean isLinksSupported()
+    {
+        return linksSupported;
+    }
+
+    public Path resolve(String digest)
+    {
+        return root.resolve(digest.substring(0, 2)).resolve(digest.substring(2, 4)).resolve(digest);
+    }
+
+    /**
+     * Moves a freshly written file to its final location, as a reference to the blob with the given digest.
+     *
+     * @param source the file to store, which is consumed
+     * @param target the repository file to create or replace
+     * @param digest the hex encoded SHA-256 of the source
+     */
+    public void store(Path source,
+                      Path target,
+                      String digest)
+        throws IOException
+    {
+        if (!linksSupported)
+        {
+            storeCopy(source, target);
+            return;
+        }
+
+        Path blob = resolve(digest);
+        if (!Files.exists(blob))
+        {
+            Files.createDirectories(blob.getParent());
+            try
+            {
+                Files.createLink(blob, source);
+            }
+            catch (FileAlreadyExistsException e)
+            {
+                // Stored concurrently by someone else, link to their copy.
+            }
+            catch (UnsupportedOperationException | FileSystemException e)
+            {
+                logger.warn(String.format("Failed to add [%s] to the blob store, keeping a plain copy.", target), e);
+
+                storeCopy(source, target);
+                return;
+            }
+        }
+
+        if (Files.isSameFile(blob, source))
+        {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        else
+        {
+            try
+            {
+                linkTo(blob, target);
+            }
+            catch (NoSuchFileException e)
+            {
+                // The blob has been garbage collected in the meantime.
+                storeCopy(source, target);
+                return;
+            }
+            catch (UnsupportedOperationException | FileSystemException e)
+            {
+                logger.warn(String.format("Failed to link [%s] to the blob store, keeping a plain copy.", target), e);
+
+                storeCopy(source, target);
+                return;
+            }
+
+            Files.delete(source);
+        }
+
+        writeRef(target, digest, FileTime.from(Instant.now()));
+    }
+
+    private void storeCopy(Path source,
+                           Path target)
+        throws IOException
+    {
+        Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        deleteRef(target);
+    }
+
+    /**
+     * @see #deduplicate(Path)
+     */
+    public long deduplicate(RepositoryPath path)
+        throws IOException
+    {
+        return deduplicate(path.getTarget());
+    }
+
+    /**
+     * Turns an existing plain file into a reference to the blob holding its content, adding the content to the
+     * store if needed. The file keeps its modification time, and is left as it is if it can't be linked, or if it has
+     * changed while being digested.
+     * <p>
+     * The caller is expected to hold the write lock of the file (see {@link RepositoryPathLock}), so that it is not
+     * replaced by an upload in between.
+     *
+     * @return the number of bytes freed by this call
+     */
+    public long deduplicate(Path file)
+        throws IOException
+    {
+        if (!linksSupported || getLastModifiedTime(file) != null)
+        {
+            // Already linked.
+            return 0;
+        }
+
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        FileTime lastModifiedTime = attributes.lastModifiedTime();
+        String digest = digest(file);
+        Path blob = resolve(digest);
+
+        BasicFileAttributes digestedAttributes = Files.readAttributes(file, BasicFileAttributes.class);
+        if (!lastModifiedTime.equals(digestedAttributes.lastModifiedTime()) ||
+            attributes.size() != digestedAttributes.size())
+        {
+            // Written while being digested, the next scan will link the file.
+            return 0;
+        }
+
+        long freed = 0;
+        try
+        {
+            if (!Files.exists(blob))
+            {
+                Files.createDirectories(blob.getParent());
+                Files.createLink(blob, file);
+            }
+            else if (!Files.isSameFile(blob, file))
+            {
+                long size = Files.size(file);
+                linkTo(blob, file);
+                freed = size;
+            }
+        }
+        catch (FileAlreadyExistsException | NoSuchFileException e)
+        {
+            // The blob has been stored or garbage collected concurrently, the next scan will link the file.
+            return 0;
+        }
+        catch (UnsupportedOperationException | FileSystemException e)
+        {
+            logger.warn(String.format("Failed to link [%s] to the blob store, keeping a plain copy.", file), e);
+
+            return 0;
+        }
+
+        writeRef(file, digest, lastModifiedTime);
+
+        return freed;
+    }
+
+    /**
+     * Places another reference to the blob of a linked file at the target, replacing the target.
+     *
+     * @return <code>false</code> if the source is not linked to a blob of this store, or can't be linked to
+     */
+    public boolean link(Path source,
+                        Path target)
+        throws IOException
+    {
+        String digest = readRef(getRef(source));
+        if (!linksSupported || digest == null || getRef(target) == null || getLinkCount(source) < 2)
+        {
+            return false;
+        }
+
+        try
+        {
+            linkTo(resolve(digest), target);
+        }
+        catch (UnsupportedOperationException | FileSystemException e)
+        {
+            // The blob has been garbage collected in the meantime, or the target is on another file system.
+            return false;
+        }
+
+        writeRef(target, digest, FileTime.from(Instant.now()));
+
+        return true;
+    }
+
+    /**
+     * Called before a repository file is removed for good: if it is the last reference of its blob, the blob is
+     * removed as well. The blob of a file without a reference file is left to {@link #collectGarbage()}.
+     */
+    public void release(Path file)
+        throws IOException
+    {
+        if (!linksSupported || !Files.isRegularFile(file))
+        {
+            return;
+        }
+
+        Path ref = getRef(file);
+        String digest = readRef(ref);
+        if (digest != null && getLinkCount(file) == 2)
+        {
+            Path blob = resolve(digest);
+            if (Files.exists(blob) && Files.isSameFile(blob, file))
+            {
+                Files.deleteIfExists(blob);
+            }
+        }
+
+        if (ref != null)
+        {
+            Files.deleteIfExists(ref);
+        }
+    }
+
+    /**
+     * Breaks the link between a file and its blob, before the file is written in place: the file is replaced with a
+     * copy of its content, which keeps the modification time of the file.
+     */
+    public void detach(Path file)
+        throws IOException
+    {
+        if (!linksSupported || !Files.isRegularFile(file) || getLinkCount(file) < 2)
+        {
+            return;
+        }
+
+        FileTime lastModifiedTime = getLastModifiedTime(file);
+        if (lastModifiedTime == null)
+        {
+            lastModifiedTime = Files.getLastModifiedTime(file);
+        }
+
+        Path copy = file.resolveSibling(file.getFileName() + ".blob");
+        Files.copy(file, copy, StandardCopyOption.REPLACE_EXISTING);
+        Files.setLastModifiedTime(copy, lastModifiedTime);
+        Files.move(copy, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        deleteRef(file);
+    }
+
+    /**
+     * @return the modification time of a linked file, or <code>null</code> if the one of the file itself applies
+     */
+    public FileTime getLastModifiedTime(Path file)
+        throws IOException
+    {
+        Path ref = getRef(file);
+        if (!linksSupported || ref == null)
+        {
+            return null;
+        }
+
+        BasicFileAttributes refAttributes;
+        try
+        {
+            refAttributes = Files.readAttributes(ref, BasicFileAttributes.class);
+        }
+        catch (NoSuchFileException e)
+        {
+            return null;
+        }
+
+        return refAttributes.isRegularFile() && getLinkCount(file) > 1 ? refAttributes.lastModifiedTime() : null;
+    }
+
+    /**
+     * Sets the modification time of a linked file, without changing the one of the other links of its blob.
+     *
+     * @return <code>false</code> if the file is not linked, and its own modification time is to be set instead
+     */
+    public boolean setLastModifiedTime(Path file,
+                                       FileTime lastModifiedTime)
+        throws IOException
+    {
+        Path ref = getRef(file);
+        if (!linksSupported || ref == null || !Files.isRegularFile(ref) || getLinkCount(file) < 2)
+        {
+            return false;
+        }
+
+        Files.setLastModifiedTime(ref, lastModifiedTime);
+
+        return true;
+    }
+
+    /**
+     * Moves the reference files along with a repository file or directory (to and from the trash).
+     */
+    public void moveRefs(Path source,
+                         Path target)
+        throws IOException
+    {
+        Path sourceRef = getRef(source);
+        Path targetRef = getRef(target);
+        if (!linksSupported || sourceRef == null || targetRef == null || !Files.exists(sourceRef))
+        {
+            return;
+        }
+
+        if (!Files.isDirectory(sourceRef))
+        {
+            Files.createDirectories(targetRef.getParent());
+            Files.move(sourceRef, targetRef, StandardCopyOption.REPLACE_EXISTING);
+
+            return;
+        }
+
+        Files.createDirectories(targetRef);
+        Files.walkFileTree(sourceRef, new StorageFileSystemProvider.MoveDirectoryVisitor(sourceRef, targetRef,
+                                                                                         StandardCopyOption.REPLACE_EXISTING));
+        FileSystemUtils.deleteRecursively(sourceRef);
+    }
+
+    /**
+     * Removes the reference files of a repository directory which is removed for good, once its files have been
+     * released.
+     */
+    public void deleteRefs(Path directory)
+        throws IOException
+    {
+        Path ref = getRef(directory);
+        if (ref != null)
+        {
+            FileSystemUtils.deleteRecursively(ref);
+        }
+    }
+
+    /**
+     * Removes the blobs which are no longer referenced by any repository file.
+     *
+     * @return the number of removed blobs
+     */
+    public int collectGarbage()
+        throws IOException
+    {
+        if (!linksSupported || !Files.isDirectory(root))
+        {
+            return 0;
+        }
+
+        if (Files.isDirectory(refs))
+        {
+            Files.walkFileTree(refs, new SimpleFileVisitor<Path>()
+            {
+
+                @Override
+                public FileVisitResult visitFile(Path ref,
+                                                 BasicFileAttributes attrs)
+                    throws IOException
+                {
+                    // The repository file has been removed without releasing its blob.
+                    if (!Files.exists(basedir.resolve(refs.relativize(ref))))
+                    {
+                        Files.deleteIfExists(ref);
+                    }
+
+                    return FileVisitResult.CONTINUE;
+                }
+
+            });
+        }
+
+        int[] removed = new int[1];
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>()
+        {
+
+            @Override
+            public FileVisitResult visitFile(Path file,
+                                             BasicFileAttributes attrs)
+                throws IOException
+            {
+                if (getLinkCount(file) == 1 && Files.deleteIfExists(file))
+                {
+                    removed[0]++;
+                }
+
+                return FileVisitResult.CONTINUE;
+            }
+
+        });
+
+        return removed[0];
+    }
+
+    private void linkTo(Path blob,
+                        Path target)
+        throws IOException
+    {
+        Files.createDirectories(target.getParent());
+
+        // Link next to the target first, so that the target is replaced atomically.
+        Path link = target.resolveSibling(target.getFileName() + ".blob");
+        Files.deleteIfExists(link);
+        Files.createLink(link, blob);
+
+        Files.move(link, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return the reference file of a repository file, or <code>null</code> if the file is outside of the storage
+     */
+    private Path getRef(Path file)
+    {
+        Path path = file.toAbsolutePath().normalize();
+
+        return path.startsWith(basedir) && !path.startsWith(basedir.resolve(BLOBS)) ?
+               refs.resolve(basedir.relativize(path)) : null;
+    }
+
+    private void writeRef(Path file,
+                          String digest,
+                          FileTime lastModifiedTime)
+        throws IOException
+    {
+        Path ref = getRef(file);
+        if (ref == null)
+        {
+            return;
+        }
+
+        Files.createDirectories(ref.getParent());
+        Files.write(ref, digest.getBytes(StandardCharsets.US_ASCII));
+        Files.setLastModifiedTime(ref, lastModifiedTime);
+    }
+
+    private static String readRef(Path ref)
+        throws IOException
+    {
+        if (ref == null || !Files.isRegularFile(ref))
+        {
+            return null;
+        }
+
+        try
+        {
+            return new String(Files.readAllBytes(ref), StandardCharsets.US_ASCII).trim();
+        }
+        catch (NoSuchFileException e)
+        {
+            return null;
+        }
+    }
+
+    private void deleteRef(Path file)
+        throws IOException
+    {
+        Path ref = getRef(file);
+        if (ref != null)
+        {
+            Files.deleteIfExists(ref);
+        }
+    }
+
+    private static long getLinkCount(Path file)
+        throws IOException
+    {
+        try
+        {
+            return ((Number) Files.getAttribute(file, LINK_COUNT_ATTRIBUTE)).longValue();
+        }
+        catch (UnsupportedOperationException | IllegalArgumentException e)
+        {
+            return 1;
+        }
+    }
+
+    private static String digest(Path file)
+        throws IOException
+    {
+        MessageDigest messageDigest = newMessageDigest();
+        byte[] buffer = new byte[8192];
+        try (InputStream is = Files.newInputStream(file))
+        {
+            int n;
+            while ((n = is.read(buffer)) >= 0)
+            {
+                messageDigest.update(buffer, 0, n);
+            }
+        }
+
+        return Hex.encodeHexString(messageDigest.digest());
+    }
+
+}
@@ -4,6 +4,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 
@@ -12,12 +14,15 @@ import javax.inject.Inject;
 
 import org.apache.commons.io.input.ProxyInputStream;
 import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
+import org.carlspring.strongbox.metrics.RequestTimings;
+import org.carlspring.strongbox.metrics.StrongboxMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
 import com.hazelcast.core.HazelcastInstance;
+import io.micrometer.core.instrument.Timer;
 
 import ca.thoughtwire.lock.DistributedLockService;
 
@@ -52,7 +57,7 @@ public class RepositoryPathLock
                                   .map(p -> String.format("%s?%s", lock, p))
                                   .orElseGet(() -> lock.toString());
 
-        return lockService.getReentrantReadWriteLock(lockName);
+        return new TimedReadWriteLock(lockService.getReentrantReadWriteLock(lockName));
     }
 
     private URI getLock(final @Nonnull RepositoryPath repositoryPath) throws IOException
@@ -140,4 +145,121 @@ public class RepositoryPathLock
 
     }
 
+    /**
+     * Records the time spent waiting for the distributed locks.
+     */
+    private static class TimedReadWriteLock
+            implements ReadWriteLock
+    {
+
+        private final Lock readLock;
+
+        private final Lock writeLock;
+
+        TimedReadWriteLock(ReadWriteLock target)
+        {
+            this.readLock = new TimedLock(target.readLock(), "read");
+            this.writeLock = new TimedLock(target.writeLock(), "write");
+        }
+
+        @Override
+        public Lock readLock()
+        {
+            return readLock;
+        }
+
+        @Override
+        public Lock writeLock()
+        {
+            return writeLock;
+        }
+
+    }
+
+    private static class TimedLock
+            implements Lock
+    {
+
+        private final Lock target;
+
+        private final String mode;
+
+        TimedLock(Lock target,
+                  String mode)
+        {
+            this.target = target;
+            this.mode = mode;
+        }
+
+        @Override
+        public void lock()
+        {
+            Timer.Sample sample = Timer.start();
+            RequestTimings.Phase phase = RequestTimings.phase(RequestTimings.LOCK);
+            try
+            {
+                target.lock();
+            }
+            finally
+            {
+                phase.close();
+                sample.stop(StrongboxMetrics.timer(StrongboxMetrics.LOCK_WAITS, StrongboxMetrics.TAG_MODE, mode));
+            }
+        }
+
+        @Override
+        public void lockInterruptibly()
+            throws InterruptedException
+        {
+            Timer.Sample sample = Timer.start();
+            RequestTimings.Phase phase = RequestTimings.phase(RequestTimings.LOCK);
+            try
+            {
+                target.lockInterruptibly();
+            }
+            finally
+            {
+                phase.close();
+                sample.stop(StrongboxMetrics.timer(StrongboxMetrics.LOCK_WAITS, StrongboxMetrics.TAG_MODE, mode));
+            }
+        }
+
+        @Override
+        public boolean tryLock()
+        {
+            return target.tryLock();
+        }
+
+        @Override
+        public boolean tryLock(long time,
+                               TimeUnit unit)
+            throws InterruptedException
+        {
+            Timer.Sample sample = Timer.start();
+            RequestTimings.Phase phase = RequestTimings.phase(RequestTimings.LOCK);
+            try
+            {
+                return target.tryLock(time, unit);
+            }
+            finally
+            {
+                phase.close();
+                sample.stop(StrongboxMetrics.timer(StrongboxMetrics.LOCK_WAITS, StrongboxMetrics.TAG_MODE, mode));
+            }
+        }
+
+        @Override
+        public void unlock()
+        {
+            target.unlock();
+        }
+
+        @Override
+        public Condition newCondition()
+        {
+            return target.newCondition();
+        }
+
+    }
+
 }
@@ -11,14 +11,19 @@ import java.nio.channels.FileChannel;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.file.*;
 import java.nio.file.DirectoryStream.Filter;
+import java.nio.file.attribute.BasicFileAttributeView;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.FileAttribute;
 import java.nio.file.attribute.FileAttributeView;
+import java.nio.file.attribute.FileTime;
 import java.nio.file.spi.FileSystemProvider;
+import java.security.MessageDigest;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.io.output.ProxyOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,6 +47,8 @@ public abstract class StorageFileSystemProvider
 
     private static final Logger logger = LoggerFactory.getLogger(StorageFileSystemProvider.class);
 
+    private static final String LAST_MODIFIED_TIME = "lastModifiedTime";
+
     private FileSystemProvider target;
 
     @Inject
@@ -80,6 +87,8 @@ public abstract class StorageFileSystemProvider
                                               FileAttribute<?>... attrs)
         throws IOException
     {
+        detach(path, options);
+
         return getTarget().newByteChannel(unwrap(path), options, attrs);
     }
     
@@ -89,9 +98,33 @@ public abstract class StorageFileSystemProvider
                                       FileAttribute<?>... attrs)
         throws IOException
     {
+        detach(path, options);
+
         return getTarget().newFileChannel(unwrap(path), options, attrs);
     }
 
+    /**
+     * Gives a file its own copy of its {@link BlobStore} blob, or of any other file it is linked to, before it is
+     * written in place.
+     */
+    private void detach(Path path,
+                        Set<? extends OpenOption> options)
+        throws IOException
+    {
+        if (!(path instanceof RepositoryPath) ||
+            !options.contains(StandardOpenOption.WRITE) && !options.contains(StandardOpenOption.APPEND))
+        {
+            return;
+        }
+
+        // Whether or not the storage still deduplicates its files, the ones linked so far are shared.
+        BlobStore blobStore = BlobStore.ofLinks((RepositoryPath) path);
+        if (blobStore != null)
+        {
+            blobStore.detach(unwrap(path));
+        }
+    }
+
     public DirectoryStream<Path> newDirectoryStream(Path dir,
                                                     Filter<? super Path> filter)
         throws IOException
@@ -259,6 +292,7 @@ public abstract class StorageFileSystemProvider
         Repository repository = repositoryPath.getFileSystem().getRepository();
         if (!repository.isTrashEnabled())
         {
+            release(repositoryPath, repositoryPath.getTarget());
             Files.deleteIfExists(repositoryPath.getTarget());
 
             return;
@@ -269,6 +303,7 @@ public abstract class StorageFileSystemProvider
         Files.move(repositoryPath.getTarget(),
                    trashPath.getTarget(),
                    StandardCopyOption.REPLACE_EXISTING);
+        moveRefs(repositoryPath, repositoryPath.getTarget(), trashPath.getTarget());
 
         if (force && repository.allowsForceDeletion())
         {
@@ -302,6 +337,7 @@ public abstract class StorageFileSystemProvider
                                        path.getTarget(),
                                        StandardCopyOption.REPLACE_EXISTING));
         }
+        moveRefs(path, trashPath.getTarget(), path.getTarget());
     }
 
     public RepositoryPath moveFromTemporaryDirectory(TempRepositoryPath tempPath)
@@ -319,7 +355,16 @@ public abstract class StorageFileSystemProvider
             Files.createDirectories(unwrap(path).getParent());
         }
 
-        Files.move(tempPath.getTarget(), path.getTarget(), StandardCopyOption.REPLACE_EXISTING);
+        BlobStore blobStore = tempPath.digest != null ? BlobStore.of(path) : null;
+        if (blobStore != null)
+        {
+            release(path, path.getTarget());
+            blobStore.store(tempPath.getTarget(), path.getTarget(), tempPath.digest);
+        }
+        else
+        {
+            Files.move(tempPath.getTarget(), path.getTarget(), StandardCopyOption.REPLACE_EXISTING);
+        }
 
         //path.artifactEntry = tempPath.artifactEntry;
 
@@ -342,11 +387,92 @@ public abstract class StorageFileSystemProvider
         }
         else
         {
+            BlobStore blobStore = BlobStore.of(path);
+            if (blobStore != null)
+            {
+                try (Stream<Path> files = Files.walk(trashPath.getTarget()))
+                {
+                    for (Path file : (Iterable<Path>) files::iterator)
+                    {
+                        blobStore.release(file);
+                    }
+                }
+                blobStore.deleteRefs(trashPath.getTarget());
+            }
+
             FileSystemUtils.deleteRecursively(trashPath.getTarget());
             Files.createDirectories(trashPath);
         }
     }
 
+    /**
+     * Places a file of another repository at the given path, replacing the existing one: as a link to the same
+     * {@link BlobStore} blob when the storage deduplicates its files, as a copy otherwise. Plain files are never
+     * linked to each other, as they would share their content, attributes and in place writes.
+     *
+     * @return <code>true</code> if the file has been linked, <code>false</code> if it has been copied
+     */
+    public boolean link(RepositoryPath source,
+                        RepositoryPath target)
+        throws IOException
+    {
+        Path sourceFile = unwrap(source);
+        Path targetFile = unwrap(target);
+        Files.createDirectories(targetFile.getParent());
+
+        release(target, targetFile);
+
+        BlobStore blobStore = BlobStore.of(target);
+        if (blobStore != null && blobStore.link(sourceFile, targetFile))
+        {
+            return true;
+        }
+
+        Files.copy(sourceFile, targetFile, StandardCopyOption.REPLACE_EXISTING);
+
+        return false;
+    }
+
+    /**
+     * Removes a file which is not part of the repository content (like a backup) for good: unlike
+     * {@link #delete(Path)}, it neither goes through the trash nor is an artifact deletion.
+     */
+    public void purge(RepositoryPath path)
+        throws IOException
+    {
+        Path file = unwrap(path);
+
+        release(path, file);
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Drops the {@link BlobStore} blob of the given file, if the file is its last reference and is about to be
+     * removed.
+     */
+    protected void release(RepositoryPath repositoryPath,
+                           Path file)
+        throws IOException
+    {
+        BlobStore blobStore = BlobStore.of(repositoryPath);
+        if (blobStore != null && Files.exists(file))
+        {
+            blobStore.release(file);
+        }
+    }
+
+    private void moveRefs(RepositoryPath repositoryPath,
+                          Path source,
+                          Path target)
+        throws IOException
+    {
+        BlobStore blobStore = BlobStore.of(repositoryPath);
+        if (blobStore != null)
+        {
+            blobStore.moveRefs(source, target);
+        }
+    }
+
     protected RepositoryPath getTrashPath(RepositoryPath path)
         throws IOException
     {
@@ -419,6 +545,10 @@ public abstract class StorageFileSystemProvider
         throws IOException
     {
         getTarget().move(unwrap(source), unwrap(target), options);
+        if (source instanceof RepositoryPath)
+        {
+            moveRefs((RepositoryPath) source, unwrap(source), unwrap(target));
+        }
     }
 
     public boolean isSameFile(Path path,
@@ -451,7 +581,51 @@ public abstract class StorageFileSystemProvider
                                                                 Class<V> type,
                                                                 LinkOption... options)
     {
-        return getTarget().getFileAttributeView(unwrap(path), type, options);
+        V view = getTarget().getFileAttributeView(unwrap(path), type, options);
+        if (type != BasicFileAttributeView.class || view == null || !(path instanceof RepositoryPath))
+        {
+            return view;
+        }
+
+        BlobStore blobStore = BlobStore.of((RepositoryPath) path);
+        if (blobStore == null)
+        {
+            return view;
+        }
+
+        BasicFileAttributeView basicView = (BasicFileAttributeView) view;
+
+        return type.cast(new BasicFileAttributeView()
+        {
+
+            @Override
+            public String name()
+            {
+                return basicView.name();
+            }
+
+            @Override
+            public BasicFileAttributes readAttributes()
+                throws IOException
+            {
+                return withBlobTimes(path, basicView.readAttributes());
+            }
+
+            @Override
+            public void setTimes(FileTime lastModifiedTime,
+                                 FileTime lastAccessTime,
+                                 FileTime createTime)
+                throws IOException
+            {
+                if (lastModifiedTime != null && blobStore.setLastModifiedTime(unwrap(path), lastModifiedTime))
+                {
+                    lastModifiedTime = null;
+                }
+
+                basicView.setTimes(lastModifiedTime, lastAccessTime, createTime);
+            }
+
+        });
     }
 
     public <A extends BasicFileAttributes> A readAttributes(Path path,
@@ -464,9 +638,10 @@ public abstract class StorageFileSystemProvider
             throw new IOException(String.format("Requested path is not [%s].", RepositoryPath.class.getSimpleName()));
         }
 
-        BasicFileAttributes targetAttributes = getTarget().readAttributes(unwrap(path),
+        BasicFileAttributes targetAttributes = withBlobTimes(path,
+                                                             getTarget().readAttributes(unwrap(path),
                                                                                         BasicFileAttributes.class,
-                                                                                        options);
+                                                                                        options));
         if (!RepositoryFileAttributes.class.isAssignableFrom(type))
         {
             return (A) targetAttributes;
@@ -496,6 +671,15 @@ public abstract class StorageFileSystemProvider
         if (!attributes.startsWith(STRONGBOX_SCHEME))
         {
             result.putAll(getTarget().readAttributes(unwrap(path), attributes, options));
+            if (result.containsKey(LAST_MODIFIED_TIME))
+            {
+                BlobStore blobStore = BlobStore.of(repositoryPath);
+                FileTime lastModifiedTime = blobStore != null ? blobStore.getLastModifiedTime(unwrap(path)) : null;
+                if (lastModifiedTime != null)
+                {
+                    result.put(LAST_MODIFIED_TIME, lastModifiedTime);
+                }
+            }
             if (!attributes.equals("*"))
             {
                 return result;
@@ -549,9 +733,98 @@ public abstract class StorageFileSystemProvider
                              LinkOption... options)
         throws IOException
     {
+        if (path instanceof RepositoryPath &&
+            (LAST_MODIFIED_TIME.equals(attribute) || ("basic:" + LAST_MODIFIED_TIME).equals(attribute)))
+        {
+            BlobStore blobStore = BlobStore.of((RepositoryPath) path);
+            if (blobStore != null && blobStore.setLastModifiedTime(unwrap(path), (FileTime) value))
+            {
+                return;
+            }
+        }
+
         getTarget().setAttribute(unwrap(path), attribute, value, options);
     }
 
+    /**
+     * The files linked to a {@link BlobStore} blob share its modification time, so theirs is kept by the store.
+     */
+    private BasicFileAttributes withBlobTimes(Path path,
+                                              BasicFileAttributes attributes)
+        throws IOException
+    {
+        if (!(path instanceof RepositoryPath) || !attributes.isRegularFile())
+        {
+            return attributes;
+        }
+
+        BlobStore blobStore = BlobStore.of((RepositoryPath) path);
+        FileTime lastModifiedTime = blobStore != null ? blobStore.getLastModifiedTime(unwrap(path)) : null;
+        if (lastModifiedTime == null)
+        {
+            return attributes;
+        }
+
+        return new BasicFileAttributes()
+        {
+
+            @Override
+            public FileTime lastModifiedTime()
+            {
+                return lastModifiedTime;
+            }
+
+            @Override
+            public FileTime lastAccessTime()
+            {
+                return attributes.lastAccessTime();
+            }
+
+            @Override
+            public FileTime creationTime()
+            {
+                return attributes.creationTime();
+            }
+
+            @Override
+            public boolean isRegularFile()
+            {
+                return attributes.isRegularFile();
+            }
+
+            @Override
+            public boolean isDirectory()
+            {
+                return attributes.isDirectory();
+            }
+
+            @Override
+            public boolean isSymbolicLink()
+            {
+                return attributes.isSymbolicLink();
+            }
+
+            @Override
+            public boolean isOther()
+            {
+                return attributes.isOther();
+            }
+
+            @Override
+            public long size()
+            {
+                return attributes.size();
+            }
+
+            @Override
+            public Object fileKey()
+            {
+                return attributes.fileKey();
+            }
+
+        };
+    }
+
     private Path unwrap(Path path)
     {
         return path instanceof RepositoryPath ? ((RepositoryPath) path).getTarget() : path;
@@ -610,6 +883,11 @@ public abstract class StorageFileSystemProvider
 
         private TempRepositoryPath path;
 
+        /**
+         * Digests the content on the fly when it is going to be stored in a {@link BlobStore}.
+         */
+        private MessageDigest messageDigest;
+
         public TempOutputStream(TempRepositoryPath path,
                                 OpenOption... options)
             throws IOException
@@ -617,6 +895,46 @@ public abstract class StorageFileSystemProvider
             super(StorageFileSystemProvider.super.newOutputStream(unwrap(path), options));
 
             this.path = path;
+
+            RepositoryPath target = path.getTempTarget();
+            if (BlobStore.of(target) != null && Boolean.TRUE.equals(RepositoryFiles.isArtifact(target)) &&
+                !Boolean.TRUE.equals(RepositoryFiles.isChecksum(target)))
+            {
+                messageDigest = BlobStore.newMessageDigest();
+            }
+        }
+
+        @Override
+        public void write(int b)
+            throws IOException
+        {
+            super.write(b);
+
+            if (messageDigest != null)
+            {
+                messageDigest.update((byte) b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b)
+            throws IOException
+        {
+            write(b, 0, b.length);
+        }
+
+        @Override
+        public void write(byte[] b,
+                          int off,
+                          int len)
+            throws IOException
+        {
+            super.write(b, off, len);
+
+            if (messageDigest != null)
+            {
+                messageDigest.update(b, off, len);
+            }
         }
 
         @Override
@@ -625,6 +943,11 @@ public abstract class StorageFileSystemProvider
         {
             super.close();
 
+            if (messageDigest != null)
+            {
+                path.digest = Hex.encodeHexString(messageDigest.digest());
+            }
+
             try
             {
                 moveFromTemporaryDirectory(path);
@@ -21,6 +21,11 @@ public class TempRepositoryPath extends RepositoryPath
 
     private RepositoryPath tempTarget;
 
+    /**
+     * The SHA-256 of the written content, when it is going to be stored in a {@link BlobStore}.
+     */
+    String digest;
+
     private TempRepositoryPath(RepositoryPath tempPath)
     {
         super(tempPath.getTarget(), tempPath.getFileSystem());
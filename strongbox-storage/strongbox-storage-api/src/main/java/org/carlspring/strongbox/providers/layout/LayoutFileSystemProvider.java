@@ -7,6 +7,7 @@ import org.carlspring.strongbox.event.repository.RepositoryEventListenerRegistry
 import org.carlspring.strongbox.io.ByteRangeInputStream;
 import org.carlspring.strongbox.io.LayoutInputStream;
 import org.carlspring.strongbox.io.LayoutOutputStream;
+import org.carlspring.strongbox.metrics.RequestTimings;
 import org.carlspring.strongbox.providers.io.RepositoryFileAttributeType;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
@@ -140,13 +141,16 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
         RepositoryPath checksumPath = getChecksumPath(path, digestAlgorithm);
         
         String checksum = null;
-        if (Files.exists(checksumPath) && Files.size(checksumPath) != 0)
+        try (RequestTimings.Phase phase = RequestTimings.phase(RequestTimings.CHECKSUM))
         {
-            checksum = MessageDigestUtils.readChecksumFile(Files.newInputStream(checksumPath));
-        }
-        else
-        {
-            checksum = is.getMessageDigestAsHexadecimalString(digestAlgorithm);
+            if (Files.exists(checksumPath) && Files.size(checksumPath) != 0)
+            {
+                checksum = MessageDigestUtils.readChecksumFile(Files.newInputStream(checksumPath));
+            }
+            else
+            {
+                checksum = is.getMessageDigestAsHexadecimalString(digestAlgorithm);
+            }
         }
 
         return checksum;
@@ -244,7 +248,8 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
                               boolean force)
         throws IOException
     {
-        try (LayoutInputStream is = newInputStream(path))
+        try (RequestTimings.Phase phase = RequestTimings.phase(RequestTimings.CHECKSUM);
+             LayoutInputStream is = newInputStream(path))
         {
             Set<String> digestAlgorithmSet = path.getFileSystem().getDigestAlgorithmSet();
             digestAlgorithmSet.stream()
@@ -25,6 +25,8 @@ import org.carlspring.strongbox.data.criteria.Predicate;
 import org.carlspring.strongbox.data.criteria.QueryTemplate;
 import org.carlspring.strongbox.data.criteria.Selector;
 import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.metrics.RequestTimings;
+import org.carlspring.strongbox.metrics.StrongboxMetrics;
 import org.carlspring.strongbox.providers.io.AbstractRepositoryProvider;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
@@ -35,6 +37,7 @@ import org.carlspring.strongbox.services.support.ArtifactRoutingRulesChecker;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
 
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -83,13 +86,32 @@ public class GroupRepositoryProvider extends AbstractRepositoryProvider
     {
         eventPublisher.publishEvent(new GroupRepositoryPathFetchEvent(repositoryPath));
 
-        RepositoryPath result = resolvePathDirectlyFromGroupPathIfPossible(repositoryPath);
-        if (result != null)
+        Timer.Sample sample = Timer.start();
+        RequestTimings.Phase phase = RequestTimings.phase(RequestTimings.GROUP);
+        RepositoryPath result = null;
+        try
         {
+            result = resolvePathDirectlyFromGroupPathIfPossible(repositoryPath);
+            if (result != null)
+            {
+                return result;
+            }
+
+            result = resolvePathTraversal(repositoryPath);
+
             return result;
         }
-        
-        return resolvePathTraversal(repositoryPath);
+        finally
+        {
+            phase.close();
+
+            Repository groupRepository = repositoryPath.getRepository();
+            sample.stop(StrongboxMetrics.timer(StrongboxMetrics.GROUP_RESOLUTIONS,
+                                               groupRepository.getStorage().getId(),
+                                               groupRepository.getId(),
+                                               result != null ? StrongboxMetrics.OUTCOME_HIT :
+                                               StrongboxMetrics.OUTCOME_NOT_FOUND));
+        }
     }
     
     protected RepositoryPath resolvePathTraversal(RepositoryPath repositoryPath) throws IOException
@@ -5,6 +5,7 @@ import org.carlspring.strongbox.data.criteria.Paginator;
 import org.carlspring.strongbox.data.criteria.Predicate;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.domain.RemoteArtifactEntry;
+import org.carlspring.strongbox.metrics.StrongboxMetrics;
 import org.carlspring.strongbox.providers.io.AbstractRepositoryProvider;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
@@ -12,6 +13,7 @@ import org.carlspring.strongbox.providers.io.RepositoryPathLock;
 import org.carlspring.strongbox.providers.repository.event.ProxyRepositoryPathExpiredEvent;
 import org.carlspring.strongbox.providers.repository.event.RemoteRepositorySearchEvent;
 import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryArtifactResolver;
+import org.carlspring.strongbox.storage.repository.Repository;
 
 import javax.inject.Inject;
 import java.io.IOException;
@@ -68,6 +70,13 @@ public class ProxyRepositoryProvider
     {
         RepositoryPath targetPath = hostedRepositoryProvider.fetchPath(repositoryPath);
 
+        Repository repository = repositoryPath.getRepository();
+        StrongboxMetrics.counter(StrongboxMetrics.PROXY_REQUESTS,
+                                 repository.getStorage().getId(),
+                                 repository.getId(),
+                                 targetPath == null ? StrongboxMetrics.OUTCOME_MISS : StrongboxMetrics.OUTCOME_HIT)
+                        .increment();
+
         if (targetPath == null)
         {
             targetPath = resolvePathExclusive(repositoryPath);
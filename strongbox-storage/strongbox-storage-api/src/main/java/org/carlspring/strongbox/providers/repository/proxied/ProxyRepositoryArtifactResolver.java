@@ -1,7 +1,10 @@
 package org.carlspring.strongbox.providers.repository.proxied;
 
+import org.carlspring.strongbox.artifact.ArtifactNotFoundException;
 import org.carlspring.strongbox.client.RestArtifactResolver;
 import org.carlspring.strongbox.event.artifact.ArtifactEventListenerRegistry;
+import org.carlspring.strongbox.metrics.RequestTimings;
+import org.carlspring.strongbox.metrics.StrongboxMetrics;
 import org.carlspring.strongbox.providers.io.RepositoryFileAttributes;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathLock;
@@ -9,15 +12,20 @@ import org.carlspring.strongbox.services.ArtifactManagementService;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.storage.repository.remote.RemoteRepository;
 import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryAlivenessCacheManager;
+import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryCircuitBreaker;
+import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryCircuitBreakerRegistry;
 
 import javax.inject.Inject;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -33,6 +41,12 @@ public class ProxyRepositoryArtifactResolver
     @Inject
     private RemoteRepositoryAlivenessCacheManager remoteRepositoryAlivenessCacheManager;
 
+    @Inject
+    private RemoteRepositoryCircuitBreakerRegistry remoteRepositoryCircuitBreakerRegistry;
+
+    @Inject
+    private RemoteResourceValidatorsCacheManager remoteResourceValidatorsCacheManager;
+
     @Inject
     private ArtifactEventListenerRegistry artifactEventListenerRegistry;
 
@@ -54,6 +68,42 @@ public class ProxyRepositoryArtifactResolver
      */
     public RepositoryPath fetchRemoteResource(RepositoryPath repositoryPath)
         throws IOException
+    {
+        return fetchRemoteResource(repositoryPath, null);
+    }
+
+    /**
+     * Refreshes an expired cached resource with a conditional request, when the validators of the cached copy are
+     * known: if the remote answers <code>304 Not Modified</code>, only the modification time of the cached copy is
+     * updated (which resets its expiration). Otherwise, the resource is fetched again.
+     *
+     * @return <code>true</code> if a new copy of the resource has been fetched, <code>false</code> if it was not
+     *         modified or the remote could not be reached
+     */
+    public boolean revalidateRemoteResource(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        RemoteResourceValidators validators = Files.exists(repositoryPath) ?
+                                              remoteResourceValidatorsCacheManager.get(repositoryPath) :
+                                              null;
+        if (validators != null)
+        {
+            logger.debug(String.format("Revalidating [%s] with %s.", repositoryPath, validators));
+        }
+
+        try
+        {
+            return fetchRemoteResource(repositoryPath, validators) != null;
+        }
+        catch (RemoteResourceNotModifiedException e)
+        {
+            return false;
+        }
+    }
+
+    private RepositoryPath fetchRemoteResource(RepositoryPath repositoryPath,
+                                               RemoteResourceValidators validators)
+        throws IOException
     {
         Repository repository = repositoryPath.getFileSystem().getRepository();
         final RemoteRepository remoteRepository = repository.getRemoteRepository();
@@ -64,19 +114,91 @@ public class ProxyRepositoryArtifactResolver
             return null;
         }
 
+        RemoteRepositoryCircuitBreaker circuitBreaker = remoteRepositoryCircuitBreakerRegistry.get(remoteRepository);
+        if (!circuitBreaker.tryAcquire())
+        {
+            logger.debug("Remote repository '" + remoteRepository.getUrl() + "' circuit is open.");
+
+            return null;
+        }
+
         RestArtifactResolver client = restArtifactResolverFactory.newInstance(remoteRepository);
 
         ReadWriteLock lockSource = repositoryPathLock.lock(repositoryPath, "remote-fetch");
         Lock lock = lockSource.writeLock();
         lock.lock();
 
-        try (InputStream is = new BufferedInputStream(new ProxyRepositoryInputStream(client, repositoryPath)))
+        Timer.Sample sample = Timer.start();
+        String outcome = StrongboxMetrics.OUTCOME_FAILURE;
+        ProxyRepositoryInputStream remoteStream = null;
+        try (RequestTimings.Phase phase = RequestTimings.phase(RequestTimings.REMOTE))
         {
-            return doFetch(repositoryPath, is);
+            remoteStream = new ProxyRepositoryInputStream(client, repositoryPath, validators);
+            try (ProxyRepositoryInputStream is = remoteStream)
+            {
+                RepositoryPath result = doFetch(repositoryPath, new BufferedInputStream(is));
+                outcome = StrongboxMetrics.OUTCOME_SUCCESS;
+                circuitBreaker.recordSuccess();
+
+                remoteResourceValidatorsCacheManager.put(repositoryPath, is.getResponseValidators());
+
+                return result;
+            }
+        }
+        catch (RemoteResourceNotModifiedException e)
+        {
+            logger.debug(String.format("[%s] was not modified.", repositoryPath));
+
+            outcome = StrongboxMetrics.OUTCOME_NOT_MODIFIED;
+            circuitBreaker.recordSuccess();
+
+            Files.setLastModifiedTime(repositoryPath, FileTime.from(Instant.now()));
+
+            throw e;
+        }
+        catch (ArtifactNotFoundException e)
+        {
+            // The remote did answer.
+            circuitBreaker.recordSuccess();
+
+            throw e;
+        }
+        catch (UnexpectedRemoteResponseException e)
+        {
+            if (e.isServerError())
+            {
+                circuitBreaker.recordFailure();
+            }
+            else
+            {
+                circuitBreaker.recordSuccess();
+            }
+
+            throw e;
+        }
+        catch (IOException e)
+        {
+            // Only the remote call and its response count: a failure to store the resource locally (a full disk, for
+            // example) says nothing about the remote.
+            if (remoteStream == null || remoteStream.hasRemoteFailure())
+            {
+                circuitBreaker.recordFailure();
+            }
+            else
+            {
+                circuitBreaker.recordSuccess();
+            }
+
+            throw e;
         }
         finally
         {
             lock.unlock();
+
+            sample.stop(StrongboxMetrics.timer(StrongboxMetrics.PROXY_REMOTE_FETCHES,
+                                               repository.getStorage().getId(),
+                                               repository.getId(),
+                                               outcome));
         }
     }
 
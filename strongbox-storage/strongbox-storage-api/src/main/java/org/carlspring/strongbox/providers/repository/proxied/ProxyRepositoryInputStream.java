@@ -32,11 +32,25 @@ public class ProxyRepositoryInputStream extends FilterInputStream
 
     private RepositoryPath repositoryPath;
 
+    private volatile boolean remoteFailure;
+
     public ProxyRepositoryInputStream(RestArtifactResolver proxyTargetClient,
                                       RepositoryPath path)
         throws IOException
     {
-        super(new RemoteArtifactStreamFetcher(proxyTargetClient).getInputStream(0, path));
+        this(proxyTargetClient, path, null);
+    }
+
+    /**
+     * @param validators the validators of the cached copy of the resource, to request it conditionally
+     * @see RemoteArtifactStreamFetcher#getInputStream(long, RepositoryPath, RemoteResourceValidators)
+     */
+    public ProxyRepositoryInputStream(RestArtifactResolver proxyTargetClient,
+                                      RepositoryPath path,
+                                      RemoteResourceValidators validators)
+        throws IOException
+    {
+        super(new RemoteArtifactStreamFetcher(proxyTargetClient).getInputStream(0, path, validators));
 
         this.repositoryPath = path;
         this.client = proxyTargetClient;
@@ -88,10 +102,39 @@ public class ProxyRepositoryInputStream extends FilterInputStream
     {
         if (!checkRemoteRepositoryHeartbeat())
         {
+            remoteFailure = true;
+
             throw new IOException(String.format("Remote repository not avaliable for path [%s] ", repositoryPath));
         }
 
-        return super.available();
+        try
+        {
+            return super.available();
+        }
+        catch (IOException e)
+        {
+            remoteFailure = true;
+
+            throw e;
+        }
+    }
+
+    /**
+     * @return <code>true</code> if reading from the remote failed (after the retries), as opposed to the failures of
+     *         whatever the read bytes are written to
+     */
+    public boolean hasRemoteFailure()
+    {
+        return remoteFailure;
+    }
+
+    /**
+     * @return the validators sent by the remote along with the resource, if any
+     */
+    public RemoteResourceValidators getResponseValidators()
+        throws IOException
+    {
+        return ((RemoteArtifactStreamFetcher.RemoteArtifactInputStream) this.in).getResponseValidators();
     }
 
     @Override
@@ -139,13 +182,22 @@ public class ProxyRepositoryInputStream extends FilterInputStream
             {
                 offset = f.read();
             }
-            catch (ArtifactNotFoundException e)
+            catch (ArtifactNotFoundException | RemoteResourceNotModifiedException e)
             {
                 throw e;
             }
             catch (IOException e)
             {
-                offset = retryReadIfPossible(f, e);
+                try
+                {
+                    offset = retryReadIfPossible(f, e);
+                }
+                catch (IOException retryException)
+                {
+                    remoteFailure = true;
+
+                    throw retryException;
+                }
             }
 
             ctx.setCurrentOffset(ctx.getCurrentOffset() + offset);
@@ -167,13 +219,10 @@ public class ProxyRepositoryInputStream extends FilterInputStream
                      ctx.getStopWatch());
 
         finishUnsuccessfullyIfNumberOfAttemptsExceedTheLimit(lastException);
+        finishUnsuccessfullyIfRemoteRepositoryIsDown(lastException);
         tryToSleepRequestedAmountOfTimeBetweenAttempts(lastException);
         finishUnsuccessfullyIfTimeoutOccurred(lastException);
-
-        if (!checkRemoteRepositoryHeartbeat())
-        {
-            retryReadIfPossible(f, lastException);
-        }
+        finishUnsuccessfullyIfRemoteRepositoryIsDown(lastException);
 
         if (ctx.getRangeRequestSupported() == null && ctx.getCurrentOffset() > 0)
         {
@@ -218,6 +267,16 @@ public class ProxyRepositoryInputStream extends FilterInputStream
         }
     }
 
+    private void finishUnsuccessfullyIfRemoteRepositoryIsDown(IOException ex)
+        throws IOException
+    {
+        if (!checkRemoteRepositoryHeartbeat())
+        {
+            logger.error(String.format("Remote repository is down, giving up reading [%s]", repositoryPath));
+            throw ex;
+        }
+    }
+
     private void finishUnsuccessfullyIfTimeoutOccurred(IOException ex)
         throws IOException
     {
@@ -26,10 +26,22 @@ public class RemoteArtifactStreamFetcher
     public InputStream getInputStream(long offset,
                                       RepositoryPath artifactPath)
         throws IOException
+    {
+        return getInputStream(offset, artifactPath, null);
+    }
+
+    /**
+     * @param validators when not <code>null</code>, the resource is requested conditionally, and a
+     *                   {@link RemoteResourceNotModifiedException} is thrown on the first read if it did not change
+     */
+    public InputStream getInputStream(long offset,
+                                      RepositoryPath artifactPath,
+                                      RemoteResourceValidators validators)
+        throws IOException
     {
         URI resource = getRestClientResourcePath(artifactPath);
 
-        return new RemoteArtifactInputStream(resource, offset);
+        return new RemoteArtifactInputStream(resource, offset, validators);
     }
 
     public String getHead(RepositoryPath repositoryPath)
@@ -57,12 +69,23 @@ public class RemoteArtifactStreamFetcher
     }
 
     private CloseableRestResponse getConnection(URI resource,
-                                                long offset)
+                                                long offset,
+                                                RemoteResourceValidators validators)
         throws IOException
     {
-        CloseableRestResponse connection = client.get(resource.toString(), offset);
+        CloseableRestResponse connection = validators == null || offset > 0 ?
+                                           client.get(resource.toString(), offset) :
+                                           client.getIfModified(resource.toString(),
+                                                                validators.getEtag(),
+                                                                validators.getLastModified());
 
         Response response = connection.getResponse();
+        if (response.getStatus() == 304)
+        {
+            terminateConnection(connection);
+
+            throw new RemoteResourceNotModifiedException(resource);
+        }
         if (response.getStatus() == 404)
         {
             terminateConnection(connection);
@@ -73,8 +96,7 @@ public class RemoteArtifactStreamFetcher
         {
             terminateConnection(connection);
             
-            throw new IOException(String.format("Unreadable response for %s. Response status is %s",
-                                                resource, response.getStatus()));
+            throw new UnexpectedRemoteResponseException(resource, response.getStatus());
         }
 
         return connection;
@@ -97,14 +119,18 @@ public class RemoteArtifactStreamFetcher
 
         private URI resource;
         private long offset;
+        private RemoteResourceValidators validators;
+        private RemoteResourceValidators responseValidators;
         private CloseableRestResponse connection;
         private InputStream target;
 
         public RemoteArtifactInputStream(URI resource,
-                                         long offset)
+                                         long offset,
+                                         RemoteResourceValidators validators)
         {
             this.resource = resource;
             this.offset = offset;
+            this.validators = validators;
         }
 
         public CloseableRestResponse getConnection()
@@ -114,7 +140,21 @@ public class RemoteArtifactStreamFetcher
             {
                 return connection;
             }
-            return connection = RemoteArtifactStreamFetcher.this.getConnection(resource, offset);
+            connection = RemoteArtifactStreamFetcher.this.getConnection(resource, offset, validators);
+            responseValidators = RemoteResourceValidators.of(connection.getResponse());
+
+            return connection;
+        }
+
+        /**
+         * @return the validators sent by the remote along with the resource, if any
+         */
+        public RemoteResourceValidators getResponseValidators()
+            throws IOException
+        {
+            getConnection();
+
+            return responseValidators;
         }
 
         private InputStream getTarget()
@@ -0,0 +1,26 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * The remote repository answered a conditional request with <code>304 Not Modified</code>: the cached copy of the
+ * resource is still up to date.
+ */
+public class RemoteResourceNotModifiedException extends IOException
+{
+
+    private final URI resource;
+
+    public RemoteResourceNotModifiedException(URI resource)
+    {
+        super();
+        this.resource = resource;
+    }
+
+    public URI getResource()
+    {
+        return resource;
+    }
+
+}
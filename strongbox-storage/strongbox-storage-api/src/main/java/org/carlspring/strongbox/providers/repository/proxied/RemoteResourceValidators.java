@@ -0,0 +1,57 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import java.io.Serializable;
+
+/**
+ * The <code>ETag</code> and <code>Last-Modified</code> validators sent by the remote repository along with a resource,
+ * which let it be revalidated with a conditional request instead of being downloaded again.
+ */
+public class RemoteResourceValidators
+        implements Serializable
+{
+
+    private final String etag;
+
+    private final String lastModified;
+
+    public RemoteResourceValidators(String etag,
+                                    String lastModified)
+    {
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * @return the validators of the response, or <code>null</code> if the remote did not send any
+     */
+    public static RemoteResourceValidators of(Response response)
+    {
+        String etag = response.getHeaderString(HttpHeaders.ETAG);
+        String lastModified = response.getHeaderString(HttpHeaders.LAST_MODIFIED);
+        if (etag == null && lastModified == null)
+        {
+            return null;
+        }
+
+        return new RemoteResourceValidators(etag, lastModified);
+    }
+
+    public String getEtag()
+    {
+        return etag;
+    }
+
+    public String getLastModified()
+    {
+        return lastModified;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("ETag [%s], Last-Modified [%s]", etag, lastModified);
+    }
+
+}
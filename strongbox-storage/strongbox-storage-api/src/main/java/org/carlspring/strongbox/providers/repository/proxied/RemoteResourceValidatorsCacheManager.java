@@ -0,0 +1,62 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.data.CacheName;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.storage.repository.remote.RemoteRepository;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.util.Objects;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the {@link RemoteResourceValidators} of the resources cached by the proxy repositories, keyed by their remote
+ * URL.
+ */
+@Component
+public class RemoteResourceValidatorsCacheManager
+{
+
+    private final Cache cache;
+
+    @Inject
+    RemoteResourceValidatorsCacheManager(CacheManager cacheManager)
+    {
+        cache = cacheManager.getCache(CacheName.Repository.REMOTE_RESOURCE_VALIDATORS);
+        Objects.requireNonNull(cache, "remoteResourceValidators cache configuration was not provided");
+    }
+
+    public RemoteResourceValidators get(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        return cache.get(getKey(repositoryPath), RemoteResourceValidators.class);
+    }
+
+    public void put(RepositoryPath repositoryPath,
+                    RemoteResourceValidators validators)
+        throws IOException
+    {
+        if (validators == null)
+        {
+            cache.evict(getKey(repositoryPath));
+
+            return;
+        }
+
+        cache.put(getKey(repositoryPath), validators);
+    }
+
+    private String getKey(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        RemoteRepository remoteRepository = repositoryPath.getRepository().getRemoteRepository();
+        String url = remoteRepository.getUrl();
+
+        return (url.endsWith("/") ? url : url + "/") + RepositoryFiles.resolveResource(repositoryPath);
+    }
+
+}
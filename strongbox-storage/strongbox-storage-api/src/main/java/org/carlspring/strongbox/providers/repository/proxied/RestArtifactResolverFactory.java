@@ -6,6 +6,7 @@ import org.carlspring.strongbox.configuration.ConfigurationManager;
 import org.carlspring.strongbox.service.ProxyRepositoryConnectionPoolConfigurationService;
 import org.carlspring.strongbox.storage.repository.remote.RemoteRepository;
 import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryAlivenessCacheManager;
+import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryCircuitBreakerRegistry;
 
 import javax.inject.Inject;
 import java.util.Objects;
@@ -29,6 +30,9 @@ public class RestArtifactResolverFactory
     @Inject
     private RemoteRepositoryAlivenessCacheManager remoteRepositoryAlivenessCacheManager;
 
+    @Inject
+    private RemoteRepositoryCircuitBreakerRegistry remoteRepositoryCircuitBreakerRegistry;
+
     public RestArtifactResolver newInstance(RemoteRepository repository)
     {
         Objects.requireNonNull(repository);
@@ -51,7 +55,8 @@ public class RestArtifactResolverFactory
                                     @Override
                                     public boolean isAlive()
                                     {
-                                        return remoteRepositoryAlivenessCacheManager.isAlive(repository);
+                                        return remoteRepositoryAlivenessCacheManager.isAlive(repository) &&
+                                               remoteRepositoryCircuitBreakerRegistry.get(repository).isAvailable();
                                     }
                         
                                 };
@@ -0,0 +1,34 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * The remote repository answered, but not with the requested resource.
+ */
+public class UnexpectedRemoteResponseException extends IOException
+{
+
+    private final int status;
+
+    public UnexpectedRemoteResponseException(URI resource,
+                                             int status)
+    {
+        super(String.format("Unreadable response for %s. Response status is %s", resource, status));
+        this.status = status;
+    }
+
+    public int getStatus()
+    {
+        return status;
+    }
+
+    /**
+     * @return whether the remote repository itself is unhealthy, as opposed to refusing this particular request
+     */
+    public boolean isServerError()
+    {
+        return status >= 500;
+    }
+
+}
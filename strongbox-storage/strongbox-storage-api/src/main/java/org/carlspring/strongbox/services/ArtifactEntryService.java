@@ -27,6 +27,29 @@ public interface ArtifactEntryService
 {
 
     <S extends ArtifactEntry> S save(S entity, boolean updateLastVersion);
+
+    /**
+     * Bulk, conflict-tolerant insert of {@link ArtifactEntry}s, intended for remote feed ingestion.
+     * <p>
+     * Entries are deduplicated by storage, repository and artifact path: duplicates within the batch, as well as
+     * entries which already exist in the database, are skipped. Entries which carry the
+     * {@link org.carlspring.strongbox.domain.ArtifactTagEntry#LAST_VERSION} tag are reconciled against the stored last
+     * version once per package, rather than once per entry.
+     * <p>
+     * The artifact paths of the batch stay locked (cluster-wide) until the transaction completes, so that overlapping
+     * batches are applied one after the other instead of failing on the unique artifact coordinates index.
+     * Within one transaction the locks are only waited for in a global order, so that a transaction saving several
+     * batches can't deadlock with another one.
+     * <p>
+     * No {@link org.carlspring.strongbox.providers.io.RepositoryPathLock} is acquired, so this should only be used for
+     * metadata-only entries (for example {@link org.carlspring.strongbox.domain.RemoteArtifactEntry}s of artifacts
+     * which were not downloaded yet).
+     *
+     * @param entities
+     *            entries to insert
+     * @return the entries which have actually been inserted
+     */
+    <S extends ArtifactEntry> List<S> saveAllIfAbsent(Collection<S> entities);
     
     /**
      * Returns list of artifacts that matches search query defined as {@link ArtifactCoordinates} fields. By default all
@@ -75,6 +98,23 @@ public interface ArtifactEntryService
                            String repositoryId,
                            String path);
 
+    /**
+     * Returns the subset of the provided artifact paths which already have an {@link ArtifactEntry} within the
+     * given repository. This allows to check a whole batch of artifacts with a constant number of queries, instead of
+     * calling {@link #artifactExists(String, String, String)} for each one of them.
+     *
+     * @param storageId
+     *            the storage ID
+     * @param repositoryId
+     *            the repository ID
+     * @param paths
+     *            artifact paths as returned by {@link ArtifactCoordinates#toPath()}
+     * @return the paths which exist, or an empty set
+     */
+    Set<String> findExistingArtifactPaths(String storageId,
+                                          String repositoryId,
+                                          Collection<String> paths);
+
     ArtifactEntry findOneArtifact(String storageId,
                                   String repositoryId,
                                   String path);
@@ -17,7 +17,6 @@ import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
 import org.carlspring.strongbox.providers.layout.LayoutProviderRegistry;
 import org.carlspring.strongbox.storage.ArtifactStorageException;
 import org.carlspring.strongbox.storage.Storage;
-import org.carlspring.strongbox.storage.checksum.ArtifactChecksum;
 import org.carlspring.strongbox.storage.checksum.ChecksumCacheManager;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.storage.validation.ArtifactCoordinatesValidator;
@@ -37,10 +36,8 @@ import java.nio.file.Files;
 import java.security.NoSuchAlgorithmException;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
-import java.util.stream.Collectors;
 
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
@@ -240,57 +237,20 @@ public class ArtifactManagementService
         String artifactBasePath = artifactPath.substring(0, artifactPath.lastIndexOf('.'));
         String checksumExtension = artifactPath.substring(artifactPath.lastIndexOf('.') + 1, artifactPath.length());
 
-        if (!matchesChecksum(checksum, artifactBasePath, checksumExtension))
+        if (!checksumCacheManager.validateChecksum(artifactBasePath,
+                                                   checksumExtension,
+                                                   new String(checksum, StandardCharsets.UTF_8)))
         {
             logger.error(String.format("The checksum for %s [%s] is invalid!",
                                        artifactPath,
                                        new String(checksum, StandardCharsets.UTF_8)));
         }
-
-        checksumCacheManager.removeArtifactChecksum(artifactBasePath, checksumExtension);
-    }
-
-    private boolean matchesChecksum(byte[] pChecksum,
-                                    String artifactBasePath,
-                                    String checksumExtension)
-    {
-        String checksum = new String(pChecksum, StandardCharsets.UTF_8);
-        ArtifactChecksum artifactChecksum = checksumCacheManager.getArtifactChecksum(artifactBasePath);
-
-        if (artifactChecksum == null)
-        {
-            return false;
-        }
-
-        Map<Boolean, Set<String>> matchingMap = artifactChecksum.getChecksums()
-                                                                .entrySet()
-                                                                .stream()
-                                                                .collect(Collectors.groupingBy(e -> e.getValue()
-                                                                                                     .equals(checksum),
-                                                                                               Collectors.mapping(
-                                                                                                       e -> e.getKey(),
-                                                                                                       Collectors.toSet())));
-
-        Set<String> matched = matchingMap.get(Boolean.TRUE);
-        Set<String> unmatched = matchingMap.get(Boolean.FALSE);
-
-        logger.debug(String.format("Artifact checksum matchings: artifact-[%s]; ext-[%s]; matched-[%s];" +
-                                   " unmatched-[%s]; checksum-[%s]",
-                                   artifactBasePath,
-                                   checksumExtension,
-                                   matched,
-                                   unmatched,
-                                   checksum));
-
-        return matched != null && !matched.isEmpty();
     }
 
     private void addChecksumsToCacheManager(Map<String, String> digestMap,
                                             URI artifactPath)
     {
-        digestMap.entrySet()
-                 .stream()
-                 .forEach(e -> checksumCacheManager.addArtifactChecksum(artifactPath.toString(), e.getKey(), e.getValue()));
+        checksumCacheManager.addArtifactChecksums(artifactPath.toString(), digestMap);
     }
 
     private boolean performRepositoryAcceptanceValidation(RepositoryPath path)
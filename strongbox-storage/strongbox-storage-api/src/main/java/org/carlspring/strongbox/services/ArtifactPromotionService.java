@@ -0,0 +1,24 @@
+package org.carlspring.strongbox.services;
+
+import org.carlspring.strongbox.services.support.ArtifactPromotionRequest;
+import org.carlspring.strongbox.services.support.ArtifactPromotionResult;
+
+import java.io.IOException;
+
+/**
+ * Copies or moves a set of artifacts into another repository in one operation.
+ * <p>
+ * Files are linked to the same blob when the target storage deduplicates its files, and copied otherwise, the
+ * {@link org.carlspring.strongbox.domain.ArtifactEntry}s of the target are created in bulk (or updated, for the
+ * artifacts being replaced). Once the transaction of the promotion is committed, the sources of a move are deleted
+ * like any other artifact, going to the trash of their repository, and layout specific metadata and indexes are
+ * updated once, through an {@link org.carlspring.strongbox.event.repository.ArtifactsPromotedEvent}. The files of an
+ * atomic promotion are restored if the transaction is rolled back.
+ */
+public interface ArtifactPromotionService
+{
+
+    ArtifactPromotionResult promote(ArtifactPromotionRequest request)
+            throws IOException;
+
+}
@@ -5,6 +5,8 @@ import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
 import org.carlspring.strongbox.data.service.support.search.PagingCriteria;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.domain.ArtifactTagEntry;
+import org.carlspring.strongbox.metrics.RequestTimings;
+import org.carlspring.strongbox.metrics.StrongboxMetrics;
 import org.carlspring.strongbox.services.ArtifactEntryService;
 import org.carlspring.strongbox.services.ArtifactTagService;
 import org.carlspring.strongbox.services.support.ArtifactEntrySearchCriteria;
@@ -12,13 +14,19 @@ import org.carlspring.strongbox.services.support.ArtifactEntrySearchCriteria;
 import javax.inject.Inject;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ILock;
+import com.orientechnologies.orient.core.db.record.OIdentifiable;
 import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.command.OCommandRequest;
 import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.sql.OCommandSQL;
 import com.orientechnologies.orient.core.sql.query.OSQLSynchQuery;
+import io.micrometer.core.instrument.Timer;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.time.DateUtils;
 import org.javatuples.Pair;
@@ -26,6 +34,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 
 /**
@@ -40,21 +50,31 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
 
     private static final Logger logger = LoggerFactory.getLogger(ArtifactEntryService.class);
 
+    /**
+     * The number of cluster locks the artifact paths are spread over by {@link #saveAllIfAbsent(Collection)}.
+     */
+    private static final int SAVE_LOCK_STRIPES = 64;
+
+    private static final long SAVE_LOCK_TIMEOUT_SECONDS = 60;
+
+    private static final String SAVE_LOCK_PREFIX = "artifact-entries-";
+
+    /**
+     * The transaction resource key of the stripes held by the current transaction.
+     */
+    private static final Object HELD_STRIPES_KEY = new Object();
+
     @Inject
     private ArtifactTagService artifactTagService;
+
+    @Inject
+    private HazelcastInstance hazelcastInstance;
     
     @Override
     public <S extends ArtifactEntry> S save(S entity,
                                             boolean updateLastVersion)
     {
-        //this needed to update `ArtifactEntry.path` property
-        entity.setArtifactCoordinates(entity.getArtifactCoordinates());
-
-        if(artifactEntryIsSavedForTheFirstTime(entity))
-        {
-            entity.setCreated(new Date());
-        }
-
+        prepareSave(entity);
 
         ArtifactCoordinates coordinates = entity.getArtifactCoordinates();
         if (coordinates == null)
@@ -70,6 +90,217 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
         return super.save(entity);
     }
 
+    @Override
+    public <S extends ArtifactEntry> List<S> saveAllIfAbsent(Collection<S> entities)
+    {
+        if (CollectionUtils.isEmpty(entities))
+        {
+            return Collections.emptyList();
+        }
+
+        // Deduplicate within the batch, grouped by repository.
+        Map<Pair<String, String>, Map<String, S>> repositoryEntries = new LinkedHashMap<>();
+        for (S entity : entities)
+        {
+            prepareSave(entity);
+
+            repositoryEntries.computeIfAbsent(Pair.with(entity.getStorageId(), entity.getRepositoryId()),
+                                              k -> new LinkedHashMap<>())
+                             .putIfAbsent(entity.getArtifactPath(), entity);
+        }
+
+        lockUntilCompletion(repositoryEntries.values()
+                                             .stream()
+                                             .flatMap(e -> e.keySet().stream())
+                                             .collect(Collectors.toSet()));
+
+        ArtifactTag lastVersionTag = artifactTagService.findOneOrCreate(ArtifactTagEntry.LAST_VERSION);
+
+        List<S> result = new ArrayList<>();
+        for (Entry<Pair<String, String>, Map<String, S>> repositoryEntry : repositoryEntries.entrySet())
+        {
+            String storageId = repositoryEntry.getKey().getValue0();
+            String repositoryId = repositoryEntry.getKey().getValue1();
+            Map<String, S> entriesByPath = repositoryEntry.getValue();
+
+            // Skip entries which already exist.
+            entriesByPath.keySet()
+                         .removeAll(findExistingArtifactPaths(storageId, repositoryId, entriesByPath.keySet()));
+
+            // Resolve the last version tag once per package.
+            Map<Map<String, String>, List<S>> lastVersionCandidates = entriesByPath.values()
+                                                                                   .stream()
+                                                                                   .filter(e -> e.getTagSet().contains(lastVersionTag))
+                                                                                   .collect(Collectors.groupingBy(e -> e.getArtifactCoordinates().dropVersion(),
+                                                                                                                  LinkedHashMap::new,
+                                                                                                                  Collectors.toList()));
+            for (Entry<Map<String, String>, List<S>> packageEntry : lastVersionCandidates.entrySet())
+            {
+                updateLastVersionTag(storageId, repositoryId, packageEntry.getKey(), packageEntry.getValue(),
+                                     lastVersionTag);
+            }
+
+            for (S entity : entriesByPath.values())
+            {
+                result.add(super.save(entity));
+            }
+        }
+
+        logger.debug(String.format("Saved [%s] of [%s] artifact entries.", result.size(), entities.size()));
+
+        return result;
+    }
+
+    /**
+     * Locks the given artifact paths until the current transaction completes, so that concurrent batches (on any node
+     * of the cluster) don't both find a path missing and then fail the whole transaction on the unique artifact
+     * coordinates index. The paths are spread over a fixed number of cluster locks.
+     * <p>
+     * A transaction may save several batches, and keeps the stripes of all of them until it completes. To stay
+     * deadlock free, stripes are only waited for in ascending order across the whole transaction: a stripe below one
+     * the transaction already holds is only taken if it is free, otherwise its paths are left to the unique index.
+     */
+    private void lockUntilCompletion(Set<String> artifactPaths)
+    {
+        Assert.state(TransactionSynchronizationManager.isSynchronizationActive(),
+                     "Artifact entries must be saved within a transaction.");
+
+        NavigableSet<Integer> heldStripes = getHeldStripes();
+        SortedSet<Integer> stripes = artifactPaths.stream()
+                                                  .map(p -> Math.floorMod(p.hashCode(), SAVE_LOCK_STRIPES))
+                                                  .filter(s -> !heldStripes.contains(s))
+                                                  .collect(Collectors.toCollection(TreeSet::new));
+        for (Integer stripe : stripes)
+        {
+            ILock lock = getSaveLock(stripe);
+            if (!heldStripes.isEmpty() && stripe < heldStripes.last())
+            {
+                if (!lock.tryLock())
+                {
+                    logger.debug(String.format("Artifact entries lock [%s] is busy and out of order, skipping it.",
+                                               stripe));
+                    continue;
+                }
+            }
+            else
+            {
+                try
+                {
+                    if (!lock.tryLock(SAVE_LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                    {
+                        throw new IllegalStateException(String.format("Timed out waiting for the artifact entries lock [%s].",
+                                                                      stripe));
+                    }
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+
+                    throw new IllegalStateException(e);
+                }
+            }
+
+            heldStripes.add(stripe);
+        }
+    }
+
+    /**
+     * @return the stripes held by the current transaction, which are all released when it completes
+     */
+    @SuppressWarnings("unchecked")
+    private NavigableSet<Integer> getHeldStripes()
+    {
+        NavigableSet<Integer> heldStripes = (NavigableSet<Integer>) TransactionSynchronizationManager.getResource(
+                HELD_STRIPES_KEY);
+        if (heldStripes != null)
+        {
+            return heldStripes;
+        }
+
+        NavigableSet<Integer> newHeldStripes = new TreeSet<>();
+        TransactionSynchronizationManager.bindResource(HELD_STRIPES_KEY, newHeldStripes);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter()
+        {
+            @Override
+            public void afterCompletion(int status)
+            {
+                TransactionSynchronizationManager.unbindResourceIfPossible(HELD_STRIPES_KEY);
+                newHeldStripes.forEach(stripe -> getSaveLock(stripe).unlock());
+            }
+        });
+
+        return newHeldStripes;
+    }
+
+    private ILock getSaveLock(int stripe)
+    {
+        return hazelcastInstance.getLock(SAVE_LOCK_PREFIX + stripe);
+    }
+
+    private <S extends ArtifactEntry> void updateLastVersionTag(String storageId,
+                                                                String repositoryId,
+                                                                Map<String, String> coordinatesMap,
+                                                                List<S> candidates,
+                                                                ArtifactTag lastVersionTag)
+    {
+        S candidate = candidates.stream()
+                                .max((e1, e2) -> e1.getArtifactCoordinates().compareTo(e2.getArtifactCoordinates()))
+                                .get();
+        candidates.stream()
+                  .filter(e -> e != candidate)
+                  .forEach(e -> e.getTagSet().remove(lastVersionTag));
+
+        Optional<ArtifactEntry> lastVersionEntry = findLastVersionEntry(storageId, repositoryId, coordinatesMap,
+                                                                        lastVersionTag);
+        if (!lastVersionEntry.isPresent())
+        {
+            return;
+        }
+
+        ArtifactEntry lastVersion = lastVersionEntry.get();
+        if (candidate.getArtifactCoordinates().compareTo(lastVersion.getArtifactCoordinates()) >= 0)
+        {
+            lastVersion.getTagSet().remove(lastVersionTag);
+
+            super.save(lastVersion);
+        }
+        else
+        {
+            candidate.getTagSet().remove(lastVersionTag);
+        }
+    }
+
+    private Optional<ArtifactEntry> findLastVersionEntry(String storageId,
+                                                         String repositoryId,
+                                                         Map<String, String> coordinatesMap,
+                                                         ArtifactTag lastVersionTag)
+    {
+        Set<ArtifactTag> tagSet = new HashSet<>();
+        tagSet.add(lastVersionTag);
+
+        return findArtifactList(storageId,
+                                repositoryId,
+                                coordinatesMap,
+                                tagSet,
+                                0,
+                                -1,
+                                "uuid",
+                                true).stream()
+                                     .map(e -> (ArtifactEntry) getDelegate().detachAll(e, true))
+                                     .findFirst();
+    }
+
+    private void prepareSave(ArtifactEntry entity)
+    {
+        //this needed to update `ArtifactEntry.path` property
+        entity.setArtifactCoordinates(entity.getArtifactCoordinates());
+
+        if (artifactEntryIsSavedForTheFirstTime(entity))
+        {
+            entity.setCreated(new Date());
+        }
+    }
+
     private boolean artifactEntryIsSavedForTheFirstTime(ArtifactEntry artifactEntry)
     {
         return artifactEntry.getUuid() == null;
@@ -87,21 +318,13 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
         Assert.notNull(coordinates, "coordinates should not be null");
         
         ArtifactTag lastVersionTag = artifactTagService.findOneOrCreate(ArtifactTagEntry.LAST_VERSION);
-        Set<ArtifactTag> tagSet = new HashSet<>();
-        tagSet.add(lastVersionTag);
-        
+
         Map<String, String> coordinatesMap = coordinates.dropVersion();
-        
-        List<ArtifactEntry> lastVersionArtifactList = findArtifactList(entity.getStorageId(),
-                                                                       entity.getRepositoryId(),
-                                                                       coordinatesMap, tagSet,
-                                                                       0,
-                                                                       -1,
-                                                                       "uuid", true).stream()
-                                                                                    .map(e -> (ArtifactEntry) getDelegate().detachAll(e,
-                                                                                                                                      true))
-                                                                                    .collect(Collectors.toList());
-        ArtifactEntry lastVersionEntry = lastVersionArtifactList.stream().findFirst().orElse(entity);
+
+        ArtifactEntry lastVersionEntry = findLastVersionEntry(entity.getStorageId(),
+                                                              entity.getRepositoryId(),
+                                                              coordinatesMap,
+                                                              lastVersionTag).orElse(entity);
         Optional<ArtifactCoordinates> lastVersionCoordinates = Optional.ofNullable(lastVersionEntry.getArtifactCoordinates());
         if (lastVersionEntry.equals(entity))
         {
@@ -175,7 +398,7 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
 
         tagMap.entrySet().stream().forEach(e -> parameterMap.put(e.getKey(), e.getValue().getName()));
         
-        List<ArtifactEntry> entries = getDelegate().command(oQuery).execute(parameterMap);
+        List<ArtifactEntry> entries = execute("findArtifactList", oQuery, parameterMap);
 
         return entries;
     }
@@ -220,7 +443,7 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
 
         OSQLSynchQuery<ArtifactEntry> oQuery = new OSQLSynchQuery<>(sb.toString());
 
-        return getDelegate().command(oQuery).execute(parameterMap);
+        return execute("findMatching", oQuery, parameterMap);
     }
 
     @Override
@@ -263,7 +486,7 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
         });
 
 
-        List<ODocument> result = getDelegate().command(oQuery).execute(parameterMap);
+        List<ODocument> result = execute("countCoordinates", oQuery, parameterMap);
         return (Long) result.iterator().next().field("count");
     }
 
@@ -295,7 +518,7 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
         });
 
 
-        List<ODocument> result = getDelegate().command(oQuery).execute(parameterMap);
+        List<ODocument> result = execute("countArtifacts", oQuery, parameterMap);
         return (Long) result.iterator().next().field("count");
     }
 
@@ -435,6 +658,51 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
         return findArtifactEntryId(storageId, repositoryId, path) != null;
     }
 
+    @Override
+    public Set<String> findExistingArtifactPaths(String storageId,
+                                                 String repositoryId,
+                                                 Collection<String> paths)
+    {
+        if (CollectionUtils.isEmpty(paths))
+        {
+            return Collections.emptySet();
+        }
+
+        String sQuery = "SELECT FROM INDEX:idx_artifact_coordinates WHERE key IN :paths";
+
+        HashMap<String, Object> params = new HashMap<>();
+        params.put("paths", new ArrayList<>(new HashSet<>(paths)));
+
+        List<ODocument> resultList = execute("findExistingArtifactPaths", new OSQLSynchQuery<ODocument>(sQuery), params);
+        if (resultList.isEmpty())
+        {
+            return Collections.emptySet();
+        }
+
+        Map<ORID, String> artifactCoordinatesPaths = new HashMap<>();
+        for (ODocument result : resultList)
+        {
+            artifactCoordinatesPaths.put(((OIdentifiable) result.field("rid")).getIdentity(), result.field("key"));
+        }
+
+        sQuery = String.format("SELECT artifactCoordinates FROM %s WHERE artifactCoordinates IN :artifactCoordinatesIds " +
+                               "AND storageId = :storageId AND repositoryId = :repositoryId",
+                               getEntityClass().getSimpleName());
+
+        params = new HashMap<>();
+        params.put("artifactCoordinatesIds", new ArrayList<>(artifactCoordinatesPaths.keySet()));
+        params.put("storageId", storageId);
+        params.put("repositoryId", repositoryId);
+
+        resultList = execute("findExistingArtifactPaths", new OSQLSynchQuery<ODocument>(sQuery), params);
+
+        return resultList.stream()
+                         .map(result -> ((OIdentifiable) result.field("artifactCoordinates")).getIdentity())
+                         .map(artifactCoordinatesPaths::get)
+                         .filter(Objects::nonNull)
+                         .collect(Collectors.toSet());
+    }
+
     @Override
     public ArtifactEntry findOneArtifact(String storageId,
                                          String repositoryId,
@@ -480,7 +748,7 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
         parameterMap.put("uuids", artifactEntries.stream().map(ArtifactEntry::getUuid).collect(Collectors.toList()));
 
         OCommandSQL oCommandSQL = new OCommandSQL(sb.toString());
-        return getDelegate().command(oCommandSQL).execute(parameterMap);
+        return execute("delete", oCommandSQL, parameterMap);
     }
 
     private ORID findArtifactEntryId(String storageId,
@@ -495,7 +763,7 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
         OSQLSynchQuery<ODocument> oQuery = new OSQLSynchQuery<>(sQuery);
         oQuery.setLimit(1);
 
-        List<ODocument> resultList = getDelegate().command(oQuery).execute(params);
+        List<ODocument> resultList = execute("findArtifactEntryId", oQuery, params);
         ODocument result = resultList.isEmpty() ? null : resultList.iterator().next();
 
         ORID artifactCoordinatesId = result == null ? null : ((ODocument) result.field("rid")).getIdentity();
@@ -514,12 +782,33 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
         params.put("repositoryId", repositoryId);
         params.put("artifactCoordinatesId", artifactCoordinatesId);
 
-        resultList = getDelegate().command(oQuery).execute(params);
+        resultList = execute("findArtifactEntryId", oQuery, params);
         result = resultList.isEmpty() ? null : resultList.iterator().next();
 
         return result == null ? null : ((ODocument) result.field("rid")).getIdentity();
     }
 
+    /**
+     * Executes a query, recording its time under the given name.
+     */
+    private <T> T execute(String queryName,
+                          OCommandRequest command,
+                          Map<String, Object> parameters)
+    {
+        Timer.Sample sample = Timer.start();
+        RequestTimings.Phase phase = RequestTimings.phase(RequestTimings.DATABASE);
+        try
+        {
+            return getDelegate().command(command).execute(parameters);
+        }
+        finally
+        {
+            phase.close();
+            sample.stop(StrongboxMetrics.timer(StrongboxMetrics.DATABASE_QUERIES, StrongboxMetrics.TAG_QUERY,
+                                               queryName));
+        }
+    }
+
     @Override
     public Class<ArtifactEntry> getEntityClass()
     {
@@ -0,0 +1,458 @@
+package org.carlspring.strongbox.services.impl;
+
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.event.repository.ArtifactsPromotedEvent;
+import org.carlspring.strongbox.event.repository.RepositoryEventListenerRegistry;
+import org.carlspring.strongbox.providers.ProviderImplementationException;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathLock;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.providers.io.StorageFileSystemProvider;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.services.ArtifactPromotionService;
+import org.carlspring.strongbox.services.support.ArtifactPromotionRequest;
+import org.carlspring.strongbox.services.support.ArtifactPromotionResult;
+import org.carlspring.strongbox.storage.ArtifactStorageException;
+import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.validation.resource.ArtifactOperationsValidator;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component("artifactPromotionService")
+public class ArtifactPromotionServiceImpl
+        implements ArtifactPromotionService
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactPromotionServiceImpl.class);
+
+    private static final String BACKUP_SUFFIX = ".promotion-backup";
+
+    @Inject
+    private ConfigurationManager configurationManager;
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @Inject
+    private ArtifactOperationsValidator artifactOperationsValidator;
+
+    @Inject
+    private RepositoryEventListenerRegistry repositoryEventListenerRegistry;
+
+    @Inject
+    private RepositoryPathLock repositoryPathLock;
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public ArtifactPromotionResult promote(ArtifactPromotionRequest request)
+            throws IOException
+    {
+        if (request.getSrcStorageId().equals(request.getDestStorageId()) &&
+            request.getSrcRepositoryId().equals(request.getDestRepositoryId()))
+        {
+            throw new ArtifactStorageException(String.format("Can't promote artifacts into their own repository [%s:%s].",
+                                                             request.getSrcStorageId(),
+                                                             request.getSrcRepositoryId()));
+        }
+
+        Repository srcRepository = getRepository(request.getSrcStorageId(), request.getSrcRepositoryId());
+        Repository destRepository = getRepository(request.getDestStorageId(), request.getDestRepositoryId());
+
+        artifactOperationsValidator.checkAllowsDeployment(destRepository);
+        if (request.isMove())
+        {
+            artifactOperationsValidator.checkAllowsDeletion(srcRepository);
+        }
+
+        ArtifactPromotionResult result = new ArtifactPromotionResult();
+        Journal journal = new Journal(request.isAtomic());
+        boolean synchronizedJournal = TransactionSynchronizationManager.isSynchronizationActive();
+        if (synchronizedJournal)
+        {
+            // The files are kept in line with the artifact entries: committed or rolled back along with them.
+            TransactionSynchronizationManager.registerSynchronization(journal);
+        }
+
+        List<ArtifactEntry> promotedEntries = new ArrayList<>();
+        List<RepositoryPath> promotedPaths = new ArrayList<>();
+        List<RepositoryPath> movedPaths = new ArrayList<>();
+        try
+        {
+            for (ArtifactEntry artifactEntry : selectArtifactEntries(request, result))
+            {
+                String path = artifactEntry.getArtifactPath();
+                RepositoryPath srcPath = repositoryPathResolver.resolve(srcRepository, path);
+                RepositoryPath destPath = repositoryPathResolver.resolve(destRepository, path);
+                try
+                {
+                    artifactOperationsValidator.checkAllowsRedeployment(destRepository,
+                                                                        artifactEntry.getArtifactCoordinates());
+
+                    transferArtifact(srcPath, destPath, journal, result);
+                }
+                catch (IOException | ProviderImplementationException e)
+                {
+                    if (request.isAtomic())
+                    {
+                        throw new ArtifactStorageException(String.format("Failed to promote [%s], rolling back.",
+                                                                         path), e);
+                    }
+
+                    logger.error(String.format("Failed to promote [%s] from [%s:%s] to [%s:%s].", path,
+                                               request.getSrcStorageId(), request.getSrcRepositoryId(),
+                                               request.getDestStorageId(), request.getDestRepositoryId()), e);
+                    result.getFailed().add(path);
+
+                    continue;
+                }
+
+                promotedEntries.add(artifactEntry);
+                promotedPaths.add(destPath);
+                if (request.isMove())
+                {
+                    movedPaths.add(srcPath);
+                }
+                result.getPromoted().add(path);
+            }
+
+            saveArtifactEntries(promotedEntries, destRepository);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            if (!synchronizedJournal)
+            {
+                journal.rollback();
+            }
+
+            throw e;
+        }
+
+        // The sources are only removed once all the copies are in place and their entries committed, through the
+        // provider, so that they go to the trash, release their blobs, and get removed from the indexes and group
+        // metadata like any other deletion.
+        journal.onCommit(() -> {
+            for (RepositoryPath srcPath : movedPaths)
+            {
+                deleteArtifact(srcPath);
+            }
+
+            if (!promotedPaths.isEmpty())
+            {
+                repositoryEventListenerRegistry.dispatchEvent(new ArtifactsPromotedEvent(request.getDestStorageId(),
+                                                                                         request.getDestRepositoryId(),
+                                                                                         promotedPaths,
+                                                                                         movedPaths));
+            }
+        });
+
+        if (!synchronizedJournal)
+        {
+            journal.afterCommit();
+        }
+
+        logger.debug(String.format("Promoted [%s] artifacts from [%s:%s] to [%s:%s]: [%s] files linked, [%s] copied.",
+                                   result.getPromoted().size(),
+                                   request.getSrcStorageId(), request.getSrcRepositoryId(),
+                                   request.getDestStorageId(), request.getDestRepositoryId(),
+                                   result.getLinkedFiles(), result.getCopiedFiles()));
+
+        return result;
+    }
+
+    private Repository getRepository(String storageId,
+                                     String repositoryId)
+            throws ArtifactStorageException
+    {
+        Storage storage = configurationManager.getConfiguration().getStorage(storageId);
+        Repository repository = storage != null ? storage.getRepository(repositoryId) : null;
+        if (repository == null)
+        {
+            throw new ArtifactStorageException(String.format("Repository not found [%s:%s].", storageId,
+                                                             repositoryId));
+        }
+
+        return repository;
+    }
+
+    private List<ArtifactEntry> selectArtifactEntries(ArtifactPromotionRequest request,
+                                                      ArtifactPromotionResult result)
+    {
+        if (request.getPaths() == null)
+        {
+            return artifactEntryService.findArtifactList(request.getSrcStorageId(),
+                                                         request.getSrcRepositoryId(),
+                                                         Collections.emptyMap(),
+                                                         false);
+        }
+
+        List<ArtifactEntry> artifactEntries = new ArrayList<>();
+        for (String path : request.getPaths())
+        {
+            ArtifactEntry artifactEntry = artifactEntryService.findOneArtifact(request.getSrcStorageId(),
+                                                                               request.getSrcRepositoryId(),
+                                                                               path);
+            if (artifactEntry != null)
+            {
+                artifactEntries.add(artifactEntry);
+            }
+            else
+            {
+                result.getFailed().add(path);
+            }
+        }
+
+        return artifactEntries;
+    }
+
+    /**
+     * Creates the entries of the promoted artifacts in the target repository, or updates the ones which are being
+     * replaced.
+     */
+    private void saveArtifactEntries(List<ArtifactEntry> promotedEntries,
+                                     Repository destRepository)
+    {
+        String destStorageId = destRepository.getStorage().getId();
+
+        List<ArtifactEntry> newEntries = new ArrayList<>();
+        for (ArtifactEntry promotedEntry : promotedEntries)
+        {
+            ArtifactEntry destEntry = artifactEntryService.findOneArtifact(destStorageId,
+                                                                           destRepository.getId(),
+                                                                           promotedEntry.getArtifactPath());
+            if (destEntry == null)
+            {
+                newEntries.add(copyArtifactEntry(promotedEntry, destRepository));
+                continue;
+            }
+
+            destEntry.setSizeInBytes(promotedEntry.getSizeInBytes());
+            destEntry.setLastUpdated(new Date());
+            artifactEntryService.save(destEntry);
+        }
+
+        artifactEntryService.saveAllIfAbsent(newEntries);
+    }
+
+    private ArtifactEntry copyArtifactEntry(ArtifactEntry source,
+                                            Repository destRepository)
+    {
+        ArtifactEntry result = new ArtifactEntry();
+        result.setStorageId(destRepository.getStorage().getId());
+        result.setRepositoryId(destRepository.getId());
+        result.setArtifactCoordinates(source.getArtifactCoordinates());
+        result.setSizeInBytes(source.getSizeInBytes());
+        result.getTagSet().addAll(source.getTagSet());
+
+        Date now = new Date();
+        result.setLastUpdated(now);
+        result.setLastUsed(now);
+
+        return result;
+    }
+
+    /**
+     * Places an artifact and its checksums into the target repository.
+     */
+    private void transferArtifact(RepositoryPath srcPath,
+                                  RepositoryPath destPath,
+                                  Journal journal,
+                                  ArtifactPromotionResult result)
+            throws IOException
+    {
+        // The lock of an artifact is named after its coordinates, so that this guards the source file as well.
+        Lock lock = repositoryPathLock.lock(destPath).writeLock();
+        lock.lock();
+        try
+        {
+            transfer(srcPath, destPath, journal, result);
+
+            StorageFileSystemProvider provider = srcPath.getFileSystem().provider();
+            for (RepositoryPath srcChecksumPath : provider.resolveChecksumPathMap(srcPath).values())
+            {
+                if (Files.exists(srcChecksumPath))
+                {
+                    transfer(srcChecksumPath,
+                             destPath.resolveSibling(srcChecksumPath.getFileName().toString()),
+                             journal,
+                             result);
+                }
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Places the source file at the target, preferably as a link, and records how to undo it.
+     */
+    private void transfer(RepositoryPath source,
+                          RepositoryPath target,
+                          Journal journal,
+                          ArtifactPromotionResult result)
+            throws IOException
+    {
+        journal.backup(target);
+
+        if (target.getFileSystem().provider().link(source, target))
+        {
+            result.incrementLinkedFiles();
+        }
+        else
+        {
+            result.incrementCopiedFiles();
+        }
+        journal.add(() -> target.getFileSystem().provider().purge(target));
+    }
+
+    private void deleteArtifact(RepositoryPath srcPath)
+    {
+        try
+        {
+            Lock lock = repositoryPathLock.lock(srcPath).writeLock();
+            lock.lock();
+            try
+            {
+                RepositoryFiles.delete(srcPath, false);
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        }
+        catch (IOException e)
+        {
+            logger.error(String.format("Failed to remove the moved artifact [%s].", srcPath), e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface UndoAction
+    {
+
+        void undo()
+                throws IOException;
+
+    }
+
+    /**
+     * Keeps track of the file operations of an atomic promotion, so that they can be rolled back along with the
+     * transaction of the promotion, and runs what has to wait for the transaction to be committed.
+     */
+    private static class Journal
+            extends TransactionSynchronizationAdapter
+    {
+
+        private final boolean enabled;
+
+        private final Deque<UndoAction> undoActions = new ArrayDeque<>();
+
+        private final List<RepositoryPath> backups = new ArrayList<>();
+
+        private final List<Runnable> commitActions = new ArrayList<>();
+
+        Journal(boolean enabled)
+        {
+            this.enabled = enabled;
+        }
+
+        void add(UndoAction undoAction)
+        {
+            if (enabled)
+            {
+                undoActions.push(undoAction);
+            }
+        }
+
+        void onCommit(Runnable action)
+        {
+            commitActions.add(action);
+        }
+
+        /**
+         * Moves an existing target aside, so that it can be restored on rollback.
+         */
+        void backup(RepositoryPath target)
+                throws IOException
+        {
+            if (!enabled || !Files.exists(target))
+            {
+                return;
+            }
+
+            RepositoryPath backup = target.resolveSibling(target.getFileName() + BACKUP_SUFFIX);
+            Files.move(target, backup, StandardCopyOption.REPLACE_EXISTING);
+            backups.add(backup);
+
+            add(() -> Files.move(backup, target, StandardCopyOption.REPLACE_EXISTING));
+        }
+
+        void rollback()
+        {
+            while (!undoActions.isEmpty())
+            {
+                try
+                {
+                    undoActions.pop().undo();
+                }
+                catch (IOException e)
+                {
+                    logger.error("Failed to roll back a promoted file.", e);
+                }
+            }
+        }
+
+        @Override
+        public void afterCommit()
+        {
+            for (RepositoryPath backup : backups)
+            {
+                try
+                {
+                    backup.getFileSystem().provider().purge(backup);
+                }
+                catch (IOException e)
+                {
+                    logger.error(String.format("Failed to remove the promotion backup [%s].", backup), e);
+                }
+            }
+
+            commitActions.forEach(Runnable::run);
+        }
+
+        @Override
+        public void afterCompletion(int status)
+        {
+            if (status == STATUS_ROLLED_BACK)
+            {
+                rollback();
+            }
+        }
+
+    }
+
+}
@@ -7,19 +7,24 @@ import org.carlspring.strongbox.event.repository.RepositoryEventListenerRegistry
 import org.carlspring.strongbox.event.repository.RepositoryEventTypeEnum;
 import org.carlspring.strongbox.providers.layout.LayoutProvider;
 import org.carlspring.strongbox.providers.layout.LayoutProviderRegistry;
+import org.carlspring.strongbox.repository.RepositoryManagementStrategyException;
 import org.carlspring.strongbox.service.ProxyRepositoryConnectionPoolConfigurationService;
 import org.carlspring.strongbox.services.ConfigurationManagementService;
+import org.carlspring.strongbox.services.RepositoryManagementService;
 import org.carlspring.strongbox.storage.MutableStorage;
+import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.*;
 import org.carlspring.strongbox.storage.routing.MutableRoutingRule;
 import org.carlspring.strongbox.storage.routing.MutableRuleSet;
 
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
+import java.io.IOException;
 import java.lang.reflect.UndeclaredThrowableException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
 
@@ -27,11 +32,16 @@ import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.SerializationUtils;
 import org.apache.commons.lang3.mutable.MutableBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.support.TransactionTemplate;
 
 /**
+ * Configuration changes are serialized across the cluster through the {@link ClusterConfigurationLog}: each change is
+ * applied on top of the latest cluster-wide version, and published as the next one for the other nodes to apply.
+ *
  * @author mtodorov
  */
 @Service
@@ -39,11 +49,16 @@ public class ConfigurationManagementServiceImpl
         implements ConfigurationManagementService
 {
 
-    private final ReadWriteLock configurationLock = new ReentrantReadWriteLock();
+    private static final Logger logger = LoggerFactory.getLogger(ConfigurationManagementServiceImpl.class);
+
+    private final ReentrantReadWriteLock configurationLock = new ReentrantReadWriteLock();
 
     @Inject
     private ConfigurationFileManager configurationFileManager;
 
+    @Inject
+    private ClusterConfigurationLog clusterConfigurationLog;
+
     @Inject
     private RepositoryEventListenerRegistry repositoryEventListenerRegistry;
 
@@ -53,6 +68,9 @@ public class ConfigurationManagementServiceImpl
     @Inject
     private ProxyRepositoryConnectionPoolConfigurationService proxyRepositoryConnectionPoolConfigurationService;
 
+    @Inject
+    private RepositoryManagementService repositoryManagementService;
+
     @Inject
     private PlatformTransactionManager transactionManager;
 
@@ -65,21 +83,142 @@ public class ConfigurationManagementServiceImpl
      */
     private MutableConfiguration configuration;
 
+    /**
+     * Immutable copy of the {@link #configuration}, shared by all {@link #getConfiguration()} callers until the next
+     * modification. It is reset inside the write lock of {@link #modify(Consumer, boolean, List)}.
+     */
+    private volatile Configuration configurationSnapshot;
+
+    /**
+     * The cluster-wide version of the {@link #configuration}.
+     */
+    private volatile long configurationVersion;
+
+    /**
+     * Whether the current modification needs to be stored and published; set by nested modifications, and protected
+     * by the write lock of the {@link #configurationLock}.
+     */
+    private boolean storeRequested;
+
+    /**
+     * The side effects of the current modification, such as events and connection pool settings, which only take
+     * place once it has been made, outside the locks; protected by the write lock of the {@link #configurationLock}.
+     */
+    private List<Runnable> pendingActions;
+
+    /**
+     * The configuration in place before the snapshots of other nodes have been applied, whose storages and
+     * repositories are yet to be initialized (or closed) on this node; protected by the write lock of the
+     * {@link #configurationLock}.
+     *
+     * @see #initializeAppliedChanges()
+     */
+    private Configuration replacedConfiguration;
+
+    /**
+     * The configuration as of the last snapshot applied, without the local changes made since; protected by the
+     * write lock of the {@link #configurationLock}.
+     */
+    private Configuration appliedConfiguration;
+
+    private final Object fileMonitor = new Object();
+
+    /**
+     * The version last written to the configuration file, protected by the {@link #fileMonitor}.
+     */
+    private long storedVersion;
+
     @PostConstruct
     public void init()
     {
         new TransactionTemplate(transactionManager).execute((s) -> doInit());
+
+        clusterConfigurationLog.subscribe(
+                snapshot -> new TransactionTemplate(transactionManager).execute((s) -> applySnapshot(snapshot)));
     }
 
     private Object doInit()
     {
-        final MutableConfiguration configuration = configurationFileManager.read();
-        setConfiguration(configuration);
+        final MutableConfiguration localConfiguration = configurationFileManager.read();
+        final ConfigurationSnapshot latest = clusterConfigurationLog.getLatest();
+        if (latest != null)
+        {
+            // Another node is already running, its configuration takes precedence over the local file.
+            applySnapshot(latest);
+            joinCluster(localConfiguration, latest);
+        }
+        else
+        {
+            setConfiguration(localConfiguration);
+        }
         setRepositoryArtifactCoordinateValidators();
 
         return null;
     }
 
+    /**
+     * Adds the storages and repositories which are only known to the configuration file of this node to the cluster
+     * configuration, so that they are not lost, and reports the other differences, which are overridden.
+     */
+    private void joinCluster(final MutableConfiguration localConfiguration,
+                             final ConfigurationSnapshot latest)
+    {
+        if (configurationFileManager.serialize(localConfiguration).equals(latest.getConfiguration()))
+        {
+            return;
+        }
+
+        logger.warn(String.format("The configuration file differs from the cluster configuration version [%s], " +
+                                  "which is used instead. Storages and repositories only defined in the file are " +
+                                  "added to the cluster configuration.", latest.getVersion()));
+
+        modifyInLock(configuration ->
+                     {
+                         for (MutableStorage localStorage : localConfiguration.getStorages().values())
+                         {
+                             final MutableStorage storage = configuration.getStorage(localStorage.getId());
+                             if (storage == null)
+                             {
+                                 logger.warn(String.format("Adding storage [%s] to the cluster configuration.",
+                                                           localStorage.getId()));
+
+                                 configuration.addStorage(localStorage);
+                                 continue;
+                             }
+
+                             for (MutableRepository localRepository : localStorage.getRepositories().values())
+                             {
+                                 if (storage.getRepository(localRepository.getId()) == null)
+                                 {
+                                     logger.warn(String.format("Adding repository [%s:%s] to the cluster " +
+                                                               "configuration.", storage.getId(),
+                                                               localRepository.getId()));
+
+                                     storage.addRepository(localRepository);
+                                 }
+                             }
+                         }
+
+                         setProxyRepositoryConnectionPoolConfigurations();
+                         setRepositoryStorageRelationships();
+                         setAllows();
+                     });
+    }
+
+    @Override
+    public long getConfigurationVersion()
+    {
+        return configurationVersion;
+    }
+
+    @Override
+    public long getClusterConfigurationVersion()
+    {
+        final ConfigurationSnapshot latest = clusterConfigurationLog.getLatest();
+
+        return latest != null ? latest.getVersion() : configurationVersion;
+    }
+
     @Override
     public MutableConfiguration getMutableConfigurationClone()
     {
@@ -103,12 +242,27 @@ public class ConfigurationManagementServiceImpl
     @Override
     public Configuration getConfiguration()
     {
+        if (configurationLock.isWriteLockedByCurrentThread())
+        {
+            // A modification in progress sees its own changes, which are not shared until they have been made.
+            return new Configuration(configuration);
+        }
+
+        Configuration snapshot = configurationSnapshot;
+        if (snapshot != null)
+        {
+            return snapshot;
+        }
+
         final Lock readLock = configurationLock.readLock();
         readLock.lock();
 
         try
         {
-            return new Configuration(configuration);
+            snapshot = new Configuration(configuration);
+            configurationSnapshot = snapshot;
+
+            return snapshot;
         }
         finally
         {
@@ -192,9 +346,13 @@ public class ConfigurationManagementServiceImpl
 
                          if (repository.isEligibleForCustomConnectionPool())
                          {
-                             proxyRepositoryConnectionPoolConfigurationService.setMaxPerRepository(
-                                     repository.getRemoteRepository().getUrl(),
-                                     repository.getHttpConnectionPool().getAllocatedConnections());
+                             final String url = repository.getRemoteRepository().getUrl();
+                             final int allocatedConnections = repository.getHttpConnectionPool()
+                                                                        .getAllocatedConnections();
+
+                             afterModification(
+                                     () -> proxyRepositoryConnectionPoolConfigurationService.setMaxPerRepository(
+                                             url, allocatedConnections));
                          }
                      });
     }
@@ -494,7 +652,7 @@ public class ConfigurationManagementServiceImpl
                                                                      RepositoryEventTypeEnum.EVENT_REPOSITORY_PUT_IN_SERVICE
                                                                              .getType());
 
-                         repositoryEventListenerRegistry.dispatchEvent(event);
+                         afterModification(() -> repositoryEventListenerRegistry.dispatchEvent(event));
                      });
     }
 
@@ -513,7 +671,7 @@ public class ConfigurationManagementServiceImpl
                                                                      RepositoryEventTypeEnum.EVENT_REPOSITORY_PUT_OUT_OF_SERVICE
                                                                              .getType());
 
-                         repositoryEventListenerRegistry.dispatchEvent(event);
+                         afterModification(() -> repositoryEventListenerRegistry.dispatchEvent(event));
                      });
     }
 
@@ -596,10 +754,15 @@ public class ConfigurationManagementServiceImpl
                                       .filter(storage -> MapUtils.isNotEmpty(storage.getRepositories()))
                                       .flatMap(storage -> storage.getRepositories().values().stream())
                                       .filter(MutableRepository::isEligibleForCustomConnectionPool)
-                                      .forEach(
-                                              repository -> proxyRepositoryConnectionPoolConfigurationService.setMaxPerRepository(
-                                                      repository.getRemoteRepository().getUrl(),
-                                                      repository.getHttpConnectionPool().getAllocatedConnections()));
+                                      .forEach(repository -> {
+                                          final String url = repository.getRemoteRepository().getUrl();
+                                          final int allocatedConnections = repository.getHttpConnectionPool()
+                                                                                     .getAllocatedConnections();
+
+                                          afterModification(
+                                                  () -> proxyRepositoryConnectionPoolConfigurationService.setMaxPerRepository(
+                                                          url, allocatedConnections));
+                                      });
                      }, false);
     }
 
@@ -620,25 +783,350 @@ public class ConfigurationManagementServiceImpl
         modifyInLock(operation, true);
     }
 
+    /**
+     * The outermost call takes the cluster-wide lock before the local one, catches up with the latest cluster-wide
+     * version, and publishes the result as the next version. Nested calls, such as the ones made within
+     * {@link #modifyInBatch(Runnable)}, only modify the configuration, which is serialized once, under the read lock
+     * only, and written to the file after the local lock has been released. The side effects registered through
+     * {@link #afterModification(Runnable)} are run last, unless the modification fails.
+     */
     private void modifyInLock(final Consumer<MutableConfiguration> operation,
                               final boolean storeInFile)
     {
+        final boolean outermost = !configurationLock.isWriteLockedByCurrentThread();
+        if (!outermost)
+        {
+            operation.accept(configuration);
+            storeRequested |= storeInFile;
+
+            return;
+        }
+
+        final List<Runnable> actions = new ArrayList<>();
+        try
+        {
+            clusterConfigurationLog.lock();
+            try
+            {
+                final ConfigurationSnapshot snapshot = modify(operation, storeInFile, actions);
+                if (snapshot != null)
+                {
+                    store(snapshot);
+                }
+            }
+            finally
+            {
+                clusterConfigurationLog.unlock();
+            }
+        }
+        finally
+        {
+            // The side effects of the versions of other nodes which have been caught up with are kept, even if the
+            // operation has failed.
+            runActions(actions);
+            initializeAppliedChanges();
+        }
+    }
+
+    /**
+     * Runs the operation under the write lock, which is then downgraded to the read lock, so that the configuration
+     * can still be read while it is being serialized and published.
+     *
+     * @return the published snapshot, or <code>null</code> if nothing needs to be stored
+     */
+    private ConfigurationSnapshot modify(final Consumer<MutableConfiguration> operation,
+                                         final boolean storeInFile,
+                                         final List<Runnable> actions)
+    {
+        final Lock readLock = configurationLock.readLock();
         final Lock writeLock = configurationLock.writeLock();
         writeLock.lock();
 
+        final MutableConfiguration modified;
         try
         {
-            operation.accept(configuration);
+            pendingActions = actions;
+            catchUp();
+
+            final int caughtUp = actions.size();
+            storeRequested = storeInFile;
+            try
+            {
+                operation.accept(configuration);
+            }
+            catch (RuntimeException | Error e)
+            {
+                actions.subList(caughtUp, actions.size()).clear();
+
+                throw e;
+            }
+
+            if (!storeRequested)
+            {
+                return null;
+            }
+
+            modified = configuration;
+            readLock.lock();
+        }
+        finally
+        {
+            storeRequested = false;
+            configurationSnapshot = null;
+            pendingActions = null;
+            writeLock.unlock();
+        }
+
+        try
+        {
+            final ConfigurationSnapshot snapshot = clusterConfigurationLog.append(
+                    configurationFileManager.serialize(modified));
+            configurationVersion = snapshot.getVersion();
+
+            return snapshot;
+        }
+        finally
+        {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Registers a side effect of the current modification, to be run once the modification has been made.
+     */
+    private void afterModification(final Runnable action)
+    {
+        if (pendingActions != null)
+        {
+            pendingActions.add(action);
+        }
+        else
+        {
+            action.run();
+        }
+    }
+
+    private void runActions(final List<Runnable> actions)
+    {
+        for (Runnable action : actions)
+        {
+            try
+            {
+                action.run();
+            }
+            catch (RuntimeException e)
+            {
+                logger.error("Failed to apply the configuration change.", e);
+            }
+        }
+    }
+
+    @Override
+    public void modifyInBatch(final Runnable changes)
+    {
+        modifyInLock(configuration ->
+                     {
+                         final MutableConfiguration backup = SerializationUtils.clone(configuration);
+                         final int actions = pendingActions.size();
+                         try
+                         {
+                             changes.run();
+                         }
+                         catch (RuntimeException e)
+                         {
+                             // None of the changes, nor their side effects, take place.
+                             ConfigurationManagementServiceImpl.this.configuration = backup;
+                             pendingActions.subList(actions, pendingActions.size()).clear();
 
-            if (storeInFile)
+                             throw e;
+                         }
+                     });
+    }
+
+    private void catchUp()
+    {
+        final ConfigurationSnapshot latest = clusterConfigurationLog.getLatest();
+        if (latest != null && latest.getVersion() > configurationVersion)
+        {
+            applySnapshot(latest);
+        }
+    }
+
+    /**
+     * Replaces the whole configuration with a version published by another node, and stores it in the local file,
+     * unless called from {@link #catchUp()}, in which case the file is written along with the change being made.
+     */
+    private Object applySnapshot(final ConfigurationSnapshot snapshot)
+    {
+        final boolean outermost = !configurationLock.isWriteLockedByCurrentThread();
+        final List<Runnable> actions = outermost ? new ArrayList<>() : pendingActions;
+
+        final Lock writeLock = configurationLock.writeLock();
+        writeLock.lock();
+        try
+        {
+            if (snapshot.getVersion() <= configurationVersion)
+            {
+                return null;
+            }
+
+            pendingActions = actions;
+
+            if (replacedConfiguration == null && configuration != null)
+            {
+                replacedConfiguration = new Configuration(configuration);
+            }
+
+            configuration = configurationFileManager.deserialize(snapshot.getConfiguration());
+            setProxyRepositoryConnectionPoolConfigurations();
+            setRepositoryStorageRelationships();
+            setAllows();
+
+            configurationVersion = snapshot.getVersion();
+
+            if (replacedConfiguration != null)
+            {
+                appliedConfiguration = new Configuration(configuration);
+            }
+        }
+        finally
+        {
+            if (outermost)
             {
-                configurationFileManager.store(configuration);
+                storeRequested = false;
+                pendingActions = null;
             }
+            configurationSnapshot = null;
+            writeLock.unlock();
+        }
+
+        logger.info(String.format("Applied configuration version [%s].", snapshot.getVersion()));
+
+        if (outermost)
+        {
+            store(snapshot);
+            runActions(actions);
+            initializeAppliedChanges();
+        }
+
+        return null;
+    }
+
+    /**
+     * Runs the same initialization as a local change would for the storages and repositories which have been added
+     * or removed by the snapshots applied since the last call: the added ones are created (along with their layout
+     * specific structures, such as indexes) and announced with an
+     * {@link RepositoryEventTypeEnum#EVENT_REPOSITORY_CREATED} event, while an
+     * {@link RepositoryEventTypeEnum#EVENT_REPOSITORY_DELETED} event is dispatched for the removed ones, so that they
+     * are closed. The files of the removed repositories are left to the node which removed them.
+     * <p>
+     * The configuration replaced at startup is not compared, as the storage booter initializes all the repositories.
+     */
+    private void initializeAppliedChanges()
+    {
+        final Configuration previous;
+        final Configuration current;
+
+        final Lock writeLock = configurationLock.writeLock();
+        writeLock.lock();
+        try
+        {
+            previous = replacedConfiguration;
+            current = appliedConfiguration;
+            replacedConfiguration = null;
+            appliedConfiguration = null;
         }
         finally
         {
             writeLock.unlock();
         }
+
+        if (previous == null || current == null)
+        {
+            return;
+        }
+
+        for (Storage storage : current.getStorages().values())
+        {
+            final Storage previousStorage = previous.getStorage(storage.getId());
+            if (previousStorage == null)
+            {
+                initializeStorage(storage);
+            }
+
+            for (Repository repository : storage.getRepositories().values())
+            {
+                if (previousStorage == null || previousStorage.getRepository(repository.getId()) == null)
+                {
+                    initializeRepository(repository);
+                }
+            }
+        }
+
+        for (Storage previousStorage : previous.getStorages().values())
+        {
+            final Storage storage = current.getStorage(previousStorage.getId());
+            for (Repository repository : previousStorage.getRepositories().values())
+            {
+                if (storage == null || storage.getRepository(repository.getId()) == null)
+                {
+                    logger.info(String.format("Closing repository [%s:%s], removed by another node.",
+                                              previousStorage.getId(), repository.getId()));
+
+                    repositoryEventListenerRegistry.dispatchEvent(
+                            new RepositoryEvent(previousStorage.getId(),
+                                                repository.getId(),
+                                                RepositoryEventTypeEnum.EVENT_REPOSITORY_DELETED.getType()));
+                }
+            }
+        }
+    }
+
+    private void initializeStorage(final Storage storage)
+    {
+        try
+        {
+            Files.createDirectories(Paths.get(storage.getBasedir()));
+        }
+        catch (IOException e)
+        {
+            logger.error(String.format("Failed to create the directory of storage [%s].", storage.getId()), e);
+        }
+    }
+
+    private void initializeRepository(final Repository repository)
+    {
+        final String storageId = repository.getStorage().getId();
+
+        logger.info(String.format("Initializing repository [%s:%s], added by another node.", storageId,
+                                  repository.getId()));
+
+        try
+        {
+            repositoryManagementService.createRepository(storageId, repository.getId());
+        }
+        catch (IOException | RepositoryManagementStrategyException | RuntimeException e)
+        {
+            logger.error(String.format("Failed to initialize repository [%s:%s].", storageId, repository.getId()),
+                         e);
+        }
+    }
+
+    /**
+     * Writes a version to the file, unless a later one has been written already.
+     */
+    private void store(final ConfigurationSnapshot snapshot)
+    {
+        synchronized (fileMonitor)
+        {
+            if (snapshot.getVersion() <= storedVersion)
+            {
+                return;
+            }
+
+            configurationFileManager.store(snapshot.getConfiguration());
+            storedVersion = snapshot.getVersion();
+        }
     }
 
 }
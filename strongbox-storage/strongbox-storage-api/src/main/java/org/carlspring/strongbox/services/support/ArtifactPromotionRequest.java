@@ -0,0 +1,101 @@
+package org.carlspring.strongbox.services.support;
+
+import java.util.List;
+
+/**
+ * Describes a set of artifacts to copy or move from one repository into another in a single operation.
+ */
+public class ArtifactPromotionRequest
+{
+
+    private String srcStorageId;
+
+    private String srcRepositoryId;
+
+    private String destStorageId;
+
+    private String destRepositoryId;
+
+    /**
+     * The artifact paths to promote; all the artifacts of the source repository are promoted when not set.
+     */
+    private List<String> paths;
+
+    private boolean move;
+
+    /**
+     * Whether a failure should roll back the artifacts which have already been promoted.
+     */
+    private boolean atomic;
+
+    public String getSrcStorageId()
+    {
+        return srcStorageId;
+    }
+
+    public void setSrcStorageId(String srcStorageId)
+    {
+        this.srcStorageId = srcStorageId;
+    }
+
+    public String getSrcRepositoryId()
+    {
+        return srcRepositoryId;
+    }
+
+    public void setSrcRepositoryId(String srcRepositoryId)
+    {
+        this.srcRepositoryId = srcRepositoryId;
+    }
+
+    public String getDestStorageId()
+    {
+        return destStorageId;
+    }
+
+    public void setDestStorageId(String destStorageId)
+    {
+        this.destStorageId = destStorageId;
+    }
+
+    public String getDestRepositoryId()
+    {
+        return destRepositoryId;
+    }
+
+    public void setDestRepositoryId(String destRepositoryId)
+    {
+        this.destRepositoryId = destRepositoryId;
+    }
+
+    public List<String> getPaths()
+    {
+        return paths;
+    }
+
+    public void setPaths(List<String> paths)
+    {
+        this.paths = paths;
+    }
+
+    public boolean isMove()
+    {
+        return move;
+    }
+
+    public void setMove(boolean move)
+    {
+        this.move = move;
+    }
+
+    public boolean isAtomic()
+    {
+        return atomic;
+    }
+
+    public void setAtomic(boolean atomic)
+    {
+        this.atomic = atomic;
+    }
+
+}
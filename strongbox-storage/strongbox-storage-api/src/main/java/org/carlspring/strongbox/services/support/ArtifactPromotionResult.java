@@ -0,0 +1,59 @@
+package org.carlspring.strongbox.services.support;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * @see ArtifactPromotionRequest
+ */
+public class ArtifactPromotionResult
+{
+
+    @JsonProperty
+    private List<String> promoted = new ArrayList<>();
+
+    @JsonProperty
+    private List<String> failed = new ArrayList<>();
+
+    /**
+     * The number of files which were hard linked, rather than copied.
+     */
+    @JsonProperty
+    private int linkedFiles;
+
+    @JsonProperty
+    private int copiedFiles;
+
+    public List<String> getPromoted()
+    {
+        return promoted;
+    }
+
+    public List<String> getFailed()
+    {
+        return failed;
+    }
+
+    public int getLinkedFiles()
+    {
+        return linkedFiles;
+    }
+
+    public int getCopiedFiles()
+    {
+        return copiedFiles;
+    }
+
+    public void incrementLinkedFiles()
+    {
+        linkedFiles++;
+    }
+
+    public void incrementCopiedFiles()
+    {
+        copiedFiles++;
+    }
+
+}
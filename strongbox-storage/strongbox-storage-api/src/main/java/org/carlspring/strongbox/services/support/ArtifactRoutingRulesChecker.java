@@ -1,12 +1,11 @@
 package org.carlspring.strongbox.services.support;
 
 import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.metrics.RequestTimings;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
-import org.carlspring.strongbox.storage.repository.Repository;
-import org.carlspring.strongbox.storage.routing.RoutingRule;
-import org.carlspring.strongbox.storage.routing.RoutingRules;
-import org.carlspring.strongbox.storage.routing.RuleSet;
+import org.carlspring.strongbox.storage.routing.RoutingRulesMatcher;
+import org.carlspring.strongbox.storage.routing.RoutingRulesMatcher.MemberRules;
 
 import javax.inject.Inject;
 import java.io.IOException;
@@ -28,24 +27,13 @@ public class ArtifactRoutingRulesChecker
                             RepositoryPath repositoryPath)
             throws IOException
     {
-        final RoutingRules routingRules = configurationManager.getConfiguration().getRoutingRules();
-        final RuleSet denyRules = routingRules.getDenyRules(groupRepositoryId);
-        final RuleSet wildcardDenyRules = routingRules.getWildcardDeniedRules();
-        final RuleSet acceptRules = routingRules.getAcceptRules(groupRepositoryId);
-        final RuleSet wildcardAcceptRules = routingRules.getWildcardAcceptedRules();
-
-        if (fitsRoutingRules(repositoryPath, denyRules) ||
-            fitsRoutingRules(repositoryPath, wildcardDenyRules))
+        try (RequestTimings.Phase phase = RequestTimings.phase(RequestTimings.ROUTING))
         {
-            if (!(fitsRoutingRules(repositoryPath, acceptRules) ||
-                  fitsRoutingRules(repositoryPath, wildcardAcceptRules)))
-            {
-                return true;
-            }
+            final RoutingRulesMatcher matcher = configurationManager.getConfiguration().getRoutingRules().getMatcher();
+            final MemberRules rules = matcher.getRules(groupRepositoryId, repositoryPath.getRepository().getId());
 
+            return rules != null && rules.isDenied(RepositoryFiles.relativizePath(repositoryPath));
         }
-
-        return false;
     }
 
     public boolean isAccepted(String groupRepositoryId,
@@ -55,25 +43,4 @@ public class ArtifactRoutingRulesChecker
         return !isDenied(groupRepositoryId, repositoryPath);
     }
 
-    private boolean fitsRoutingRules(RepositoryPath repositoryPath,
-                                     RuleSet denyRules)
-            throws IOException
-    {
-        Repository repository = repositoryPath.getRepository();
-        if (denyRules != null && !denyRules.getRoutingRules().isEmpty())
-        {
-            String artifactPath = RepositoryFiles.relativizePath(repositoryPath);
-            for (RoutingRule rule : denyRules.getRoutingRules())
-            {
-                if (rule.getRepositories().contains(repository.getId())
-                    && rule.getRegex().matcher(artifactPath).matches())
-                {
-                    return true;
-                }
-            }
-        }
-
-        return false;
-    }
-
 }
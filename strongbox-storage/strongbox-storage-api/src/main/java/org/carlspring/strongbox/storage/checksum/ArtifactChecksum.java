@@ -1,52 +1,46 @@
 package org.carlspring.strongbox.storage.checksum;
 
+import java.io.Serializable;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
+ * The checksums of an artifact, by algorithm.
+ * <p>
+ * Instances are not changed once they are in the {@link ChecksumCacheManager}: it updates a copy and replaces the
+ * cached one with it.
+ *
  * @author mtodorov
  */
 public class ArtifactChecksum
+        implements Serializable
 {
 
     /**
      * Key: Algorithm Value: Checksum
      */
-    private Map<String, String> checksums = new LinkedHashMap<>();
-
-    /**
-     * The last time this checksum object was accessed in any way. Used to determine when to remove entries from the
-     * cache manager.
-     */
-    private long lastAccessed;
-
-    private AtomicInteger numberOfChecksums = new AtomicInteger(0);
-
-    private AtomicInteger numberOfValidatedChecksums = new AtomicInteger(0);
+    private final Map<String, String> checksums;
 
     public ArtifactChecksum()
     {
-        updateLastAccessedTime();
+        checksums = new LinkedHashMap<>();
     }
 
-    public synchronized void addChecksum(String algorithm,
-                                         String checksum)
+    public ArtifactChecksum(ArtifactChecksum artifactChecksum)
     {
-        checksums.put(algorithm, checksum);
-        incrementNumberOfChecksums();
-        updateLastAccessedTime();
+        checksums = new LinkedHashMap<>(artifactChecksum.checksums);
     }
 
-    private void updateLastAccessedTime()
+    public void addChecksum(String algorithm,
+                            String checksum)
     {
-        lastAccessed = System.currentTimeMillis();
+        checksums.put(algorithm, checksum);
     }
 
-    public synchronized Optional<String> removeChecksum(String algorithm)
+    public Optional<String> removeChecksum(String algorithm)
     {
-        updateLastAccessedTime();
         return checksums.keySet()
                         .stream()
                         .filter(k -> k.replace("-", "")
@@ -58,44 +52,18 @@ public class ArtifactChecksum
 
     public String getChecksum(String algorithm)
     {
-        updateLastAccessedTime();
         return checksums.get(algorithm);
     }
 
-    public synchronized void incrementNumberOfChecksums()
-    {
-        numberOfChecksums.incrementAndGet();
-    }
-
-    public synchronized void incrementNumberOfValidatedChecksums()
-    {
-        numberOfValidatedChecksums.incrementAndGet();
-    }
-
     public Map<String, String> getChecksums()
     {
-        return checksums;
-    }
-
-    public void setChecksums(Map<String, String> checksums)
-    {
-        this.checksums = checksums;
-    }
-
-    public long getLastAccessed()
-    {
-        return lastAccessed;
-    }
-
-    public void setLastAccessed(long lastAccessed)
-    {
-        this.lastAccessed = lastAccessed;
+        return Collections.unmodifiableMap(checksums);
     }
 
     @Override
     public String toString()
     {
-        StringBuffer sb = new StringBuffer();
+        StringBuilder sb = new StringBuilder();
         checksums.entrySet().stream().map(e -> "[" + e.getKey() + "]-[" + e.getValue() + "];").forEach(sb::append);
         return sb.toString();
     }
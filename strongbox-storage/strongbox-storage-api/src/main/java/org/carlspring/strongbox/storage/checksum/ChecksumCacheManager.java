@@ -1,10 +1,8 @@
 package org.carlspring.strongbox.storage.checksum;
 
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
 import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,9 +20,14 @@ import org.slf4j.LoggerFactory;
  * - a match is found, but does not match, trigger an event and log this, then remove
  * the checksum from the cache. (If the checksums set is empty, remove the respective
  * Checksum from the cachedChecksums).
- * - a checksum is not claimed within cachedChecksumLifetime, trigger an event and log
- * this, then remove the checksum from the cache. (If this checksums set is empty,
- * remove the respective Checksum from the cachedChecksums).
+ * - a checksum is not claimed within the lifetime of the cache entries, it is dropped by
+ * the cache itself.
+ * <p>
+ * The checksums are kept in a {@link ConcurrentMap}, which is the cluster-wide
+ * {@link org.carlspring.strongbox.data.CacheName.Artifact#CHECKSUMS} map in the application, so that an artifact and
+ * its checksums can be uploaded to different nodes. Its size and the lifetime of its entries are configured with
+ * the map. The cached {@link ArtifactChecksum}s are never changed in place: each update replaces them atomically
+ * with an updated copy.
  *
  * @author mtodorov
  */
@@ -37,24 +40,12 @@ public class ChecksumCacheManager
      * Key:     Artifact path
      * Value:   Artifact checksum.
      */
-    private Map<String, ArtifactChecksum> cachedChecksums = new LinkedHashMap<>();
-
-    /**
-     * Specifies how long to keep the cached checksums.
-     * <p>
-     * The default is five minutes.
-     */
-    private long cachedChecksumLifetime = 5 * 60000;
-
-    /**
-     * Specifies at what interval to check if the checksums have expired.
-     * The default is to check once every minute.
-     */
-    private long cachedChecksumExpiredCheckInterval = 60000L;
+    private final ConcurrentMap<String, ArtifactChecksum> cachedChecksums;
 
 
-    public ChecksumCacheManager()
+    public ChecksumCacheManager(ConcurrentMap<String, ArtifactChecksum> cachedChecksums)
     {
+        this.cachedChecksums = cachedChecksums;
     }
 
     public boolean containsArtifactPath(String artifactPath)
@@ -71,12 +62,12 @@ public class ChecksumCacheManager
     public String getArtifactChecksum(String artifactBasePath,
                                       String algorithm)
     {
-        if (!cachedChecksums.containsKey(artifactBasePath))
+        final ArtifactChecksum artifactChecksum = getArtifactChecksum(artifactBasePath);
+        if (artifactChecksum == null)
         {
             return null;
         }
 
-        final ArtifactChecksum artifactChecksum = getArtifactChecksum(artifactBasePath);
         final String checksum = artifactChecksum.getChecksum(algorithm);
         if (checksum != null)
         {
@@ -91,98 +82,99 @@ public class ChecksumCacheManager
         return cachedChecksums.get(artifactBasePath);
     }
 
-    public boolean validateChecksum(String artifactPath,
+    /**
+     * Claims the cached checksum of an artifact for an uploaded checksum file: the checksum of the algorithm is removed
+     * from the cache, in the same atomic update which checks whether the uploaded checksum matches one of the checksums
+     * of the artifact.
+     *
+     * @return <code>true</code> if the checksum matches, <code>false</code> if it doesn't or the artifact has no
+     *         cached checksums
+     */
+    public boolean validateChecksum(String artifactBasePath,
                                     String algorithm,
                                     String checksum)
     {
-        return getArtifactChecksum(artifactPath, algorithm).equals(checksum);
-    }
+        AtomicBoolean matches = new AtomicBoolean();
+        cachedChecksums.computeIfPresent(artifactBasePath, (path, artifactChecksum) -> {
+            // The update may be retried when the map is updated concurrently, the last attempt wins.
+            matches.set(artifactChecksum.getChecksums().containsValue(checksum));
 
-    public synchronized void addArtifactChecksum(String artifactBasePath,
-                                                 String algorithm,
-                                                 String checksum)
-    {
-        logger.debug("Adding checksum '" + checksum + "' [" + algorithm + "]" + " for '" + artifactBasePath + "' in cache.");
+            return removeChecksum(artifactChecksum, algorithm);
+        });
 
-        if (cachedChecksums.containsKey(artifactBasePath))
-        {
-            final ArtifactChecksum artifactChecksum = getArtifactChecksum(artifactBasePath);
-            artifactChecksum.addChecksum(algorithm, checksum);
-        }
-        else
-        {
-            ArtifactChecksum artifactChecksum = new ArtifactChecksum();
-            artifactChecksum.addChecksum(algorithm, checksum);
+        logger.debug(String.format("Artifact checksum validation: artifact-[%s]; ext-[%s]; checksum-[%s]; matches-[%s]",
+                                   artifactBasePath,
+                                   algorithm,
+                                   checksum,
+                                   matches.get()));
 
-            cachedChecksums.put(artifactBasePath, artifactChecksum);
-        }
+        return matches.get();
     }
 
-    public synchronized void removeArtifactChecksum(String artifactBasePath,
-                                                    String algorithm)
+    public void addArtifactChecksum(String artifactBasePath,
+                                    String algorithm,
+                                    String checksum)
     {
-        Optional.ofNullable(getArtifactChecksum(artifactBasePath)).map(ac -> {
-            logger.debug(ac.removeChecksum(algorithm)
-                           .map(c -> String.format("Removed [%s] artifact checksum value [%s] from cache.",
-                                                   artifactBasePath,
-                                                   c))
-                           .orElseGet(() -> String.format("Checksum algorithm [%s] not found for [%s] in cache.",
-                                                          algorithm,
-                                                          artifactBasePath)));
-            return ac;
-        }).filter(ac -> ac.getChecksums().isEmpty()).ifPresent(ac -> cachedChecksums.values().remove(ac));
-    }
+        logger.debug("Adding checksum '" + checksum + "' [" + algorithm + "]" + " for '" + artifactBasePath + "' in cache.");
 
-    public synchronized void removeArtifactChecksum(String artifactBasePath)
-    {
-        Optional.ofNullable(cachedChecksums.remove(artifactBasePath))
-                .ifPresent(ac -> logger.debug(String.format("Removed [%s] artifact checksum value [%s] from cache.",
-                                                            artifactBasePath, ac)));
-    }
+        cachedChecksums.compute(artifactBasePath, (path, artifactChecksum) -> {
+            ArtifactChecksum result = artifactChecksum != null ? new ArtifactChecksum(artifactChecksum) :
+                                      new ArtifactChecksum();
+            result.addChecksum(algorithm, checksum);
 
-    public synchronized void removeExpiredChecksums()
-    {
-        for (String checksum : getExpiredChecksums())
-        {
-            removeArtifactChecksum(checksum);
-        }
+            return result;
+        });
     }
 
-    private Set<String> getExpiredChecksums()
+    /**
+     * Adds the checksums of an artifact, in a single update of the cache.
+     *
+     * @param checksums the checksums, by algorithm
+     */
+    public void addArtifactChecksums(String artifactBasePath,
+                                     Map<String, String> checksums)
     {
-        Set<String> expiredChecksums = new LinkedHashSet<>();
+        logger.debug("Adding checksums " + checksums + " for '" + artifactBasePath + "' in cache.");
 
-        for (Map.Entry<String, ArtifactChecksum> artifactChecksumEntry : cachedChecksums.entrySet())
-        {
-            ArtifactChecksum checksum = artifactChecksumEntry.getValue();
+        cachedChecksums.compute(artifactBasePath, (path, artifactChecksum) -> {
+            ArtifactChecksum result = artifactChecksum != null ? new ArtifactChecksum(artifactChecksum) :
+                                      new ArtifactChecksum();
+            checksums.forEach(result::addChecksum);
 
-            if (System.currentTimeMillis() - checksum.getLastAccessed() > cachedChecksumLifetime)
-            {
-                expiredChecksums.add(artifactChecksumEntry.getKey());
-            }
-        }
-
-        return expiredChecksums;
+            return result;
+        });
     }
 
-    public long getCachedChecksumLifetime()
+    public void removeArtifactChecksum(String artifactBasePath,
+                                       String algorithm)
     {
-        return cachedChecksumLifetime;
+        cachedChecksums.computeIfPresent(artifactBasePath,
+                                         (path, artifactChecksum) -> removeChecksum(artifactChecksum, algorithm));
     }
 
-    public void setCachedChecksumLifetime(long cachedChecksumLifetime)
+    public void removeArtifactChecksum(String artifactBasePath)
     {
-        this.cachedChecksumLifetime = cachedChecksumLifetime;
+        ArtifactChecksum artifactChecksum = cachedChecksums.remove(artifactBasePath);
+        if (artifactChecksum != null)
+        {
+            logger.debug(String.format("Removed [%s] artifact checksum value [%s] from cache.",
+                                       artifactBasePath, artifactChecksum));
+        }
     }
 
-    public long getCachedChecksumExpiredCheckInterval()
+    /**
+     * @return an updated copy of the artifact checksum, or <code>null</code> if it has no checksums left
+     */
+    private static ArtifactChecksum removeChecksum(ArtifactChecksum artifactChecksum,
+                                                   String algorithm)
     {
-        return cachedChecksumExpiredCheckInterval;
-    }
+        ArtifactChecksum result = new ArtifactChecksum(artifactChecksum);
+        if (!result.removeChecksum(algorithm).isPresent())
+        {
+            logger.debug(String.format("Checksum algorithm [%s] not found in cache.", algorithm));
+        }
 
-    public void setCachedChecksumExpiredCheckInterval(long cachedChecksumExpiredCheckInterval)
-    {
-        this.cachedChecksumExpiredCheckInterval = cachedChecksumExpiredCheckInterval;
+        return result.getChecksums().isEmpty() ? null : result;
     }
 
     public long getSize()
@@ -190,37 +182,4 @@ public class ChecksumCacheManager
         return cachedChecksums.size();
     }
 
-    public void startMonitor()
-    {
-        new CachedChecksumExpirer();
-    }
-
-    private class CachedChecksumExpirer
-            extends Thread
-    {
-
-        private CachedChecksumExpirer()
-        {
-            start();
-        }
-
-        @Override
-        public void run()
-        {
-            try
-            {
-                //noinspection InfiniteLoopStatement
-                while (true)
-                {
-                    Thread.sleep(getCachedChecksumExpiredCheckInterval());
-                    removeExpiredChecksums();
-                }
-            }
-            catch (InterruptedException e)
-            {
-                logger.error(e.getMessage(), e);
-            }
-        }
-    }
-
 }
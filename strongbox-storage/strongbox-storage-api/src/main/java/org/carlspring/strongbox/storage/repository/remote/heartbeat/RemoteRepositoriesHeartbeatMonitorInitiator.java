@@ -42,6 +42,9 @@ public class RemoteRepositoriesHeartbeatMonitorInitiator
     @Inject
     private RemoteRepositoryAlivenessCacheManager remoteRepositoryCacheManager;
 
+    @Inject
+    private RemoteRepositoryCircuitBreakerRegistry remoteRepositoryCircuitBreakerRegistry;
+
     @Inject
     private RemoteRepositoryHeartbeatMonitorStrategyRegistry remoteRepositoryHeartbeatMonitorStrategyRegistry;
 
@@ -72,12 +75,14 @@ public class RemoteRepositoriesHeartbeatMonitorInitiator
                       "intervalSeconds cannot be negative or zero but was " + intervalSeconds + " for " +
                       remoteRepository.getUrl());
 
+        RemoteRepositoryCircuitBreaker circuitBreaker = remoteRepositoryCircuitBreakerRegistry.get(remoteRepository);
         RemoteRepositoryHeartbeatMonitor remoteRepositoryHeartBeatMonitor = new RemoteRepositoryHeartbeatMonitor(remoteRepositoryCacheManager,
                                                                                                                  determineMonitorStrategy(remoteRepository),
+                                                                                                                 circuitBreaker,
                                                                                                                  remoteRepository);
-        executor.scheduleWithFixedDelay(new MdcContextProvider(remoteRepositoryHeartBeatMonitor),
-                                        0,
-                                        intervalSeconds, TimeUnit.SECONDS);
+        executor.execute(new AdaptiveHeartbeat(new MdcContextProvider(remoteRepositoryHeartBeatMonitor),
+                                               circuitBreaker,
+                                               intervalSeconds));
 
         logger.info(
                 "Remote repository " + remoteRepository.getUrl() + " scheduled for monitoring with interval seconds " +
@@ -112,6 +117,52 @@ public class RemoteRepositoriesHeartbeatMonitorInitiator
         return configurationManager.getConfiguration().getRemoteRepositoriesConfiguration().getHeartbeatThreadsNumber();
     }
     
+    /**
+     * Runs the heartbeat and schedules the next one, further away while the circuit of the remote is open.
+     */
+    private class AdaptiveHeartbeat implements Runnable
+    {
+
+        private final Runnable heartbeat;
+
+        private final RemoteRepositoryCircuitBreaker circuitBreaker;
+
+        private final int intervalSeconds;
+
+        AdaptiveHeartbeat(Runnable heartbeat,
+                          RemoteRepositoryCircuitBreaker circuitBreaker,
+                          int intervalSeconds)
+        {
+            this.heartbeat = heartbeat;
+            this.circuitBreaker = circuitBreaker;
+            this.intervalSeconds = intervalSeconds;
+        }
+
+        @Override
+        public void run()
+        {
+            try
+            {
+                heartbeat.run();
+            }
+            finally
+            {
+                if (!executor.isShutdown())
+                {
+                    long delaySeconds = circuitBreaker.getHeartbeatDelaySeconds(intervalSeconds);
+                    if (delaySeconds != intervalSeconds)
+                    {
+                        logger.debug("Next heartbeat of remote repository [{}] in [{}] seconds.",
+                                     circuitBreaker.getUrl(), delaySeconds);
+                    }
+
+                    executor.schedule(this, delaySeconds, TimeUnit.SECONDS);
+                }
+            }
+        }
+
+    }
+
     public static class MdcContextProvider implements Runnable
     {
 
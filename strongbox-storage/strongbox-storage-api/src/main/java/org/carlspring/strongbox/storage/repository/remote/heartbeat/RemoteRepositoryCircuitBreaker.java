@@ -0,0 +1,182 @@
+package org.carlspring.strongbox.storage.repository.remote.heartbeat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tracks the health of one remote repository from both the proxied requests and the heartbeat.
+ * <p>
+ * After {@link #getFailureThreshold()} consecutive failures the circuit opens, and the requests to the remote fail
+ * fast instead of waiting for the connect timeout. Once the open period is over, a single request is let through as a
+ * probe (half-open state): a success closes the circuit, a failure opens it again for twice as long, up to the
+ * maximum open period. The heartbeat of a remote with an open circuit is backed off the same way.
+ */
+public class RemoteRepositoryCircuitBreaker
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(RemoteRepositoryCircuitBreaker.class);
+
+    public enum State
+    {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String url;
+
+    private final int failureThreshold;
+
+    private final long openMillis;
+
+    private final long maxOpenMillis;
+
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+
+    private int consecutiveFailures;
+
+    private int consecutiveOpenings;
+
+    private long openUntil;
+
+    private long probeStarted;
+
+    public RemoteRepositoryCircuitBreaker(String url,
+                                          int failureThreshold,
+                                          long openMillis,
+                                          long maxOpenMillis)
+    {
+        this(url, failureThreshold, openMillis, maxOpenMillis, System::currentTimeMillis);
+    }
+
+    RemoteRepositoryCircuitBreaker(String url,
+                                   int failureThreshold,
+                                   long openMillis,
+                                   long maxOpenMillis,
+                                   LongSupplier clock)
+    {
+        this.url = url;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = openMillis;
+        this.maxOpenMillis = Math.max(openMillis, maxOpenMillis);
+        this.clock = clock;
+    }
+
+    /**
+     * Asks for a request to the remote to be let through. In the half-open state only one request (the probe) is let
+     * through at a time, and the caller must report its outcome with {@link #recordSuccess()} or
+     * {@link #recordFailure()}.
+     */
+    public synchronized boolean tryAcquire()
+    {
+        long now = clock.getAsLong();
+        switch (state)
+        {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (now < openUntil)
+                {
+                    return false;
+                }
+
+                logger.info("Probing remote repository [{}].", url);
+
+                state = State.HALF_OPEN;
+                probeStarted = now;
+
+                return true;
+            default:
+                // A probe which never reported back (the caller died) must not keep the circuit half-open forever.
+                if (now - probeStarted < openMillis)
+                {
+                    return false;
+                }
+
+                probeStarted = now;
+
+                return true;
+        }
+    }
+
+    /**
+     * @return <code>false</code> while the circuit is open, so that the requests already talking to the remote stop
+     *         retrying (the half-open probe included)
+     */
+    public synchronized boolean isAvailable()
+    {
+        return state != State.OPEN || clock.getAsLong() >= openUntil;
+    }
+
+    public synchronized void recordSuccess()
+    {
+        if (state != State.CLOSED)
+        {
+            logger.info("Remote repository [{}] is back, closing the circuit.", url);
+        }
+
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        consecutiveOpenings = 0;
+    }
+
+    public synchronized void recordFailure()
+    {
+        consecutiveFailures++;
+        if (state == State.CLOSED && consecutiveFailures < failureThreshold)
+        {
+            return;
+        }
+
+        // Failing again while open (heartbeat) or half-open (probe) keeps extending the open period.
+        long duration = getOpenMillis(consecutiveOpenings++);
+        state = State.OPEN;
+        openUntil = clock.getAsLong() + duration;
+
+        logger.warn("Remote repository [{}] failed [{}] consecutive times, opening the circuit for [{}] ms.",
+                    url, consecutiveFailures, duration);
+    }
+
+    /**
+     * @return the delay until the next heartbeat: the regular interval while the circuit is closed, otherwise the
+     *         interval backed off as much as the current open period (the remote is given time to recover, and the
+     *         heartbeat threads are not spent on it)
+     */
+    public synchronized long getHeartbeatDelaySeconds(long intervalSeconds)
+    {
+        if (state == State.CLOSED || consecutiveOpenings == 0)
+        {
+            return intervalSeconds;
+        }
+
+        long maxDelaySeconds = Math.max(intervalSeconds, TimeUnit.MILLISECONDS.toSeconds(maxOpenMillis));
+
+        return Math.min(intervalSeconds << Math.min(consecutiveOpenings, 30), maxDelaySeconds);
+    }
+
+    public synchronized State getState()
+    {
+        return state;
+    }
+
+    public int getFailureThreshold()
+    {
+        return failureThreshold;
+    }
+
+    public String getUrl()
+    {
+        return url;
+    }
+
+    private long getOpenMillis(int openings)
+    {
+        return Math.min(openMillis << Math.min(openings, 30), maxOpenMillis);
+    }
+
+}
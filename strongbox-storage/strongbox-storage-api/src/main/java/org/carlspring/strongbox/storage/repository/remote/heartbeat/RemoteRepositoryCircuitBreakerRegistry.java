@@ -0,0 +1,43 @@
+package org.carlspring.strongbox.storage.repository.remote.heartbeat;
+
+import org.carlspring.strongbox.storage.repository.remote.RemoteRepository;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the {@link RemoteRepositoryCircuitBreaker} of each remote repository URL, configured with the following
+ * system properties:
+ * <ul>
+ * <li><code>strongbox.remote.circuit.failureThreshold</code>: consecutive failures opening the circuit</li>
+ * <li><code>strongbox.remote.circuit.openSeconds</code>: first open period</li>
+ * <li><code>strongbox.remote.circuit.maxOpenSeconds</code>: maximum open period, and heartbeat delay</li>
+ * </ul>
+ */
+@Component
+public class RemoteRepositoryCircuitBreakerRegistry
+{
+
+    public static final String PROPERTY_PREFIX = "strongbox.remote.circuit.";
+
+    private final int failureThreshold = Integer.getInteger(PROPERTY_PREFIX + "failureThreshold", 3);
+
+    private final long openMillis = TimeUnit.SECONDS.toMillis(Long.getLong(PROPERTY_PREFIX + "openSeconds", 10));
+
+    private final long maxOpenMillis = TimeUnit.SECONDS.toMillis(Long.getLong(PROPERTY_PREFIX + "maxOpenSeconds", 600));
+
+    private final ConcurrentMap<String, RemoteRepositoryCircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    public RemoteRepositoryCircuitBreaker get(RemoteRepository remoteRepository)
+    {
+        return circuitBreakers.computeIfAbsent(remoteRepository.getUrl(),
+                                               url -> new RemoteRepositoryCircuitBreaker(url,
+                                                                                         failureThreshold,
+                                                                                         openMillis,
+                                                                                         maxOpenMillis));
+    }
+
+}
@@ -24,16 +24,21 @@ class RemoteRepositoryHeartbeatMonitor
 
     private final RemoteRepositoryHeartbeatMonitorStrategy monitorStrategy;
 
+    private final RemoteRepositoryCircuitBreaker circuitBreaker;
+
     RemoteRepositoryHeartbeatMonitor(@Nonnull RemoteRepositoryAlivenessCacheManager remoteRepositoryCacheManager,
                                      @Nonnull RemoteRepositoryHeartbeatMonitorStrategy monitorStrategy,
+                                     @Nonnull RemoteRepositoryCircuitBreaker circuitBreaker,
                                      @Nonnull RemoteRepository remoteRepository)
     {
         Objects.requireNonNull(remoteRepositoryCacheManager);
         Objects.requireNonNull(monitorStrategy);
+        Objects.requireNonNull(circuitBreaker);
         Objects.requireNonNull(remoteRepository);
 
         this.remoteRepositoryCacheManager = remoteRepositoryCacheManager;
         this.monitorStrategy = monitorStrategy;
+        this.circuitBreaker = circuitBreaker;
         this.remoteRepository = remoteRepository;
     }
 
@@ -54,5 +59,14 @@ class RemoteRepositoryHeartbeatMonitor
                      remoteRepository.getUrl(),
                      isAlive);
         remoteRepositoryCacheManager.put(remoteRepository, isAlive);
+
+        if (isAlive)
+        {
+            circuitBreaker.recordSuccess();
+        }
+        else
+        {
+            circuitBreaker.recordFailure();
+        }
     }
 }
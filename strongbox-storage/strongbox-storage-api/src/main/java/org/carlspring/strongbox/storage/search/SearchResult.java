@@ -1,5 +1,6 @@
 package org.carlspring.strongbox.storage.search;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
 import org.carlspring.strongbox.dependency.snippet.CodeSnippet;
@@ -23,13 +24,19 @@ public class SearchResult
     private String repositoryId;
 
     @JsonProperty
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String url;
 
+    @JsonProperty
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long sizeInBytes;
+
     /**
      * K: The compatible dependency format's alias
      * V: The string representation of the snippet.
      */
     @JsonProperty
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
     private List<CodeSnippet> snippets = new ArrayList<>();
 
 
@@ -93,6 +100,16 @@ public class SearchResult
         this.url = url;
     }
 
+    public Long getSizeInBytes()
+    {
+        return sizeInBytes;
+    }
+
+    public void setSizeInBytes(Long sizeInBytes)
+    {
+        this.sizeInBytes = sizeInBytes;
+    }
+
     public List<CodeSnippet> getSnippets()
     {
         return snippets;
@@ -0,0 +1,55 @@
+package org.carlspring.strongbox.storage.search;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The optional parts of a {@link SearchResult} which a search can be asked to populate.
+ * <p>
+ * The storage, repository and artifact coordinates are always part of a result, so {@link #COORDINATES} alone
+ * selects the cheapest possible projection.
+ */
+public enum SearchResultField
+{
+
+    COORDINATES,
+
+    URL,
+
+    SNIPPETS,
+
+    SIZE;
+
+    /**
+     * The fields which have historically been returned, when no projection is requested.
+     */
+    public static final Set<SearchResultField> DEFAULT = Collections.unmodifiableSet(EnumSet.of(COORDINATES,
+                                                                                                URL,
+                                                                                                SNIPPETS));
+
+    /**
+     * @param fields comma separated, case insensitive field names; <code>null</code> or blank means {@link #DEFAULT}
+     * @throws IllegalArgumentException if one of the names is unknown
+     */
+    public static Set<SearchResultField> parse(String fields)
+    {
+        if (fields == null || fields.trim().isEmpty())
+        {
+            return EnumSet.copyOf(DEFAULT);
+        }
+
+        Set<SearchResultField> result = EnumSet.of(COORDINATES);
+        for (String field : fields.split(","))
+        {
+            if (!field.trim().isEmpty())
+            {
+                result.add(valueOf(field.trim().toUpperCase(Locale.ENGLISH)));
+            }
+        }
+
+        return result;
+    }
+
+}
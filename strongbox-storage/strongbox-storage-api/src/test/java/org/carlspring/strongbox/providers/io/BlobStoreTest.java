@@ -0,0 +1,83 @@
+package org.carlspring.strongbox.providers.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.FileSystemUtils;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class BlobStoreTest
+{
+
+    private static final Path STORAGE_BASEDIR = Paths.get(new File("target/strongbox-vault/storages/blob-store-test").getAbsolutePath());
+
+    private static final byte[] CONTENT = "blob-store-test".getBytes(StandardCharsets.UTF_8);
+
+    private BlobStore blobStore;
+
+    @BeforeEach
+    public void setup()
+        throws IOException
+    {
+        FileSystemUtils.deleteRecursively(STORAGE_BASEDIR);
+        Files.createDirectories(STORAGE_BASEDIR);
+
+        blobStore = new BlobStore(STORAGE_BASEDIR);
+        assumeTrue(blobStore.isLinksSupported());
+    }
+
+    @Test
+    public void storedFilesShouldShareOneBlob()
+        throws IOException
+    {
+        String digest = DigestUtils.sha256Hex(CONTENT);
+
+        Path first = STORAGE_BASEDIR.resolve("releases/a.jar");
+        Path second = STORAGE_BASEDIR.resolve("proxy/a.jar");
+        Files.createDirectories(first.getParent());
+        Files.createDirectories(second.getParent());
+
+        blobStore.store(Files.write(STORAGE_BASEDIR.resolve("temp-1"), CONTENT), first, digest);
+        blobStore.store(Files.write(STORAGE_BASEDIR.resolve("temp-2"), CONTENT), second, digest);
+
+        Path blob = blobStore.resolve(digest);
+        assertTrue(Files.isSameFile(blob, first));
+        assertTrue(Files.isSameFile(blob, second));
+        assertEquals(3, ((Number) Files.getAttribute(blob, "unix:nlink")).intValue());
+
+        blobStore.release(first);
+        Files.delete(first);
+        assertTrue(Files.exists(blob));
+
+        blobStore.release(second);
+        Files.delete(second);
+        assertFalse(Files.exists(blob));
+    }
+
+    @Test
+    public void existingFilesShouldBeDeduplicated()
+        throws IOException
+    {
+        Path first = Files.write(STORAGE_BASEDIR.resolve("a.jar"), CONTENT);
+        Path second = Files.write(STORAGE_BASEDIR.resolve("b.jar"), CONTENT);
+
+        assertEquals(0, blobStore.deduplicate(first));
+        assertEquals(CONTENT.length, blobStore.deduplicate(second));
+        assertTrue(Files.isSameFile(first, second));
+
+        Files.delete(first);
+        Files.delete(second);
+        assertEquals(1, blobStore.collectGarbage());
+    }
+
+}
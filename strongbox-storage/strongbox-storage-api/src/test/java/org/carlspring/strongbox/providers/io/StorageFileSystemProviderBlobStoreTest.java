@@ -0,0 +1,235 @@
+package org.carlspring.strongbox.providers.io;
+
+import org.carlspring.strongbox.storage.MutableStorage;
+import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.repository.MutableRepository;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.FileSystemUtils;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class StorageFileSystemProviderBlobStoreTest
+{
+
+    private static final Path STORAGE_BASEDIR = Paths.get(new File("target/strongbox-vault/storages/blob-store-provider-test").getAbsolutePath());
+
+    private static final byte[] CONTENT = "blob-store-provider-test".getBytes(StandardCharsets.UTF_8);
+
+    private BlobStore blobStore;
+
+    @BeforeEach
+    public void setup()
+        throws IOException
+    {
+        FileSystemUtils.deleteRecursively(STORAGE_BASEDIR);
+        Files.createDirectories(STORAGE_BASEDIR);
+
+        blobStore = new BlobStore(STORAGE_BASEDIR);
+        assumeTrue(blobStore.isLinksSupported());
+    }
+
+    @Test
+    public void linkedFilesShouldKeepTheirOwnModificationTime()
+        throws IOException
+    {
+        RepositoryPath root = createRepositoryRoot("releases", false);
+        RepositoryPath first = store(root.resolve("org/foo/a/1.0/a-1.0.jar"));
+        RepositoryPath second = store(root.resolve("org/foo/b/1.0/b-1.0.jar"));
+        assertTrue(Files.isSameFile(first.getTarget(), second.getTarget()));
+
+        FileTime lastModifiedTime = FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1));
+        Files.setLastModifiedTime(first, lastModifiedTime);
+
+        assertEquals(lastModifiedTime.toMillis(), Files.getLastModifiedTime(first).toMillis());
+        assertEquals(lastModifiedTime.toMillis(),
+                     Files.readAttributes(first, BasicFileAttributes.class).lastModifiedTime().toMillis());
+        assertEquals(lastModifiedTime.toMillis(),
+                     ((FileTime) Files.getAttribute(first, "lastModifiedTime")).toMillis());
+        assertTrue(Files.getLastModifiedTime(second).toMillis() > lastModifiedTime.toMillis());
+    }
+
+    @Test
+    public void inPlaceWritesShouldNotChangeOtherLinks()
+        throws IOException
+    {
+        RepositoryPath root = createRepositoryRoot("releases", false);
+        RepositoryPath first = store(root.resolve("org/foo/a/1.0/a-1.0.jar"));
+        RepositoryPath second = store(root.resolve("org/foo/b/1.0/b-1.0.jar"));
+
+        try (SeekableByteChannel channel = Files.newByteChannel(first, StandardOpenOption.WRITE,
+                                                                StandardOpenOption.APPEND))
+        {
+            channel.write(ByteBuffer.wrap(CONTENT));
+        }
+
+        assertFalse(Files.isSameFile(first.getTarget(), second.getTarget()));
+        assertEquals(2 * CONTENT.length, Files.size(first.getTarget()));
+        assertArrayEquals(CONTENT, Files.readAllBytes(second.getTarget()));
+        assertArrayEquals(CONTENT, Files.readAllBytes(blobStore.resolve(DigestUtils.sha256Hex(CONTENT))));
+    }
+
+    @Test
+    public void linkedFilesShouldBeDetachedOnceDeduplicationIsDisabled()
+        throws IOException
+    {
+        RepositoryPath first = store(createRepositoryRoot("releases", false).resolve("org/foo/a/1.0/a-1.0.jar"));
+        RepositoryPath second = store(createRepositoryRoot("releases", false).resolve("org/foo/b/1.0/b-1.0.jar"));
+        assertTrue(Files.isSameFile(first.getTarget(), second.getTarget()));
+
+        RepositoryPath written = createRepositoryRoot("releases", false, false).resolve("org/foo/a/1.0/a-1.0.jar");
+        try (SeekableByteChannel channel = Files.newByteChannel(written, StandardOpenOption.WRITE,
+                                                                StandardOpenOption.APPEND))
+        {
+            channel.write(ByteBuffer.wrap(CONTENT));
+        }
+
+        assertFalse(Files.isSameFile(written.getTarget(), second.getTarget()));
+        assertArrayEquals(CONTENT, Files.readAllBytes(second.getTarget()));
+    }
+
+    @Test
+    public void removedFilesShouldReleaseTheirBlob()
+        throws IOException
+    {
+        RepositoryPath releases = createRepositoryRoot("releases", false);
+        RepositoryPath snapshots = createRepositoryRoot("snapshots", true);
+        RepositoryPath first = store(releases.resolve("org/foo/a/1.0/a-1.0.jar"));
+        RepositoryPath second = store(snapshots.resolve("org/foo/a/1.0/a-1.0.jar"));
+        Path blob = blobStore.resolve(DigestUtils.sha256Hex(CONTENT));
+
+        FileTime lastModifiedTime = FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1));
+        Files.setLastModifiedTime(second, lastModifiedTime);
+
+        Files.delete(first);
+        assertTrue(Files.exists(blob));
+
+        // The trashed file keeps its modification time, and its blob until the trash is emptied.
+        Files.delete(second);
+        RepositoryPath trashed = snapshots.getFileSystem().getTrashPath().resolve("org/foo/a/1.0/a-1.0.jar");
+        assertTrue(Files.exists(blob));
+        assertEquals(lastModifiedTime.toMillis(), Files.getLastModifiedTime(trashed).toMillis());
+
+        snapshots.getFileSystem().provider().deleteTrash(snapshots);
+        assertFalse(Files.exists(blob));
+    }
+
+    private RepositoryPath store(RepositoryPath path)
+        throws IOException
+    {
+        try (OutputStream os = Files.newOutputStream(path))
+        {
+            os.write(CONTENT);
+        }
+
+        return path;
+    }
+
+    private RepositoryPath createRepositoryRoot(String repositoryId,
+                                                boolean trashEnabled)
+        throws IOException
+    {
+        return createRepositoryRoot(repositoryId, trashEnabled, true);
+    }
+
+    private RepositoryPath createRepositoryRoot(String repositoryId,
+                                                boolean trashEnabled,
+                                                boolean deduplicate)
+        throws IOException
+    {
+        MutableStorage storage = new MutableStorage("storage-blob-store-test");
+        storage.setBasedir(STORAGE_BASEDIR.toString());
+        storage.setDeduplicate(deduplicate);
+
+        MutableRepository repository = new MutableRepository(repositoryId);
+        repository.setBasedir(STORAGE_BASEDIR.resolve(repositoryId).toString());
+        repository.setTrashEnabled(trashEnabled);
+
+        StorageFileSystemProvider provider = new TestStorageFileSystemProvider();
+        LayoutFileSystem fileSystem = new LayoutFileSystem(new Repository(repository, new Storage(storage)),
+                                                           FileSystems.getDefault(),
+                                                           provider)
+        {
+            @Override
+            public Set<String> getDigestAlgorithmSet()
+            {
+                return Collections.emptySet();
+            }
+        };
+
+        RepositoryPath root = fileSystem.getRootDirectory();
+        Files.createDirectories(root.getTarget());
+        Files.createDirectories(fileSystem.getTrashPath().getTarget());
+
+        return root;
+    }
+
+    private static class TestStorageFileSystemProvider
+            extends StorageFileSystemProvider
+    {
+
+        private TestStorageFileSystemProvider()
+        {
+            super(FileSystems.getDefault().provider());
+        }
+
+        @Override
+        protected Map<RepositoryFileAttributeType, Object> getRepositoryFileAttributes(RepositoryPath path,
+                                                                                       RepositoryFileAttributeType... attributeTypes)
+        {
+            Path trash = path.getFileSystem().getTrashPath().getTarget();
+            Path temp = path.getFileSystem().getTempPath().getTarget();
+
+            Map<RepositoryFileAttributeType, Object> result = new HashMap<>();
+            for (RepositoryFileAttributeType attributeType : attributeTypes)
+            {
+                switch (attributeType)
+                {
+                    case ARTIFACT:
+                        result.put(attributeType, path.getTarget().toString().endsWith(".jar"));
+                        break;
+                    case CHECKSUM:
+                        result.put(attributeType, false);
+                        break;
+                    case TRASH:
+                        result.put(attributeType, path.getTarget().startsWith(trash));
+                        break;
+                    case TEMP:
+                        result.put(attributeType, path.getTarget().startsWith(temp));
+                        break;
+                    default:
+                        break;
+                }
+            }
+
+            return result;
+        }
+
+    }
+
+}
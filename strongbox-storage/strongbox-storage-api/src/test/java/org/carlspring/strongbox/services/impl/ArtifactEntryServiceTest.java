@@ -9,9 +9,16 @@ import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.services.ArtifactEntryService;
 
 import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang3.time.DateUtils;
 import org.hamcrest.CoreMatchers;
@@ -294,6 +301,95 @@ public class ArtifactEntryServiceTest
         artifactEntryService.deleteAll();
     }
 
+    @Test
+    public void saveAllIfAbsentShouldSkipDuplicatesAndExistingEntries()
+    {
+        artifactEntryService.deleteAll();
+        createArtifacts(groupId, artifactId, storageId, repositoryId);
+
+        String existingPath = String.format("%s/%s/%s/%s", groupId, artifactId, "1.2.3", "jar");
+        String newPath = String.format("%s/%s/%s/%s", groupId, artifactId, "1.2.4", "jar");
+
+        List<ArtifactEntry> saved = artifactEntryService.saveAllIfAbsent(Arrays.asList(newArtifactEntry(existingPath),
+                                                                                       newArtifactEntry(newPath),
+                                                                                       newArtifactEntry(newPath)));
+
+        assertEquals(1, saved.size());
+        assertEquals(newPath, saved.get(0).getArtifactPath());
+        assertEquals(4, artifactEntryService.count());
+
+        Set<String> existingPaths = artifactEntryService.findExistingArtifactPaths(storageId, repositoryId,
+                                                                                  Arrays.asList(existingPath,
+                                                                                                newPath,
+                                                                                                newPath + ".missing"));
+        assertEquals(2, existingPaths.size());
+        assertTrue(existingPaths.contains(existingPath));
+        assertTrue(existingPaths.contains(newPath));
+
+        assertTrue(artifactEntryService.findExistingArtifactPaths(storageId, repositoryId + "abc",
+                                                                  Arrays.asList(existingPath)).isEmpty());
+    }
+
+    @Test
+    public void saveAllIfAbsentShouldTolerateOverlappingConcurrentBatches()
+            throws Exception
+    {
+        artifactEntryService.deleteAll();
+
+        int batches = 8;
+        int batchSize = 20;
+
+        ExecutorService executor = Executors.newFixedThreadPool(batches);
+        try
+        {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<List<ArtifactEntry>>> results = new ArrayList<>();
+            for (int i = 0; i < batches; i++)
+            {
+                // Each batch overlaps half of the next one.
+                int first = i * batchSize / 2;
+                results.add(executor.submit(() -> {
+                    List<ArtifactEntry> batch = new ArrayList<>();
+                    for (int j = first; j < first + batchSize; j++)
+                    {
+                        batch.add(newArtifactEntry(String.format("%s/%s/%s/%s", groupId, artifactId, "1." + j,
+                                                                 "jar")));
+                    }
+
+                    start.await();
+
+                    return artifactEntryService.saveAllIfAbsent(batch);
+                }));
+            }
+            start.countDown();
+
+            int saved = 0;
+            for (Future<List<ArtifactEntry>> result : results)
+            {
+                saved += result.get().size();
+            }
+
+            int expected = (batches + 1) * batchSize / 2;
+            assertEquals(expected, saved);
+            assertEquals(expected, artifactEntryService.count());
+        }
+        finally
+        {
+            executor.shutdownNow();
+            artifactEntryService.deleteAll();
+        }
+    }
+
+    private ArtifactEntry newArtifactEntry(String path)
+    {
+        ArtifactEntry artifactEntry = new ArtifactEntry();
+        artifactEntry.setArtifactCoordinates(new NullArtifactCoordinates(path));
+        artifactEntry.setStorageId(storageId);
+        artifactEntry.setRepositoryId(repositoryId);
+
+        return artifactEntry;
+    }
+
     public void displayAllEntries()
     {
         List<ArtifactEntry> result = artifactEntryService.findAll()
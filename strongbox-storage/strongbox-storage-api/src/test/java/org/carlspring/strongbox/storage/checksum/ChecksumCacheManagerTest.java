@@ -6,29 +6,30 @@ import org.carlspring.strongbox.util.MessageDigestUtils;
 import java.io.IOException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author mtodorov
  */
-@Disabled
 public class ChecksumCacheManagerTest
 {
 
 
     @Test
     public void testChecksumManagement()
-            throws Exception
     {
-        ChecksumCacheManager manager = new ChecksumCacheManager();
-        manager.setCachedChecksumLifetime(3000L);
-        manager.setCachedChecksumExpiredCheckInterval(500L);
-
-        CheckingThread checkerThread = new CheckingThread(manager);
+        ChecksumCacheManager manager = new ChecksumCacheManager(new ConcurrentHashMap<>());
 
         final String artifact1BasePath = "storage0/repositories/snapshots/org/carlspring/maven/test-project/1.0-SNAPSHOT/maven-metadata.xml";
         final String artifact2BasePath = "storage0/repositories/snapshots/org/carlspring/maven/test-project/1.0-SNAPSHOT/test-project-1.0-20131004.115330-1.jar";
@@ -38,22 +39,63 @@ public class ChecksumCacheManagerTest
         manager.addArtifactChecksum(artifact2BasePath, "md5", "eps0#!_)fs0-qWadg#)s1!");
         manager.addArtifactChecksum(artifact2BasePath, "sha1", "eps0#!_)fs0-qWadg#)s1!");
 
-        manager.startMonitor();
+        assertEquals(2, manager.getSize());
+        assertEquals("d0s#3E59jszLsPj3#edp!$", manager.getArtifactChecksum(artifact1BasePath, "md5"));
 
-        checkerThread.start();
+        assertTrue(manager.validateChecksum(artifact1BasePath, "md5", "d0s#3E59jszLsPj3#edp!$"));
+        assertNull(manager.getArtifactChecksum(artifact1BasePath, "md5"), "The claimed checksum was not removed!");
 
-        Thread.sleep(3000L);
+        assertFalse(manager.validateChecksum(artifact1BasePath, "sha1", "invalid"));
+        assertFalse(manager.containsArtifactPath(artifact1BasePath), "The claimed artifact was not removed!");
+        assertFalse(manager.validateChecksum(artifact1BasePath, "sha1", "d0s#3E59jszLsPj3#edp!$"));
 
-        manager.getArtifactChecksum(artifact1BasePath, "md5");
+        manager.removeArtifactChecksum(artifact2BasePath);
+
+        assertEquals(0, manager.getSize());
+    }
+
+    @Test
+    public void testConcurrentChecksumManagement()
+            throws Exception
+    {
+        ChecksumCacheManager manager = new ChecksumCacheManager(new ConcurrentHashMap<>());
+
+        final String artifactBasePath = "storage0/repositories/releases/org/carlspring/maven/test-project/1.0/test-project-1.0.jar";
+        final int algorithms = 64;
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try
+        {
+            List<Future<?>> additions = new ArrayList<>();
+            for (int i = 0; i < algorithms; i++)
+            {
+                final String algorithm = "algorithm" + i;
+                additions.add(executor.submit(() -> manager.addArtifactChecksum(artifactBasePath, algorithm, algorithm)));
+            }
+            for (Future<?> addition : additions)
+            {
+                addition.get();
+            }
 
-        System.out.println("Slept " + checkerThread.getTimeSlept() + " ms");
+            assertEquals(algorithms, manager.getArtifactChecksum(artifactBasePath).getChecksums().size());
 
-        if (checkerThread.getTimeSlept() > (checkerThread.getMaxTime() + checkerThread.getTolerance()))
+            List<Future<Boolean>> validations = new ArrayList<>();
+            for (int i = 0; i < algorithms; i++)
+            {
+                final String algorithm = "algorithm" + i;
+                validations.add(executor.submit(() -> manager.validateChecksum(artifactBasePath, algorithm, algorithm)));
+            }
+            for (Future<Boolean> validation : validations)
+            {
+                assertTrue(validation.get());
+            }
+        }
+        finally
         {
-            fail("Failed to expire the cache on time!");
+            executor.shutdownNow();
         }
 
-        checkerThread.interrupt();
+        assertEquals(0, manager.getSize());
     }
 
     @Test
@@ -78,73 +120,4 @@ public class ChecksumCacheManagerTest
         System.out.println("sha1: " + sha1);
     }
 
-    private class CheckingThread extends Thread
-    {
-        ChecksumCacheManager manager;
-
-        int sleepInterval = 100; // 100 ms
-        int timeSlept;
-        int maxTime = 3000;      // 3 secs
-        int tolerance = 1000;    // 1 sec
-
-        private CheckingThread(ChecksumCacheManager manager)
-        {
-            this.manager = manager;
-        }
-
-        @Override
-        public void run()
-        {
-
-            try
-            {
-                while (timeSlept < (maxTime + tolerance))
-                {
-                    if (manager.getSize() == 1)
-                    {
-                        break; // This was expected
-                    }
-
-                    if (timeSlept > maxTime)
-                    {
-                        System.out.println("The process has exceeded the defined limit of " + maxTime + " by " + (timeSlept - maxTime) + " ms...");
-                    }
-
-                    sleep(sleepInterval);
-                    timeSlept += sleepInterval;
-                }
-            }
-            catch (InterruptedException e)
-            {
-                // This is okay.
-            }
-        }
-
-        public ChecksumCacheManager getManager()
-        {
-            return manager;
-        }
-
-        public int getSleepInterval()
-        {
-            return sleepInterval;
-        }
-
-        public int getTimeSlept()
-        {
-            return timeSlept;
-        }
-
-        public int getMaxTime()
-        {
-            return maxTime;
-        }
-
-        public int getTolerance()
-        {
-            return tolerance;
-        }
-
-    }
-
 }
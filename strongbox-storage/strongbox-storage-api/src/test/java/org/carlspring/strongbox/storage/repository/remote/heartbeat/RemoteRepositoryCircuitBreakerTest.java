@@ -0,0 +1,104 @@
+package org.carlspring.strongbox.storage.repository.remote.heartbeat;
+
+import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryCircuitBreaker.State;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RemoteRepositoryCircuitBreakerTest
+{
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private RemoteRepositoryCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    public void setUp()
+    {
+        clock.set(0);
+        circuitBreaker = new RemoteRepositoryCircuitBreaker("http://localhost/remote", 3, 1000, 4000, clock::get);
+    }
+
+    @Test
+    public void circuitShouldOpenAfterConsecutiveFailures()
+    {
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordSuccess();
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquire());
+
+        circuitBreaker.recordFailure();
+
+        assertEquals(State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.isAvailable());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    public void onlyOneProbeShouldBeLetThroughWhenHalfOpen()
+    {
+        open();
+
+        clock.set(1000);
+
+        assertTrue(circuitBreaker.tryAcquire());
+        assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+        assertTrue(circuitBreaker.isAvailable());
+        assertFalse(circuitBreaker.tryAcquire());
+
+        circuitBreaker.recordSuccess();
+
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    public void failedProbesShouldBackOffExponentially()
+    {
+        open();
+        assertEquals(2, circuitBreaker.getHeartbeatDelaySeconds(1));
+
+        clock.set(1000);
+        assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.recordFailure();
+
+        clock.set(2999);
+        assertFalse(circuitBreaker.tryAcquire());
+        assertEquals(4, circuitBreaker.getHeartbeatDelaySeconds(1));
+
+        clock.set(3000);
+        assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+
+        // Capped to the maximum open period.
+        clock.set(6999);
+        assertFalse(circuitBreaker.tryAcquire());
+        clock.set(7000);
+        assertTrue(circuitBreaker.tryAcquire());
+        assertEquals(4, circuitBreaker.getHeartbeatDelaySeconds(1));
+
+        circuitBreaker.recordSuccess();
+        assertEquals(10, circuitBreaker.getHeartbeatDelaySeconds(10));
+    }
+
+    private void open()
+    {
+        for (int i = 0; i < circuitBreaker.getFailureThreshold(); i++)
+        {
+            circuitBreaker.recordFailure();
+        }
+
+        assertEquals(State.OPEN, circuitBreaker.getState());
+    }
+
+}
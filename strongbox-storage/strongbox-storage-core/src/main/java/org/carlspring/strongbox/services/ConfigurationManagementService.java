@@ -22,8 +22,24 @@ public interface ConfigurationManagementService
 
     Configuration getConfiguration();
 
+    /**
+     * @return the version of the configuration this node runs
+     */
+    long getConfigurationVersion();
+
+    /**
+     * @return the latest version of the configuration in the cluster
+     */
+    long getClusterConfigurationVersion();
+
     void setConfiguration(MutableConfiguration configuration);
 
+    /**
+     * Runs a set of changes made through this service as a single modification: they are stored and published as
+     * one version, and none of them are kept if any of them fails.
+     */
+    void modifyInBatch(Runnable changes);
+
     void setInstanceName(String instanceName);
 
     void setBaseUrl(String baseUrl);
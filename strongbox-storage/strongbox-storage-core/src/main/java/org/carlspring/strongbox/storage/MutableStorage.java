@@ -29,6 +29,13 @@ public class MutableStorage
     @XmlAttribute
     private String basedir;
 
+    /**
+     * Whether the artifact files of this storage are kept once in a content-addressable blob store, with the
+     * repository paths being hard links to them.
+     */
+    @XmlAttribute
+    private Boolean deduplicate;
+
     @XmlElement(name = "repositories")
     @XmlJavaTypeAdapter(RepositoryMapAdapter.class)
     private Map<String, MutableRepository> repositories = new LinkedHashMap<>();
@@ -87,6 +94,16 @@ public class MutableStorage
         this.basedir = basedir;
     }
 
+    public boolean isDeduplicate()
+    {
+        return Boolean.TRUE.equals(deduplicate);
+    }
+
+    public void setDeduplicate(boolean deduplicate)
+    {
+        this.deduplicate = deduplicate ? Boolean.TRUE : null;
+    }
+
     public void initDefaultBasedir(String id)
     {
         //TODO: we should rework this to use SpringBoot environment instead of `System.getProperty`
@@ -140,6 +157,7 @@ public class MutableStorage
           .append(id)
           .append('\'');
         sb.append(", \n\t\tbasedir='").append(basedir).append('\'');
+        sb.append(", \n\t\tdeduplicate=").append(deduplicate);
         sb.append(", \n\t\trepositories=").append(repositories);
         //    sb.append(", \n\t\tdetachAll='").append(detachAll).append('\'');
         //    sb.append(", \n\t\tversion=").append(version);
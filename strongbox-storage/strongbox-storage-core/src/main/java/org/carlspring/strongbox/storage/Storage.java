@@ -32,6 +32,9 @@ public class Storage
     @JsonView(Views.ShortStorage.class)
     private String basedir;
 
+    @JsonView(Views.ShortStorage.class)
+    private boolean deduplicate;
+
     @JsonView(Views.LongStorage.class)
     @JsonSerialize(using = MapValuesJsonSerializer.class)
     @JsonDeserialize(using = RepositoryArrayToMapJsonDeserializer.class)
@@ -46,6 +49,7 @@ public class Storage
     {
         this.id = delegate.getId();
         this.basedir = delegate.getBasedir();
+        this.deduplicate = delegate.isDeduplicate();
         this.repositories = immuteRepositories(delegate.getRepositories());
     }
 
@@ -75,6 +79,11 @@ public class Storage
         return basedir;
     }
 
+    public boolean isDeduplicate()
+    {
+        return deduplicate;
+    }
+
     public Map<String, Repository> getRepositories()
     {
         return repositories;
@@ -20,10 +20,13 @@ public class RoutingRules
 
     private final Map<String, RuleSet> denied;
 
+    private final RoutingRulesMatcher matcher;
+
     public RoutingRules(final MutableRoutingRules delegate)
     {
         this.accepted = immuteRuleSet(delegate.getAccepted());
         this.denied = immuteRuleSet(delegate.getDenied());
+        this.matcher = new RoutingRulesMatcher(this);
     }
 
     private Map<String, RuleSet> immuteRuleSet(final Map<String, MutableRuleSet> source)
@@ -42,6 +45,14 @@ public class RoutingRules
         return denied;
     }
 
+    /**
+     * @return these rules, compiled once for all the lookups
+     */
+    public RoutingRulesMatcher getMatcher()
+    {
+        return matcher;
+    }
+
     public RuleSet getWildcardAcceptedRules()
     {
         return accepted.get(WILDCARD);
@@ -0,0 +1,193 @@
+package org.carlspring.strongbox.storage.routing;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * The {@link RoutingRules} compiled for lookups by group and member repository.
+ * <p>
+ * For each group and each member repository named by its rules, the accept and deny patterns which apply (the
+ * group's own rules, plus the wildcard ones) are joined into a single {@link Pattern}, so that checking a path costs
+ * one match per rule type, whatever the number of rules. Members without any rule are not matched at all.
+ *
+ * @see RoutingRules#getMatcher()
+ */
+@Immutable
+public class RoutingRulesMatcher
+{
+
+    /**
+     * Backreferences are numbered (or named) within a pattern, and group names must be unique within a pattern, so
+     * such patterns are not joined with others.
+     */
+    private static final Pattern UNJOINABLE = Pattern.compile("\\\\([1-9]|k<)|\\(\\?<[a-zA-Z]");
+
+    private final Map<String, Map<String, MemberRules>> groups;
+
+    RoutingRulesMatcher(RoutingRules routingRules)
+    {
+        Set<String> groupRepositoryIds = new HashSet<>(routingRules.getAccepted().keySet());
+        groupRepositoryIds.addAll(routingRules.getDenied().keySet());
+        groupRepositoryIds.add(RoutingRules.WILDCARD);
+
+        Map<String, Map<String, MemberRules>> result = new HashMap<>();
+        for (String groupRepositoryId : groupRepositoryIds)
+        {
+            Map<String, List<Pattern>> accepted = collectPatterns(routingRules.getAcceptRules(groupRepositoryId),
+                                                                  routingRules.getWildcardAcceptedRules());
+            Map<String, List<Pattern>> denied = collectPatterns(routingRules.getDenyRules(groupRepositoryId),
+                                                                routingRules.getWildcardDeniedRules());
+
+            // Without deny rules, nothing can be denied.
+            Map<String, MemberRules> members = new HashMap<>();
+            denied.forEach((repositoryId, patterns) -> members.put(repositoryId,
+                                                                   new MemberRules(join(patterns),
+                                                                                   join(accepted.get(repositoryId)))));
+
+            result.put(groupRepositoryId, ImmutableMap.copyOf(members));
+        }
+
+        this.groups = ImmutableMap.copyOf(result);
+    }
+
+    /**
+     * @return the rules of the member repository within the group, or <code>null</code> if none applies
+     */
+    public MemberRules getRules(String groupRepositoryId,
+                                String repositoryId)
+    {
+        Map<String, MemberRules> members = groups.get(groupRepositoryId);
+        if (members == null)
+        {
+            members = groups.get(RoutingRules.WILDCARD);
+        }
+
+        return members.get(repositoryId);
+    }
+
+    private static Map<String, List<Pattern>> collectPatterns(RuleSet... ruleSets)
+    {
+        Map<String, List<Pattern>> result = new LinkedHashMap<>();
+        for (RuleSet ruleSet : ruleSets)
+        {
+            if (ruleSet == null)
+            {
+                continue;
+            }
+
+            for (RoutingRule rule : ruleSet.getRoutingRules())
+            {
+                for (String repositoryId : rule.getRepositories())
+                {
+                    result.computeIfAbsent(repositoryId, k -> new ArrayList<>()).add(rule.getRegex());
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private static List<Pattern> join(List<Pattern> patterns)
+    {
+        if (patterns == null || patterns.isEmpty())
+        {
+            return Collections.emptyList();
+        }
+        if (patterns.size() == 1)
+        {
+            return Collections.singletonList(patterns.get(0));
+        }
+
+        List<Pattern> result = new ArrayList<>();
+        List<String> joinable = new ArrayList<>();
+        for (Pattern pattern : patterns)
+        {
+            if (UNJOINABLE.matcher(pattern.pattern()).find())
+            {
+                result.add(pattern);
+            }
+            else
+            {
+                joinable.add("(?:" + pattern.pattern() + ")");
+            }
+        }
+
+        if (!joinable.isEmpty())
+        {
+            try
+            {
+                result.add(0, Pattern.compile(joinable.stream().distinct().collect(Collectors.joining("|"))));
+            }
+            catch (PatternSyntaxException e)
+            {
+                // Patterns which only compile on their own are still matched, one at a time.
+                return Collections.unmodifiableList(new ArrayList<>(patterns));
+            }
+        }
+
+        return Collections.unmodifiableList(result);
+    }
+
+    @Immutable
+    public static class MemberRules
+    {
+
+        private final List<Pattern> denied;
+
+        private final List<Pattern> accepted;
+
+        MemberRules(List<Pattern> denied,
+                    List<Pattern> accepted)
+        {
+            this.denied = denied;
+            this.accepted = accepted;
+        }
+
+        /**
+         * @param path the path relative to the repository root
+         * @return whether the path matches a deny rule, and no accept rule
+         */
+        public boolean isDenied(String path)
+        {
+            return matches(denied, path) && !matches(accepted, path);
+        }
+
+        List<Pattern> getDenied()
+        {
+            return denied;
+        }
+
+        List<Pattern> getAccepted()
+        {
+            return accepted;
+        }
+
+        private static boolean matches(List<Pattern> patterns,
+                                       String path)
+        {
+            for (Pattern pattern : patterns)
+            {
+                if (pattern.matcher(path).matches())
+                {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+    }
+
+}
@@ -0,0 +1,197 @@
+package org.carlspring.strongbox.storage.routing;
+
+import org.carlspring.strongbox.storage.routing.RoutingRulesMatcher.MemberRules;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RoutingRulesMatcherTest
+{
+
+    private static final String GROUP = "group-releases";
+
+    private static final String OTHER_GROUP = "other-group";
+
+    private static final String MEMBER = "releases";
+
+    private static final String OTHER_MEMBER = "snapshots";
+
+    private MutableRoutingRules routingRules;
+
+
+    @BeforeEach
+    public void setUp()
+    {
+        routingRules = new MutableRoutingRules();
+    }
+
+    @Test
+    public void acceptRulesShouldTakePrecedenceOverDenyRules()
+    {
+        deny(GROUP, MEMBER, ".*");
+        accept(GROUP, MEMBER, ".*/foo/.*");
+
+        MemberRules rules = getRules(GROUP, MEMBER);
+
+        assertFalse(rules.isDenied("org/foo/a/1.0/a-1.0.jar"));
+        assertTrue(rules.isDenied("org/bar/a/1.0/a-1.0.jar"));
+    }
+
+    @Test
+    public void acceptRulesAloneShouldDenyNothing()
+    {
+        accept(GROUP, MEMBER, ".*/foo/.*");
+
+        assertNull(getRules(GROUP, MEMBER));
+    }
+
+    @Test
+    public void membersWithoutRulesShouldNotBeMatched()
+    {
+        deny(GROUP, MEMBER, ".*");
+
+        assertNull(getRules(GROUP, OTHER_MEMBER));
+    }
+
+    @Test
+    public void wildcardRulesShouldApplyToEveryGroup()
+    {
+        deny(RoutingRules.WILDCARD, MEMBER, ".*/bar/.*");
+        deny(GROUP, MEMBER, ".*/baz/.*");
+
+        // Groups without rules of their own.
+        assertTrue(getRules(OTHER_GROUP, MEMBER).isDenied("org/bar/a/1.0/a-1.0.jar"));
+        assertFalse(getRules(OTHER_GROUP, MEMBER).isDenied("org/baz/a/1.0/a-1.0.jar"));
+
+        // Groups with rules of their own, which are combined with the wildcard ones.
+        assertTrue(getRules(GROUP, MEMBER).isDenied("org/bar/a/1.0/a-1.0.jar"));
+        assertTrue(getRules(GROUP, MEMBER).isDenied("org/baz/a/1.0/a-1.0.jar"));
+        assertFalse(getRules(GROUP, MEMBER).isDenied("org/foo/a/1.0/a-1.0.jar"));
+    }
+
+    @Test
+    public void wildcardAcceptRulesShouldApplyToEveryGroup()
+    {
+        deny(GROUP, MEMBER, ".*");
+        accept(RoutingRules.WILDCARD, MEMBER, ".*/foo/.*");
+
+        assertFalse(getRules(GROUP, MEMBER).isDenied("org/foo/a/1.0/a-1.0.jar"));
+        assertTrue(getRules(GROUP, MEMBER).isDenied("org/bar/a/1.0/a-1.0.jar"));
+    }
+
+    @Test
+    public void plainPatternsShouldBeJoined()
+    {
+        deny(GROUP, MEMBER, ".*/bar/.*", ".*/baz/.*", ".*/bar/.*");
+
+        MemberRules rules = getRules(GROUP, MEMBER);
+
+        assertEquals(1, rules.getDenied().size());
+        assertTrue(rules.isDenied("org/bar/a/1.0/a-1.0.jar"));
+        assertTrue(rules.isDenied("org/baz/a/1.0/a-1.0.jar"));
+        assertFalse(rules.isDenied("org/foo/a/1.0/a-1.0.jar"));
+    }
+
+    @Test
+    public void patternsWithBackreferencesShouldBeKeptSeparate()
+    {
+        deny(GROUP, MEMBER, ".*/bar/.*", "([a-z]+)/\\1/.*");
+
+        MemberRules rules = getRules(GROUP, MEMBER);
+
+        assertEquals(2, rules.getDenied().size());
+        assertTrue(rules.isDenied("org/org/a/1.0/a-1.0.jar"));
+        assertTrue(rules.isDenied("org/bar/a/1.0/a-1.0.jar"));
+        assertFalse(rules.isDenied("org/com/a/1.0/a-1.0.jar"));
+    }
+
+    @Test
+    public void patternsWithNamedGroupsShouldBeKeptSeparate()
+    {
+        deny(GROUP, MEMBER, "(?<group>org)/bar/.*", "(?<group>com)/baz/.*", ".*/qux/.*");
+
+        MemberRules rules = getRules(GROUP, MEMBER);
+
+        assertEquals(3, rules.getDenied().size());
+        assertTrue(rules.isDenied("org/bar/a/1.0/a-1.0.jar"));
+        assertTrue(rules.isDenied("com/baz/a/1.0/a-1.0.jar"));
+        assertTrue(rules.isDenied("net/qux/a/1.0/a-1.0.jar"));
+        assertFalse(rules.isDenied("com/bar/a/1.0/a-1.0.jar"));
+    }
+
+    @Test
+    public void lookbehindPatternsShouldBeJoined()
+    {
+        deny(GROUP, MEMBER, ".*(?<=\\.jar)", ".*/bar/.*");
+
+        MemberRules rules = getRules(GROUP, MEMBER);
+
+        assertEquals(1, rules.getDenied().size());
+        assertTrue(rules.isDenied("org/foo/a/1.0/a-1.0.jar"));
+        assertFalse(rules.isDenied("org/foo/a/1.0/a-1.0.pom"));
+    }
+
+    private MemberRules getRules(String groupRepositoryId,
+                                 String repositoryId)
+    {
+        return new RoutingRules(routingRules).getMatcher().getRules(groupRepositoryId, repositoryId);
+    }
+
+    private void accept(String groupRepositoryId,
+                        String repositoryId,
+                        String... patterns)
+    {
+        MutableRuleSet ruleSet = routingRules.getAcceptRules(groupRepositoryId);
+        if (ruleSet == null)
+        {
+            ruleSet = newRuleSet(groupRepositoryId);
+            routingRules.addAcceptRule(groupRepositoryId, ruleSet);
+        }
+
+        addRules(ruleSet, repositoryId, patterns);
+    }
+
+    private void deny(String groupRepositoryId,
+                      String repositoryId,
+                      String... patterns)
+    {
+        MutableRuleSet ruleSet = routingRules.getDenyRules(groupRepositoryId);
+        if (ruleSet == null)
+        {
+            ruleSet = newRuleSet(groupRepositoryId);
+            routingRules.addDenyRule(groupRepositoryId, ruleSet);
+        }
+
+        addRules(ruleSet, repositoryId, patterns);
+    }
+
+    private static MutableRuleSet newRuleSet(String groupRepositoryId)
+    {
+        MutableRuleSet ruleSet = new MutableRuleSet();
+        ruleSet.setGroupRepository(groupRepositoryId);
+        ruleSet.setRoutingRules(new ArrayList<>());
+
+        return ruleSet;
+    }
+
+    private static void addRules(MutableRuleSet ruleSet,
+                                 String repositoryId,
+                                 String... patterns)
+    {
+        List<MutableRoutingRule> rules = ruleSet.getRoutingRules();
+        for (String pattern : patterns)
+        {
+            rules.add(new MutableRoutingRule(pattern, new LinkedHashSet<>(Arrays.asList(repositoryId))));
+        }
+    }
+
+}
@@ -25,7 +25,7 @@ public class IndexedMavenArtifactStoredEventListener
     @Inject
     private MavenIndexGroupRepositoryComponent mavenIndexGroupRepositoryComponent;
 
-    @AsyncEventListener
+    @AsyncEventListener(AsyncEventListener.INDEXING_EXECUTOR)
     public void handle(final ArtifactEvent<RepositoryPath> event)
     {
         final Repository repository = getRepository(event);
@@ -0,0 +1,58 @@
+package org.carlspring.strongbox.event.artifact;
+
+import org.carlspring.strongbox.config.MavenIndexerEnabledCondition;
+import org.carlspring.strongbox.event.AsyncEventListener;
+import org.carlspring.strongbox.event.repository.ArtifactsPromotedEvent;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.layout.Maven2LayoutProvider;
+import org.carlspring.strongbox.repository.group.index.MavenIndexGroupRepositoryComponent;
+import org.carlspring.strongbox.services.ArtifactIndexesService;
+
+import javax.inject.Inject;
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds promoted artifacts to the index of their new repository, and of the groups containing it, as they are not
+ * written through the indexing file system provider.
+ */
+@Component
+@Conditional(MavenIndexerEnabledCondition.class)
+public class IndexedMavenArtifactsPromotedEventListener
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexedMavenArtifactsPromotedEventListener.class);
+
+    @Inject
+    private ArtifactIndexesService artifactIndexesService;
+
+    @Inject
+    private MavenIndexGroupRepositoryComponent mavenIndexGroupRepositoryComponent;
+
+    @AsyncEventListener(AsyncEventListener.INDEXING_EXECUTOR)
+    public void handle(final ArtifactsPromotedEvent event)
+    {
+        for (RepositoryPath path : event.getPaths())
+        {
+            if (!Maven2LayoutProvider.ALIAS.equals(path.getRepository().getLayout()))
+            {
+                return;
+            }
+
+            try
+            {
+                artifactIndexesService.addArtifactToIndex(path);
+                mavenIndexGroupRepositoryComponent.updateGroupsContaining(path);
+            }
+            catch (IOException e)
+            {
+                logger.error("Unable to index promoted file " + path, e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+package org.carlspring.strongbox.event.artifact;
+
+import org.carlspring.strongbox.event.repository.ArtifactsPromotedEvent;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.layout.Maven2LayoutProvider;
+import org.carlspring.strongbox.services.ArtifactMetadataService;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the <code>maven-metadata.xml</code> of each promoted <code>groupId:artifactId</code> once, instead of once
+ * per promoted file. Group repositories are updated along, as the rebuilt metadata gets stored.
+ */
+@Component
+public class MavenArtifactsPromotedEventListener
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(MavenArtifactsPromotedEventListener.class);
+
+    @Inject
+    private ArtifactMetadataService artifactMetadataService;
+
+    @EventListener
+    public void handle(final ArtifactsPromotedEvent event)
+    {
+        rebuildMetadata(event.getPaths());
+
+        // The metadata of the source repository still lists the moved versions.
+        rebuildMetadata(event.getMovedPaths());
+    }
+
+    private void rebuildMetadata(List<RepositoryPath> paths)
+    {
+        if (paths.isEmpty())
+        {
+            return;
+        }
+
+        Repository repository = paths.get(0).getRepository();
+        if (!Maven2LayoutProvider.ALIAS.equals(repository.getLayout()))
+        {
+            return;
+        }
+
+        Set<String> artifactBasePaths = new LinkedHashSet<>();
+        for (RepositoryPath path : paths)
+        {
+            // {groupId}/{artifactId}/{version}/{file}
+            RepositoryPath artifactBasePath = path.getParent().getParent();
+            try
+            {
+                artifactBasePaths.add(RepositoryFiles.relativizePath(artifactBasePath));
+            }
+            catch (IOException e)
+            {
+                logger.error(String.format("Failed to resolve the artifact base path of [%s]", path), e);
+            }
+        }
+
+        String storageId = repository.getStorage().getId();
+        for (String artifactBasePath : artifactBasePaths)
+        {
+            try
+            {
+                artifactMetadataService.rebuildMetadata(storageId, repository.getId(), artifactBasePath);
+            }
+            catch (Exception e)
+            {
+                logger.error(String.format("Failed to rebuild the metadata of [%s:%s:%s]", storageId,
+                                           repository.getId(), artifactBasePath), e);
+            }
+        }
+    }
+
+}
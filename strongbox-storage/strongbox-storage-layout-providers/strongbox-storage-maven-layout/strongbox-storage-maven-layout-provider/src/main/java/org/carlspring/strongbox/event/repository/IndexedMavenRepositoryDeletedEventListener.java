@@ -0,0 +1,55 @@
+package org.carlspring.strongbox.event.repository;
+
+import org.carlspring.strongbox.config.MavenIndexerEnabledCondition;
+import org.carlspring.strongbox.storage.indexing.IndexTypeEnum;
+import org.carlspring.strongbox.storage.indexing.RepositoryIndexManager;
+import org.carlspring.strongbox.util.IndexContextHelper;
+
+import javax.inject.Inject;
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Closes the indexers of the removed repositories, including the ones removed by another node of the cluster, which
+ * are no longer part of the configuration by the time the event is handled.
+ */
+@Component
+@Conditional(MavenIndexerEnabledCondition.class)
+public class IndexedMavenRepositoryDeletedEventListener
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexedMavenRepositoryDeletedEventListener.class);
+
+    @Inject
+    private RepositoryIndexManager repositoryIndexManager;
+
+    @EventListener
+    public void handle(final RepositoryEvent event)
+    {
+        if (event.getType() != RepositoryEventTypeEnum.EVENT_REPOSITORY_DELETED.getType())
+        {
+            return;
+        }
+
+        for (IndexTypeEnum indexType : IndexTypeEnum.values())
+        {
+            final String contextId = IndexContextHelper.getContextId(event.getStorageId(),
+                                                                     event.getRepositoryId(),
+                                                                     indexType);
+            try
+            {
+                repositoryIndexManager.closeIndexer(contextId);
+            }
+            catch (IOException e)
+            {
+                logger.error("Unable to close indexer for contextId " + contextId, e);
+            }
+        }
+    }
+
+}
@@ -1,7 +1,9 @@
 package org.carlspring.strongbox.providers.io;
 
 import org.carlspring.commons.encryption.EncryptionAlgorithmsEnum;
+import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
 import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryArtifactResolver;
+import org.carlspring.strongbox.providers.repository.proxied.RemoteResourceValidatorsCacheManager;
 import org.carlspring.strongbox.storage.repository.Repository;
 
 import javax.inject.Inject;
@@ -27,6 +29,9 @@ public class MavenMetadataExpiredRepositoryPathHandler
     @Inject
     private ProxyRepositoryArtifactResolver proxyRepositoryArtifactResolver;
 
+    @Inject
+    private RemoteResourceValidatorsCacheManager remoteResourceValidatorsCacheManager;
+
     @Override
     public boolean supports(final RepositoryPath repositoryPath)
     {
@@ -54,6 +59,20 @@ public class MavenMetadataExpiredRepositoryPathHandler
     public void handleExpiration(final RepositoryPath repositoryPath)
             throws IOException
     {
+        if (remoteResourceValidatorsCacheManager.get(repositoryPath) != null)
+        {
+            // A single conditional request, answered without a body when nothing changed.
+            logger.debug("maven-metadata.xml will be revalidated with the remote ETag / Last-Modified.");
+            if (proxyRepositoryArtifactResolver.revalidateRemoteResource(repositoryPath))
+            {
+                // The checksums of the previous copy are not replaced unless forced.
+                LayoutFileSystemProvider provider = (LayoutFileSystemProvider) repositoryPath.getFileSystem()
+                                                                                             .provider();
+                provider.writeChecksum(repositoryPath, true);
+            }
+            return;
+        }
+
         Decision refetchMetadata = determineMetadataRefetch(repositoryPath,
                                                             EncryptionAlgorithmsEnum.SHA1);
         if (refetchMetadata == I_DONT_KNOW)
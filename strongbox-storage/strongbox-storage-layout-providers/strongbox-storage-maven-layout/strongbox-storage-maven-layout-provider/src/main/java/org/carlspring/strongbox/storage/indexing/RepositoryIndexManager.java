@@ -9,8 +9,8 @@ import org.carlspring.strongbox.storage.repository.Repository;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import java.io.IOException;
-import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,8 +30,10 @@ public class RepositoryIndexManager
     /**
      * K: storageId:repositoryId:type[local|remote]
      * V: index
+     * <p>
+     * Repositories are initialized concurrently by the storage booter, hence the concurrent map.
      */
-    private Map<String, RepositoryIndexer> indexes = new LinkedHashMap<>();
+    private Map<String, RepositoryIndexer> indexes = new ConcurrentHashMap<>();
 
     @Inject
     private ConfigurationManager configurationManager;
@@ -8,9 +8,11 @@ import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.storage.search.SearchResult;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
 
 import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.io.FileUtils;
 import org.apache.lucene.analysis.core.WhitespaceAnalyzer;
 import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
 import org.apache.lucene.queryparser.classic.ParseException;
@@ -46,7 +48,9 @@ public class RepositoryIndexer
 
     private List<IndexCreator> indexers;
 
-    private IndexingContext indexingContext;
+    private volatile IndexingContext indexingContext;
+
+    private IndexingContextOpener indexingContextOpener;
 
     private String storageId;
 
@@ -75,7 +79,7 @@ public class RepositoryIndexer
         {
             final ArtifactContextProducer artifactContextProducer = applicationContext.getBean(
                     ArtifactContextProducer.class, artifactPath);
-            ArtifactContext artifactContext = artifactContextProducer.getArtifactContext(indexingContext,
+            ArtifactContext artifactContext = artifactContextProducer.getArtifactContext(openIndexingContext(),
                                                                                          artifactPath.toAbsolutePath().toFile());
 
             if (artifactContext == null)
@@ -90,7 +94,7 @@ public class RepositoryIndexer
             {
                 return;
             }
-            getIndexer().addArtifactToIndex(artifactContext, indexingContext);
+            getIndexer().addArtifactToIndex(artifactContext, openIndexingContext());
         }
         catch (Exception e) // it's not really a critical problem, artifacts could be added to index later
         {
@@ -112,7 +116,7 @@ public class RepositoryIndexer
             delete.add(new SafeArtifactContext(new ArtifactContext(null, null, null, artifactInfo, null)));
         }
 
-        getIndexer().deleteArtifactsFromIndex(delete, indexingContext);
+        getIndexer().deleteArtifactsFromIndex(delete, openIndexingContext());
     }
 
     public Set<SearchResult> search(final ArtifactInfo artifactInfo)
@@ -168,12 +172,12 @@ public class RepositoryIndexer
 
         logger.debug("Executing search query: {}; ctx id: {}; idx dir: {}",
                      new String[]{ booleanQuery.toString(),
-                                   indexingContext.getId(),
-                                   indexingContext.getIndexDirectory().toString() });
+                                   openIndexingContext().getId(),
+                                   openIndexingContext().getIndexDirectory().toString() });
 
 
 
-        final FlatSearchResponse response = getIndexer().searchFlat(new FlatSearchRequest(booleanQuery, indexingContext));
+        final FlatSearchResponse response = getIndexer().searchFlat(new FlatSearchRequest(booleanQuery, openIndexingContext()));
 
         logger.debug("Hit count: {}", response.getReturnedHitsCount());
 
@@ -201,12 +205,12 @@ public class RepositoryIndexer
             logger.debug("Text of the query: {}", queryText);
             logger.debug("Executing search query: {}; ctx id: {}; idx dir: {}",
                          new String[]{ query.toString(),
-                                       indexingContext.getId(),
-                                       indexingContext.getIndexDirectory().toString() });
+                                       openIndexingContext().getId(),
+                                       openIndexingContext().getIndexDirectory().toString() });
 
             FlatSearchRequest searchRequest = new FlatSearchRequest(query,
                                                                     Comparator.comparing(this::calculateArtifactInfo),
-                                                                    indexingContext);
+                                                                    openIndexingContext());
 
             try (final FlatSearchResponse response = getIndexer().searchFlat(searchRequest))
             {
@@ -250,10 +254,10 @@ public class RepositoryIndexer
 
         logger.debug("Executing search query: {}; ctx id: {}; idx dir: {}",
                      new String[]{ booleanQuery.toString(),
-                                   indexingContext.getId(),
-                                   indexingContext.getIndexDirectory().toString() });
+                                   openIndexingContext().getId(),
+                                   openIndexingContext().getIndexDirectory().toString() });
 
-        final FlatSearchResponse response = getIndexer().searchFlat(new FlatSearchRequest(booleanQuery, indexingContext));
+        final FlatSearchResponse response = getIndexer().searchFlat(new FlatSearchRequest(booleanQuery, openIndexingContext()));
 
         logger.debug("Hit count: {}", response.getReturnedHitsCount());
 
@@ -307,13 +311,62 @@ public class RepositoryIndexer
     public void close()
             throws IOException
     {
-        indexer.closeIndexingContext(indexingContext, false);
+        IndexingContext context = indexingContext;
+        if (context == null)
+        {
+            // Never opened, so there is nothing to close.
+            return;
+        }
+
+        indexer.closeIndexingContext(context, false);
     }
 
     public void close(boolean deleteFiles)
             throws IOException
     {
-        indexingContext.close(deleteFiles);
+        IndexingContext context = indexingContext;
+        if (context != null)
+        {
+            context.close(deleteFiles);
+
+            return;
+        }
+
+        // The context was never opened, but the index files may have been written before (by a previous run).
+        if (deleteFiles && indexDir != null)
+        {
+            FileUtils.deleteDirectory(indexDir.toFile());
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the indexing context has already been opened
+     */
+    public boolean isOpen()
+    {
+        return indexingContext != null;
+    }
+
+    private IndexingContext openIndexingContext()
+            throws IOException
+    {
+        IndexingContext context = indexingContext;
+        if (context != null || indexingContextOpener == null)
+        {
+            return context;
+        }
+
+        synchronized (this)
+        {
+            if (indexingContext == null)
+            {
+                logger.debug("Opening indexing context [{}]...", contextId);
+
+                indexingContext = indexingContextOpener.open();
+            }
+
+            return indexingContext;
+        }
     }
 
     public IndexerConfiguration getIndexerConfiguration()
@@ -356,9 +409,20 @@ public class RepositoryIndexer
         this.indexers = indexers;
     }
 
+    /**
+     * Returns the indexing context, opening it on first use if it has been set up with an
+     * {@link IndexingContextOpener}.
+     */
     public IndexingContext getIndexingContext()
     {
-        return indexingContext;
+        try
+        {
+            return openIndexingContext();
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(String.format("Failed to open indexing context [%s].", contextId), e);
+        }
     }
 
     public void setIndexingContext(IndexingContext indexingContext)
@@ -366,6 +430,11 @@ public class RepositoryIndexer
         this.indexingContext = indexingContext;
     }
 
+    public void setIndexingContextOpener(IndexingContextOpener indexingContextOpener)
+    {
+        this.indexingContextOpener = indexingContextOpener;
+    }
+
     public String getStorageId()
     {
         return storageId;
@@ -420,4 +489,17 @@ public class RepositoryIndexer
     {
         this.applicationContext = applicationContext;
     }
+
+    /**
+     * Opens the {@link IndexingContext} of a {@link RepositoryIndexer} when it is first needed.
+     */
+    @FunctionalInterface
+    public interface IndexingContextOpener
+    {
+
+        IndexingContext open()
+                throws IOException;
+
+    }
+
 }
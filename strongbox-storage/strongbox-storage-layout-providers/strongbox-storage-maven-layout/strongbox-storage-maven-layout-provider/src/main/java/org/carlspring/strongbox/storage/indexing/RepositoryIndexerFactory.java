@@ -51,23 +51,24 @@ public class RepositoryIndexerFactory
                                                      RepositoryPath indexDir)
             throws RepositoryInitializationException
     {
-        IndexingContext indexingContext;
-        try
-        {
-            indexingContext = createIndexingContext(storageId, repositoryId, indexType, repositoryBasedir, indexDir);
-        }
-        catch (IOException e)
-        {
-            logger.error(e.getMessage(), e);
-
-            throw new RepositoryInitializationException(e.getMessage(), e);
-        }
-
         RepositoryIndexer repositoryIndexer = new RepositoryIndexer(storageId + ":" + repositoryId + ":" + indexType);
         repositoryIndexer.setStorageId(storageId);
         repositoryIndexer.setRepositoryId(repositoryId);
         repositoryIndexer.setIndexDir(indexDir);
-        repositoryIndexer.setIndexingContext(indexingContext);
+        // Opening the Lucene index is the expensive part of the repository initialization,
+        // so it is deferred until the index is first used.
+        repositoryIndexer.setIndexingContextOpener(() -> {
+            try
+            {
+                return createIndexingContext(storageId, repositoryId, indexType, repositoryBasedir, indexDir);
+            }
+            catch (IOException e)
+            {
+                logger.error(e.getMessage(), e);
+
+                throw new RepositoryInitializationException(e.getMessage(), e);
+            }
+        });
         repositoryIndexer.setIndexer(indexerConfiguration.getIndexer());
         repositoryIndexer.setScanner(indexerConfiguration.getScanner());
         repositoryIndexer.setConfiguration(configurationManager.getConfiguration());
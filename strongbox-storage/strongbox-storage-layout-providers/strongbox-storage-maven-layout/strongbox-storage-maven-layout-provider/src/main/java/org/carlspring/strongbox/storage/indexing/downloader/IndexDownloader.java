@@ -1,19 +1,34 @@
 package org.carlspring.strongbox.storage.indexing.downloader;
 
 import org.carlspring.strongbox.config.MavenIndexerEnabledCondition;
+import org.carlspring.strongbox.event.repository.RepositoryEventListenerRegistry;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
 import org.carlspring.strongbox.service.ProxyRepositoryConnectionPoolConfigurationService;
 import org.carlspring.strongbox.storage.indexing.RepositoryIndexManager;
+import org.carlspring.strongbox.util.TaskContext;
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.Properties;
+import java.util.TimeZone;
+import java.util.concurrent.Semaphore;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.maven.index.context.IndexingContext;
 import org.apache.maven.index.updater.IndexUpdateRequest;
 import org.apache.maven.index.updater.IndexUpdateResult;
 import org.apache.maven.index.updater.IndexUpdater;
+import org.apache.maven.index.updater.ResourceFetcher;
 import org.codehaus.plexus.component.repository.exception.ComponentLookupException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,6 +36,15 @@ import org.springframework.context.annotation.Conditional;
 import org.springframework.stereotype.Component;
 
 /**
+ * Downloads the remote index of a proxy repository.
+ * <p>
+ * The update is applied to a staging copy of the remote index, so that searches keep hitting the current index
+ * until the new one is ready and {@link IndexingContext#replace(org.apache.lucene.store.Directory) swapped in}.
+ * The remote index timestamp is checked first, so that the index is only staged when there is an update to apply.
+ * Downloaded resources are kept until the update succeeds, so that an interrupted download is resumed on the next
+ * run. The number of concurrent downloads and their transfer rate can be bounded with the
+ * {@link #DOWNLOAD_CONCURRENCY_PROPERTY} and {@link #DOWNLOAD_BYTES_PER_SECOND_PROPERTY} system properties.
+ *
  * @author carlspring
  */
 @Component("indexDownloader")
@@ -30,6 +54,16 @@ public class IndexDownloader
 
     private static final Logger logger = LoggerFactory.getLogger(IndexDownloader.class);
 
+    public static final String DOWNLOAD_CONCURRENCY_PROPERTY = "strongbox.indexer.remote.download.concurrency";
+
+    public static final String DOWNLOAD_BYTES_PER_SECOND_PROPERTY = "strongbox.indexer.remote.download.bytesPerSecond";
+
+    private static final String STAGING_DIRECTORY_SUFFIX = ".staging";
+
+    private static final String DOWNLOAD_DIRECTORY_SUFFIX = ".download";
+
+    private static final String LUCENE_WRITE_LOCK = "write.lock";
+
     @Inject
     private IndexUpdater indexUpdater;
 
@@ -45,6 +79,14 @@ public class IndexDownloader
     @Inject
     private RepositoryPathResolver repositoryPathResolver;
 
+    @Inject
+    private RepositoryEventListenerRegistry repositoryEventListenerRegistry;
+
+    private final Semaphore downloadPermits = new Semaphore(Math.max(1, Integer.getInteger(
+            DOWNLOAD_CONCURRENCY_PROPERTY, 1)), true);
+
+    private final long bytesPerSecond = Long.getLong(DOWNLOAD_BYTES_PER_SECOND_PROPERTY, 0L);
+
     public IndexDownloader()
     {
     }
@@ -52,42 +94,238 @@ public class IndexDownloader
     public void download(IndexDownloadRequest request)
             throws IOException, ComponentLookupException
     {
-        IndexingContext indexingContext = repositoryIndexManager.getRepositoryIndexer(
-                                                                             request.getStorageId() + ":" +
-                                                                             request.getRepositoryId() + ":" + "remote")
+        String contextId = request.getStorageId() + ":" + request.getRepositoryId() + ":" + "remote";
+        IndexingContext indexingContext = repositoryIndexManager.getRepositoryIndexer(contextId)
                                                                 .getIndexingContext();
 
-        // Update the index (an incremental update will be performed,
-        // if this is not the first run and the files are not deleted.
+        try
+        {
+            downloadPermits.acquire();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
 
-        logger.debug("Updating remote index for " + request.getRepositoryId() + "...");
-        logger.debug("(This might take a while on first run, so please be patient)!");
+            throw new InterruptedIOException("Interrupted while waiting to download the remote index for " +
+                                             contextId + ".");
+        }
 
-        IndexUpdateRequest updateRequest = new IndexUpdateRequest(indexingContext,
-                                                                  resourceFetcherFactory.createIndexResourceFetcher(
-                                                                          request.getRemoteRepositoryURL(),
-                                                                          proxyRepositoryConnectionPoolConfigurationService.getHttpClient()));
+        try
+        {
+            TaskContext.stage(String.format("Downloading the remote index for [%s]", contextId));
+            download(request, contextId, indexingContext);
+        }
+        finally
+        {
+            downloadPermits.release();
+        }
+    }
 
-        updateRequest.setIndexTempDir(RepositoryFiles.temporary(repositoryPathResolver.resolve(request.getRepository())).toFile());
+    private void download(IndexDownloadRequest request,
+                          String contextId,
+                          IndexingContext indexingContext)
+            throws IOException
+    {
+        Path indexDirectory = indexingContext.getIndexDirectoryFile().toPath();
+        Path stagingDirectory = indexDirectory.resolveSibling(indexDirectory.getFileName() + STAGING_DIRECTORY_SUFFIX);
+        Path downloadDirectory = indexDirectory.resolveSibling(
+                indexDirectory.getFileName() + DOWNLOAD_DIRECTORY_SUFFIX);
 
-        IndexUpdateResult updateResult = indexUpdater.fetchAndUpdateIndex(updateRequest);
+        ResourceFetcher resourceFetcher = createResourceFetcher(request, downloadDirectory);
 
-        Date contextCurrentTimestamp = indexingContext.getTimestamp();
-        if (updateResult.isFullUpdate())
+        boolean updateAvailable = false;
+        try
         {
-            logger.debug("Performed a full index update for " + request.getStorageId() + ":" +
-                         request.getRepositoryId() + ".");
+            updateAvailable = isUpdateAvailable(indexingContext, resourceFetcher);
         }
-        else if (updateResult.getTimestamp().equals(contextCurrentTimestamp))
+        finally
+        {
+            if (!updateAvailable)
+            {
+                resourceFetcher.disconnect();
+            }
+        }
+
+        if (!updateAvailable)
         {
             logger.debug("No update required for remote index " +
                          request.getStorageId() + ":" + request.getRepositoryId() + "," +
                          " as the index is up to date!");
+
+            FileUtils.deleteDirectory(downloadDirectory.toFile());
+
+            return;
+        }
+
+        copyIndexFiles(indexDirectory, stagingDirectory, true);
+
+        IndexingContext stagingContext = request.getIndexer()
+                                                .createIndexingContext(contextId + STAGING_DIRECTORY_SUFFIX,
+                                                                       indexingContext.getRepositoryId(),
+                                                                       indexingContext.getRepository(),
+                                                                       stagingDirectory.toFile(),
+                                                                       indexingContext.getRepositoryUrl(),
+                                                                       indexingContext.getIndexUpdateUrl(),
+                                                                       indexingContext.isSearchable(),
+                                                                       true,
+                                                                       indexingContext.getIndexCreators());
+        try
+        {
+            // Update the index (an incremental update will be performed,
+            // if this is not the first run and the files are not deleted.
+
+            logger.debug("Updating remote index for " + request.getRepositoryId() + "...");
+            logger.debug("(This might take a while on first run, so please be patient)!");
+
+            IndexUpdateRequest updateRequest = new IndexUpdateRequest(stagingContext, resourceFetcher);
+
+            updateRequest.setIndexTempDir(RepositoryFiles.temporary(repositoryPathResolver.resolve(request.getRepository())).toFile());
+
+            IndexUpdateResult updateResult = indexUpdater.fetchAndUpdateIndex(updateRequest);
+
+            Date contextCurrentTimestamp = indexingContext.getTimestamp();
+            Date updateTimestamp = updateResult.getTimestamp();
+            if (updateResult.isFullUpdate())
+            {
+                logger.debug("Performed a full index update for " + request.getStorageId() + ":" +
+                             request.getRepositoryId() + ".");
+            }
+            else if (updateTimestamp == null || updateTimestamp.equals(contextCurrentTimestamp))
+            {
+                logger.debug("No update required for remote index " +
+                             request.getStorageId() + ":" + request.getRepositoryId() + "," +
+                             " as the index is up to date!");
+            }
+            else
+            {
+                logger.debug("Performed an incremental update, with changes covering the period between " +
+                             contextCurrentTimestamp + " - " + updateTimestamp + ".");
+            }
+
+            if (updateResult.isFullUpdate() || updateTimestamp != null && !updateTimestamp.equals(contextCurrentTimestamp))
+            {
+                indexingContext.replace(stagingContext.getIndexDirectory());
+
+                // Keep the incremental update state (chain id, last chunk) next to the swapped index.
+                copyIndexFiles(stagingDirectory, indexDirectory, false);
+            }
+
+            FileUtils.deleteDirectory(downloadDirectory.toFile());
+        }
+        catch (IOException e)
+        {
+            logger.warn(String.format("Failed to update the remote index for [%s]; downloaded resources are kept " +
+                                      "in [%s] to resume from.", contextId, downloadDirectory));
+
+            throw e;
         }
-        else
+        finally
         {
-            logger.debug("Performed an incremental update, with changes covering the period between " +
-                         contextCurrentTimestamp + " - " + updateResult.getTimestamp() + ".");
+            stagingContext.close(true);
+            FileUtils.deleteDirectory(stagingDirectory.toFile());
+        }
+    }
+
+    /**
+     * @return whether the remote index timestamp differs from the one of the current index
+     */
+    private boolean isUpdateAvailable(IndexingContext indexingContext,
+                                      ResourceFetcher resourceFetcher)
+            throws IOException
+    {
+        Date contextCurrentTimestamp = indexingContext.getTimestamp();
+        if (contextCurrentTimestamp == null)
+        {
+            return true;
+        }
+
+        Properties remoteProperties = new Properties();
+        try (InputStream is = resourceFetcher.retrieve(IndexingContext.INDEX_REMOTE_PROPERTIES_FILE))
+        {
+            remoteProperties.load(is);
+        }
+
+        String remoteTimestamp = remoteProperties.getProperty(IndexingContext.INDEX_TIMESTAMP);
+        if (remoteTimestamp == null)
+        {
+            return true;
+        }
+
+        SimpleDateFormat dateFormat = new SimpleDateFormat(IndexingContext.INDEX_TIME_FORMAT);
+        dateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
+        try
+        {
+            return !dateFormat.parse(remoteTimestamp).equals(contextCurrentTimestamp);
+        }
+        catch (ParseException e)
+        {
+            logger.warn(String.format("Invalid remote index timestamp [%s].", remoteTimestamp));
+
+            return true;
+        }
+    }
+
+    private ResourceFetcher createResourceFetcher(IndexDownloadRequest request,
+                                                  Path downloadDirectory)
+    {
+        ResourceFetcher resourceFetcher = resourceFetcherFactory.createIndexResourceFetcher(
+                request.getRemoteRepositoryURL(),
+                proxyRepositoryConnectionPoolConfigurationService.getHttpClient());
+
+        if (resourceFetcher instanceof IndexResourceFetcher)
+        {
+            IndexResourceFetcher indexResourceFetcher = (IndexResourceFetcher) resourceFetcher;
+            indexResourceFetcher.setDownloadDirectory(downloadDirectory);
+            indexResourceFetcher.setBytesPerSecond(bytesPerSecond);
+            indexResourceFetcher.setProgressListener((resourceName, bytesTransferred) -> {
+                TaskContext.checkpoint();
+
+                logger.debug("Downloaded " + bytesTransferred + " bytes of " + resourceName + " for " +
+                             request.getStorageId() + ":" + request.getRepositoryId() + ".");
+
+                repositoryEventListenerRegistry.dispatchEvent(
+                        new RemoteIndexDownloadProgressEvent(request.getStorageId(),
+                                                             request.getRepositoryId(),
+                                                             resourceName,
+                                                             bytesTransferred));
+            });
+        }
+
+        return resourceFetcher;
+    }
+
+    /**
+     * @param all whether to copy the whole index or only the non-Lucene (updater state) files
+     */
+    private void copyIndexFiles(Path source,
+                                Path target,
+                                boolean all)
+            throws IOException
+    {
+        if (all)
+        {
+            FileUtils.deleteDirectory(target.toFile());
+        }
+        Files.createDirectories(target);
+
+        if (!Files.isDirectory(source))
+        {
+            return;
+        }
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(source))
+        {
+            for (Path file : files)
+            {
+                String fileName = file.getFileName().toString();
+                if (!Files.isRegularFile(file) || LUCENE_WRITE_LOCK.equals(fileName) ||
+                    !all && !fileName.endsWith(".properties"))
+                {
+                    continue;
+                }
+
+                Files.copy(file, target.resolve(fileName), StandardCopyOption.REPLACE_EXISTING);
+            }
         }
     }
 
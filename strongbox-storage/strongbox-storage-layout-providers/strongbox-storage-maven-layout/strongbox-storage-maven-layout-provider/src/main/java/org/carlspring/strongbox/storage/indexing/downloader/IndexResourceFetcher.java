@@ -1,13 +1,24 @@
 package org.carlspring.strongbox.storage.indexing.downloader;
 
+import java.io.BufferedInputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.text.MessageFormat;
+import java.util.function.ObjLongConsumer;
 
 import com.google.common.io.Closeables;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.impl.client.CloseableHttpClient;
@@ -16,6 +27,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Retrieves the remote index resources.
+ * <p>
+ * When a {@link #setDownloadDirectory(Path) download directory} is set, each resource is first downloaded into a
+ * <code>.part</code> file there, and an interrupted download is resumed with a <code>Range</code> request validated by
+ * <code>If-Range</code> on the next attempt; a part which turns out to be complete is used as is. The caller is
+ * responsible for cleaning up the directory once the resources have been applied.
+ *
  * @author Przemyslaw Fusik
  */
 public class IndexResourceFetcher
@@ -30,8 +48,18 @@ public class IndexResourceFetcher
 
     private final CloseableHttpClient client;
 
+    private static final String PART_SUFFIX = ".part";
+
+    private static final String VALIDATOR_SUFFIX = ".validator";
+
     private CloseableHttpResponse response;
 
+    private Path downloadDirectory;
+
+    private long bytesPerSecond;
+
+    private ObjLongConsumer<String> progressListener;
+
     public IndexResourceFetcher(String repositoryBaseUrl,
                                 CloseableHttpClient client)
     {
@@ -39,6 +67,27 @@ public class IndexResourceFetcher
         this.client = client;
     }
 
+    public void setDownloadDirectory(Path downloadDirectory)
+    {
+        this.downloadDirectory = downloadDirectory;
+    }
+
+    /**
+     * @param bytesPerSecond the maximum transfer rate; zero or less means unlimited
+     */
+    public void setBytesPerSecond(long bytesPerSecond)
+    {
+        this.bytesPerSecond = bytesPerSecond;
+    }
+
+    /**
+     * @param progressListener notified with the resource name and the number of bytes transferred so far
+     */
+    public void setProgressListener(ObjLongConsumer<String> progressListener)
+    {
+        this.progressListener = progressListener;
+    }
+
     @Override
     public void connect(String indexContextId,
                         String indexUpdateUrl)
@@ -62,6 +111,11 @@ public class IndexResourceFetcher
 
         logger.debug("Getting " + uri + "...");
 
+        if (downloadDirectory != null)
+        {
+            return new BufferedInputStream(Files.newInputStream(download(indexName, uri, true)));
+        }
+
         InputStream result = null;
 
         response = client.execute(new HttpGet(uri));
@@ -69,11 +123,147 @@ public class IndexResourceFetcher
         HttpEntity httpEntity = response.getEntity();
         if (httpEntity != null)
         {
-            result = httpEntity.getContent();
+            result = throttle(indexName, 0, httpEntity.getContent());
         }
         return result;
     }
 
+    private Path download(String indexName,
+                          String uri,
+                          boolean resume)
+            throws IOException
+    {
+        Files.createDirectories(downloadDirectory);
+
+        Path partFile = downloadDirectory.resolve(indexName + PART_SUFFIX);
+        Path validatorFile = downloadDirectory.resolve(indexName + VALIDATOR_SUFFIX);
+
+        long offset = resume && Files.exists(partFile) ? Files.size(partFile) : 0;
+        String validator = offset > 0 && Files.exists(validatorFile) ?
+                           new String(Files.readAllBytes(validatorFile), StandardCharsets.UTF_8) : null;
+
+        HttpGet httpGet = new HttpGet(uri);
+        if (validator != null)
+        {
+            httpGet.setHeader(HttpHeaders.RANGE, "bytes=" + offset + "-");
+            httpGet.setHeader(HttpHeaders.IF_RANGE, validator);
+        }
+
+        try (CloseableHttpResponse rangeResponse = client.execute(httpGet))
+        {
+            int statusCode = rangeResponse.getStatusLine().getStatusCode();
+            if (statusCode == HttpStatus.SC_REQUESTED_RANGE_NOT_SATISFIABLE && validator != null)
+            {
+                if (getCompleteLength(rangeResponse) == offset)
+                {
+                    logger.debug("The download of " + uri + " is already complete.");
+
+                    return partFile;
+                }
+
+                // The part no longer matches the remote, so start over.
+                logger.debug("Restarting the download of " + uri + ".");
+
+                return download(indexName, uri, false);
+            }
+
+            boolean append = statusCode == HttpStatus.SC_PARTIAL_CONTENT && validator != null;
+            if (!append && statusCode != HttpStatus.SC_OK)
+            {
+                throw new IOException(String.format("Failed to retrieve [%s]: %s", uri,
+                                                     rangeResponse.getStatusLine()));
+            }
+
+            if (append)
+            {
+                logger.debug("Resuming the download of " + uri + " from byte " + offset + ".");
+            }
+            else
+            {
+                offset = 0;
+                storeValidator(rangeResponse, validatorFile);
+            }
+
+            HttpEntity httpEntity = rangeResponse.getEntity();
+            if (httpEntity == null)
+            {
+                throw new IOException(String.format("Failed to retrieve [%s]: empty response.", uri));
+            }
+
+            try (InputStream is = throttle(indexName, offset, httpEntity.getContent());
+                 OutputStream os = Files.newOutputStream(partFile,
+                                                         StandardOpenOption.CREATE,
+                                                         StandardOpenOption.WRITE,
+                                                         append ? StandardOpenOption.APPEND :
+                                                         StandardOpenOption.TRUNCATE_EXISTING))
+            {
+                IOUtils.copy(is, os);
+            }
+        }
+
+        return partFile;
+    }
+
+    /**
+     * @return the complete length of the resource from the <code>Content-Range: bytes *&#47;length</code> header of
+     *         a 416 response, or <code>-1</code> if it is unknown
+     */
+    private long getCompleteLength(CloseableHttpResponse response)
+    {
+        Header contentRange = response.getFirstHeader(HttpHeaders.CONTENT_RANGE);
+        if (contentRange == null)
+        {
+            return -1;
+        }
+
+        String length = StringUtils.substringAfterLast(contentRange.getValue(), "/").trim();
+
+        return StringUtils.isNumeric(length) ? Long.parseLong(length) : -1;
+    }
+
+    private void storeValidator(CloseableHttpResponse response,
+                                Path validatorFile)
+            throws IOException
+    {
+        // If-Range only accepts strong entity tags, otherwise fall back to the modification date.
+        Header eTag = response.getFirstHeader(HttpHeaders.ETAG);
+        Header lastModified = response.getFirstHeader(HttpHeaders.LAST_MODIFIED);
+
+        String validator = null;
+        if (eTag != null && !eTag.getValue().startsWith("W/"))
+        {
+            validator = eTag.getValue();
+        }
+        else if (lastModified != null)
+        {
+            validator = lastModified.getValue();
+        }
+
+        if (validator == null)
+        {
+            Files.deleteIfExists(validatorFile);
+
+            return;
+        }
+
+        Files.write(validatorFile, validator.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private InputStream throttle(String indexName,
+                                 long offset,
+                                 InputStream is)
+    {
+        if (bytesPerSecond <= 0 && progressListener == null)
+        {
+            return is;
+        }
+
+        return new ThrottledInputStream(is,
+                                        bytesPerSecond,
+                                        progressListener == null ? null :
+                                        bytesRead -> progressListener.accept(indexName, offset + bytesRead));
+    }
+
     @Override
     public void close()
             throws IOException
@@ -0,0 +1,37 @@
+package org.carlspring.strongbox.storage.indexing.downloader;
+
+import org.carlspring.strongbox.event.repository.RepositoryEvent;
+import org.carlspring.strongbox.event.repository.RepositoryEventTypeEnum;
+
+/**
+ * Reports the number of bytes transferred so far for one of the resources of a remote index download.
+ */
+public class RemoteIndexDownloadProgressEvent
+        extends RepositoryEvent
+{
+
+    private final String resourceName;
+
+    private final long bytesTransferred;
+
+    public RemoteIndexDownloadProgressEvent(String storageId,
+                                            String repositoryId,
+                                            String resourceName,
+                                            long bytesTransferred)
+    {
+        super(storageId, repositoryId, RepositoryEventTypeEnum.EVENT_REPOSITORY_REMOTE_INDEX_DOWNLOAD_PROGRESS.getType());
+        this.resourceName = resourceName;
+        this.bytesTransferred = bytesTransferred;
+    }
+
+    public String getResourceName()
+    {
+        return resourceName;
+    }
+
+    public long getBytesTransferred()
+    {
+        return bytesTransferred;
+    }
+
+}
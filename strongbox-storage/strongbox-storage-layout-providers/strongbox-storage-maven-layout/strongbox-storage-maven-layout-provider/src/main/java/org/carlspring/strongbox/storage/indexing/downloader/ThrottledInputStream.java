@@ -0,0 +1,125 @@
+package org.carlspring.strongbox.storage.indexing.downloader;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * An {@link InputStream} which keeps the read rate under the given number of bytes per second, and reports the
+ * number of bytes read so far at most once per {@link #PROGRESS_INTERVAL_NANOS}.
+ */
+public class ThrottledInputStream
+        extends FilterInputStream
+{
+
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final long bytesPerSecond;
+
+    private final LongConsumer progressListener;
+
+    private final long startNanos = System.nanoTime();
+
+    private long lastProgressNanos = startNanos;
+
+    private long bytesRead;
+
+    /**
+     * @param in               the stream to read from
+     * @param bytesPerSecond   the maximum read rate; zero or less means unlimited
+     * @param progressListener notified with the number of bytes read so far; may be <code>null</code>
+     */
+    public ThrottledInputStream(InputStream in,
+                                long bytesPerSecond,
+                                LongConsumer progressListener)
+    {
+        super(in);
+        this.bytesPerSecond = bytesPerSecond;
+        this.progressListener = progressListener;
+    }
+
+    @Override
+    public int read()
+            throws IOException
+    {
+        int result = super.read();
+        if (result >= 0)
+        {
+            onRead(1);
+        }
+
+        return result;
+    }
+
+    @Override
+    public int read(byte[] b,
+                    int off,
+                    int len)
+            throws IOException
+    {
+        int result = super.read(b, off, len);
+        if (result > 0)
+        {
+            onRead(result);
+        }
+
+        return result;
+    }
+
+    @Override
+    public void close()
+            throws IOException
+    {
+        super.close();
+
+        if (progressListener != null)
+        {
+            progressListener.accept(bytesRead);
+        }
+    }
+
+    public long getBytesRead()
+    {
+        return bytesRead;
+    }
+
+    private void onRead(int count)
+            throws IOException
+    {
+        bytesRead += count;
+
+        long now = System.nanoTime();
+        if (progressListener != null && now - lastProgressNanos >= PROGRESS_INTERVAL_NANOS)
+        {
+            lastProgressNanos = now;
+            progressListener.accept(bytesRead);
+        }
+
+        if (bytesPerSecond <= 0)
+        {
+            return;
+        }
+
+        long expectedNanos = (long) (bytesRead * (double) TimeUnit.SECONDS.toNanos(1) / bytesPerSecond);
+        long aheadNanos = expectedNanos - (now - startNanos);
+        if (aheadNanos <= 0)
+        {
+            return;
+        }
+
+        try
+        {
+            TimeUnit.NANOSECONDS.sleep(aheadNanos);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("Interrupted while throttling the transfer.");
+        }
+    }
+
+}
@@ -1,6 +1,8 @@
 package org.carlspring.strongbox.providers.io;
 
 import org.carlspring.commons.encryption.EncryptionAlgorithmsEnum;
+import org.carlspring.strongbox.client.CloseableRestResponse;
+import org.carlspring.strongbox.client.RestArtifactResolver;
 import org.carlspring.strongbox.config.Maven2LayoutProviderTestConfig;
 import org.carlspring.strongbox.providers.layout.Maven2LayoutProvider;
 import org.carlspring.strongbox.providers.repository.ProxyRepositoryProvider;
@@ -8,21 +10,30 @@ import org.carlspring.strongbox.storage.repository.MutableRepository;
 import org.carlspring.strongbox.storage.repository.RepositoryPolicyEnum;
 
 import javax.inject.Inject;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import java.io.InputStream;
 import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
+import org.apache.commons.io.FilenameUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
 import org.junit.jupiter.api.parallel.Execution;
+import org.mockito.Mockito;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 import static org.carlspring.strongbox.util.MessageDigestUtils.calculateChecksum;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 
 /**
  * @author Przemyslaw Fusik
@@ -130,6 +141,81 @@ public class MavenMetadataExpirationProxyCaseTest
         assertEquals(sha1ProxiedPathChecksum, calculatedProxiedPathChecksum);
     }
 
+    @Test
+    public void expiredProxyRepositoryMetadataPathShouldBeRevalidated(TestInfo testInfo)
+            throws Exception
+    {
+        final RepositoryPath hostedPath = resolvePath(getRepositoryName(REPOSITORY_HOSTED, testInfo),
+                                                      true,
+                                                      "maven-metadata.xml");
+        final RepositoryPath proxiedPath = resolvePath(getRepositoryName(REPOSITORY_PROXY, testInfo),
+                                                       true,
+                                                       "maven-metadata.xml");
+        final String proxiedPathRelativized = FilenameUtils.separatorsToUnix(proxiedPath.relativize().toString());
+
+        final RestArtifactResolver artifactResolver = artifactResolverFactory.newInstance(
+                proxiedPath.getRepository().getRemoteRepository());
+        final CloseableRestResponse okResponse = mockRestResponse(200, hostedPath, "\"v1\"");
+        Mockito.when(artifactResolver.get(eq(proxiedPathRelativized))).thenReturn(okResponse);
+        Mockito.when(artifactResolver.get(eq(proxiedPathRelativized), any(Long.class))).thenReturn(okResponse);
+        Mockito.when(artifactResolver.getIfModified(eq(proxiedPathRelativized), eq("\"v1\""), isNull()))
+               .thenReturn(mockRestResponse(304, null, "\"v1\""));
+
+        proxyRepositoryProvider.fetchPath(proxiedPath);
+        assertTrue(RepositoryFiles.artifactExists(proxiedPath));
+
+        final String initialChecksum = calculateChecksum(proxiedPath, EncryptionAlgorithmsEnum.SHA1.getAlgorithm());
+
+        // 304: the cached copy is kept, and its expiration is reset.
+        final FileTime expired = oneHourAgo();
+        Files.setLastModifiedTime(proxiedPath, expired);
+
+        proxyRepositoryProvider.fetchPath(proxiedPath);
+        assertTrue(Files.getLastModifiedTime(proxiedPath).compareTo(expired) > 0);
+        assertEquals(initialChecksum, calculateChecksum(proxiedPath, EncryptionAlgorithmsEnum.SHA1.getAlgorithm()));
+        assertEquals(initialChecksum, readChecksum(resolveSiblingChecksum(proxiedPath, EncryptionAlgorithmsEnum.SHA1)));
+
+        // 200: the new copy is stored along with its checksums.
+        mockHostedRepositoryMetadataUpdate(localSourceRepository,
+                                           getRepositoryName(REPOSITORY_HOSTED, testInfo),
+                                           getRepositoryName(REPOSITORY_LOCAL_SOURCE, testInfo),
+                                           versionLevelMetadata,
+                                           artifactLevelMetadata);
+        Mockito.when(artifactResolver.getIfModified(eq(proxiedPathRelativized), eq("\"v1\""), isNull()))
+               .thenReturn(mockRestResponse(200, hostedPath, "\"v2\""));
+
+        Files.setLastModifiedTime(proxiedPath, oneHourAgo());
+
+        proxyRepositoryProvider.fetchPath(proxiedPath);
+
+        final String hostedChecksum = calculateChecksum(hostedPath, EncryptionAlgorithmsEnum.SHA1.getAlgorithm());
+        assertNotEquals(initialChecksum, hostedChecksum);
+        assertEquals(hostedChecksum, calculateChecksum(proxiedPath, EncryptionAlgorithmsEnum.SHA1.getAlgorithm()));
+        assertEquals(hostedChecksum, readChecksum(resolveSiblingChecksum(proxiedPath, EncryptionAlgorithmsEnum.SHA1)));
+        assertEquals(calculateChecksum(proxiedPath, EncryptionAlgorithmsEnum.MD5.getAlgorithm()),
+                     readChecksum(resolveSiblingChecksum(proxiedPath, EncryptionAlgorithmsEnum.MD5)));
+    }
+
+    private CloseableRestResponse mockRestResponse(final int status,
+                                                   final RepositoryPath content,
+                                                   final String etag)
+    {
+        final Response response = Mockito.mock(Response.class);
+        Mockito.when(response.getStatus()).thenReturn(status);
+        Mockito.when(response.getHeaderString(HttpHeaders.ETAG)).thenReturn(etag);
+        if (content != null)
+        {
+            Mockito.when(response.getEntity()).thenAnswer(invocation -> new Object());
+            Mockito.when(response.readEntity(InputStream.class)).thenAnswer(
+                    invocation -> Files.newInputStream(content));
+        }
+
+        final CloseableRestResponse restResponse = Mockito.mock(CloseableRestResponse.class);
+        Mockito.when(restResponse.getResponse()).thenReturn(response);
+
+        return restResponse;
+    }
+
     @AfterEach
     public void removeRepositories(TestInfo testInfo)
             throws Exception
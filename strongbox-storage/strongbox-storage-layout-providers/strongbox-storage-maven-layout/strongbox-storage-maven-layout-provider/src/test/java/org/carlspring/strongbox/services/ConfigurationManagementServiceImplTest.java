@@ -365,6 +365,38 @@ public class ConfigurationManagementServiceImplTest
         assertTrue(repositories.isEmpty());
     }
 
+    @Test
+    public void configurationChangesShouldBeVersioned()
+    {
+        String instanceName = configurationManagementService.getConfiguration().getInstanceName();
+        long version = configurationManagementService.getConfigurationVersion();
+
+        configurationManagementService.setInstanceName(instanceName + "-versioned");
+        try
+        {
+            assertTrue(configurationManagementService.getConfigurationVersion() > version);
+            assertTrue(configurationManagementService.getClusterConfigurationVersion() >=
+                       configurationManagementService.getConfigurationVersion());
+        }
+        finally
+        {
+            configurationManagementService.setInstanceName(instanceName);
+        }
+    }
+
+    @Test
+    public void failedBatchShouldNotBeApplied()
+    {
+        String instanceName = configurationManagementService.getConfiguration().getInstanceName();
+
+        assertThrows(IllegalStateException.class, () -> configurationManagementService.modifyInBatch(() -> {
+            configurationManagementService.setInstanceName(instanceName + "-batch");
+            throw new IllegalStateException();
+        }));
+
+        assertEquals(instanceName, configurationManagementService.getConfiguration().getInstanceName());
+    }
+
     private MutableRoutingRule getRoutingRule()
     {
         MutableRoutingRule routingRule = new MutableRoutingRule();
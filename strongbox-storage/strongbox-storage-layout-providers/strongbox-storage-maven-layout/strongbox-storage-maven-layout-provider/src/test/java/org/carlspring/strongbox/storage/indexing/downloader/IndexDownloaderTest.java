@@ -0,0 +1,141 @@
+package org.carlspring.strongbox.storage.indexing.downloader;
+
+import org.carlspring.strongbox.service.ProxyRepositoryConnectionPoolConfigurationService;
+import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.indexing.RepositoryIndexManager;
+import org.carlspring.strongbox.storage.indexing.RepositoryIndexer;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.remote.RemoteRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.index.Indexer;
+import org.apache.maven.index.context.IndexingContext;
+import org.apache.maven.index.updater.IndexUpdater;
+import org.apache.maven.index.updater.ResourceFetcher;
+import org.codehaus.plexus.component.repository.exception.ComponentLookupException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class IndexDownloaderTest
+{
+
+    private static final String STORAGE_ID = "storage0";
+
+    private static final String REPOSITORY_ID = "releases";
+
+    @Mock
+    private IndexUpdater indexUpdater;
+
+    @Mock
+    private RepositoryIndexManager repositoryIndexManager;
+
+    @Mock
+    private ProxyRepositoryConnectionPoolConfigurationService proxyRepositoryConnectionPoolConfigurationService;
+
+    @Mock
+    private ResourceFetcherFactory resourceFetcherFactory;
+
+    @InjectMocks
+    private IndexDownloader indexDownloader;
+
+    private Path indexBaseDirectory;
+
+    private Path indexDirectory;
+
+    private IndexingContext indexingContext;
+
+    private ResourceFetcher resourceFetcher;
+
+    private Indexer indexer;
+
+
+    @BeforeEach
+    public void setUp()
+            throws IOException
+    {
+        initMocks(this);
+
+        indexBaseDirectory = Files.createTempDirectory("index");
+        indexDirectory = Files.createDirectories(indexBaseDirectory.resolve("remote"));
+
+        indexingContext = mock(IndexingContext.class);
+        when(indexingContext.getIndexDirectoryFile()).thenReturn(indexDirectory.toFile());
+
+        RepositoryIndexer repositoryIndexer = mock(RepositoryIndexer.class);
+        when(repositoryIndexer.getIndexingContext()).thenReturn(indexingContext);
+        when(repositoryIndexManager.getRepositoryIndexer(STORAGE_ID + ":" + REPOSITORY_ID + ":remote"))
+                .thenReturn(repositoryIndexer);
+
+        resourceFetcher = mock(ResourceFetcher.class);
+        when(resourceFetcherFactory.createIndexResourceFetcher(anyString(), any())).thenReturn(resourceFetcher);
+
+        indexer = mock(Indexer.class);
+    }
+
+    @AfterEach
+    public void tearDown()
+            throws IOException
+    {
+        FileUtils.deleteDirectory(indexBaseDirectory.toFile());
+    }
+
+    @Test
+    public void testNoUpdate()
+            throws IOException, ComponentLookupException
+    {
+        Date timestamp = new Date();
+        when(indexingContext.getTimestamp()).thenReturn(timestamp);
+
+        SimpleDateFormat dateFormat = new SimpleDateFormat(IndexingContext.INDEX_TIME_FORMAT);
+        dateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
+        String remoteProperties = IndexingContext.INDEX_TIMESTAMP + "=" + dateFormat.format(timestamp) + "\n";
+        when(resourceFetcher.retrieve(IndexingContext.INDEX_REMOTE_PROPERTIES_FILE)).thenReturn(
+                new ByteArrayInputStream(remoteProperties.getBytes(StandardCharsets.ISO_8859_1)));
+
+        indexDownloader.download(new IndexDownloadRequest(mockRepository(), indexer));
+
+        // Neither the index is staged, nor the update is performed.
+        verifyZeroInteractions(indexUpdater, indexer);
+        verify(resourceFetcher).disconnect();
+
+        assertFalse(Files.exists(indexBaseDirectory.resolve("remote.staging")));
+        assertFalse(Files.exists(indexBaseDirectory.resolve("remote.download")));
+    }
+
+    private Repository mockRepository()
+    {
+        Storage storage = mock(Storage.class);
+        when(storage.getId()).thenReturn(STORAGE_ID);
+
+        RemoteRepository remoteRepository = mock(RemoteRepository.class);
+        when(remoteRepository.getUrl()).thenReturn("http://localhost/storages/" + STORAGE_ID + "/" + REPOSITORY_ID);
+
+        Repository repository = mock(Repository.class);
+        when(repository.getId()).thenReturn(REPOSITORY_ID);
+        when(repository.getStorage()).thenReturn(storage);
+        when(repository.getRemoteRepository()).thenReturn(remoteRepository);
+
+        return repository;
+    }
+
+}
@@ -0,0 +1,176 @@
+package org.carlspring.strongbox.storage.indexing.downloader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.message.BasicStatusLine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class IndexResourceFetcherTest
+{
+
+    private static final String REPOSITORY_URL = "http://localhost/storages/storage0/releases";
+
+    private static final String INDEX_NAME = "nexus-maven-repository-index.gz";
+
+    private static final String ETAG = "\"index-1\"";
+
+    private Path downloadDirectory;
+
+    private CloseableHttpClient client;
+
+    private IndexResourceFetcher resourceFetcher;
+
+
+    @BeforeEach
+    public void setUp()
+            throws IOException
+    {
+        downloadDirectory = Files.createTempDirectory("index-download");
+
+        client = mock(CloseableHttpClient.class);
+
+        resourceFetcher = new IndexResourceFetcher(REPOSITORY_URL, client);
+        resourceFetcher.setDownloadDirectory(downloadDirectory);
+    }
+
+    @AfterEach
+    public void tearDown()
+            throws IOException
+    {
+        FileUtils.deleteDirectory(downloadDirectory.toFile());
+    }
+
+    @Test
+    public void testDownload()
+            throws IOException
+    {
+        CloseableHttpResponse response = mockResponse(HttpStatus.SC_OK, "0123456789");
+        when(client.execute(any(HttpGet.class))).thenReturn(response);
+
+        assertEquals("0123456789", retrieve());
+
+        HttpGet request = captureRequests(1);
+        assertFalse(request.containsHeader(HttpHeaders.RANGE));
+        assertEquals(ETAG, read(downloadDirectory.resolve(INDEX_NAME + ".validator")));
+    }
+
+    @Test
+    public void testResumeDownload()
+            throws IOException
+    {
+        storePart("01234");
+
+        CloseableHttpResponse response = mockResponse(HttpStatus.SC_PARTIAL_CONTENT, "56789");
+        when(client.execute(any(HttpGet.class))).thenReturn(response);
+
+        assertEquals("0123456789", retrieve());
+
+        HttpGet request = captureRequests(1);
+        assertEquals("bytes=5-", request.getFirstHeader(HttpHeaders.RANGE).getValue());
+        assertEquals(ETAG, request.getFirstHeader(HttpHeaders.IF_RANGE).getValue());
+    }
+
+    @Test
+    public void testResumeCompleteDownload()
+            throws IOException
+    {
+        storePart("0123456789");
+
+        CloseableHttpResponse response = mockResponse(HttpStatus.SC_REQUESTED_RANGE_NOT_SATISFIABLE, "");
+        when(response.getFirstHeader(HttpHeaders.CONTENT_RANGE)).thenReturn(
+                new BasicHeader(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+        when(client.execute(any(HttpGet.class))).thenReturn(response);
+
+        assertEquals("0123456789", retrieve());
+
+        captureRequests(1);
+    }
+
+    @Test
+    public void testResumeChangedDownload()
+            throws IOException
+    {
+        storePart("01234");
+
+        CloseableHttpResponse notSatisfiable = mockResponse(HttpStatus.SC_REQUESTED_RANGE_NOT_SATISFIABLE, "");
+        when(notSatisfiable.getFirstHeader(HttpHeaders.CONTENT_RANGE)).thenReturn(
+                new BasicHeader(HttpHeaders.CONTENT_RANGE, "bytes */3"));
+        CloseableHttpResponse response = mockResponse(HttpStatus.SC_OK, "abc");
+        when(client.execute(any(HttpGet.class))).thenReturn(notSatisfiable, response);
+
+        assertEquals("abc", retrieve());
+
+        HttpGet request = captureRequests(2);
+        assertFalse(request.containsHeader(HttpHeaders.RANGE));
+    }
+
+    private String retrieve()
+            throws IOException
+    {
+        try (InputStream is = resourceFetcher.retrieve(INDEX_NAME))
+        {
+            return IOUtils.toString(is, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * @return the last request
+     */
+    private HttpGet captureRequests(int count)
+            throws IOException
+    {
+        ArgumentCaptor<HttpGet> requests = ArgumentCaptor.forClass(HttpGet.class);
+        verify(client, times(count)).execute(requests.capture());
+
+        return requests.getValue();
+    }
+
+    private void storePart(String content)
+            throws IOException
+    {
+        Files.write(downloadDirectory.resolve(INDEX_NAME + ".part"), content.getBytes(StandardCharsets.UTF_8));
+        Files.write(downloadDirectory.resolve(INDEX_NAME + ".validator"), ETAG.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private CloseableHttpResponse mockResponse(int statusCode,
+                                               String content)
+    {
+        CloseableHttpResponse response = mock(CloseableHttpResponse.class);
+        when(response.getStatusLine()).thenReturn(new BasicStatusLine(HttpVersion.HTTP_1_1, statusCode, null));
+        when(response.getEntity()).thenReturn(new ByteArrayEntity(content.getBytes(StandardCharsets.UTF_8)));
+        when(response.getFirstHeader(HttpHeaders.ETAG)).thenReturn(new BasicHeader(HttpHeaders.ETAG, ETAG));
+
+        return response;
+    }
+
+    private static String read(Path file)
+            throws IOException
+    {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,59 @@
+package org.carlspring.strongbox.npm;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The serialized package document (packument) of an npm package, in both its full and abbreviated
+ * (<code>application/vnd.npm.install-v1+json</code>) forms, each one also gzipped, so that it can be served as is.
+ */
+public class NpmPackument
+        implements Serializable
+{
+
+    public static final String ABBREVIATED_MEDIA_TYPE = "application/vnd.npm.install-v1+json";
+
+    private final byte[] json;
+
+    private final byte[] gzippedJson;
+
+    private final byte[] abbreviatedJson;
+
+    private final byte[] gzippedAbbreviatedJson;
+
+    public NpmPackument(byte[] json,
+                        byte[] abbreviatedJson)
+        throws IOException
+    {
+        this.json = json;
+        this.gzippedJson = gzip(json);
+        this.abbreviatedJson = abbreviatedJson;
+        this.gzippedAbbreviatedJson = gzip(abbreviatedJson);
+    }
+
+    public byte[] getJson(boolean abbreviated,
+                          boolean gzipped)
+    {
+        if (abbreviated)
+        {
+            return gzipped ? gzippedAbbreviatedJson : abbreviatedJson;
+        }
+
+        return gzipped ? gzippedJson : json;
+    }
+
+    private static byte[] gzip(byte[] bytes)
+        throws IOException
+    {
+        ByteArrayOutputStream result = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream os = new GZIPOutputStream(result))
+        {
+            os.write(bytes);
+        }
+
+        return result.toByteArray();
+    }
+
+}
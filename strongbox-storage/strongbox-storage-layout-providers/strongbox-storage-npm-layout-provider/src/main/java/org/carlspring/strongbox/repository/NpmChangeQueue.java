@@ -0,0 +1,91 @@
+package org.carlspring.strongbox.repository;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * The changes of an npm changes feed being processed: the changes of different packages are processed in parallel,
+ * while the changes of the same package are processed in the order of the feed.
+ * <p>
+ * The {@link #getCheckpoint() checkpoint} is the sequence of the last change which has been processed along with all
+ * the changes before it, which is where the feed can be resumed from.
+ */
+class NpmChangeQueue
+{
+
+    private final Executor executor;
+
+    private final Map<String, CompletableFuture<Void>> packageChanges = new HashMap<>();
+
+    private final Deque<PendingChange> pendingChanges = new ArrayDeque<>();
+
+    private long checkpoint;
+
+    /**
+     * @param since the sequence the feed is read from
+     */
+    NpmChangeQueue(Executor executor,
+                   long since)
+    {
+        this.executor = executor;
+        this.checkpoint = since;
+    }
+
+    /**
+     * Submits a change, which is processed once the previous changes of the same package have been.
+     *
+     * @param packageName the package of the change, or <code>null</code> if it has none
+     */
+    synchronized CompletableFuture<Void> submit(String packageName,
+                                                long seq,
+                                                Runnable job)
+    {
+        CompletableFuture<Void> change = packageChanges.compute(packageName,
+                                                                (k, previous) -> previous == null ?
+                                                                                 CompletableFuture.runAsync(job,
+                                                                                                            executor) :
+                                                                                 previous.thenRunAsync(job, executor));
+        pendingChanges.addLast(new PendingChange(seq, change));
+
+        return change;
+    }
+
+    /**
+     * @return a future which completes once all the submitted changes have been processed
+     */
+    synchronized CompletableFuture<Void> whenProcessed()
+    {
+        return CompletableFuture.allOf(packageChanges.values().toArray(new CompletableFuture[0]));
+    }
+
+    synchronized long getCheckpoint()
+    {
+        while (!pendingChanges.isEmpty() && pendingChanges.peekFirst().change.isDone())
+        {
+            checkpoint = pendingChanges.removeFirst().seq;
+        }
+
+        return checkpoint;
+    }
+
+    private static class PendingChange
+    {
+
+        private final long seq;
+
+        private final CompletableFuture<Void> change;
+
+        PendingChange(long seq,
+                      CompletableFuture<Void> change)
+        {
+            this.seq = seq;
+            this.change = change;
+        }
+
+    }
+
+}
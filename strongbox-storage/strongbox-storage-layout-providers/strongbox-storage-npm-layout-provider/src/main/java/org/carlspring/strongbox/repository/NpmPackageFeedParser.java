@@ -3,9 +3,9 @@ package org.carlspring.strongbox.repository;
 import java.io.IOException;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.locks.Lock;
 
 import javax.inject.Inject;
 import javax.transaction.Transactional;
@@ -21,9 +21,6 @@ import org.carlspring.strongbox.npm.metadata.PackageVersion;
 import org.carlspring.strongbox.npm.metadata.SearchResult;
 import org.carlspring.strongbox.npm.metadata.SearchResults;
 import org.carlspring.strongbox.npm.metadata.Versions;
-import org.carlspring.strongbox.providers.io.RepositoryPath;
-import org.carlspring.strongbox.providers.io.RepositoryPathLock;
-import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
 import org.carlspring.strongbox.services.ArtifactEntryService;
 import org.carlspring.strongbox.services.ArtifactTagService;
 import org.carlspring.strongbox.storage.repository.Repository;
@@ -40,14 +37,11 @@ public class NpmPackageFeedParser
     @Inject
     private ArtifactTagService artifactTagService;
 
-    @Inject
-    private RepositoryPathResolver repositoryPathResolver;
-
     @Inject
     private ArtifactEntryService artifactEntryService;
 
     @Inject
-    private RepositoryPathLock repositoryPathLock;
+    private NpmPackumentCacheManager npmPackumentCacheManager;
 
     public void parseSearchResult(Repository repository,
                                   SearchResults searchResults)
@@ -75,24 +69,39 @@ public class NpmPackageFeedParser
         }
 
         saveArtifactEntrySet(repository, artifactToSaveSet);
+
+        artifactToSaveSet.stream()
+                         .map(e -> e.getArtifactCoordinates().getId())
+                         .distinct()
+                         .forEach(packageId -> npmPackumentCacheManager.evict(repository, packageId));
     }
 
     private void saveArtifactEntrySet(Repository repository,
                                       Set<ArtifactEntry> artifactToSaveSet)
-        throws IOException
     {
-        for (ArtifactEntry e : artifactToSaveSet)
-        {
-            RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository).resolve(e);
+        // Remote entries are metadata only, so there is no need to lock their repository paths.
+        List<ArtifactEntry> savedEntries = artifactEntryService.saveAllIfAbsent(artifactToSaveSet);
 
-            saveArtifactEntry(repositoryPath);
-        }
+        logger.debug(String.format("Saved [%s] remote artifact entries for [%s].", savedEntries.size(),
+                                   repository.getId()));
     }
 
     @Transactional
     public void parseFeed(Repository repository,
                           PackageFeed packageFeed)
         throws IOException
+    {
+        parseFeed(repository, packageFeed, artifactTagService.findOneOrCreate(ArtifactTagEntry.LAST_VERSION));
+    }
+
+    /**
+     * @param lastVersionTag the {@link ArtifactTagEntry#LAST_VERSION} tag, for callers parsing many feeds
+     */
+    @Transactional
+    public void parseFeed(Repository repository,
+                          PackageFeed packageFeed,
+                          ArtifactTag lastVersionTag)
+        throws IOException
     {
         if (packageFeed == null)
         {
@@ -102,8 +111,6 @@ public class NpmPackageFeedParser
         String repositoryId = repository.getId();
         String storageId = repository.getStorage().getId();
 
-        ArtifactTag lastVersionTag = artifactTagService.findOneOrCreate(ArtifactTagEntry.LAST_VERSION);
-
         Versions versions = packageFeed.getVersions();
         if (versions == null)
         {
@@ -135,39 +142,7 @@ public class NpmPackageFeedParser
 
         saveArtifactEntrySet(repository, artifactToSaveSet);
 
-    }
-
-    private void saveArtifactEntry(RepositoryPath repositoryPath)
-        throws IOException
-    {
-        ArtifactTag lastVersionTag = artifactTagService.findOneOrCreate(ArtifactTagEntry.LAST_VERSION);
-
-        ArtifactEntry e = repositoryPath.getArtifactEntry();
-
-        Lock lock = repositoryPathLock.lock(repositoryPath).writeLock();
-        lock.lock();
-
-        try
-        {
-            if (artifactEntryService.artifactExists(e.getStorageId(), e.getRepositoryId(),
-                                                    e.getArtifactCoordinates().toPath()))
-            {
-                return;
-            }
-
-            if (e.getTagSet().contains(lastVersionTag))
-            {
-                artifactEntryService.save(e, true);
-            }
-            else
-            {
-                artifactEntryService.save(e, false);
-            }
-        } 
-        finally
-        {
-            lock.unlock();
-        }
+        npmPackumentCacheManager.evict(repository, packageFeed.getName());
     }
 
     private RemoteArtifactEntry parseVersion(String storageId,
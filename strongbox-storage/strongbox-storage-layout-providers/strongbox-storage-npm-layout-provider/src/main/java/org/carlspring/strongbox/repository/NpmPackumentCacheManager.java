@@ -0,0 +1,254 @@
+package org.carlspring.strongbox.repository;
+
+import org.carlspring.strongbox.artifact.coordinates.NpmArtifactCoordinates;
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.data.CacheName;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.npm.NpmPackument;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.layout.NpmLayoutProvider;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
+
+import com.hazelcast.core.HazelcastInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps the {@link NpmPackument} of each package, keyed by storage, repository and package id.
+ * <p>
+ * The packument of a package is evicted, along with the one of the groups containing its repository, when a file of
+ * the package is stored, updated or deleted (publish, unpublish and last version changes) and when the remote
+ * package feed is parsed. The evictions happen once the current transaction (if any) is committed, so that the
+ * packument is not rebuilt from the data being changed.
+ * <p>
+ * Each package also has a version in the cluster-wide
+ * {@link org.carlspring.strongbox.data.CacheName.Repository#NPM_PACKUMENT_VERSIONS} map, which is replaced on every
+ * eviction. A packument is cached along with the version it was built for, and is only used while that version is
+ * still the current one: a packument built (on any node) from the data an eviction was made for can't be served once
+ * the eviction is done.
+ */
+@Component
+public class NpmPackumentCacheManager
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(NpmPackumentCacheManager.class);
+
+    private final Cache cache;
+
+    /**
+     * Key:     Packument cache key
+     * Value:   The current version of the packument.
+     */
+    private final ConcurrentMap<String, String> versions;
+
+    private final ConfigurationManager configurationManager;
+
+    @Inject
+    NpmPackumentCacheManager(CacheManager cacheManager,
+                             HazelcastInstance hazelcastInstance,
+                             ConfigurationManager configurationManager)
+    {
+        this(cacheManager.getCache(CacheName.Repository.NPM_PACKUMENTS),
+             hazelcastInstance.getMap(CacheName.Repository.NPM_PACKUMENT_VERSIONS),
+             configurationManager);
+    }
+
+    NpmPackumentCacheManager(Cache cache,
+                             ConcurrentMap<String, String> versions,
+                             ConfigurationManager configurationManager)
+    {
+        this.cache = Objects.requireNonNull(cache, "npmPackuments cache configuration was not provided");
+        this.versions = versions;
+        this.configurationManager = configurationManager;
+    }
+
+    /**
+     * @return the cached packument, or the one built by the loader (which is then cached)
+     */
+    public NpmPackument get(Repository repository,
+                            String packageId,
+                            Callable<NpmPackument> loader)
+        throws Exception
+    {
+        String key = getKey(repository.getStorage().getId(), repository.getId(), packageId);
+
+        String version = getVersion(key);
+
+        VersionedPackument cached = cache.get(key, VersionedPackument.class);
+        if (cached != null && cached.version.equals(version))
+        {
+            return cached.packument;
+        }
+
+        NpmPackument packument = loader.call();
+        if (version.equals(versions.get(key)))
+        {
+            // Should an eviction happen right now, the stale packument won't match the new version.
+            cache.put(key, new VersionedPackument(version, packument));
+        }
+
+        return packument;
+    }
+
+    private String getVersion(String key)
+    {
+        String version = UUID.randomUUID().toString();
+        String current = versions.putIfAbsent(key, version);
+
+        return current != null ? current : version;
+    }
+
+    public void evict(Repository repository,
+                      String packageId)
+    {
+        String storageId = repository.getStorage().getId();
+        String repositoryId = repository.getId();
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            evict(storageId, repositoryId, packageId, new HashSet<>());
+
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter()
+        {
+            @Override
+            public void afterCommit()
+            {
+                evict(storageId, repositoryId, packageId, new HashSet<>());
+            }
+        });
+    }
+
+    private void evict(String storageId,
+                       String repositoryId,
+                       String packageId,
+                       Set<String> visited)
+    {
+        if (!visited.add(storageId + ":" + repositoryId))
+        {
+            return;
+        }
+
+        String key = getKey(storageId, repositoryId, packageId);
+        versions.put(key, UUID.randomUUID().toString());
+        cache.evict(key);
+
+        for (Repository groupRepository : configurationManager.getConfiguration()
+                                                              .getGroupRepositoriesContaining(storageId,
+                                                                                              repositoryId))
+        {
+            evict(groupRepository.getStorage().getId(), groupRepository.getId(), packageId, visited);
+        }
+    }
+
+    @EventListener
+    public void handle(ArtifactEvent<RepositoryPath> event)
+    {
+        if (event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType() &&
+            event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED.getType() &&
+            event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType())
+        {
+            return;
+        }
+
+        RepositoryPath repositoryPath = event.getPath();
+        Repository repository = repositoryPath.getRepository();
+        if (!NpmLayoutProvider.ALIAS.equals(repository.getLayout()))
+        {
+            return;
+        }
+
+        String packageId;
+        try
+        {
+            packageId = getPackageId(RepositoryFiles.relativizePath(repositoryPath));
+        }
+        catch (IOException e)
+        {
+            logger.warn(String.format("Failed to resolve the npm package of [%s].", repositoryPath), e);
+
+            packageId = null;
+        }
+
+        if (packageId == null)
+        {
+            // Deleting a whole scope (or the repository root) affects an unknown number of packages.
+            versions.clear();
+            cache.clear();
+
+            return;
+        }
+
+        evict(repository, packageId);
+    }
+
+    /**
+     * @param path the path relative to the repository root, like <code>{scope}/{name}/...</code> or
+     *             <code>{name}/...</code>
+     * @return the id of the package the path belongs to, or <code>null</code> if the path is above the package
+     *         directories
+     */
+    static String getPackageId(String path)
+    {
+        String[] segments = path.split("/");
+        if (segments[0].isEmpty())
+        {
+            return null;
+        }
+        if (!segments[0].startsWith("@"))
+        {
+            return segments[0];
+        }
+        if (segments.length < 2 || segments[1].isEmpty())
+        {
+            return null;
+        }
+
+        return NpmArtifactCoordinates.caclulatePackageId(segments[0], segments[1]);
+    }
+
+    private static String getKey(String storageId,
+                                 String repositoryId,
+                                 String packageId)
+    {
+        return storageId + ":" + repositoryId + ":" + packageId;
+    }
+
+    private static class VersionedPackument
+            implements Serializable
+    {
+
+        private final String version;
+
+        private final NpmPackument packument;
+
+        private VersionedPackument(String version,
+                                   NpmPackument packument)
+        {
+            this.version = version;
+            this.packument = packument;
+        }
+
+    }
+
+}
@@ -1,5 +1,6 @@
 package org.carlspring.strongbox.repository;
 
+import org.carlspring.strongbox.artifact.ArtifactTag;
 import org.carlspring.strongbox.config.NpmLayoutProviderConfig.NpmObjectMapper;
 import org.carlspring.strongbox.configuration.Configuration;
 import org.carlspring.strongbox.configuration.ConfigurationManager;
@@ -7,6 +8,7 @@ import org.carlspring.strongbox.data.criteria.Expression.ExpOperator;
 import org.carlspring.strongbox.data.criteria.OQueryTemplate;
 import org.carlspring.strongbox.data.criteria.Predicate;
 import org.carlspring.strongbox.data.criteria.Selector;
+import org.carlspring.strongbox.domain.ArtifactTagEntry;
 import org.carlspring.strongbox.domain.RemoteArtifactEntry;
 import org.carlspring.strongbox.npm.NpmSearchRequest;
 import org.carlspring.strongbox.npm.NpmViewRequest;
@@ -15,6 +17,7 @@ import org.carlspring.strongbox.npm.metadata.PackageFeed;
 import org.carlspring.strongbox.npm.metadata.SearchResults;
 import org.carlspring.strongbox.providers.repository.event.RemoteRepositorySearchEvent;
 import org.carlspring.strongbox.service.ProxyRepositoryConnectionPoolConfigurationService;
+import org.carlspring.strongbox.services.ArtifactTagService;
 import org.carlspring.strongbox.services.ConfigurationManagementService;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.MutableRepository;
@@ -35,19 +38,24 @@ import javax.ws.rs.client.Invocation;
 import javax.ws.rs.client.WebTarget;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 
-import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Scope;
 import org.springframework.context.annotation.ScopedProxyMode;
 import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
@@ -57,6 +65,11 @@ public class NpmRepositoryFeatures implements RepositoryFeatures
 
     private static final int CHANGES_BATCH_SIZE = 500;
 
+    /**
+     * The number of threads parsing the package feeds of the remote changes feed.
+     */
+    public static final String CHANGES_THREADS_PROPERTY = "strongbox.npm.changes.threads";
+
     private static final Logger logger = LoggerFactory.getLogger(NpmRepositoryFeatures.class);
 
     @Inject
@@ -90,6 +103,9 @@ public class NpmRepositoryFeatures implements RepositoryFeatures
     @Inject
     private NpmPackageFeedParser npmPackageFeedParser;
 
+    @Inject
+    private ArtifactTagService artifactTagService;
+
     private Set<String> defaultArtifactCoordinateValidators;
 
     @PostConstruct
@@ -158,6 +174,15 @@ public class NpmRepositoryFeatures implements RepositoryFeatures
         }
     }
 
+    /**
+     * Mirrors the changes feed of the remote repository, from the last change which was processed on.
+     * <p>
+     * The feed is read as a stream, one change at a time, and the package feeds of the changes are parsed in parallel
+     * (see {@link #CHANGES_THREADS_PROPERTY}). The sequence of the last change which has been processed along with all
+     * the changes before it is saved as the <code>lastChangeId</code> of the repository after each batch of changes,
+     * and when mirroring fails or is interrupted, so that it resumes right after it. After a crash, the changes of the
+     * current batch are processed again.
+     */
     public void fetchRemoteChangesFeed(String storageId,
                                        String repositoryId)
         throws IOException
@@ -187,23 +212,57 @@ public class NpmRepositoryFeatures implements RepositoryFeatures
         Long lastCnahgeId = configuration.getLastChangeId();
         String replicateUrl = configuration.getReplicateUrl();
 
-        Long nextChangeId = lastCnahgeId;
-        do
+        int threads = Math.max(1, Integer.getInteger(CHANGES_THREADS_PROPERTY,
+                                                     Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory(
+                "npm-changes-" + storageId + "-" + repositoryId + "-"));
+        // Bounds the changes read ahead of the ones being parsed, and so the memory used by their documents.
+        Semaphore permits = new Semaphore(threads * 2);
+
+        // Resolved once, as the parsing threads would each create it in their own transaction on a new database.
+        ArtifactTag lastVersionTag = artifactTagService.findOneOrCreate(ArtifactTagEntry.LAST_VERSION);
+
+        try
         {
-            lastCnahgeId = nextChangeId;
-            mutableConfiguration.setLastChangeId(nextChangeId);
-            configurationManagementService.saveRepository(storageId, mutableRepository);
+            Long nextChangeId = lastCnahgeId;
+            do
+            {
+                lastCnahgeId = nextChangeId;
+                mutableConfiguration.setLastChangeId(nextChangeId);
+                configurationManagementService.saveRepository(storageId, mutableRepository);
 
-            nextChangeId = Long.valueOf(fetchRemoteChangesFeed(repository, replicateUrl, lastCnahgeId + 1));
-        } while (nextChangeId > lastCnahgeId);
+                NpmChangeQueue changes = new NpmChangeQueue(executor, lastCnahgeId);
+                try
+                {
+                    // The `since` sequence is exclusive.
+                    fetchRemoteChangesFeed(repository, replicateUrl, lastCnahgeId, lastVersionTag, changes, permits);
+                }
+                catch (IOException | RuntimeException e)
+                {
+                    // Resume right after the changes which have been processed.
+                    mutableConfiguration.setLastChangeId(changes.getCheckpoint());
+                    configurationManagementService.saveRepository(storageId, mutableRepository);
+
+                    throw e;
+                }
+
+                nextChangeId = changes.getCheckpoint();
+            } while (nextChangeId > lastCnahgeId);
+        }
+        finally
+        {
+            executor.shutdown();
+        }
     }
 
-    private Integer fetchRemoteChangesFeed(Repository repository,
-                                           String replicateUrl,
-                                           Long since)
+    private void fetchRemoteChangesFeed(Repository repository,
+                                        String replicateUrl,
+                                        Long since,
+                                        ArtifactTag lastVersionTag,
+                                        NpmChangeQueue changes,
+                                        Semaphore permits)
         throws IOException
     {
-        int result = 0;
         Client restClient = proxyRepositoryConnectionPoolConfigurationService.getRestClient();
         try
         {
@@ -217,92 +276,127 @@ public class NpmRepositoryFeatures implements RepositoryFeatures
 
             Invocation request = service.request().buildGet();
 
-            result = fetchRemoteChangesFeed(repository, request);
+            fetchRemoteChangesFeed(repository, request, since, lastVersionTag, changes, permits);
         } 
         finally
         {
             restClient.close();
         }
-
-        return result;
     }
 
-    private int fetchRemoteChangesFeed(Repository repository,
-                                       Invocation request)
+    /**
+     * Returns once all the changes which were read have been processed.
+     */
+    private void fetchRemoteChangesFeed(Repository repository,
+                                        Invocation request,
+                                        Long since,
+                                        ArtifactTag lastVersionTag,
+                                        NpmChangeQueue changes,
+                                        Semaphore permits)
         throws IOException
     {
-        int result = 0;
+        long result = since;
 
         RemoteRepository remoteRepository = repository.getRemoteRepository();
         NpmRemoteRepositoryConfiguration repositoryConfiguration = (NpmRemoteRepositoryConfiguration) remoteRepository.getCustomConfiguration();
 
-        JsonFactory jfactory = new JsonFactory();
-
-        try (InputStream is = request.invoke(InputStream.class))
+        try (InputStream is = request.invoke(InputStream.class);
+             JsonParser jp = npmJacksonMapper.getFactory().createParser(is))
         {
-
-            JsonParser jp = jfactory.createParser(is);
-            jp.setCodec(npmJacksonMapper);
-
             Assert.isTrue(jp.nextToken() == JsonToken.START_OBJECT, "npm changes feed should be JSON object.");
             Assert.isTrue(jp.nextFieldName().equals("results"), "npm changes feed should contains `results` field.");
             Assert.isTrue(jp.nextToken() == JsonToken.START_ARRAY, "npm changes feed `results` should be array.");
 
-            StringBuffer sb = new StringBuffer();
-            while (jp.nextToken() != null)
+            while (jp.nextToken() == JsonToken.START_OBJECT)
             {
-                JsonToken nextToken = jp.currentToken();
-                if (nextToken == JsonToken.END_ARRAY)
-                {
-                    break;
-                }
-
-                JsonNode node = jp.readValueAsTree();
-                sb.append(node.toString());
-
-                String changeValue = sb.toString();
-
                 Change change;
                 try
                 {
-                    change = npmJacksonMapper.readValue(changeValue, Change.class);
+                    change = jp.readValueAs(Change.class);
                 }
-                catch (Exception e)
+                catch (IOException e)
                 {
-                    logger.error(String.format("Failed to parse NPM cnahges feed [%s] since [%s]: %n %s",
+                    logger.error(String.format("Failed to parse NPM cnahges feed [%s] since [%s].",
                                                repositoryConfiguration.getReplicateUrl(),
-                                               repositoryConfiguration.getLastChangeId(),
-                                               changeValue),
+                                               result),
                                  e);
 
-                    return result;
+                    break;
                 }
 
                 PackageFeed packageFeed = change.getDoc();
-                try
-                {
-                    npmPackageFeedParser.parseFeed(repository, packageFeed);
-                }
-                catch (Exception e)
-                {
-                    logger.error(String.format("Failed to parse NPM feed [%s/%s]",
-                                               repository.getRemoteRepository().getUrl(),
-                                               packageFeed.getName()),
-                                 e);
+                Runnable job = () -> parseFeed(repository, packageFeed, lastVersionTag, permits);
 
-                }
+                acquire(permits);
+                changes.submit(packageFeed == null ? null : packageFeed.getName(), change.getSeq(), job);
 
                 result = change.getSeq();
-                sb = new StringBuffer();
             }
-
+        }
+        finally
+        {
+            await(changes.whenProcessed());
         }
 
         logger.debug(String.format("Fetched remote cnages for  [%s] since [%s].",
                                    repositoryConfiguration.getReplicateUrl(),
-                                   repositoryConfiguration.getLastChangeId()));
+                                   since));
+    }
+
+    private void parseFeed(Repository repository,
+                           PackageFeed packageFeed,
+                           ArtifactTag lastVersionTag,
+                           Semaphore permits)
+    {
+        try
+        {
+            npmPackageFeedParser.parseFeed(repository, packageFeed, lastVersionTag);
+        }
+        catch (Exception e)
+        {
+            logger.error(String.format("Failed to parse NPM feed [%s/%s]",
+                                       repository.getRemoteRepository().getUrl(),
+                                       packageFeed == null ? null : packageFeed.getName()),
+                         e);
+        }
+        finally
+        {
+            permits.release();
+        }
+    }
 
-        return result;
+    private static void acquire(Semaphore permits)
+        throws InterruptedIOException
+    {
+        try
+        {
+            permits.acquire();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("Interrupted while mirroring the npm changes feed.");
+        }
+    }
+
+    private static void await(CompletableFuture<?> future)
+        throws InterruptedIOException
+    {
+        try
+        {
+            future.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("Interrupted while mirroring the npm changes feed.");
+        }
+        catch (ExecutionException e)
+        {
+            // The failures are logged by the task itself.
+        }
     }
 
     private void fetchRemotePackageFeed(String storageId,
@@ -400,8 +494,10 @@ public class NpmRepositoryFeatures implements RepositoryFeatures
             logger.debug(String.format("NPM remote repository [%s] cached package count is [%s]", repository.getId(),
                                        packageCount));
 
-            Runnable job = () -> fetchRemoteSearchResult(storageId, repositoryId, npmSearchRequest.getText(),
-                                                         npmSearchRequest.getSize());
+            // The job may outlive the request, so it must not read the request scoped state.
+            String text = npmSearchRequest.getText();
+            Integer size = npmSearchRequest.getSize();
+            Runnable job = () -> fetchRemoteSearchResult(storageId, repositoryId, text, size);
             if (packageCount.longValue() == 0)
             {
                 // Syncronously fetch remote package feed if ve have no cached
@@ -458,8 +554,9 @@ public class NpmRepositoryFeatures implements RepositoryFeatures
             logger.debug(String.format("NPM remote repository [%s] cached package count is [%s]", repository.getId(),
                                        packageCount));
 
-            Runnable job = () -> fetchRemotePackageFeed(storage.getId(), repository.getId(),
-                                                        npmSearchRequest.getPackageId());
+            // The job may outlive the request, so it must not read the request scoped state.
+            String packageId = npmSearchRequest.getPackageId();
+            Runnable job = () -> fetchRemotePackageFeed(storage.getId(), repository.getId(), packageId);
             if (packageCount.longValue() == 0)
             {
                 // Syncronously fetch remote package feed if ve have no cached
@@ -0,0 +1,121 @@
+package org.carlspring.strongbox.repository;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NpmChangeQueueTest
+{
+
+    private static final long TIMEOUT = 10;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp()
+    {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testChangesOfPackageAreProcessedInOrder()
+            throws Exception
+    {
+        NpmChangeQueue changes = new NpmChangeQueue(executor, 0);
+
+        List<Long> processed = new CopyOnWriteArrayList<>();
+        CountDownLatch firstChangeReleased = new CountDownLatch(1);
+
+        changes.submit("a", 1, () -> {
+            await(firstChangeReleased);
+            processed.add(1L);
+        });
+        CompletableFuture<Void> secondChange = changes.submit("a", 2, () -> processed.add(2L));
+        CompletableFuture<Void> otherPackageChange = changes.submit("b", 3, () -> processed.add(3L));
+
+        // The change of another package doesn't wait for the first one.
+        otherPackageChange.get(TIMEOUT, TimeUnit.SECONDS);
+        assertFalse(secondChange.isDone());
+
+        firstChangeReleased.countDown();
+        changes.whenProcessed().get(TIMEOUT, TimeUnit.SECONDS);
+
+        assertEquals(3, processed.size());
+        assertTrue(processed.indexOf(1L) < processed.indexOf(2L));
+    }
+
+    @Test
+    public void testCheckpointFollowsProcessedChangesInOrder()
+            throws Exception
+    {
+        NpmChangeQueue changes = new NpmChangeQueue(executor, 10);
+        assertEquals(10, changes.getCheckpoint());
+
+        CountDownLatch firstChangeReleased = new CountDownLatch(1);
+        CountDownLatch thirdChangeReleased = new CountDownLatch(1);
+
+        CompletableFuture<Void> firstChange = changes.submit("a", 11, () -> await(firstChangeReleased));
+        CompletableFuture<Void> secondChange = changes.submit("b", 12, () -> {
+        });
+        CompletableFuture<Void> thirdChange = changes.submit("c", 13, () -> await(thirdChangeReleased));
+
+        // A later change being processed doesn't move the checkpoint past an earlier one which isn't.
+        secondChange.get(TIMEOUT, TimeUnit.SECONDS);
+        assertEquals(10, changes.getCheckpoint());
+
+        firstChangeReleased.countDown();
+        firstChange.get(TIMEOUT, TimeUnit.SECONDS);
+        assertEquals(12, changes.getCheckpoint());
+
+        thirdChangeReleased.countDown();
+        thirdChange.get(TIMEOUT, TimeUnit.SECONDS);
+        assertEquals(13, changes.getCheckpoint());
+    }
+
+    @Test
+    public void testChangesWithoutPackage()
+            throws Exception
+    {
+        NpmChangeQueue changes = new NpmChangeQueue(executor, 0);
+
+        changes.submit(null, 1, () -> {
+        });
+        changes.submit(null, 2, () -> {
+        });
+        changes.whenProcessed().get(TIMEOUT, TimeUnit.SECONDS);
+
+        assertEquals(2, changes.getCheckpoint());
+    }
+
+    private static void await(CountDownLatch latch)
+    {
+        try
+        {
+            assertTrue(latch.await(TIMEOUT, TimeUnit.SECONDS));
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,232 @@
+package org.carlspring.strongbox.repository;
+
+import org.carlspring.strongbox.configuration.Configuration;
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.npm.NpmPackument;
+import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class NpmPackumentCacheManagerTest
+{
+
+    private static final String PACKAGE_ID = "@carlspring/npm-test-cache";
+
+    private ConcurrentMap<String, String> versions;
+
+    private Cache cache;
+
+    private Configuration configuration;
+
+    private Repository repository;
+
+    private Repository groupRepository;
+
+    private NpmPackumentCacheManager cacheManager;
+
+    @BeforeEach
+    public void setUp()
+    {
+        versions = new ConcurrentHashMap<>();
+        cache = new ConcurrentMapCache("npmPackuments");
+
+        repository = mockRepository("storage0", "npm-releases");
+        groupRepository = mockRepository("storage0", "npm-group");
+
+        configuration = mock(Configuration.class);
+        when(configuration.getGroupRepositoriesContaining("storage0", "npm-releases"))
+                .thenReturn(Collections.singletonList(groupRepository));
+        when(configuration.getGroupRepositoriesContaining("storage0", "npm-group"))
+                .thenReturn(Collections.emptyList());
+
+        ConfigurationManager configurationManager = mock(ConfigurationManager.class);
+        when(configurationManager.getConfiguration()).thenReturn(configuration);
+
+        cacheManager = new NpmPackumentCacheManager(cache, versions, configurationManager);
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testPackumentIsCached()
+            throws Exception
+    {
+        AtomicInteger loads = new AtomicInteger();
+
+        NpmPackument packument = cacheManager.get(repository, PACKAGE_ID, () -> load(loads, "1"));
+
+        assertSame(packument, cacheManager.get(repository, PACKAGE_ID, () -> load(loads, "2")));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testEvictionInvalidatesRepositoryAndGroups()
+            throws Exception
+    {
+        AtomicInteger loads = new AtomicInteger();
+        cacheManager.get(repository, PACKAGE_ID, () -> load(loads, "1"));
+        cacheManager.get(groupRepository, PACKAGE_ID, () -> load(loads, "1"));
+
+        cacheManager.evict(repository, PACKAGE_ID);
+
+        assertEquals("2", json(cacheManager.get(repository, PACKAGE_ID, () -> load(loads, "2"))));
+        assertEquals("2", json(cacheManager.get(groupRepository, PACKAGE_ID, () -> load(loads, "2"))));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    public void testPackumentBuiltDuringEvictionIsNotCached()
+            throws Exception
+    {
+        AtomicInteger loads = new AtomicInteger();
+
+        // The data changes (on another node) while the packument is being built from it.
+        cacheManager.get(repository, PACKAGE_ID, () -> {
+            NpmPackument packument = load(loads, "1");
+            cacheManager.evict(repository, PACKAGE_ID);
+
+            return packument;
+        });
+
+        assertEquals("2", json(cacheManager.get(repository, PACKAGE_ID, () -> load(loads, "2"))));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testStalePackumentIsNotServed()
+            throws Exception
+    {
+        AtomicInteger loads = new AtomicInteger();
+        String key = "storage0:npm-releases:" + PACKAGE_ID;
+
+        cacheManager.get(repository, PACKAGE_ID, () -> load(loads, "1"));
+        Object stale = cache.get(key).get();
+
+        // Another node evicts the packument, and a slower one caches what it built before the eviction.
+        cacheManager.evict(repository, PACKAGE_ID);
+        cache.put(key, stale);
+
+        assertEquals("2", json(cacheManager.get(repository, PACKAGE_ID, () -> load(loads, "2"))));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testEvictionWaitsForCommit()
+            throws Exception
+    {
+        AtomicInteger loads = new AtomicInteger();
+        cacheManager.get(repository, PACKAGE_ID, () -> load(loads, "1"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        cacheManager.evict(repository, PACKAGE_ID);
+
+        assertEquals("1", json(cacheManager.get(repository, PACKAGE_ID, () -> load(loads, "2"))));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertEquals("2", json(cacheManager.get(repository, PACKAGE_ID, () -> load(loads, "2"))));
+    }
+
+    @Test
+    public void testPackageId()
+    {
+        assertEquals("react", NpmPackumentCacheManager.getPackageId("react/-/react-16.5.0.tgz"));
+        assertEquals("react", NpmPackumentCacheManager.getPackageId("react"));
+        assertEquals("@carlspring/npm-test",
+                     NpmPackumentCacheManager.getPackageId("@carlspring/npm-test/1.0.0/npm-test-1.0.0.tgz"));
+        assertNull(NpmPackumentCacheManager.getPackageId("@carlspring"));
+        assertNull(NpmPackumentCacheManager.getPackageId(""));
+    }
+
+    @Test
+    public void testAbbreviatedAndGzippedForms()
+            throws Exception
+    {
+        byte[] json = "{\"name\":\"react\",\"description\":\"React\"}".getBytes(StandardCharsets.UTF_8);
+        byte[] abbreviatedJson = "{\"name\":\"react\"}".getBytes(StandardCharsets.UTF_8);
+
+        NpmPackument packument = new NpmPackument(json, abbreviatedJson);
+
+        assertArrayEquals(json, packument.getJson(false, false));
+        assertArrayEquals(abbreviatedJson, packument.getJson(true, false));
+        assertArrayEquals(json, gunzip(packument.getJson(false, true)));
+        assertArrayEquals(abbreviatedJson, gunzip(packument.getJson(true, true)));
+    }
+
+    private static Repository mockRepository(String storageId,
+                                             String repositoryId)
+    {
+        Storage storage = mock(Storage.class);
+        when(storage.getId()).thenReturn(storageId);
+
+        Repository repository = mock(Repository.class);
+        when(repository.getId()).thenReturn(repositoryId);
+        when(repository.getStorage()).thenReturn(storage);
+
+        return repository;
+    }
+
+    private static NpmPackument load(AtomicInteger loads,
+                                     String json)
+            throws IOException
+    {
+        loads.incrementAndGet();
+
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+        return new NpmPackument(bytes, bytes);
+    }
+
+    private static String json(NpmPackument packument)
+    {
+        return new String(packument.getJson(false, false), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gunzip(byte[] bytes)
+            throws IOException
+    {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (GZIPInputStream is = new GZIPInputStream(new ByteArrayInputStream(bytes)))
+        {
+            byte[] buffer = new byte[1024];
+            for (int n = is.read(buffer); n >= 0; n = is.read(buffer))
+            {
+                result.write(buffer, 0, n);
+            }
+        }
+
+        return result.toByteArray();
+    }
+
+}
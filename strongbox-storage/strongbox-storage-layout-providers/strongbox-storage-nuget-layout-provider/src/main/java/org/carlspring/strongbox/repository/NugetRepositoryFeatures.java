@@ -10,13 +10,9 @@ import org.carlspring.strongbox.data.criteria.OQueryTemplate;
 import org.carlspring.strongbox.data.criteria.Paginator;
 import org.carlspring.strongbox.data.criteria.Predicate;
 import org.carlspring.strongbox.data.criteria.Selector;
-import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.domain.ArtifactTagEntry;
 import org.carlspring.strongbox.domain.RemoteArtifactEntry;
 import org.carlspring.strongbox.nuget.NugetSearchRequest;
-import org.carlspring.strongbox.providers.io.RepositoryPath;
-import org.carlspring.strongbox.providers.io.RepositoryPathLock;
-import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
 import org.carlspring.strongbox.providers.repository.event.RemoteRepositorySearchEvent;
 import org.carlspring.strongbox.service.ProxyRepositoryConnectionPoolConfigurationService;
 import org.carlspring.strongbox.services.ArtifactEntryService;
@@ -37,13 +33,18 @@ import javax.ws.rs.client.Client;
 import javax.ws.rs.client.WebTarget;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
-import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.locks.Lock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -66,6 +67,14 @@ public class NugetRepositoryFeatures
 
     private static final int REMOTE_FEED_PAGE_SIZE = 1000;
 
+    /**
+     * How long the result of a remote search for the same query and page is considered fresh, so that repeated
+     * searches are answered from the local cache without calling the remote repository again.
+     */
+    private static final long REMOTE_SEARCH_REFRESH_TTL = TimeUnit.MINUTES.toMillis(5);
+
+    private static final int REMOTE_SEARCH_REFRESH_MAX_ENTRIES = 10000;
+
     private static final Logger logger = LoggerFactory.getLogger(NugetRepositoryFeatures.class);
 
     @Inject
@@ -78,13 +87,10 @@ public class NugetRepositoryFeatures
     private ArtifactTagService artifactTagService;
 
     @Inject
-    private RepositoryPathLock repositoryPathLock;
-
-    @Inject
-    private RepositoryPathResolver repositoryPathResolver;
+    private ProxyRepositoryConnectionPoolConfigurationService proxyRepositoryConnectionPoolConfigurationService;
 
     @Inject
-    private ProxyRepositoryConnectionPoolConfigurationService proxyRepositoryConnectionPoolConfigurationService;
+    private Executor eventTaskExecutor;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -100,6 +106,11 @@ public class NugetRepositoryFeatures
 
     private Set<String> defaultMavenArtifactCoordinateValidators;
 
+    /**
+     * Remote search (query, page) keys mapped to the time when their refresh was last started.
+     */
+    private final ConcurrentMap<String, Long> remoteSearchRefreshTimestamps = new ConcurrentHashMap<>();
+
     @PostConstruct
     public void init()
     {
@@ -193,30 +204,20 @@ public class NugetRepositoryFeatures
     }
 
     private void parseFeed(Repository repository,
-                           PackageFeed packageFeed) throws IOException
+                           PackageFeed packageFeed)
     {
         String repositoryId = repository.getId();
         String storageId = repository.getStorage().getId();
 
         ArtifactTag lastVersionTag = artifactTagService.findOneOrCreate(ArtifactTagEntry.LAST_VERSION);
 
-        Set<ArtifactEntry> artifactToSaveSet = new HashSet<>();
+        List<RemoteArtifactEntry> artifactToSaveList = new ArrayList<>();
         for (PackageEntry packageEntry : packageFeed.getEntries())
         {
-            String packageId = packageEntry.getProperties().getId();
-            packageId = packageId == null ? packageEntry.getTitle() : packageId;
-            String packageVersion = packageEntry.getProperties().getVersion().toString();
-
-            NugetArtifactCoordinates c = new NugetArtifactCoordinates(packageId, packageVersion, "nupkg");
-            if (artifactEntryService.artifactExists(storageId, repositoryId, c.toPath()))
-            {
-                continue;
-            }
-
             RemoteArtifactEntry remoteArtifactEntry = new RemoteArtifactEntry();
             remoteArtifactEntry.setStorageId(storageId);
             remoteArtifactEntry.setRepositoryId(repositoryId);
-            remoteArtifactEntry.setArtifactCoordinates(c);
+            remoteArtifactEntry.setArtifactCoordinates(toCoordinates(packageEntry));
             remoteArtifactEntry.setLastUsed(new Date());
             remoteArtifactEntry.setLastUpdated(new Date());
             remoteArtifactEntry.setDownloadCount(0);
@@ -228,32 +229,139 @@ public class NugetRepositoryFeatures
                 remoteArtifactEntry.getTagSet().add(lastVersionTag);
             }
 
-            artifactToSaveSet.add(remoteArtifactEntry);
+            artifactToSaveList.add(remoteArtifactEntry);
         }
 
-        for (ArtifactEntry e : artifactToSaveSet)
+        // Remote entries are metadata only, so there is no need to lock their repository paths.
+        artifactEntryService.saveAllIfAbsent(artifactToSaveList);
+    }
+
+    private NugetArtifactCoordinates toCoordinates(PackageEntry packageEntry)
+    {
+        String packageId = packageEntry.getProperties().getId();
+        packageId = packageId == null ? packageEntry.getTitle() : packageId;
+        String packageVersion = packageEntry.getProperties().getVersion().toString();
+
+        return new NugetArtifactCoordinates(packageId, packageVersion, "nupkg");
+    }
+
+    /**
+     * Checks whether a remote refresh of the given search should be started now: a refresh is started at most once
+     * per {@link #REMOTE_SEARCH_REFRESH_TTL} for the same query and page, which also prevents concurrent identical
+     * searches from calling the remote repository in parallel.
+     */
+    private boolean acquireRemoteSearchRefresh(String refreshKey)
+    {
+        long now = System.currentTimeMillis();
+        if (remoteSearchRefreshTimestamps.size() > REMOTE_SEARCH_REFRESH_MAX_ENTRIES)
         {
-            RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository, (NugetArtifactCoordinates) e.getArtifactCoordinates());
+            remoteSearchRefreshTimestamps.values().removeIf(t -> now - t >= REMOTE_SEARCH_REFRESH_TTL);
+        }
 
-            Lock lock = repositoryPathLock.lock(repositoryPath).writeLock();
-            lock.lock();
-            
-            try
+        boolean[] acquired = new boolean[1];
+        remoteSearchRefreshTimestamps.compute(refreshKey, (key, lastRefresh) -> {
+            if (lastRefresh != null && now - lastRefresh < REMOTE_SEARCH_REFRESH_TTL)
             {
-                if (e.getTagSet().contains(lastVersionTag))
-                {
-                    artifactEntryService.save(e, true);
-                }
-                else
-                {
-                    artifactEntryService.save(e, false);
-                }
+                return lastRefresh;
             }
-            finally
+
+            acquired[0] = true;
+            return now;
+        });
+
+        return acquired[0];
+    }
+
+    /**
+     * Forgets the last refresh of the given search, so that the next search calls the remote repository again.
+     */
+    private void releaseRemoteSearchRefresh(String refreshKey)
+    {
+        remoteSearchRefreshTimestamps.remove(refreshKey);
+    }
+
+    /**
+     * @return <code>false</code> if the remote search result could not be fetched or stored
+     */
+    private boolean refreshRemoteSearchResult(Repository repository,
+                                           NugetSearchRequest nugetSearchRequest,
+                                           Paginator paginator,
+                                           Long packageCount)
+    {
+        RemoteRepository remoteRepository = repository.getRemoteRepository();
+
+        Client restClient = proxyRepositoryConnectionPoolConfigurationService.getRestClient();
+        PackageFeed feed;
+        try
+        {
+            WebTarget service = restClient.target(remoteRepository.getUrl());
+
+            Long remotePackageCount = Long.valueOf(queryParams(service.path("Search()/$count"),
+                                                               nugetSearchRequest, new Paginator()).request()
+                                                                                                   .buildGet()
+                                                                                                   .invoke(String.class));
+            logger.debug(String.format("Remote repository [%s] remote package count is [%s]",
+                                       repository.getId(), remotePackageCount));
+
+            if (Long.valueOf(remotePackageCount).compareTo(packageCount) == 0)
             {
-                lock.unlock();
+                logger.debug(String.format("No need to download remote feed, there was no changes in remote repository [%s] against local cache.",
+                                           remoteRepository.getUrl()));
+                return true;
             }
+
+            logger.debug(String.format("Downloading remote feed for [%s].",
+                                       remoteRepository.getUrl()));
+
+            feed = queryParams(service.path("Search()"), nugetSearchRequest, paginator).request()
+                                                                                       .buildGet()
+                                                                                       .invoke(PackageFeed.class);
+
+            logger.debug(String.format("Downloaded remote feed for [%s], size [%s].",
+                                       remoteRepository.getUrl(),
+                                       Optional.of(feed).map(f -> f.getEntries().size()).orElse(0)));
+
+        }
+        catch (Exception e)
+        {
+            logger.error(String.format("Failed to fetch Nuget remote feed [%s]", remoteRepository.getUrl()), e);
+            return false;
+        }
+        finally
+        {
+            restClient.close();
+        }
+
+        if (feed == null || feed.getEntries() == null || feed.getEntries().isEmpty())
+        {
+            return true;
+        }
+
+        try
+        {
+            parseFeed(repository, feed);
         }
+        catch (Exception e)
+        {
+            logger.error(String.format("Failed to store Nuget remote feed [%s]", remoteRepository.getUrl()), e);
+            return false;
+        }
+
+        return true;
+    }
+
+    private String toRemoteSearchRefreshKey(Repository repository,
+                                            NugetSearchRequest nugetSearchRequest,
+                                            Paginator paginator)
+    {
+        return String.join("|",
+                           repository.getStorage().getId(),
+                           repository.getId(),
+                           String.valueOf(nugetSearchRequest.getFilter()),
+                           String.valueOf(nugetSearchRequest.getSearchTerm()),
+                           String.valueOf(nugetSearchRequest.getTargetFramework()),
+                           String.valueOf(paginator.getSkip()),
+                           String.valueOf(paginator.getLimit()));
     }
 
     protected Configuration getConfiguration()
@@ -308,49 +416,41 @@ public class NugetRepositoryFeatures
             logger.debug(String.format("Remote repository [%s] cached package count is [%s]", repository.getId(),
                                        packageCount));
 
-            Client restClient = proxyRepositoryConnectionPoolConfigurationService.getRestClient();
-            PackageFeed feed;
-            try
+            NugetSearchRequest searchRequest = nugetSearchRequest;
+            Paginator paginator = event.getPaginator();
+            String refreshKey = toRemoteSearchRefreshKey(repository, searchRequest, paginator);
+            if (!acquireRemoteSearchRefresh(refreshKey))
             {
-                WebTarget service = restClient.target(remoteRepository.getUrl());
-
-                Long remotePackageCount = Long.valueOf(queryParams(service.path("Search()/$count"),
-                                                                   nugetSearchRequest, new Paginator()).request()
-                                                                                                       .buildGet()
-                                                                                                       .invoke(String.class));
-                logger.debug(String.format("Remote repository [%s] remote package count is [%s]",
-                                           repository.getId(), remotePackageCount));
+                logger.debug(String.format("Remote repository [%s] search result is fresh, serving from local cache.",
+                                           repository.getId()));
+                return;
+            }
 
-                if (Long.valueOf(remotePackageCount).compareTo(packageCount) == 0)
+            Runnable job = () -> {
+                if (!refreshRemoteSearchResult(repository, searchRequest, paginator, packageCount))
                 {
-                    logger.debug(String.format("No need to download remote feed, there was no changes in remote repository [%s] against local cache.",
-                                               remoteRepository.getUrl()));
-                    return;
+                    // A failed refresh must not keep the remote repository from being asked again.
+                    releaseRemoteSearchRefresh(refreshKey);
                 }
-
-                logger.debug(String.format("Downloading remote feed for [%s].",
-                                           remoteRepository.getUrl()));
-
-                feed = queryParams(service.path("Search()"), nugetSearchRequest, event.getPaginator()).request()
-                                                                                                      .buildGet()
-                                                                                                      .invoke(PackageFeed.class);
-
-                logger.debug(String.format("Downloaded remote feed for [%s], size [%s].",
-                                           remoteRepository.getUrl(),
-                                           Optional.of(feed).map(f -> f.getEntries().size()).orElse(0)));
-
-            }
-            catch (Exception e)
-            {
-                logger.error(String.format("Failed to fetch Nuget remote feed [%s]", remoteRepository.getUrl()), e);
-                return;
-            } 
-            finally
+            };
+            if (packageCount.longValue() == 0)
             {
-                restClient.close();
+                // Synchronously fetch remote package feed if we have no cached packages
+                job.run();
             }
+            else
+            {
+                try
+                {
+                    eventTaskExecutor.execute(job);
+                }
+                catch (RejectedExecutionException e)
+                {
+                    releaseRemoteSearchRefresh(refreshKey);
 
-            parseFeed(repository, feed);
+                    throw e;
+                }
+            }
         }
 
     }
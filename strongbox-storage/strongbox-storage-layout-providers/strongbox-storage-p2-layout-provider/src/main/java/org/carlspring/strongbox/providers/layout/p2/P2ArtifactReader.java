@@ -4,10 +4,18 @@ import org.carlspring.strongbox.artifact.coordinates.P2ArtifactCoordinates;
 import org.carlspring.strongbox.xml.parsers.GenericParser;
 
 import javax.xml.bind.JAXBException;
+import java.io.BufferedInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
+import org.apache.commons.compress.compressors.xz.XZCompressorInputStream;
+import org.apache.commons.compress.compressors.xz.XZUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,6 +28,14 @@ public class P2ArtifactReader
 
     private static final Logger logger = LoggerFactory.getLogger(P2ArtifactReader.class);
 
+    public static final String ARTIFACTS_XML = "artifacts.xml";
+
+    public static final String ARTIFACTS_JAR = "artifacts.jar";
+
+    public static final String ARTIFACTS_XML_XZ = "artifacts.xml.xz";
+
+    private static final GenericParser<P2Repository> repositoryParser = new GenericParser<>(P2Repository.class);
+
     /**
      * Finds a {@link P2ArtifactCoordinates} from the provided repository base directory and artifact path.
      *
@@ -31,32 +47,106 @@ public class P2ArtifactReader
                                                     String bundle)
             throws IOException
     {
-        GenericParser<P2Repository> repositoryParser = new GenericParser<>(P2Repository.class);
+        P2RepositoryIndex repositoryIndex;
         try
         {
-            P2Repository p2Repository = repositoryParser.parse(createPath(repositoryBaseDir).toUri().toURL());
-            final P2ArtifactCoordinates artifactToFind = P2ArtifactCoordinates.create(bundle);
-            for (P2Artifact p2Artifact : p2Repository.getArtifacts().getArtifacts())
+            repositoryIndex = getRepositoryIndex(repositoryBaseDir);
+        }
+        catch (JAXBException e)
+        {
+            logger.error(e.getMessage(), e);
+
+            return null;
+        }
+
+        final P2ArtifactCoordinates artifactToFind = P2ArtifactCoordinates.create(bundle);
+        P2Artifact p2Artifact = repositoryIndex.getArtifact(artifactToFind);
+        if (p2Artifact == null)
+        {
+            return null;
+        }
+
+        P2ArtifactCoordinates foundArtifact = new P2ArtifactCoordinates(p2Artifact.getId(),
+                                                                        p2Artifact.getVersion(),
+                                                                        p2Artifact.getClassifier());
+        addProperties(foundArtifact, p2Artifact, repositoryBaseDir);
+        foundArtifact.setFilename(repositoryIndex.getFilename(foundArtifact));
+
+        return foundArtifact;
+    }
+
+    /**
+     * Parses the {@link P2RepositoryIndex} of the provided repository base directory.
+     *
+     * @param repositoryBaseDir The folder containing the repository
+     * @return the parsed repository index
+     * @throws FileNotFoundException if none of the supported artifacts files exist in the folder
+     */
+    public static P2RepositoryIndex getRepositoryIndex(String repositoryBaseDir)
+            throws IOException, JAXBException
+    {
+        final Path artifactsPath = findArtifactsPath(createBaseDir(repositoryBaseDir));
+
+        logger.debug(String.format("Parsing P2 repository artifacts [%s].", artifactsPath));
+
+        try (InputStream is = openArtifactsStream(artifactsPath))
+        {
+            return new P2RepositoryIndex(repositoryParser.parse(is));
+        }
+    }
+
+    private static InputStream openArtifactsStream(Path artifactsPath)
+            throws IOException
+    {
+        InputStream is = new BufferedInputStream(Files.newInputStream(artifactsPath));
+        String filename = artifactsPath.getFileName().toString();
+        if (ARTIFACTS_JAR.equals(filename))
+        {
+            ZipInputStream zis = new ZipInputStream(is);
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null)
             {
-                P2ArtifactCoordinates foundArtifact = new P2ArtifactCoordinates(p2Artifact.getId(),
-                                                                                p2Artifact.getVersion(),
-                                                                                p2Artifact.getClassifier());
-                if (foundArtifact.equals(artifactToFind))
+                if (ARTIFACTS_XML.equals(entry.getName()))
                 {
-                    addProperties(foundArtifact, p2Artifact, repositoryBaseDir);
-                    String bundleFilename = P2ArtifactRuleProcessor.getFilename(p2Repository.getMappings(),
-                                                                                foundArtifact);
-                    foundArtifact.setFilename(bundleFilename);
-                    return foundArtifact;
+                    return zis;
                 }
             }
+
+            zis.close();
+
+            throw new FileNotFoundException(String.format("No [%s] entry found in [%s].", ARTIFACTS_XML,
+                                                          artifactsPath));
         }
-        catch (JAXBException e)
+        if (ARTIFACTS_XML_XZ.equals(filename))
         {
-            logger.error(e.getMessage(), e);
+            return new XZCompressorInputStream(is);
+        }
+
+        return is;
+    }
+
+    private static Path findArtifactsPath(Path baseDir)
+            throws FileNotFoundException
+    {
+        Path artifactsXml = baseDir.resolve(ARTIFACTS_XML);
+        if (Files.exists(artifactsXml))
+        {
+            return artifactsXml;
+        }
+
+        Path artifactsJar = baseDir.resolve(ARTIFACTS_JAR);
+        if (Files.exists(artifactsJar))
+        {
+            return artifactsJar;
+        }
+
+        Path artifactsXmlXz = baseDir.resolve(ARTIFACTS_XML_XZ);
+        if (XZUtils.isXZCompressionAvailable() && Files.exists(artifactsXmlXz))
+        {
+            return artifactsXmlXz;
         }
 
-        return null;
+        throw new FileNotFoundException(artifactsXml.toString());
     }
 
     private static void addProperties(P2ArtifactCoordinates foundArtifact,
@@ -75,14 +165,14 @@ public class P2ArtifactReader
         }
     }
 
-    private static Path createPath(String repositoryBaseDir)
+    private static Path createBaseDir(String repositoryBaseDir)
     {
-        final String artifactsFilename = "artifacts.xml";
         if (repositoryBaseDir == null || repositoryBaseDir.isEmpty())
         {
-            return Paths.get(artifactsFilename);
+            return Paths.get("").toAbsolutePath().normalize();
         }
 
-        return Paths.get(repositoryBaseDir).resolve(artifactsFilename);
+        return Paths.get(repositoryBaseDir).toAbsolutePath().normalize();
     }
+
 }
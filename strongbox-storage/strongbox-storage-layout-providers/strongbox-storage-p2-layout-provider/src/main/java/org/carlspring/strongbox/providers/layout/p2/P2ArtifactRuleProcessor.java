@@ -125,11 +125,17 @@ public class P2ArtifactRuleProcessor
     public static String getFilename(P2Mappings mappings,
                                      P2ArtifactCoordinates p2artifact)
     {
-        Collection<P2ArtifactRuleProcessor> artifacts = mappings.getRules().stream().map(
+        Collection<P2ArtifactRuleProcessor> processors = mappings.getRules().stream().map(
                 rule -> new P2ArtifactRuleProcessor(rule.getOutput(), rule.getFilter())).collect(
                 Collectors.toList());
 
-        for (P2ArtifactRuleProcessor processor : artifacts)
+        return getFilename(processors, p2artifact);
+    }
+
+    public static String getFilename(Collection<P2ArtifactRuleProcessor> processors,
+                                     P2ArtifactCoordinates p2artifact)
+    {
+        for (P2ArtifactRuleProcessor processor : processors)
         {
             if (processor.matches(p2artifact.getProperties()))
             {
@@ -0,0 +1,79 @@
+package org.carlspring.strongbox.providers.layout.p2;
+
+import org.carlspring.strongbox.artifact.coordinates.P2ArtifactCoordinates;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Parsed, id/version/classifier-indexed view over a {@link P2Repository}.
+ * <p>
+ * The mapping rules are compiled into {@link P2ArtifactRuleProcessor}s once, so that lookups do not have to
+ * re-parse the rule filters.
+ */
+public class P2RepositoryIndex
+{
+
+    private static final String SEPARATOR = "/";
+
+    private final Map<String, P2Artifact> artifacts;
+
+    private final List<P2ArtifactRuleProcessor> ruleProcessors;
+
+    public P2RepositoryIndex(P2Repository repository)
+    {
+        Map<String, P2Artifact> artifacts = new HashMap<>();
+        P2Artifacts p2Artifacts = repository.getArtifacts();
+        if (p2Artifacts != null)
+        {
+            for (P2Artifact p2Artifact : p2Artifacts.getArtifacts())
+            {
+                if (p2Artifact.getId() == null || p2Artifact.getVersion() == null ||
+                    p2Artifact.getClassifier() == null)
+                {
+                    continue;
+                }
+
+                // Keep the first occurrence, as the linear scan used to do.
+                artifacts.putIfAbsent(toKey(p2Artifact.getId(), p2Artifact.getVersion(), p2Artifact.getClassifier()),
+                                      p2Artifact);
+            }
+        }
+        this.artifacts = Collections.unmodifiableMap(artifacts);
+
+        P2Mappings mappings = repository.getMappings();
+        this.ruleProcessors = mappings == null ?
+                              Collections.emptyList() :
+                              Collections.unmodifiableList(mappings.getRules()
+                                                                   .stream()
+                                                                   .map(rule -> new P2ArtifactRuleProcessor(
+                                                                           rule.getOutput(), rule.getFilter()))
+                                                                   .collect(Collectors.toList()));
+    }
+
+    public P2Artifact getArtifact(P2ArtifactCoordinates coordinates)
+    {
+        return artifacts.get(toKey(coordinates.getId(), coordinates.getVersion(), coordinates.getClassifier()));
+    }
+
+    public String getFilename(P2ArtifactCoordinates coordinates)
+    {
+        return P2ArtifactRuleProcessor.getFilename(ruleProcessors, coordinates);
+    }
+
+    public int size()
+    {
+        return artifacts.size();
+    }
+
+    private static String toKey(String id,
+                                String version,
+                                String classifier)
+    {
+        return id + SEPARATOR + version + SEPARATOR + classifier;
+    }
+
+}
@@ -5,9 +5,17 @@ import org.carlspring.strongbox.artifact.coordinates.P2ArtifactCoordinates;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.FileUtils;
 
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
@@ -119,6 +127,33 @@ public class P2ArtifactReaderTest
         assertEquals(expectedFilename, foundArtifact.getFilename());
     }
 
+    @Test
+    public void testGetArtifactFromArtifactsJar()
+            throws Exception
+    {
+        Path repoDir = Files.createTempDirectory("p2-artifacts-jar");
+        try
+        {
+            try (OutputStream os = Files.newOutputStream(repoDir.resolve(P2ArtifactReader.ARTIFACTS_JAR));
+                 ZipOutputStream zos = new ZipOutputStream(os))
+            {
+                zos.putNextEntry(new ZipEntry(P2ArtifactReader.ARTIFACTS_XML));
+                Files.copy(Paths.get(getRepoDir()).resolve(P2ArtifactReader.ARTIFACTS_XML), zos);
+                zos.closeEntry();
+            }
+
+            P2ArtifactCoordinates foundArtifact = getArtifact(repoDir.toString());
+
+            assertNotNull(foundArtifact);
+            assertEquals(ID, foundArtifact.getId());
+            assertEquals(VERSION, foundArtifact.getVersion());
+        }
+        finally
+        {
+            FileUtils.deleteDirectory(repoDir.toFile());
+        }
+    }
+
     private P2ArtifactCoordinates getArtifact()
             throws URISyntaxException, IOException
     {
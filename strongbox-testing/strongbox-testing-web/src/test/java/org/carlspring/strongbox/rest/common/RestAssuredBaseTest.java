@@ -1,5 +1,6 @@
 package org.carlspring.strongbox.rest.common;
 
+import org.carlspring.strongbox.booters.StorageBooter;
 import org.carlspring.strongbox.rest.client.RestAssuredArtifactClient;
 import org.carlspring.strongbox.testing.TestCaseWithRepository;
 import org.carlspring.strongbox.users.domain.Roles;
@@ -52,6 +53,9 @@ public abstract class RestAssuredBaseTest
     @Inject
     protected RestAssuredArtifactClient client;
 
+    @Inject
+    private StorageBooter storageBooter;
+
     private String contextBaseUrl;
 
     private RestAssuredMockMvcConfig restAssuredMockMvcConfig;
@@ -61,6 +65,9 @@ public abstract class RestAssuredBaseTest
     {
         logger.debug("Initializing RestAssured...");
 
+        // The repositories are initialized in the background, and reject requests until then.
+        storageBooter.getInitialization().join();
+
         // Security settings for tests:
         // By default all operations incl. deletion, etc. are allowed (be careful)!
         // Override #provideAuthorities, if you want be more specific.
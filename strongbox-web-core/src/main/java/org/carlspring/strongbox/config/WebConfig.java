@@ -17,6 +17,7 @@ import org.carlspring.strongbox.cron.config.CronTasksConfig;
 import org.carlspring.strongbox.utils.CustomAntPathMatcher;
 import org.carlspring.strongbox.web.DirectoryTraversalFilter;
 import org.carlspring.strongbox.web.HeaderMappingFilter;
+import org.carlspring.strongbox.web.SlowRequestFilter;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -138,6 +139,12 @@ public class WebConfig
         return new DirectoryTraversalFilter();
     }
 
+    @Bean
+    SlowRequestFilter slowRequestFilter()
+    {
+        return new SlowRequestFilter();
+    }
+
     @Override
     public void configureMessageConverters(List<HttpMessageConverter<?>> converters)
     {
@@ -0,0 +1,139 @@
+package org.carlspring.strongbox.controllers;
+
+import org.carlspring.strongbox.aql.grammar.AqlQueryParser;
+import org.carlspring.strongbox.data.criteria.Paginator;
+import org.carlspring.strongbox.data.criteria.Selector;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.services.AqlSearchService;
+import org.carlspring.strongbox.services.ArtifactPromotionService;
+import org.carlspring.strongbox.services.support.ArtifactPromotionRequest;
+import org.carlspring.strongbox.services.support.ArtifactPromotionResult;
+import org.carlspring.strongbox.storage.ArtifactStorageException;
+import org.carlspring.strongbox.storage.search.SearchResult;
+import org.carlspring.strongbox.storage.search.SearchResultField;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import io.swagger.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * Promotes sets of artifacts between repositories in a single request, for example from a staging repository to a
+ * release one. The artifacts are either the listed paths, the ones matching an AQL query, or the whole source
+ * repository.
+ */
+@Controller
+@RequestMapping("/api/promotion")
+@Api(value = "/api/promotion")
+public class ArtifactPromotionController
+        extends BaseController
+{
+
+    @Inject
+    private ArtifactPromotionService artifactPromotionService;
+
+    @Inject
+    private AqlSearchService aqlSearchService;
+
+    @ApiOperation(value = "Copies a set of artifacts from one repository to another.",
+                  response = ArtifactPromotionResult.class)
+    @ApiResponses(value = { @ApiResponse(code = 200, message = "The artifacts were promoted."),
+                            @ApiResponse(code = 400, message = "Bad request.") })
+    @PreAuthorize("hasAuthority('ARTIFACTS_COPY')")
+    @PostMapping(value = "/copy", consumes = { MediaType.APPLICATION_JSON_VALUE },
+                 produces = { MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity copy(@RequestBody ArtifactPromotionRequest request,
+                               @ApiParam(value = "An AQL query selecting the artifacts of the source repository, one page at a time")
+                               @RequestParam(name = "query", required = false) String query,
+                               @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept)
+    {
+        request.setMove(false);
+
+        return promote(request, query, accept);
+    }
+
+    @ApiOperation(value = "Moves a set of artifacts from one repository to another.",
+                  response = ArtifactPromotionResult.class)
+    @ApiResponses(value = { @ApiResponse(code = 200, message = "The artifacts were promoted."),
+                            @ApiResponse(code = 400, message = "Bad request.") })
+    @PreAuthorize("hasAuthority('ARTIFACTS_COPY') and hasAuthority('ARTIFACTS_DELETE')")
+    @PostMapping(value = "/move", consumes = { MediaType.APPLICATION_JSON_VALUE },
+                 produces = { MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity move(@RequestBody ArtifactPromotionRequest request,
+                               @ApiParam(value = "An AQL query selecting the artifacts of the source repository, one page at a time")
+                               @RequestParam(name = "query", required = false) String query,
+                               @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept)
+    {
+        request.setMove(true);
+
+        return promote(request, query, accept);
+    }
+
+    private ResponseEntity promote(ArtifactPromotionRequest request,
+                                   String query,
+                                   String accept)
+    {
+        try
+        {
+            if (query != null)
+            {
+                request.setPaths(selectPaths(request, query));
+            }
+
+            ArtifactPromotionResult result = artifactPromotionService.promote(request);
+
+            return ResponseEntity.ok(result);
+        }
+        catch (ArtifactStorageException e)
+        {
+            return getBadRequestResponseEntity(e.getMessage(), accept);
+        }
+        catch (Exception e)
+        {
+            return getExceptionResponseEntity(HttpStatus.INTERNAL_SERVER_ERROR, e, accept);
+        }
+    }
+
+    private List<String> selectPaths(ArtifactPromotionRequest request,
+                                     String query)
+            throws IOException
+    {
+        Selector<ArtifactEntry> selector = new AqlQueryParser(query).parseQuery();
+
+        // Only the page of results selected by the query is promoted, further ones are selected with its page.
+        Paginator paginator = selector.getPaginator();
+        if (paginator == null)
+        {
+            paginator = new Paginator();
+            selector.with(paginator);
+        }
+        if (paginator.getProperty() == null)
+        {
+            // A stable order, so that successive pages don't overlap.
+            paginator.setProperty("uuid");
+        }
+
+        return aqlSearchService.search(selector, EnumSet.of(SearchResultField.COORDINATES))
+                               .getResults()
+                               .stream()
+                               .filter(r -> request.getSrcStorageId().equals(r.getStorageId()) &&
+                                            request.getSrcRepositoryId().equals(r.getRepositoryId()))
+                               .map(SearchResult::getPath)
+                               .collect(Collectors.toList());
+    }
+
+}
@@ -1,16 +1,19 @@
 package org.carlspring.strongbox.controllers;
 
+import org.carlspring.strongbox.metrics.StrongboxMetrics;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.services.ArtifactManagementService;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.utils.ArtifactControllerHelper;
+import org.carlspring.strongbox.web.StorageRequestRoute;
 
 import javax.inject.Inject;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.InputStream;
 
+import io.micrometer.core.instrument.Timer;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
@@ -44,10 +47,13 @@ public abstract class BaseArtifactController
                                  @PathVariable String path,
                                  HttpServletRequest request)
     {
+        Timer.Sample sample = Timer.start();
+        String outcome = StrongboxMetrics.OUTCOME_FAILURE;
         try
         {
             RepositoryPath repositoryPath = repositoryPathResolver.resolve(storageId, repositoryId, path);
             artifactManagementService.validateAndStore(repositoryPath, request.getInputStream());
+            outcome = StrongboxMetrics.OUTCOME_SUCCESS;
 
             return ResponseEntity.ok("The artifact was deployed successfully.");
         }
@@ -57,6 +63,10 @@ public abstract class BaseArtifactController
 
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
         }
+        finally
+        {
+            sample.stop(StrongboxMetrics.timer(StrongboxMetrics.ARTIFACT_UPLOADS, storageId, repositoryId, outcome));
+        }
     }
 
     public Storage getStorage(String storageId)
@@ -67,6 +77,12 @@ public abstract class BaseArtifactController
     public Repository getRepository(String storageId,
                                     String repositoryId)
     {
+        StorageRequestRoute route = StorageRequestRoute.current();
+        if (route != null && route.matches(storageId, repositoryId))
+        {
+            return route.getRepository();
+        }
+
         return getStorage(storageId).getRepository(repositoryId);
     }
 
@@ -77,28 +93,47 @@ public abstract class BaseArtifactController
             throws Exception
     {
         logger.debug("Resolved path: " + repositoryPath);
-        
-        ArtifactControllerHelper.provideArtifactHeaders(response, repositoryPath);
-        if (response.getStatus() == HttpStatus.NOT_FOUND.value())
-        {
-            return false;
-        }
-        else if (request.getMethod().equals(RequestMethod.HEAD.name()))
-        {
-            return true;
-        }
 
-        InputStream is = artifactResolutionService.getInputStream(repositoryPath);
-        if (ArtifactControllerHelper.isRangedRequest(httpHeaders))
+        String storageId = repositoryPath.getRepository().getStorage().getId();
+        String repositoryId = repositoryPath.getRepository().getId();
+
+        Timer.Sample sample = Timer.start();
+        String outcome = StrongboxMetrics.OUTCOME_FAILURE;
+        try
         {
-            logger.debug("Detected ranged request.");
+            ArtifactControllerHelper.provideArtifactHeaders(response, repositoryPath);
+            if (response.getStatus() == HttpStatus.NOT_FOUND.value())
+            {
+                outcome = StrongboxMetrics.OUTCOME_NOT_FOUND;
 
-            ArtifactControllerHelper.handlePartialDownload(is, httpHeaders, response);
-        }
+                return false;
+            }
+            else if (request.getMethod().equals(RequestMethod.HEAD.name()))
+            {
+                outcome = StrongboxMetrics.OUTCOME_SUCCESS;
+
+                return true;
+            }
+
+            InputStream is = artifactResolutionService.getInputStream(repositoryPath);
+            if (ArtifactControllerHelper.isRangedRequest(httpHeaders))
+            {
+                logger.debug("Detected ranged request.");
 
-        copyToResponse(is, response);
+                ArtifactControllerHelper.handlePartialDownload(is, httpHeaders, response);
+            }
 
-        return true;
+            long bytes = copyToResponse(is, response);
+            StrongboxMetrics.byteCounter(StrongboxMetrics.ARTIFACT_DOWNLOADED_BYTES, storageId, repositoryId)
+                            .increment(bytes);
+            outcome = StrongboxMetrics.OUTCOME_SUCCESS;
+
+            return true;
+        }
+        finally
+        {
+            sample.stop(StrongboxMetrics.timer(StrongboxMetrics.ARTIFACT_DOWNLOADS, storageId, repositoryId, outcome));
+        }
     }
 
 }
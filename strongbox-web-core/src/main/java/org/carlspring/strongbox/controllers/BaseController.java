@@ -6,6 +6,7 @@ import org.carlspring.strongbox.configuration.MutableConfiguration;
 import org.carlspring.strongbox.controllers.support.ErrorResponseEntityBody;
 import org.carlspring.strongbox.controllers.support.ListEntityBody;
 import org.carlspring.strongbox.controllers.support.ResponseEntityBody;
+import org.carlspring.strongbox.metrics.RequestTimings;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
 import org.carlspring.strongbox.resource.ResourceCloser;
 import org.carlspring.strongbox.services.ArtifactResolutionService;
@@ -256,13 +257,16 @@ public abstract class BaseController
         return toResponseEntityError(message, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
-    protected void copyToResponse(InputStream is,
+    /**
+     * @return the number of bytes written
+     */
+    protected long copyToResponse(InputStream is,
                                   HttpServletResponse response)
             throws IOException
     {
         OutputStream os = response.getOutputStream();
 
-        try
+        try (RequestTimings.Phase phase = RequestTimings.phase(RequestTimings.COPY))
         {
             long totalBytes = 0L;
 
@@ -279,6 +283,8 @@ public abstract class BaseController
 
             response.setHeader(HttpHeaders.CONTENT_LENGTH, Long.toString(totalBytes));
             response.flushBuffer();
+
+            return totalBytes;
         }
         finally
         {
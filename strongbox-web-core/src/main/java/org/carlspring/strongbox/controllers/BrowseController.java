@@ -1,5 +1,6 @@
 package org.carlspring.strongbox.controllers;
 
+import org.carlspring.strongbox.data.criteria.Paginator;
 import org.carlspring.strongbox.domain.DirectoryListing;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
@@ -12,6 +13,8 @@ import javax.inject.Inject;
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
 import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.Map;
 import java.util.Optional;
@@ -157,6 +160,13 @@ public class BrowseController extends BaseArtifactController
                                     @PathVariable("repositoryId") String repositoryId,
                                     @ApiParam(value = "The repository path", required = false)
                                     @PathVariable("path") String rawPath,
+                                    @ApiParam(value = "The nextCursor of the previous page", required = false)
+                                    @RequestParam(name = "cursor", required = false) String cursor,
+                                    @ApiParam(value = "The maximum number of entries per page", required = false)
+                                    @RequestParam(name = "limit", required = false) Integer limit,
+                                    @ApiParam(value = "The name ordering", required = false)
+                                    @RequestParam(name = "order", required = false, defaultValue = "ASC")
+                                            Paginator.Order order,
                                     HttpServletRequest request,
                                     ModelMap model,
                                     @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String acceptHeader)
@@ -193,11 +203,18 @@ public class BrowseController extends BaseArtifactController
                 return getNotFoundResponseEntity("Requested repository doesn't allow browsing.", acceptHeader);
             }
 
-            DirectoryListing directoryListing = getDirectoryListingService().fromRepositoryPath(repositoryPath);
+            Paginator paginator = new Paginator();
+            paginator.setLimit(limit);
+            paginator.setOrder(order);
+
+            DirectoryListing directoryListing = getDirectoryListingService().fromRepositoryPath(repositoryPath,
+                                                                                                cursor,
+                                                                                                paginator);
 
             if (acceptHeader != null && acceptHeader.contains(MediaType.APPLICATION_JSON_VALUE))
             {
-                return ResponseEntity.ok(objectMapper.writer().writeValueAsString(directoryListing));
+                // Let the message converter write the page straight into the response.
+                return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(directoryListing);
             }
             
             URL resourceUrl = RepositoryFiles.readResourceUrl(repositoryPath);
@@ -208,6 +225,15 @@ public class BrowseController extends BaseArtifactController
 
             model.addAttribute("currentUrl", currentUrl);
             model.addAttribute("downloadBaseUrl", downloadBaseUrl);
+            if (directoryListing.getNextCursor() != null)
+            {
+                model.addAttribute("nextPageUrl", String.format("%s/?cursor=%s&limit=%s&order=%s",
+                                                                currentUrl,
+                                                                URLEncoder.encode(directoryListing.getNextCursor(),
+                                                                                  StandardCharsets.UTF_8.name()),
+                                                                paginator.getLimit(),
+                                                                paginator.getOrder()));
+            }
             model.addAttribute("directories", directoryListing.getDirectories());
             model.addAttribute("files", directoryListing.getFiles());
 
@@ -3,19 +3,25 @@ package org.carlspring.strongbox.controllers.aql;
 import org.carlspring.strongbox.aql.grammar.AqlQueryParser;
 import org.carlspring.strongbox.controllers.BaseController;
 import org.carlspring.strongbox.data.criteria.Selector;
+import org.carlspring.strongbox.dependency.snippet.CodeSnippet;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.services.AqlSearchService;
+import org.carlspring.strongbox.storage.search.SearchResultField;
 import org.carlspring.strongbox.storage.search.SearchResults;
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.util.List;
+import java.util.Set;
 
 import io.swagger.annotations.*;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
@@ -33,18 +39,50 @@ public class AqlController extends BaseController
     private AqlSearchService aqlSearchService;
 
     @ApiOperation(value = "Used to search for artifacts.", response = SearchResults.class)
-    @ApiResponses(value = { @ApiResponse(code = 200, message = "OK") })
+    @ApiResponses(value = { @ApiResponse(code = 200, message = "OK"),
+                            @ApiResponse(code = 400, message = "Unknown result field.") })
     @PreAuthorize("hasAuthority('SEARCH_ARTIFACTS')")
     @GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE })
-    public ResponseEntity search(@ApiParam(value = "Search query", required = true) @RequestParam(name = "query", required = true) String query)
+    public ResponseEntity search(@ApiParam(value = "Search query", required = true) @RequestParam(name = "query", required = true) String query,
+                                 @ApiParam(value = "Comma separated result fields: coordinates, url, snippets, size") @RequestParam(name = "fields", required = false) String fields,
+                                 @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept)
         throws IOException
     {
+        Set<SearchResultField> resultFields;
+        try
+        {
+            resultFields = SearchResultField.parse(fields);
+        }
+        catch (IllegalArgumentException e)
+        {
+            return getBadRequestResponseEntity(String.format("Unknown result field in [%s].", fields), accept);
+        }
+
         AqlQueryParser parser = new AqlQueryParser(query);
         Selector<ArtifactEntry> selector = parser.parseQuery();
 
-        SearchResults result = aqlSearchService.search(selector);
+        SearchResults result = aqlSearchService.search(selector, resultFields);
 
         return ResponseEntity.ok(result);
     }
 
+    @ApiOperation(value = "Used to get the dependency snippets of an artifact found by a search.")
+    @ApiResponses(value = { @ApiResponse(code = 200, message = "OK"),
+                            @ApiResponse(code = 404, message = "The artifact was not found.") })
+    @PreAuthorize("hasAuthority('SEARCH_ARTIFACTS')")
+    @GetMapping(value = "/snippets", produces = { MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity snippets(@ApiParam(value = "The storageId", required = true) @RequestParam(name = "storageId") String storageId,
+                                   @ApiParam(value = "The repositoryId", required = true) @RequestParam(name = "repositoryId") String repositoryId,
+                                   @ApiParam(value = "The artifact path", required = true) @RequestParam(name = "path") String path,
+                                   @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept)
+    {
+        List<CodeSnippet> snippets = aqlSearchService.generateSnippets(storageId, repositoryId, path);
+        if (snippets == null)
+        {
+            return getNotFoundResponseEntity("The artifact was not found.", accept);
+        }
+
+        return ResponseEntity.ok(snippets);
+    }
+
 }
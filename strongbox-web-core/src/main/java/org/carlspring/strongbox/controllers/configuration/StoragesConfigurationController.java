@@ -1,5 +1,6 @@
 package org.carlspring.strongbox.controllers.configuration;
 
+import org.carlspring.strongbox.forms.configuration.ConfigurationBatchForm;
 import org.carlspring.strongbox.forms.configuration.ProxyConfigurationForm.ProxyConfigurationFormChecks;
 import org.carlspring.strongbox.forms.configuration.RepositoryForm;
 import org.carlspring.strongbox.forms.configuration.StorageForm;
@@ -21,8 +22,12 @@ import javax.validation.groups.Default;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.annotation.JsonView;
 import io.swagger.annotations.*;
@@ -68,6 +73,12 @@ public class StoragesConfigurationController
 
     static final String SUCCESSFUL_REPOSITORY_REMOVAL = "The repository was removed successfully.";
 
+    static final String SUCCESSFUL_BATCH_SAVE = "The storages and repositories were saved successfully.";
+
+    static final String FAILED_BATCH_SAVE_FORM_ERROR = "The batch cannot be saved because the submitted form contains errors!";
+
+    static final String FAILED_BATCH_SAVE = "The batch was not saved.";
+
     private static final String FAILED_STORAGE_REMOVAL = "Failed to remove the storage !";
 
     private static final String STORAGE_NOT_FOUND = "The storage was not found.";
@@ -306,6 +317,83 @@ public class StoragesConfigurationController
         }
     }
 
+    @ApiOperation(value = "Adds or updates a set of storages and repositories as a single configuration change.")
+    @ApiResponses(value = { @ApiResponse(code = 200, message = "The storages and repositories were saved successfully."),
+                            @ApiResponse(code = 404, message = "The storage was not found."),
+                            @ApiResponse(code = 500, message = "The batch was not saved.") })
+    @PreAuthorize("hasAuthority('CONFIGURATION_ADD_UPDATE_STORAGE') and hasAuthority('CONFIGURATION_ADD_UPDATE_REPOSITORY')")
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = { MediaType.TEXT_PLAIN_VALUE,
+                                                                                               MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity saveBatch(@ApiParam(value = "The storages and repositories", required = true)
+                                    @RequestBody @Validated({ Default.class,
+                                                              ProxyConfigurationFormChecks.class })
+                                            ConfigurationBatchForm batchForm,
+                                    BindingResult bindingResult,
+                                    @RequestHeader(HttpHeaders.ACCEPT) String accept)
+    {
+        if (bindingResult.hasErrors())
+        {
+            throw new RequestBodyValidationException(FAILED_BATCH_SAVE_FORM_ERROR, bindingResult);
+        }
+
+        final List<MutableStorage> storages = batchForm.getStorages()
+                                                       .stream()
+                                                       .map(f -> conversionService.convert(f, MutableStorage.class))
+                                                       .collect(Collectors.toList());
+
+        final Set<String> storageIds = storages.stream().map(MutableStorage::getId).collect(Collectors.toSet());
+        final Map<String, List<MutableRepository>> repositories = new LinkedHashMap<>();
+        for (Map.Entry<String, List<RepositoryForm>> entry : batchForm.getRepositories().entrySet())
+        {
+            if (!storageIds.contains(entry.getKey()) &&
+                configurationManagementService.getConfiguration().getStorage(entry.getKey()) == null)
+            {
+                return getFailedResponseEntity(HttpStatus.NOT_FOUND, STORAGE_NOT_FOUND, accept);
+            }
+
+            repositories.put(entry.getKey(),
+                             entry.getValue()
+                                  .stream()
+                                  .map(f -> conversionService.convert(f, MutableRepository.class))
+                                  .collect(Collectors.toList()));
+        }
+
+        try
+        {
+            configurationManagementService.modifyInBatch(() -> {
+                storages.forEach(configurationManagementService::saveStorage);
+                repositories.forEach((storageId, storageRepositories) -> storageRepositories.forEach(
+                        repository -> configurationManagementService.saveRepository(storageId, repository)));
+            });
+
+            for (MutableStorage storage : storages)
+            {
+                if (!storage.existsOnFileSystem())
+                {
+                    storageManagementService.createStorage(storage);
+                }
+            }
+
+            for (Map.Entry<String, List<MutableRepository>> entry : repositories.entrySet())
+            {
+                for (MutableRepository repository : entry.getValue())
+                {
+                    final RepositoryPath repositoryPath = repositoryPathResolver.resolve(new Repository(repository));
+                    if (!Files.exists(repositoryPath))
+                    {
+                        repositoryManagementService.createRepository(entry.getKey(), repository.getId());
+                    }
+                }
+            }
+
+            return getSuccessfulResponseEntity(SUCCESSFUL_BATCH_SAVE, accept);
+        }
+        catch (IOException | ConfigurationException | RepositoryManagementStrategyException e)
+        {
+            return getExceptionResponseEntity(HttpStatus.INTERNAL_SERVER_ERROR, FAILED_BATCH_SAVE, e, accept);
+        }
+    }
+
     @ApiOperation(value = "Returns the configuration of a repository.")
     @ApiResponses(value = { @ApiResponse(code = 200,
                                          message = "The repository was updated successfully.",
@@ -2,6 +2,7 @@ package org.carlspring.strongbox.controllers.configuration;
 
 import org.carlspring.strongbox.configuration.MutableConfiguration;
 import org.carlspring.strongbox.controllers.ResponseMessage;
+import org.carlspring.strongbox.controllers.support.ConfigurationVersionEntityBody;
 import org.carlspring.strongbox.services.ConfigurationManagementService;
 
 import io.swagger.annotations.*;
@@ -58,4 +59,16 @@ public class StrongboxConfigurationController
         return new ResponseEntity<>(getMutableConfigurationClone(), HttpStatus.OK);
     }
 
+    @ApiOperation(value = "Retrieves the configuration version this node runs, and the latest one in the cluster.")
+    @ApiResponses(value = { @ApiResponse(code = 200, message = "") })
+    @PreAuthorize("hasAuthority('CONFIGURATION_VIEW')")
+    @GetMapping(value = "/version",
+                produces = { MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity<ConfigurationVersionEntityBody> getConfigurationVersion()
+    {
+        return ResponseEntity.ok(new ConfigurationVersionEntityBody(
+                configurationManagementService.getConfigurationVersion(),
+                configurationManagementService.getClusterConfigurationVersion()));
+    }
+
 }
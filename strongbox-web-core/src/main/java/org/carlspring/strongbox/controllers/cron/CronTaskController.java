@@ -2,10 +2,12 @@ package org.carlspring.strongbox.controllers.cron;
 
 import org.carlspring.strongbox.booters.PropertiesBooter;
 import org.carlspring.strongbox.controllers.BaseController;
+import org.carlspring.strongbox.cron.domain.CronJobProgress;
 import org.carlspring.strongbox.cron.domain.CronTaskConfigurationDto;
 import org.carlspring.strongbox.cron.domain.CronTasksConfigurationDto;
 import org.carlspring.strongbox.cron.domain.GroovyScriptNamesDto;
 import org.carlspring.strongbox.cron.jobs.GroovyCronJob;
+import org.carlspring.strongbox.cron.services.CronJobCoordinator;
 import org.carlspring.strongbox.cron.services.CronJobSchedulerService;
 import org.carlspring.strongbox.cron.services.CronTaskConfigurationService;
 import org.carlspring.strongbox.forms.cron.CronTaskConfigurationForm;
@@ -71,12 +73,20 @@ public class CronTaskController
 
     private static final String SUCCESSFUL_GET_GROOVY_SCRIPTS = "The groovy scripts named retrieved successfully.";
 
+    private static final String SUCCESSFUL_GET_PROGRESS = "The cron task progress retrieved successfully.";
+    private static final String NOT_FOUND_PROGRESS = "The cron task has not been executed yet.";
+
+    private static final String SUCCESSFUL_CANCEL = "The cron task cancellation was requested.";
+
     @Inject
     private CronTaskConfigurationService cronTaskConfigurationService;
 
     @Inject
     private CronJobSchedulerService cronJobSchedulerService;
 
+    @Inject
+    private CronJobCoordinator cronJobCoordinator;
+
     @Inject
     private ConversionService conversionService;
 
@@ -220,6 +230,43 @@ public class CronTaskController
         return ResponseEntity.ok(config);
     }
 
+    @ApiOperation(value = "Used to get the progress of the running or latest execution of a cron task")
+    @ApiResponses(value = { @ApiResponse(code = 200, message = SUCCESSFUL_GET_PROGRESS),
+                            @ApiResponse(code = 404, message = NOT_FOUND_PROGRESS) })
+    @GetMapping(value = "/{UUID}/progress",
+                produces = { MediaType.APPLICATION_JSON_VALUE,
+                             MediaType.APPLICATION_XML_VALUE })
+    public ResponseEntity getProgress(@PathVariable("UUID") String uuid,
+                                      @RequestHeader(HttpHeaders.ACCEPT) String acceptHeader)
+    {
+        CronJobProgress progress = cronJobCoordinator.getProgress(uuid);
+        if (progress == null)
+        {
+            return getNotFoundResponseEntity(NOT_FOUND_PROGRESS, acceptHeader);
+        }
+
+        return ResponseEntity.ok(progress);
+    }
+
+    @ApiOperation(value = "Used to cancel the running execution of a cron task, on whichever node it runs")
+    @ApiResponses(value = { @ApiResponse(code = 200, message = SUCCESSFUL_CANCEL),
+                            @ApiResponse(code = 404, message = NOT_FOUND_CONFIGURATION) })
+    @PostMapping(value = "/{UUID}/cancel",
+                 produces = { MediaType.TEXT_PLAIN_VALUE,
+                              MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity cancel(@PathVariable("UUID") String uuid,
+                                 @RequestHeader(HttpHeaders.ACCEPT) String acceptHeader)
+    {
+        if (cronTaskConfigurationService.getTaskConfigurationDto(uuid) == null)
+        {
+            return getNotFoundResponseEntity(NOT_FOUND_CONFIGURATION, acceptHeader);
+        }
+
+        cronJobCoordinator.cancel(uuid);
+
+        return getSuccessfulResponseEntity(SUCCESSFUL_CANCEL, acceptHeader);
+    }
+
     @ApiOperation(value = "Used to get list of all the configurations")
     @ApiResponses(value = { @ApiResponse(code = 200, message = SUCCESSFUL_GET_CONFIGURATIONS),
                             @ApiResponse(code = 404, message = NOT_FOUND_CONFIGURATIONS) })
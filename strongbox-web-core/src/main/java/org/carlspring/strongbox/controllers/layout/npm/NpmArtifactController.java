@@ -13,6 +13,7 @@ import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.security.NoSuchAlgorithmException;
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -34,6 +35,7 @@ import org.carlspring.strongbox.controllers.BaseArtifactController;
 import org.carlspring.strongbox.data.criteria.Expression.ExpOperator;
 import org.carlspring.strongbox.data.criteria.Paginator;
 import org.carlspring.strongbox.data.criteria.Predicate;
+import org.carlspring.strongbox.npm.NpmPackument;
 import org.carlspring.strongbox.npm.NpmSearchRequest;
 import org.carlspring.strongbox.npm.NpmViewRequest;
 import org.carlspring.strongbox.npm.metadata.DistTags;
@@ -49,6 +51,7 @@ import org.carlspring.strongbox.providers.layout.NpmPackageSupplier;
 import org.carlspring.strongbox.providers.layout.NpmSearchResultSupplier;
 import org.carlspring.strongbox.providers.repository.RepositoryProvider;
 import org.carlspring.strongbox.providers.repository.RepositoryProviderRegistry;
+import org.carlspring.strongbox.repository.NpmPackumentCacheManager;
 import org.carlspring.strongbox.repository.NpmRepositoryFeatures.SearchPackagesEventListener;
 import org.carlspring.strongbox.repository.NpmRepositoryFeatures.ViewPackageEventListener;
 import org.carlspring.strongbox.services.ArtifactManagementService;
@@ -77,6 +80,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 /**
  * This Controller used to handle npm requests.
@@ -95,6 +99,15 @@ public class NpmArtifactController extends BaseArtifactController
 
     private static final String FIELD_NAME_VERSION = "versions";
 
+    private static final List<String> ABBREVIATED_VERSION_FIELDS = Arrays.asList("name", "version", "deprecated",
+                                                                                 "dependencies",
+                                                                                 "optionalDependencies",
+                                                                                 "devDependencies",
+                                                                                 "bundleDependencies",
+                                                                                 "peerDependencies", "bin",
+                                                                                 "directories", "dist", "engines",
+                                                                                 "_hasShrinkwrap");
+
     private static final Logger logger = LoggerFactory.getLogger(NpmArtifactController.class);
 
     public final static String ROOT_CONTEXT = "/storages";
@@ -117,6 +130,9 @@ public class NpmArtifactController extends BaseArtifactController
     
     @Inject
     private ViewPackageEventListener viewPackageEventListener;
+
+    @Inject
+    private NpmPackumentCacheManager npmPackumentCacheManager;
     
     @Inject
     private SearchPackagesEventListener searcPackagesEventListener;
@@ -219,6 +235,7 @@ public class NpmArtifactController extends BaseArtifactController
                                          @PathVariable(name = "repositoryId") String repositoryId,
                                          @PathVariable(name = "packageScope") String packageScope,
                                          @PathVariable(name = "packageName") String packageName,
+                                         HttpServletRequest request,
                                          HttpServletResponse response)
         throws Exception
     {
@@ -230,6 +247,47 @@ public class NpmArtifactController extends BaseArtifactController
         
         Repository repository = getRepository(storageId, repositoryId);
 
+        NpmPackument packument = npmPackumentCacheManager.get(repository, packageId,
+                                                              () -> createPackument(repository, packageScope,
+                                                                                    packageName));
+
+        boolean abbreviated = Optional.ofNullable(request.getHeader(HttpHeaders.ACCEPT))
+                                      .filter(a -> a.contains(NpmPackument.ABBREVIATED_MEDIA_TYPE))
+                                      .isPresent();
+        boolean gzipped = Optional.ofNullable(request.getHeader(HttpHeaders.ACCEPT_ENCODING))
+                                  .filter(e -> e.contains("gzip"))
+                                  .isPresent();
+        byte[] body = packument.getJson(abbreviated, gzipped);
+
+        response.setContentType(abbreviated ? NpmPackument.ABBREVIATED_MEDIA_TYPE : MediaType.APPLICATION_JSON);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+        if (gzipped)
+        {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    @GetMapping(path = "{storageId}/{repositoryId}/{packageName}")
+    @PreAuthorize("hasAuthority('ARTIFACTS_VIEW')")
+    public void viewPackageFeed(@PathVariable(name = "storageId") String storageId,
+                                @PathVariable(name = "repositoryId") String repositoryId,
+                                @PathVariable(name = "packageName") String packageName,
+                                HttpServletRequest request,
+                                HttpServletResponse response)
+        throws Exception
+    {
+        viewPackageFeedWithScope(storageId, repositoryId, null, packageName, request, response);
+    }
+
+    private NpmPackument createPackument(Repository repository,
+                                         String packageScope,
+                                         String packageName)
+        throws IOException
+    {
+        String packageId = NpmArtifactCoordinates.caclulatePackageId(packageScope, packageName);
+
         PackageFeed packageFeed = new PackageFeed();
 
         packageFeed.setName(packageId);
@@ -242,7 +300,8 @@ public class NpmArtifactController extends BaseArtifactController
         Paginator paginator = new Paginator();
         paginator.setProperty("version");
 
-        List<Path> searchResult = provider.search(storageId, repositoryId, predicate, paginator);
+        List<Path> searchResult = provider.search(repository.getStorage().getId(), repository.getId(), predicate,
+                                                  paginator);
 
         Versions versions = new Versions();
         packageFeed.setVersions(versions);
@@ -273,19 +332,30 @@ public class NpmArtifactController extends BaseArtifactController
 
         });
 
-        response.setContentType(MediaType.APPLICATION_JSON);
-        response.getOutputStream().write(npmJacksonMapper.writeValueAsBytes(packageFeed));
+        return new NpmPackument(npmJacksonMapper.writeValueAsBytes(packageFeed),
+                                createAbbreviatedPackument(packageFeed));
     }
 
-    @GetMapping(path = "{storageId}/{repositoryId}/{packageName}")
-    @PreAuthorize("hasAuthority('ARTIFACTS_VIEW')")
-    public void viewPackageFeed(@PathVariable(name = "storageId") String storageId,
-                                @PathVariable(name = "repositoryId") String repositoryId,
-                                @PathVariable(name = "packageName") String packageName,
-                                HttpServletResponse response)
-        throws Exception
+    /**
+     * The abbreviated packument only holds what <code>npm install</code> needs to resolve the versions.
+     */
+    private byte[] createAbbreviatedPackument(PackageFeed packageFeed)
+        throws JsonProcessingException
     {
-        viewPackageFeedWithScope(storageId, repositoryId, null, packageName, response);
+        ObjectNode result = npmJacksonMapper.createObjectNode();
+        result.put("name", packageFeed.getName());
+        result.set("modified", npmJacksonMapper.valueToTree(packageFeed.getTime()).get("modified"));
+        result.set("dist-tags", npmJacksonMapper.valueToTree(packageFeed.getDistTags()));
+
+        ObjectNode versions = result.putObject(FIELD_NAME_VERSION);
+        packageFeed.getVersions().getAdditionalProperties().forEach((version, npmPackage) -> {
+            ObjectNode versionNode = npmJacksonMapper.valueToTree(npmPackage);
+            versionNode.retain(ABBREVIATED_VERSION_FIELDS);
+
+            versions.set(version, versionNode);
+        });
+
+        return npmJacksonMapper.writeValueAsBytes(result);
     }
 
     private Predicate createSearchPredicate(String packageScope,
@@ -22,7 +22,6 @@ import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
 
 import javax.inject.Inject;
-import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.core.MediaType;
@@ -30,9 +29,8 @@ import javax.xml.bind.JAXBException;
 import java.io.*;
 import java.net.HttpURLConnection;
 import java.net.URI;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.regex.Matcher;
@@ -43,7 +41,11 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
-import org.apache.commons.fileupload.MultipartStream;
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
+import org.apache.commons.fileupload.FileUpload;
+import org.apache.commons.fileupload.FileUploadException;
+import org.apache.commons.fileupload.servlet.ServletRequestContext;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -56,9 +58,10 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.aristar.jnuget.files.Hash;
 import ru.aristar.jnuget.files.NugetFormatException;
 import ru.aristar.jnuget.files.Nupkg;
-import ru.aristar.jnuget.files.TempNupkgFile;
+import ru.aristar.jnuget.files.nuspec.NuspecFile;
 import ru.aristar.jnuget.rss.*;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 
@@ -75,6 +78,12 @@ public class NugetArtifactController extends BaseArtifactController
 
     private static final Logger logger = LoggerFactory.getLogger(NugetArtifactController.class);
 
+    private static final byte[] BOUNDARY_PREFIX_TO_FIX = { 0x00, 0x0A, 0x2D, 0x2D };
+
+    private static final byte[] BOUNDARY_PREFIX_TARGET = { 0x00, 0x0D, 0x0A, 0x2D, 0x2D };
+
+    private static final String PACKAGE_HASH_ALGORITHM = "SHA-512";
+
     public final static String ROOT_CONTEXT = "/storages";
 
     @Inject
@@ -434,8 +443,8 @@ public class NugetArtifactController extends BaseArtifactController
         URI resourceUri;
         try
         {
-            ServletInputStream is = request.getInputStream();
-            InputStream packagePartInputStream = extractPackageMultipartStream(extractBoundary(contentType), is);
+            InputStream packagePartInputStream = extractPackageMultipartStream(extractBoundary(contentType),
+                                                                               request);
 
             if (packagePartInputStream == null)
             {
@@ -573,71 +582,49 @@ public class NugetArtifactController extends BaseArtifactController
     }
 
     private InputStream extractPackageMultipartStream(String boundaryString,
-                                                      ServletInputStream is)
-            throws IOException
+                                                      HttpServletRequest request)
+            throws IOException,
+                   FileUploadException
     {
         if (StringUtils.isEmpty(boundaryString))
         {
             return null;
         }
 
-        final Path packagePartFile = Files.createTempFile("nupkg", "part");
-        try (OutputStream packagePartOutputStream = new BufferedOutputStream(Files.newOutputStream(packagePartFile)))
-        {
-
-            writePackagePart(boundaryString, is, packagePartOutputStream);
-        }
-
-        return new BufferedInputStream(Files.newInputStream(packagePartFile));
-    }
-
-    private void writePackagePart(String boundaryString,
-                                  InputStream is,
-                                  OutputStream packagePartOutputStream)
-        throws IOException
-    {
-        // According to the specification, the final Boundary of MultipartStream should be prefixed with
-        // `0x0D0x0A0x2D0x2D` characters, but seems that Nuget command line tool has broken Multipart Boundary format.
-        // We need to fix missing starting byte of ending Mulipart boundary (0x0D), which is incorrectly generated by
-        // NuGet `push` implementation.
-        byte[] boundary = boundaryString.getBytes();
-        byte[] boundaryPrefixToFix = {0x00, 0x0A, 0x2D, 0x2D};
-        byte[] boundaryPrefixTarget = {0x00, 0x0D, 0x0A, 0x2D, 0x2D};
-
-        byte[] replacementPattern = new byte[boundary.length + 4];
-        byte[] replacementTarget = new byte[boundary.length + 5];
-
-        System.arraycopy(boundaryPrefixToFix, 0, replacementPattern, 0, 4);
-        System.arraycopy(boundaryPrefixTarget, 0, replacementTarget, 0, 5);
-
-        System.arraycopy(boundary, 0, replacementPattern, 4, boundary.length);
-        System.arraycopy(boundary, 0, replacementTarget, 4, boundary.length);
-
-        Path streamContentPath = Files.createTempFile("boundaryString", "nupkg");
-        ReplacingInputStream replacingIs = new ReplacingInputStream(is, boundaryPrefixToFix, boundaryPrefixTarget);
-        long len = Files.copy(replacingIs, streamContentPath,
-                   StandardCopyOption.REPLACE_EXISTING);
-        System.out.println(len);
-
-        try (InputStream streamContentIs = new BufferedInputStream(Files.newInputStream(streamContentPath)))
+        FileItemIterator items = new FileUpload().getItemIterator(new ServletRequestContext(request)
         {
-            MultipartStream multipartStream = new MultipartStream(streamContentIs, boundary, 4096, null);
-            multipartStream.skipPreamble();
-            String header = multipartStream.readHeaders();
-
-            // Package Multipart Header should be like follows:
-            // Content-Disposition: form-data; name="package";
-            // filename="package"
-            // Content-Type: application/octet-stream
-            if (!header.contains("package"))
+            @Override
+            public InputStream getInputStream()
+                throws IOException
             {
-                logger.error("Invalid package multipart format");
-                return;
+                // According to the specification, the final Boundary of MultipartStream should be prefixed with
+                // `0x0D0x0A0x2D0x2D` characters, but seems that Nuget command line tool has broken Multipart Boundary
+                // format. We need to fix missing starting byte of ending Mulipart boundary (0x0D), which is
+                // incorrectly generated by NuGet `push` implementation.
+                return new ReplacingInputStream(request.getInputStream(),
+                                                BOUNDARY_PREFIX_TO_FIX,
+                                                BOUNDARY_PREFIX_TARGET);
             }
+        });
+        if (!items.hasNext())
+        {
+            logger.error("Invalid package multipart format");
+            return null;
+        }
 
-            int contentLength = multipartStream.readBodyData(packagePartOutputStream);
-            logger.info(String.format("NuGet package content length [%s]", contentLength));
+        // Package Multipart Header should be like follows:
+        // Content-Disposition: form-data; name="package";
+        // filename="package"
+        // Content-Type: application/octet-stream
+        FileItemStream item = items.next();
+        if (!StringUtils.contains(item.getFieldName(), "package") && !StringUtils.contains(item.getName(), "package"))
+        {
+            logger.error("Invalid package multipart format");
+            return null;
         }
+
+        // The part is read straight from the request, as long as the iterator is not advanced.
+        return item.openStream();
     }
 
     private URI storePackage(String storageId,
@@ -645,52 +632,39 @@ public class NugetArtifactController extends BaseArtifactController
                              InputStream is)
         throws Exception
     {
-        try (TempNupkgFile nupkgFile = new TempNupkgFile(is))
+        MessageDigest digest = MessageDigest.getInstance(PACKAGE_HASH_ALGORITHM);
+        try (NupkgUpload nupkg = NupkgUpload.read(new DigestInputStream(is, digest)))
         {
-            if (nupkgFile.getNuspecFile() == null)
+            NuspecFile nuspecFile = nupkg.getNuspecFile();
+            if (nuspecFile == null)
             {
                 return null;
             }
 
-            String path = String.format("%s/%s/%s.%s.nupkg",
-                                        nupkgFile.getId(),
-                                        nupkgFile.getVersion(),
-                                        nupkgFile.getId(),
-                                        nupkgFile.getVersion());
+            String id = nuspecFile.getMetadata().id;
+            String version = nuspecFile.getMetadata().version.toString();
 
+            String path = String.format("%s/%s/%s.%s.nupkg", id, version, id, version);
             RepositoryPath repositoryPath = repositoryPathResolver.resolve(storageId, repositoryId, path);
-            nugetArtifactManagementService.validateAndStore(repositoryPath, nupkgFile.getStream());
+            nugetArtifactManagementService.validateAndStore(repositoryPath, nupkg.getContent());
 
-            Path nuspecFile = Files.createTempFile(nupkgFile.getId(), "nuspec");
-            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(nuspecFile)))
-            {
-                nupkgFile.getNuspecFile().saveTo(outputStream);
-            }
-            path = String.format("%s/%s/%s.nuspec", nupkgFile.getId(), nupkgFile.getVersion(), nupkgFile.getId());
-            repositoryPath = repositoryPathResolver.resolve(storageId, repositoryId, path);
-            try (InputStream bis = new BufferedInputStream(Files.newInputStream(nuspecFile)))
-            {
-                nugetArtifactManagementService.validateAndStore(repositoryPath, bis);
-            }
+            ByteArrayOutputStream nuspecContent = new ByteArrayOutputStream();
+            nuspecFile.saveTo(nuspecContent);
 
-            Path hashFile = Files.createTempFile(String.format("%s.%s", nupkgFile.getId(), nupkgFile.getVersion()),
-                                                "nupkg.sha512");
+            path = String.format("%s/%s/%s.nuspec", id, version, id);
+            repositoryPath = repositoryPathResolver.resolve(storageId, repositoryId, path);
+            nugetArtifactManagementService.validateAndStore(repositoryPath,
+                                                            new ByteArrayInputStream(nuspecContent.toByteArray()));
 
-            try (OutputStream bos = new BufferedOutputStream(Files.newOutputStream(hashFile)))
-            {
-                nupkgFile.getHash().saveTo(bos);
-            }
+            // The whole package has been read through the digest by now, either while storing it or while spooling
+            // it.
+            ByteArrayOutputStream hashContent = new ByteArrayOutputStream();
+            new Hash(digest.digest()).saveTo(hashContent);
 
-            path = String.format("%s/%s/%s.%s.nupkg.sha512",
-                                 nupkgFile.getId(),
-                                 nupkgFile.getVersion(),
-                                 nupkgFile.getId(),
-                                 nupkgFile.getVersion());
+            path = String.format("%s/%s/%s.%s.nupkg.sha512", id, version, id, version);
             repositoryPath = repositoryPathResolver.resolve(storageId, repositoryId, path);
-            try (InputStream bis = new BufferedInputStream(Files.newInputStream(hashFile)))
-            {
-                nugetArtifactManagementService.validateAndStore(repositoryPath, bis);
-            }
+            nugetArtifactManagementService.validateAndStore(repositoryPath,
+                                                            new ByteArrayInputStream(hashContent.toByteArray()));
         }
 
         return new URI("");
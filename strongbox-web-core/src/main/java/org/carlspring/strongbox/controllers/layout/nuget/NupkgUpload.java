@@ -0,0 +1,226 @@
+package org.carlspring.strongbox.controllers.layout.nuget;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.TeeInputStream;
+import org.apache.commons.io.output.DeferredFileOutputStream;
+import ru.aristar.jnuget.files.NugetFormatException;
+import ru.aristar.jnuget.files.nuspec.NuspecFile;
+
+/**
+ * A NuGet package being uploaded, read in a single pass.
+ * <p>
+ * The <code>.nuspec</code> is looked for while the beginning of the package is buffered: packages made by
+ * <code>nuget pack</code> have it among their first entries, and the package content is then the buffered beginning
+ * followed by the rest of the upload stream, so that it can be stored without an intermediate file. Once more than
+ * {@link #NUSPEC_SCAN_LIMIT} bytes have been read without finding the <code>.nuspec</code> (or the entries can't be
+ * read as a stream), the package is spooled to a temporary file and the <code>.nuspec</code> is read using the zip
+ * central directory.
+ */
+class NupkgUpload
+        implements Closeable
+{
+
+    private static final String NUSPEC_EXTENSION = ".nuspec";
+
+    /**
+     * How much of the package is buffered while looking for the <code>.nuspec</code>.
+     */
+    private static final int NUSPEC_SCAN_LIMIT = 4 * 1024 * 1024;
+
+    private final NuspecFile nuspecFile;
+
+    private final InputStream content;
+
+    private final Path spoolFile;
+
+    private NupkgUpload(NuspecFile nuspecFile,
+                        InputStream content,
+                        Path spoolFile)
+    {
+        this.nuspecFile = nuspecFile;
+        this.content = content;
+        this.spoolFile = spoolFile;
+    }
+
+    /**
+     * @param is the package stream, which is read by the returned upload (but not closed)
+     */
+    static NupkgUpload read(InputStream is)
+        throws IOException,
+               NugetFormatException
+    {
+        // Everything read from the upload is teed here, and moved to a file once the scan limit is exceeded.
+        DeferredFileOutputStream head = new DeferredFileOutputStream(NUSPEC_SCAN_LIMIT, "nupkg", "upload", null);
+        try
+        {
+            // The zip stream is not closed, as that would close the upload stream as well.
+            ZipInputStream zis = new ZipInputStream(new TeeInputStream(is, head));
+            try
+            {
+                for (ZipEntry entry = zis.getNextEntry();
+                     entry != null && head.isInMemory();
+                     entry = zis.getNextEntry())
+                {
+                    if (!isNuspec(entry))
+                    {
+                        continue;
+                    }
+
+                    byte[] nuspec = IOUtils.toByteArray(zis);
+                    if (!head.isInMemory())
+                    {
+                        break;
+                    }
+
+                    NuspecFile nuspecFile = NuspecFile.Parse(new ByteArrayInputStream(nuspec));
+                    InputStream content = new SequenceInputStream(new ByteArrayInputStream(head.getData()), is);
+
+                    return new NupkgUpload(nuspecFile, content, null);
+                }
+            }
+            catch (ZipException e)
+            {
+                return spool(head, is);
+            }
+
+            if (head.isInMemory())
+            {
+                // An empty or invalid package: there is no content to store.
+                return new NupkgUpload(null, null, null);
+            }
+
+            return spool(head, is);
+        }
+        catch (IOException | NugetFormatException | RuntimeException e)
+        {
+            head.close();
+            if (!head.isInMemory())
+            {
+                Files.deleteIfExists(head.getFile().toPath());
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the rest of the package into the head, which is then stored in a file (unless it has already been moved to
+     * one).
+     */
+    private static NupkgUpload spool(DeferredFileOutputStream head,
+                                     InputStream is)
+        throws IOException,
+               NugetFormatException
+    {
+        try (OutputStream os = head)
+        {
+            IOUtils.copy(is, os);
+        }
+
+        Path spoolFile;
+        if (head.isInMemory())
+        {
+            spoolFile = Files.createTempFile("nupkg", "upload");
+            try
+            {
+                Files.write(spoolFile, head.getData());
+            }
+            catch (IOException e)
+            {
+                Files.deleteIfExists(spoolFile);
+
+                throw e;
+            }
+        }
+        else
+        {
+            spoolFile = head.getFile().toPath();
+        }
+
+        try
+        {
+            NuspecFile nuspecFile = null;
+            try (ZipFile zipFile = new ZipFile(spoolFile.toFile()))
+            {
+                for (Enumeration<? extends ZipEntry> entries = zipFile.entries(); entries.hasMoreElements(); )
+                {
+                    ZipEntry entry = entries.nextElement();
+                    if (isNuspec(entry))
+                    {
+                        try (InputStream nuspecIs = zipFile.getInputStream(entry))
+                        {
+                            nuspecFile = NuspecFile.Parse(nuspecIs);
+                        }
+                        break;
+                    }
+                }
+            }
+
+            return new NupkgUpload(nuspecFile, new BufferedInputStream(Files.newInputStream(spoolFile)), spoolFile);
+        }
+        catch (IOException | NugetFormatException | RuntimeException e)
+        {
+            Files.deleteIfExists(spoolFile);
+
+            throw e;
+        }
+    }
+
+    private static boolean isNuspec(ZipEntry entry)
+    {
+        return !entry.isDirectory() && entry.getName().indexOf('/') < 0 &&
+               entry.getName().toLowerCase().endsWith(NUSPEC_EXTENSION);
+    }
+
+    /**
+     * @return the <code>.nuspec</code> of the package, or <code>null</code> if it has none
+     */
+    NuspecFile getNuspecFile()
+    {
+        return nuspecFile;
+    }
+
+    /**
+     * @return the whole package
+     */
+    InputStream getContent()
+    {
+        return content;
+    }
+
+    @Override
+    public void close()
+        throws IOException
+    {
+        try
+        {
+            if (content != null)
+            {
+                content.close();
+            }
+        }
+        finally
+        {
+            if (spoolFile != null)
+            {
+                Files.deleteIfExists(spoolFile);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package org.carlspring.strongbox.controllers.support;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ConfigurationVersionEntityBody
+{
+
+    @JsonProperty("version")
+    private long version;
+
+    @JsonProperty("clusterVersion")
+    private long clusterVersion;
+
+    @JsonCreator
+    public ConfigurationVersionEntityBody(@JsonProperty("version") long version,
+                                          @JsonProperty("clusterVersion") long clusterVersion)
+    {
+        this.version = version;
+        this.clusterVersion = clusterVersion;
+    }
+
+    public long getVersion()
+    {
+        return version;
+    }
+
+    public long getClusterVersion()
+    {
+        return clusterVersion;
+    }
+
+}
@@ -33,6 +33,7 @@ public enum StorageFormConverter
             result.initDefaultBasedir(source.getId());
         }
         result.setId(source.getId());
+        result.setDeduplicate(source.isDeduplicate());
         List<RepositoryForm> repositories = source.getRepositories();
         if (repositories != null)
         {
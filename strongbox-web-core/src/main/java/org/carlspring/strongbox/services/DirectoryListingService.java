@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Map;
 
+import org.carlspring.strongbox.data.criteria.Paginator;
 import org.carlspring.strongbox.domain.DirectoryListing;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.storage.Storage;
@@ -18,6 +19,20 @@ public interface DirectoryListingService
 
     DirectoryListing fromRepositoryPath(RepositoryPath path)
         throws IOException;
+
+    /**
+     * Lists one page of the directory content, ordered by name.
+     *
+     * @param path      the directory to list
+     * @param cursor    the {@link DirectoryListing#getNextCursor()} of the previous page, or <code>null</code> for the
+     *                  first page
+     * @param paginator the page size and the name ordering; {@link Paginator#getSkip()} and
+     *                  {@link Paginator#getProperty()} are not used
+     */
+    DirectoryListing fromRepositoryPath(RepositoryPath path,
+                                        String cursor,
+                                        Paginator paginator)
+        throws IOException;
     
     DirectoryListing fromPath(Path root, Path path)
             throws IOException;
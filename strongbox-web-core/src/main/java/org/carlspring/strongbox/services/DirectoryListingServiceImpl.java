@@ -3,21 +3,20 @@ package org.carlspring.strongbox.services;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.attribute.FileTime;
-import java.util.ArrayList;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Comparator;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.TreeSet;
 
 import org.apache.commons.lang.StringUtils;
+import org.carlspring.strongbox.data.criteria.Paginator;
 import org.carlspring.strongbox.domain.DirectoryListing;
 import org.carlspring.strongbox.domain.FileContent;
-import org.carlspring.strongbox.providers.io.RepositoryFileAttributeType;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
@@ -79,83 +78,136 @@ public class DirectoryListingServiceImpl implements DirectoryListingService
     public DirectoryListing fromRepositoryPath(RepositoryPath path)
         throws IOException
     {
-        return fromPath(path);
+        return fromPath(path, null, Integer.MAX_VALUE, Paginator.Order.ASC);
     }
 
-    private DirectoryListing fromPath(Path path)
+    @Override
+    public DirectoryListing fromRepositoryPath(RepositoryPath path,
+                                               String cursor,
+                                               Paginator paginator)
+        throws IOException
+    {
+        return fromPath(path, cursor, Math.max(1, paginator.getLimit()), paginator.getOrder());
+    }
+
+    private DirectoryListing fromPath(Path path,
+                                      String cursor,
+                                      int limit,
+                                      Paginator.Order order)
         throws IOException
     {
         path = path.normalize();
 
-        DirectoryListing directoryListing = new DirectoryListing();
+        Comparator<String> comparator = Paginator.Order.DESC.equals(order) ? Comparator.reverseOrder()
+                                                                           : Comparator.naturalOrder();
+        TreeSet<String> names = selectPage(path, cursor, limit, comparator);
 
-        Map<String, List<FileContent>> content = generateDirectoryListing(path);
+        DirectoryListing directoryListing = new DirectoryListing();
+        if (names.size() > limit)
+        {
+            names.pollLast();
+            directoryListing.setNextCursor(names.last());
+        }
 
-        directoryListing.setDirectories(content.get("directories"));
-        directoryListing.setFiles(content.get("files"));
+        // Attributes are only read for the entries of the requested page.
+        for (String name : names)
+        {
+            addFileContent(directoryListing, path.resolve(name));
+        }
 
         return directoryListing;
     }
 
-    private Map<String, List<FileContent>> generateDirectoryListing(Path path)
+    /**
+     * Scans the directory and keeps only the names of the requested page, plus one more to know whether there is a
+     * next page, so that neither the whole listing nor its attributes have to be held in memory.
+     */
+    private TreeSet<String> selectPage(Path path,
+                                       String cursor,
+                                       int limit,
+                                       Comparator<String> comparator)
         throws IOException
     {
-        List<FileContent> directories = new ArrayList<>();
-        List<FileContent> files = new ArrayList<>();
+        TreeSet<String> names = new TreeSet<>(comparator);
 
-        List<Path> contentPaths;
-        try (Stream<Path> pathStream = Files.list(path))
+        try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(path))
         {
-            contentPaths = pathStream
-                                   .filter(p -> !p.toFile().getName().startsWith("."))
-                                   .filter(p -> {
-                                       try
-                                       {
-                                           return !Files.isHidden(p);
-                                       }
-                                       catch (IOException e)
-                                       {
-                                           logger.debug("Error accessing path {}", p);
-                                           return false;
-                                       }
-                                   })
-                                   .sorted()
-                                   .collect(Collectors.toList());
+            for (Path contentPath : directoryStream)
+            {
+                String name = contentPath.getFileName().toString();
+                if (name.startsWith(".") || cursor != null && comparator.compare(name, cursor) <= 0)
+                {
+                    continue;
+                }
+
+                if (names.size() > limit && comparator.compare(name, names.last()) >= 0)
+                {
+                    continue;
+                }
+
+                if (isHidden(contentPath))
+                {
+                    continue;
+                }
+
+                names.add(name);
+                if (names.size() > limit + 1L)
+                {
+                    names.pollLast();
+                }
+            }
         }
 
-        for (Path contentPath : contentPaths)
-        {
-            FileContent file = new FileContent(contentPath.getFileName().toString());
-
-            Map<String, Object> fileAttributes = Files.readAttributes(contentPath, "*");
+        return names;
+    }
 
-            file.setStorageId((String) fileAttributes.get(RepositoryFileAttributeType.STORAGE_ID.getName()));
-            file.setRepositoryId((String) fileAttributes.get(RepositoryFileAttributeType.REPOSITORY_ID.getName()));
+    private boolean isHidden(Path path)
+    {
+        try
+        {
+            return Files.isHidden(path);
+        }
+        catch (IOException e)
+        {
+            logger.debug("Error accessing path {}", path);
+            return true;
+        }
+    }
 
-            file.setArtifactPath((String) fileAttributes.get("artifactPath"));
+    private void addFileContent(DirectoryListing directoryListing,
+                                Path contentPath)
+        throws IOException
+    {
+        FileContent file = new FileContent(contentPath.getFileName().toString());
 
-            if (Boolean.TRUE.equals(fileAttributes.get("isDirectory")))
-            {
-                file.setUrl(calculateDirectoryUrl(file));
+        BasicFileAttributes fileAttributes = Files.readAttributes(contentPath, BasicFileAttributes.class);
 
-                directories.add(file);
+        RepositoryPath repositoryPath = contentPath instanceof RepositoryPath ? (RepositoryPath) contentPath : null;
+        if (repositoryPath != null)
+        {
+            file.setStorageId(repositoryPath.getRepository().getStorage().getId());
+            file.setRepositoryId(repositoryPath.getRepository().getId());
+            file.setArtifactPath(RepositoryFiles.relativizePath(repositoryPath));
+        }
 
-                continue;
-            }
+        if (fileAttributes.isDirectory())
+        {
+            file.setUrl(calculateDirectoryUrl(file));
 
-            file.setUrl((URL) fileAttributes.get(RepositoryFileAttributeType.RESOURCE_URL.getName()));
+            directoryListing.getDirectories().add(file);
 
-            file.setLastModified(new Date(((FileTime) fileAttributes.get("lastModifiedTime")).toMillis()));
-            file.setSize((Long) fileAttributes.get("size"));
+            return;
+        }
 
-            files.add(file);
+        if (repositoryPath != null)
+        {
+            file.setUrl(RepositoryFiles.readResourceUrl(repositoryPath));
         }
 
-        Map<String, List<FileContent>> listing = new HashMap<>();
-        listing.put("directories", directories);
-        listing.put("files", files);
+        file.setLastModified(new Date(fileAttributes.lastModifiedTime().toMillis()));
+        file.setSize(fileAttributes.size());
 
-        return listing;
+        directoryListing.getFiles().add(file);
     }
 
     /**
@@ -185,7 +237,7 @@ public class DirectoryListingServiceImpl implements DirectoryListingService
             throw new RuntimeException(message);
         }
 
-        return fromPath(path);
+        return fromPath(path, null, Integer.MAX_VALUE, Paginator.Order.ASC);
     }
 
     private URL calculateDirectoryUrl(FileContent file)
@@ -1,5 +1,7 @@
 package org.carlspring.strongbox.utils;
 
+import org.carlspring.strongbox.web.StorageRequestRoute;
+
 import javax.servlet.http.HttpServletRequest;
 
 import org.springframework.web.context.request.RequestContextHolder;
@@ -23,11 +25,23 @@ public class UrlUtils
 
     public static String getCurrentStorageId()
     {
+        StorageRequestRoute route = StorageRequestRoute.current();
+        if (route != null)
+        {
+            return route.getStorageId();
+        }
+
         return getSubPath(getRequestUri(), 2);
     }
 
     public static String getCurrentRepositoryId()
     {
+        StorageRequestRoute route = StorageRequestRoute.current();
+        if (route != null)
+        {
+            return route.getRepositoryId();
+        }
+
         return getSubPath(getRequestUri(), 3);
     }
 
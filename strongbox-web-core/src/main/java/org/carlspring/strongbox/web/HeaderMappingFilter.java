@@ -1,11 +1,9 @@
 package org.carlspring.strongbox.web;
 
-import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.booters.StorageBooter;
 import org.carlspring.strongbox.controllers.layout.maven.MavenArtifactController;
 import org.carlspring.strongbox.controllers.layout.nuget.NugetArtifactController;
 import org.carlspring.strongbox.providers.header.HeaderMappingRegistry;
-import org.carlspring.strongbox.storage.Storage;
-import org.carlspring.strongbox.storage.repository.Repository;
 
 import javax.inject.Inject;
 import javax.servlet.*;
@@ -22,6 +20,10 @@ import java.util.*;
  * &emsp;'user-agent = NuGet Command Line/2.8.60717.93 (Unix 4.4.0.45)'->'NuGet/*'<br>
  * <p>
  * Such type of mapping is used in storage controllers to map requests according 'user-agent' header type.
+ * <p>
+ * The requested storage and repository are resolved here once, and the resulting {@link StorageRequestRoute} is
+ * exposed as the {@link StorageRequestRoute#REQUEST_ATTRIBUTE} request attribute. Requests to a repository which the
+ * {@link StorageBooter} has not initialized yet are rejected with <code>503 Service Unavailable</code>.
  *
  * @author Sergey Bespalov
  * @see {@link MavenArtifactController} {@link NugetArtifactController}
@@ -32,11 +34,16 @@ public class HeaderMappingFilter
 
     private static final String USER_AGENT_UNKNOWN = "unknown";
 
+    private static final String RETRY_AFTER_SECONDS = "5";
+
     @Inject
     private HeaderMappingRegistry headerMappingRegistry;
 
     @Inject
-    private ConfigurationManager configurationManager;
+    private StorageRequestRouter storageRequestRouter;
+
+    @Inject
+    private StorageBooter storageBooter;
 
 
     @Override
@@ -52,10 +59,10 @@ public class HeaderMappingFilter
             throws IOException,
                    ServletException
     {
-        String layout;
+        StorageRequestRoute route;
         try
         {
-            layout = getRequestedLayout(((HttpServletRequest) request).getServletPath());
+            route = storageRequestRouter.route(((HttpServletRequest) request).getServletPath());
         }
         catch (IllegalArgumentException e)
         {
@@ -65,41 +72,29 @@ public class HeaderMappingFilter
             return;
         }
 
-        ServletRequest targetRequest = request instanceof HttpServletRequest
-                                       ? new ServletRequestDecorator((HttpServletRequest) request, layout)
-                                       : request;
-        chain.doFilter(targetRequest, response);
-    }
-
-    private String getRequestedLayout(String servletPath)
-    {
-        if (!servletPath.startsWith("/storages"))
+        if (route != null && !storageBooter.isRepositoryReady(route.getStorageId(), route.getRepositoryId()))
         {
-            return null;
-        }
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            httpResponse.setHeader("Retry-After", RETRY_AFTER_SECONDS);
+            httpResponse.getWriter().append(String.format("Repository [%s:%s] is not ready",
+                                                          route.getStorageId(),
+                                                          route.getRepositoryId()));
 
-        String[] pathParts = servletPath.split("/");
-        if (pathParts.length < 4)
-        {
-            return null;
+            return;
         }
 
-        String storageId = pathParts[2];
-        String repositoryId = pathParts[3];
-
-        Storage storage = configurationManager.getConfiguration().getStorage(storageId);
-        if (storage == null)
-        {
-            throw new IllegalArgumentException(String.format("Storage not found [%s]", storageId));
-        }
-        
-        Repository repository = storage.getRepository(repositoryId);
-        if (repository == null)
+        String layout = null;
+        if (route != null)
         {
-            throw new IllegalArgumentException(String.format("Repository not found [%s]", repositoryId));
+            request.setAttribute(StorageRequestRoute.REQUEST_ATTRIBUTE, route);
+            layout = route.getLayout();
         }
 
-        return repository.getLayout();
+        ServletRequest targetRequest = request instanceof HttpServletRequest
+                                       ? new ServletRequestDecorator((HttpServletRequest) request, layout)
+                                       : request;
+        chain.doFilter(targetRequest, response);
     }
 
     @Override
@@ -117,6 +112,8 @@ public class HeaderMappingFilter
 
         private String layout;
 
+        private String userAgent;
+
 
         public ServletRequestDecorator(HttpServletRequest target,
                                        String layout)
@@ -130,24 +127,35 @@ public class HeaderMappingFilter
         @Override
         public String getHeader(String name)
         {
-            String headerValue = target.getHeader(name);
             if (!HEADER_NAME_USER_AGENT.equals(name))
             {
-                return headerValue;
+                return target.getHeader(name);
+            }
+
+            // The mapped value can't change during the request, so it is only computed once.
+            if (userAgent == null)
+            {
+                userAgent = mapUserAgent(target.getHeader(name));
             }
 
+            return userAgent;
+        }
+
+        private String mapUserAgent(String headerValue)
+        {
             if (headerValue == null)
             {
                 return USER_AGENT_UNKNOWN;
             }
 
+            String headerValueUpperCase = headerValue.toUpperCase();
             Optional<String> targetUserAgent = headerMappingRegistry.getUserAgentMap()
                                                                     .keySet()
                                                                     .stream()
                                                                     .filter((k) ->
                                                                             {
-                                                                                return headerValue.toUpperCase()
-                                                                                                  .contains(k.toUpperCase());
+                                                                                return headerValueUpperCase.contains(
+                                                                                        k.toUpperCase());
                                                                             })
                                                                     .findFirst();
 
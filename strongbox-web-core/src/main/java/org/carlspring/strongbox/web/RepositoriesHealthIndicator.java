@@ -0,0 +1,42 @@
+package org.carlspring.strongbox.web;
+
+import org.carlspring.strongbox.booters.StorageBooter;
+import org.carlspring.strongbox.booters.StorageBooter.RepositoryInitializationState;
+
+import javax.inject.Inject;
+import java.util.Map;
+
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the initialization state of each repository, as tracked by the {@link StorageBooter}.
+ */
+@Component
+public class RepositoriesHealthIndicator
+        extends AbstractHealthIndicator
+{
+
+    @Inject
+    private StorageBooter storageBooter;
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder)
+    {
+        Map<String, RepositoryInitializationState> states = storageBooter.getRepositoryInitializationStates();
+
+        // Repositories still being initialized only reject their own requests, the instance is up meanwhile.
+        if (states.containsValue(RepositoryInitializationState.FAILED))
+        {
+            builder.down();
+        }
+        else
+        {
+            builder.up();
+        }
+
+        builder.withDetail("repositories", states);
+    }
+
+}
@@ -0,0 +1,172 @@
+package org.carlspring.strongbox.web;
+
+import org.carlspring.strongbox.metrics.RequestTimings;
+
+import javax.servlet.*;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Binds a {@link RequestTimings} context to each request, and logs the per-phase breakdown of the requests which take
+ * longer than the {@link #THRESHOLD_PROPERTY} system property (in milliseconds, a negative value disables the log).
+ * <p>
+ * With the {@link #SERVER_TIMING_PROPERTY} system property set, the breakdown is also sent back in the
+ * <code>Server-Timing</code> response header. Headers can't be changed once the body starts, so the header covers
+ * the phases up to that point.
+ */
+public class SlowRequestFilter
+        implements Filter
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowRequestFilter.class);
+
+    public static final String THRESHOLD_PROPERTY = "strongbox.http.slow.request.threshold";
+
+    public static final String SERVER_TIMING_PROPERTY = "strongbox.http.server.timing";
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final long thresholdMillis = Long.getLong(THRESHOLD_PROPERTY, 2000L);
+
+    private final boolean serverTiming = Boolean.getBoolean(SERVER_TIMING_PROPERTY);
+
+    @Override
+    public void init(FilterConfig filterConfig)
+    {
+        // Do nothing
+    }
+
+    @Override
+    public void doFilter(ServletRequest request,
+                         ServletResponse response,
+                         FilterChain chain)
+            throws IOException,
+                   ServletException
+    {
+        if (!(request instanceof HttpServletRequest) || RequestTimings.current() != null ||
+            thresholdMillis < 0 && !serverTiming)
+        {
+            chain.doFilter(request, response);
+
+            return;
+        }
+
+        RequestTimings timings = RequestTimings.start();
+        try
+        {
+            chain.doFilter(request, serverTiming ?
+                                    new ServerTimingResponse((HttpServletResponse) response, timings) :
+                                    response);
+        }
+        finally
+        {
+            RequestTimings.end();
+
+            long elapsedMillis = timings.getElapsed(TimeUnit.MILLISECONDS);
+            if (thresholdMillis >= 0 && elapsedMillis > thresholdMillis)
+            {
+                HttpServletRequest httpRequest = (HttpServletRequest) request;
+                logger.warn(String.format("Slow request [%s %s] took [%s] ms: %s",
+                                          httpRequest.getMethod(),
+                                          httpRequest.getRequestURI(),
+                                          elapsedMillis,
+                                          timings.toLogString()));
+            }
+        }
+    }
+
+    @Override
+    public void destroy()
+    {
+    }
+
+    /**
+     * Adds the <code>Server-Timing</code> header right before the response gets committed.
+     */
+    private static class ServerTimingResponse
+            extends HttpServletResponseWrapper
+    {
+
+        private final RequestTimings timings;
+
+        private boolean headerWritten;
+
+        ServerTimingResponse(HttpServletResponse response,
+                             RequestTimings timings)
+        {
+            super(response);
+            this.timings = timings;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream()
+                throws IOException
+        {
+            writeHeader();
+
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter()
+                throws IOException
+        {
+            writeHeader();
+
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer()
+                throws IOException
+        {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc,
+                              String msg)
+                throws IOException
+        {
+            writeHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc)
+                throws IOException
+        {
+            writeHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location)
+                throws IOException
+        {
+            writeHeader();
+            super.sendRedirect(location);
+        }
+
+        private void writeHeader()
+        {
+            if (headerWritten || isCommitted())
+            {
+                return;
+            }
+
+            headerWritten = true;
+            addHeader(SERVER_TIMING_HEADER, timings.toServerTiming());
+        }
+
+    }
+
+}
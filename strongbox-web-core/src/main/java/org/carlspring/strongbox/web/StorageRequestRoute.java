@@ -0,0 +1,97 @@
+package org.carlspring.strongbox.web;
+
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.servlet.ServletRequest;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * The storage, repository and relative path which a <code>/storages/{storageId}/{repositoryId}/{path}</code> request
+ * is routed to.
+ * <p>
+ * It is resolved once per request by {@link StorageRequestRouter} in {@link HeaderMappingFilter} and attached to the
+ * request, so that filters, security voters and controllers can reuse it instead of parsing the path and looking up
+ * the configuration again.
+ */
+public class StorageRequestRoute
+{
+
+    public static final String REQUEST_ATTRIBUTE = StorageRequestRoute.class.getName();
+
+    private final Repository repository;
+
+    private final String path;
+
+    public StorageRequestRoute(Repository repository,
+                               String path)
+    {
+        this.repository = repository;
+        this.path = path;
+    }
+
+    public String getStorageId()
+    {
+        return repository.getStorage().getId();
+    }
+
+    public String getRepositoryId()
+    {
+        return repository.getId();
+    }
+
+    public Repository getRepository()
+    {
+        return repository;
+    }
+
+    public String getLayout()
+    {
+        return repository.getLayout();
+    }
+
+    /**
+     * @return the path relative to the repository root, or an empty string for the repository root itself
+     */
+    public String getPath()
+    {
+        return path;
+    }
+
+    public boolean matches(String storageId,
+                           String repositoryId)
+    {
+        return getStorageId().equals(storageId) && getRepositoryId().equals(repositoryId);
+    }
+
+    public static StorageRequestRoute get(ServletRequest request)
+    {
+        Object route = request.getAttribute(REQUEST_ATTRIBUTE);
+
+        return route instanceof StorageRequestRoute ? (StorageRequestRoute) route : null;
+    }
+
+    /**
+     * @return the route of the request bound to the current thread, if any
+     */
+    public static StorageRequestRoute current()
+    {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null)
+        {
+            return null;
+        }
+
+        Object route = requestAttributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+
+        return route instanceof StorageRequestRoute ? (StorageRequestRoute) route : null;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%s:%s/%s", getStorageId(), getRepositoryId(), path);
+    }
+
+}
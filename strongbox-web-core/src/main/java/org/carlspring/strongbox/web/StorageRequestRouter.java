@@ -0,0 +1,114 @@
+package org.carlspring.strongbox.web;
+
+import org.carlspring.strongbox.configuration.Configuration;
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves <code>/storages/{storageId}/{repositoryId}/{path}</code> servlet paths into {@link StorageRequestRoute}s.
+ * <p>
+ * Storages and repositories are looked up in a table which is compiled once per {@link Configuration} instance, so
+ * that routing a request costs a couple of <code>indexOf</code> calls and hash lookups.
+ */
+@Component
+public class StorageRequestRouter
+{
+
+    private static final String STORAGES_PATH_PREFIX = "/storages/";
+
+    @Inject
+    private ConfigurationManager configurationManager;
+
+    private volatile RoutingTable routingTable;
+
+    /**
+     * @param servletPath the servlet path of the request
+     * @return the resolved route, or <code>null</code> if the path does not address a repository
+     * @throws IllegalArgumentException if the addressed storage or repository does not exist
+     */
+    public StorageRequestRoute route(String servletPath)
+    {
+        if (servletPath == null || !servletPath.startsWith(STORAGES_PATH_PREFIX))
+        {
+            return null;
+        }
+
+        int storageIdStart = STORAGES_PATH_PREFIX.length();
+        int storageIdEnd = servletPath.indexOf('/', storageIdStart);
+        if (storageIdEnd < 0)
+        {
+            return null;
+        }
+
+        int repositoryIdStart = storageIdEnd + 1;
+        int repositoryIdEnd = servletPath.indexOf('/', repositoryIdStart);
+        if (repositoryIdEnd < 0 && repositoryIdStart == servletPath.length())
+        {
+            return null;
+        }
+
+        String storageId = servletPath.substring(storageIdStart, storageIdEnd);
+        String repositoryId = repositoryIdEnd < 0 ? servletPath.substring(repositoryIdStart)
+                                                  : servletPath.substring(repositoryIdStart, repositoryIdEnd);
+        String path = repositoryIdEnd < 0 ? "" : servletPath.substring(repositoryIdEnd + 1);
+
+        RoutingTable table = getRoutingTable();
+
+        Map<String, Repository> repositories = table.storages.get(storageId);
+        if (repositories == null)
+        {
+            throw new IllegalArgumentException(String.format("Storage not found [%s]", storageId));
+        }
+
+        Repository repository = repositories.get(repositoryId);
+        if (repository == null)
+        {
+            throw new IllegalArgumentException(String.format("Repository not found [%s]", repositoryId));
+        }
+
+        return new StorageRequestRoute(repository, path);
+    }
+
+    private RoutingTable getRoutingTable()
+    {
+        Configuration configuration = configurationManager.getConfiguration();
+
+        RoutingTable table = routingTable;
+        if (table == null || table.configuration != configuration)
+        {
+            routingTable = table = new RoutingTable(configuration);
+        }
+
+        return table;
+    }
+
+    private static class RoutingTable
+    {
+
+        private final Configuration configuration;
+
+        private final Map<String, Map<String, Repository>> storages;
+
+        RoutingTable(Configuration configuration)
+        {
+            this.configuration = configuration;
+
+            Map<String, Map<String, Repository>> storages = new HashMap<>();
+            for (Storage storage : configuration.getStorages().values())
+            {
+                storages.put(storage.getId(), new HashMap<>(storage.getRepositories()));
+            }
+            this.storages = Collections.unmodifiableMap(storages);
+        }
+
+    }
+
+}
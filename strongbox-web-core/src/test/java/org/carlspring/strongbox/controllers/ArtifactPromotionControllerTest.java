@@ -0,0 +1,225 @@
+package org.carlspring.strongbox.controllers;
+
+import org.carlspring.strongbox.config.IntegrationTest;
+import org.carlspring.strongbox.providers.layout.Maven2LayoutProvider;
+import org.carlspring.strongbox.rest.common.MavenRestAssuredBaseTest;
+import org.carlspring.strongbox.services.support.ArtifactPromotionRequest;
+import org.carlspring.strongbox.storage.repository.MavenRepositoryFactory;
+import org.carlspring.strongbox.storage.repository.MutableRepository;
+import org.carlspring.strongbox.xml.configuration.repository.MutableMavenRepositoryConfiguration;
+
+import javax.inject.Inject;
+import javax.xml.bind.JAXBException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import io.restassured.module.mockmvc.response.ValidatableMockMvcResponse;
+import io.restassured.module.mockmvc.specification.MockMvcRequestSpecification;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import static io.restassured.module.mockmvc.RestAssuredMockMvc.given;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@IntegrationTest
+public class ArtifactPromotionControllerTest
+        extends MavenRestAssuredBaseTest
+{
+
+    private static final String REPOSITORY_STAGING = "apct-staging";
+
+    private static final String REPOSITORY_RELEASES = "apct-releases";
+
+    private static final String ARTIFACT_PATH = "org/carlspring/strongbox/promotion/apct-artifact/1.0/" +
+                                                "apct-artifact-1.0.jar";
+
+    private static final String POM_PATH = "org/carlspring/strongbox/promotion/apct-artifact/1.0/" +
+                                           "apct-artifact-1.0.pom";
+
+    @Inject
+    private MavenRepositoryFactory mavenRepositoryFactory;
+
+
+    @BeforeAll
+    public static void cleanUp()
+            throws Exception
+    {
+        cleanUp(getRepositoriesToClean());
+    }
+
+    @Override
+    @BeforeEach
+    public void init()
+            throws Exception
+    {
+        super.init();
+
+        MutableMavenRepositoryConfiguration mavenRepositoryConfiguration = new MutableMavenRepositoryConfiguration();
+        mavenRepositoryConfiguration.setIndexingEnabled(false);
+
+        for (String repositoryId : Arrays.asList(REPOSITORY_STAGING, REPOSITORY_RELEASES))
+        {
+            MutableRepository repository = mavenRepositoryFactory.createRepository(repositoryId);
+            repository.setAllowsRedeployment(true);
+            repository.setRepositoryConfiguration(mavenRepositoryConfiguration);
+
+            createRepository(STORAGE0, repository);
+        }
+
+        generateArtifact(getRepositoryBasedir(STORAGE0, REPOSITORY_STAGING).getAbsolutePath(),
+                         "org.carlspring.strongbox.promotion:apct-artifact:1.0");
+    }
+
+    @AfterEach
+    public void removeRepositories()
+            throws IOException, JAXBException
+    {
+        removeRepositories(getRepositoriesToClean());
+    }
+
+    public static Set<MutableRepository> getRepositoriesToClean()
+    {
+        Set<MutableRepository> repositories = new LinkedHashSet<>();
+        repositories.add(createRepositoryMock(STORAGE0, REPOSITORY_STAGING, Maven2LayoutProvider.ALIAS));
+        repositories.add(createRepositoryMock(STORAGE0, REPOSITORY_RELEASES, Maven2LayoutProvider.ALIAS));
+
+        return repositories;
+    }
+
+    @Test
+    public void testCopyArtifact()
+            throws IOException
+    {
+        promote("/copy", null, newRequest(ARTIFACT_PATH))
+                .statusCode(HttpStatus.OK.value())
+                .body("promoted", Matchers.contains(ARTIFACT_PATH))
+                .body("failed", Matchers.empty());
+
+        assertTrue(Files.exists(getStagingPath(ARTIFACT_PATH)));
+        assertArrayEquals(Files.readAllBytes(getStagingPath(ARTIFACT_PATH)),
+                          Files.readAllBytes(getReleasesPath(ARTIFACT_PATH)));
+        assertTrue(Files.exists(getReleasesPath(ARTIFACT_PATH + ".sha1")));
+        assertPathExists(getContextBaseUrl() + "/storages/" + STORAGE0 + "/" + REPOSITORY_RELEASES + "/" +
+                         ARTIFACT_PATH);
+    }
+
+    @Test
+    public void testMoveArtifact()
+            throws IOException
+    {
+        byte[] content = Files.readAllBytes(getStagingPath(ARTIFACT_PATH));
+
+        promote("/move", null, newRequest(ARTIFACT_PATH))
+                .statusCode(HttpStatus.OK.value())
+                .body("promoted", Matchers.contains(ARTIFACT_PATH));
+
+        assertFalse(Files.exists(getStagingPath(ARTIFACT_PATH)));
+        assertFalse(Files.exists(getStagingPath(ARTIFACT_PATH + ".sha1")));
+        assertArrayEquals(content, Files.readAllBytes(getReleasesPath(ARTIFACT_PATH)));
+        assertFalse(pathExists(getContextBaseUrl() + "/storages/" + STORAGE0 + "/" + REPOSITORY_STAGING + "/" +
+                               ARTIFACT_PATH));
+    }
+
+    @Test
+    public void testCopyReplacesExistingArtifact()
+            throws IOException
+    {
+        promote("/copy", null, newRequest(ARTIFACT_PATH)).statusCode(HttpStatus.OK.value());
+
+        // A new file, rather than an in place write, as the copy may be linked to it.
+        Path stagingPath = getStagingPath(ARTIFACT_PATH);
+        Files.delete(stagingPath);
+        Files.write(stagingPath, "updated".getBytes(StandardCharsets.UTF_8));
+
+        ArtifactPromotionRequest request = newRequest(ARTIFACT_PATH);
+        request.setAtomic(true);
+
+        promote("/copy", null, request)
+                .statusCode(HttpStatus.OK.value())
+                .body("promoted", Matchers.contains(ARTIFACT_PATH));
+
+        Path releasesPath = getReleasesPath(ARTIFACT_PATH);
+        assertArrayEquals("updated".getBytes(StandardCharsets.UTF_8), Files.readAllBytes(releasesPath));
+        assertFalse(Files.exists(releasesPath.resolveSibling(releasesPath.getFileName() + ".promotion-backup")));
+    }
+
+    @Test
+    public void testCopyArtifactsMatchingQuery()
+    {
+        String query = String.format("storage:%s+repository:%s+groupId:org.carlspring.strongbox.promotion",
+                                     STORAGE0, REPOSITORY_STAGING);
+
+        promote("/copy", query, newRequest())
+                .statusCode(HttpStatus.OK.value())
+                .body("promoted", Matchers.containsInAnyOrder(ARTIFACT_PATH, POM_PATH));
+
+        assertTrue(Files.exists(getReleasesPath(ARTIFACT_PATH)));
+        assertTrue(Files.exists(getReleasesPath(POM_PATH)));
+    }
+
+    @Test
+    public void testPromotionIntoTheSourceRepositoryIsRejected()
+            throws IOException
+    {
+        byte[] content = Files.readAllBytes(getStagingPath(ARTIFACT_PATH));
+
+        ArtifactPromotionRequest request = newRequest(ARTIFACT_PATH);
+        request.setDestRepositoryId(REPOSITORY_STAGING);
+
+        promote("/move", null, request).statusCode(HttpStatus.BAD_REQUEST.value());
+
+        assertArrayEquals(content, Files.readAllBytes(getStagingPath(ARTIFACT_PATH)));
+    }
+
+    private ValidatableMockMvcResponse promote(String operation,
+                                               String query,
+                                               ArtifactPromotionRequest request)
+    {
+        MockMvcRequestSpecification specification = given().contentType(MediaType.APPLICATION_JSON_VALUE)
+                                                           .accept(MediaType.APPLICATION_JSON_VALUE)
+                                                           .body(request);
+        if (query != null)
+        {
+            specification.queryParam("query", query);
+        }
+
+        return specification.when()
+                            .post(getContextBaseUrl() + "/api/promotion" + operation)
+                            .peek()
+                            .then();
+    }
+
+    private ArtifactPromotionRequest newRequest(String... paths)
+    {
+        ArtifactPromotionRequest request = new ArtifactPromotionRequest();
+        request.setSrcStorageId(STORAGE0);
+        request.setSrcRepositoryId(REPOSITORY_STAGING);
+        request.setDestStorageId(STORAGE0);
+        request.setDestRepositoryId(REPOSITORY_RELEASES);
+        request.setPaths(paths.length > 0 ? Arrays.asList(paths) : null);
+
+        return request;
+    }
+
+    private Path getStagingPath(String path)
+    {
+        return getRepositoryBasedir(STORAGE0, REPOSITORY_STAGING).toPath().resolve(path);
+    }
+
+    private Path getReleasesPath(String path)
+    {
+        return getRepositoryBasedir(STORAGE0, REPOSITORY_RELEASES).toPath().resolve(path);
+    }
+
+}
@@ -233,6 +233,46 @@ public class BrowseControllerTest
         assertTrue(htmlResponse.contains(link), "Expected to have found [ " + link + " ] in the response html");
     }
 
+    @Test
+    public void testRepositoryContentsPagination()
+    {
+        String url = getContextBaseUrl() + "/" + STORAGE0 + "/" + REPOSITORY
+                     + "/org/carlspring/strongbox/browsing/test-browsing/1.1";
+
+        DirectoryListing firstPage = given().accept(MediaType.APPLICATION_JSON_VALUE)
+                                            .param("limit", 4)
+                                            .when()
+                                            .get(url)
+                                            .prettyPeek()
+                                            .as(DirectoryListing.class);
+
+        assertEquals(4, firstPage.getFiles().size(), "Invalid first page returned");
+        assertEquals("test-browsing-1.1.jar", firstPage.getFiles().get(0).getName());
+        assertEquals("test-browsing-1.1.pom", firstPage.getNextCursor());
+
+        DirectoryListing secondPage = given().accept(MediaType.APPLICATION_JSON_VALUE)
+                                             .param("limit", 4)
+                                             .param("cursor", firstPage.getNextCursor())
+                                             .when()
+                                             .get(url)
+                                             .prettyPeek()
+                                             .as(DirectoryListing.class);
+
+        assertEquals(2, secondPage.getFiles().size(), "Invalid second page returned");
+        assertEquals("test-browsing-1.1.pom.md5", secondPage.getFiles().get(0).getName());
+        assertNull(secondPage.getNextCursor());
+
+        DirectoryListing descendingPage = given().accept(MediaType.APPLICATION_JSON_VALUE)
+                                                 .param("limit", 1)
+                                                 .param("order", "DESC")
+                                                 .when()
+                                                 .get(url)
+                                                 .prettyPeek()
+                                                 .as(DirectoryListing.class);
+
+        assertEquals("test-browsing-1.1.pom.sha1", descendingPage.getFiles().get(0).getName());
+    }
+
     @Test
     public void testRepositoryContentsWithRepositoryNotFound()
     {
@@ -104,6 +104,48 @@ public class AqlControllerTest extends MavenRestAssuredBaseTest
                .body("artifact", Matchers.hasSize(4));
     }
 
+    @Test
+    public void testSearchWithFieldProjection()
+        throws Exception
+    {
+        given().accept(MediaType.APPLICATION_JSON_VALUE)
+               .queryParam("query",
+                           String.format("storage:%s+repository:%s+groupId:org.carlspring.strongbox.searches+version:1.0.11.3",
+                                         STORAGE_SC_TEST, REPOSITORY_RELEASES))
+               .queryParam("fields", "coordinates,size")
+               .when()
+               .get(getContextBaseUrl() + "/api/aql")
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .body("artifact", Matchers.hasSize(2))
+               .body("artifact[0].url", Matchers.nullValue())
+               .body("artifact[0].snippets", Matchers.nullValue());
+
+        given().accept(MediaType.APPLICATION_JSON_VALUE)
+               .queryParam("storageId", STORAGE_SC_TEST)
+               .queryParam("repositoryId", REPOSITORY_RELEASES)
+               .queryParam("path",
+                           "org/carlspring/strongbox/searches/test-project/1.0.11.3/test-project-1.0.11.3.jar")
+               .when()
+               .get(getContextBaseUrl() + "/api/aql/snippets")
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .body("size()", Matchers.greaterThan(0));
+    }
+
+    @Test
+    public void testSearchWithUnknownField()
+        throws Exception
+    {
+        given().accept(MediaType.APPLICATION_JSON_VALUE)
+               .queryParam("query", String.format("storage:%s", STORAGE_SC_TEST))
+               .queryParam("fields", "coordinates,checksums")
+               .when()
+               .get(getContextBaseUrl() + "/api/aql")
+               .then()
+               .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
     @Test
     public void testBadAqlSyntaxRequest()
         throws Exception
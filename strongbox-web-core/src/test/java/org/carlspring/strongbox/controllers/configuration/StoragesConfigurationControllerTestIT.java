@@ -639,4 +639,54 @@ public class StoragesConfigurationControllerTestIT
         MatcherAssert.assertThat(Files.exists(Paths.get(storageBaseDir)), CoreMatchers.equalTo(false));
     }
 
+    @Test
+    public void testSaveBatch()
+    {
+        final String storageId = "storage-batch";
+
+        ConfigurationBatchForm batchForm = new ConfigurationBatchForm();
+        batchForm.getStorages().add(buildStorageForm(storageId));
+        batchForm.getRepositories().put(storageId, Lists.newArrayList(repositoryForm0, repositoryForm1));
+
+        String url = getContextBaseUrl() + "/batch";
+
+        givenCustom().contentType(MediaType.APPLICATION_JSON_VALUE)
+                     .accept(MediaType.APPLICATION_JSON_VALUE)
+                     .body(batchForm)
+                     .when()
+                     .post(url)
+                     .peek()
+                     .then()
+                     .statusCode(OK)
+                     .body(containsString(SUCCESSFUL_BATCH_SAVE));
+
+        Storage storage = getStorage(storageId);
+        assertNotNull(storage, "Failed to get storage (" + storageId + ")!");
+        assertEquals(2, storage.getRepositories().size());
+
+        givenCustom().contentType(MediaType.TEXT_PLAIN_VALUE)
+                     .accept(MediaType.TEXT_PLAIN_VALUE)
+                     .param("force", true)
+                     .when()
+                     .delete(getContextBaseUrl() + "/" + storageId)
+                     .then()
+                     .statusCode(OK);
+    }
+
+    @Test
+    public void testSaveBatchWithNonExistingStorage()
+    {
+        ConfigurationBatchForm batchForm = new ConfigurationBatchForm();
+        batchForm.getRepositories().put("non-existing-storage", Lists.newArrayList(repositoryForm0));
+
+        givenCustom().contentType(MediaType.APPLICATION_JSON_VALUE)
+                     .accept(MediaType.APPLICATION_JSON_VALUE)
+                     .body(batchForm)
+                     .when()
+                     .post(getContextBaseUrl() + "/batch")
+                     .peek()
+                     .then()
+                     .statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
 }
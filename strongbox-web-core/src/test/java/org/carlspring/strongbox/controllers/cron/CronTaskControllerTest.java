@@ -128,6 +128,24 @@ public class CronTaskControllerTest
                .statusCode(OK);
     }
 
+    @Test
+    public void progressOfUnknownCronTaskShouldNotBeFound()
+    {
+        given().accept(MediaType.APPLICATION_JSON_VALUE)
+               .when()
+               .get(getContextBaseUrl() + "/unknown-cron-task/progress")
+               .peek()
+               .then()
+               .statusCode(HttpStatus.NOT_FOUND.value());
+
+        given().accept(MediaType.APPLICATION_JSON_VALUE)
+               .when()
+               .post(getContextBaseUrl() + "/unknown-cron-task/cancel")
+               .peek()
+               .then()
+               .statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
     @Test
     public void testJavaCronTaskConfiguration()
     {
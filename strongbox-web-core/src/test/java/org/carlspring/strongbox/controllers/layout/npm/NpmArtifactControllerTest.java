@@ -3,6 +3,7 @@ package org.carlspring.strongbox.controllers.layout.npm;
 import org.carlspring.strongbox.artifact.coordinates.NpmArtifactCoordinates;
 import org.carlspring.strongbox.artifact.generator.NpmPackageGenerator;
 import org.carlspring.strongbox.config.IntegrationTest;
+import org.carlspring.strongbox.npm.NpmPackument;
 import org.carlspring.strongbox.providers.layout.NpmLayoutProvider;
 import org.carlspring.strongbox.rest.common.NpmRestAssuredBaseTest;
 import org.carlspring.strongbox.storage.repository.MutableRepository;
@@ -10,19 +11,30 @@ import org.carlspring.strongbox.storage.repository.NpmRepositoryFactory;
 import org.carlspring.strongbox.storage.repository.RepositoryPolicyEnum;
 
 import javax.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.zip.GZIPInputStream;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import static io.restassured.module.mockmvc.RestAssuredMockMvc.given;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @IntegrationTest
 public class NpmArtifactControllerTest
@@ -158,4 +170,112 @@ public class NpmArtifactControllerTest
                .header("Content-Length", equalTo(String.valueOf(Files.size(packagePath))));
     }
 
+    @Test
+    public void testViewAbbreviatedPackage()
+        throws Exception
+    {
+        NpmArtifactCoordinates coordinates = NpmArtifactCoordinates.of("@carlspring/npm-test-abbreviated", "1.0.0");
+        publish(coordinates);
+
+        String url = contextBaseUrl + "/storages/" + STORAGE0 + "/" + REPOSITORY_RELEASES + "/" + coordinates.getId();
+
+        given().header("User-Agent", "npm/*")
+               .header(HttpHeaders.ACCEPT, NpmPackument.ABBREVIATED_MEDIA_TYPE + "; q=1.0, application/json; q=0.8")
+               .when()
+               .get(url)
+               .peek()
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .header(HttpHeaders.CONTENT_TYPE, containsString(NpmPackument.ABBREVIATED_MEDIA_TYPE))
+               .header(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT))
+               .header(HttpHeaders.CONTENT_ENCODING, nullValue())
+               .body("name", equalTo(coordinates.getId()))
+               .body("versions.'1.0.0'.version", equalTo("1.0.0"))
+               .body("versions.'1.0.0'.dist", notNullValue())
+               .body("time", nullValue());
+
+        given().header("User-Agent", "npm/*")
+               .header(HttpHeaders.ACCEPT, "application/json")
+               .when()
+               .get(url)
+               .peek()
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .header(HttpHeaders.CONTENT_TYPE, containsString("application/json"))
+               .body("name", equalTo(coordinates.getId()))
+               .body("time", notNullValue());
+    }
+
+    @Test
+    public void testViewGzippedPackage()
+        throws Exception
+    {
+        NpmArtifactCoordinates coordinates = NpmArtifactCoordinates.of("@carlspring/npm-test-gzip", "1.0.0");
+        publish(coordinates);
+
+        String url = contextBaseUrl + "/storages/" + STORAGE0 + "/" + REPOSITORY_RELEASES + "/" + coordinates.getId();
+
+        byte[] body = given().header("User-Agent", "npm/*")
+                             .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+                             .when()
+                             .get(url)
+                             .then()
+                             .statusCode(HttpStatus.OK.value())
+                             .header(HttpHeaders.CONTENT_ENCODING, equalTo("gzip"))
+                             .header(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING))
+                             .extract()
+                             .asByteArray();
+
+        JsonNode packument;
+        try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(body)))
+        {
+            packument = new ObjectMapper().readTree(is);
+        }
+        assertEquals(coordinates.getId(), packument.get("name").asText());
+        assertTrue(packument.get("versions").has("1.0.0"));
+    }
+
+    @Test
+    public void testViewPackageAfterPublish()
+        throws Exception
+    {
+        NpmArtifactCoordinates coordinates = NpmArtifactCoordinates.of("@carlspring/npm-test-republish", "1.0.0");
+        publish(coordinates);
+
+        String url = contextBaseUrl + "/storages/" + STORAGE0 + "/" + REPOSITORY_RELEASES + "/" + coordinates.getId();
+
+        given().header("User-Agent", "npm/*")
+               .when()
+               .get(url)
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .body("versions.'1.0.0'.version", equalTo("1.0.0"))
+               .body("versions.'1.0.1'", nullValue());
+
+        // The cached packument is evicted when a new version is published.
+        publish(NpmArtifactCoordinates.of(coordinates.getId(), "1.0.1"));
+
+        given().header("User-Agent", "npm/*")
+               .when()
+               .get(url)
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .body("versions.'1.0.1'.version", equalTo("1.0.1"));
+    }
+
+    private void publish(NpmArtifactCoordinates coordinates)
+        throws Exception
+    {
+        Path publishJsonPath = packageGenerator.of(coordinates).buildPublishJson();
+
+        given().header("User-Agent", "npm/*")
+               .header("Content-Type", "application/json")
+               .body(Files.readAllBytes(publishJsonPath))
+               .when()
+               .put(contextBaseUrl + "/storages/" + STORAGE0 + "/" + REPOSITORY_RELEASES + "/" +
+                    coordinates.getId())
+               .then()
+               .statusCode(HttpStatus.OK.value());
+    }
+
 }
@@ -0,0 +1,149 @@
+package org.carlspring.strongbox.controllers.layout.nuget;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import ru.aristar.jnuget.Version;
+import ru.aristar.jnuget.files.NugetFormatException;
+import ru.aristar.jnuget.files.nuspec.NuspecFile;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class NupkgUploadTest
+{
+
+    private static final String PACKAGE_ID = "Org.Carlspring.Strongbox.Upload";
+
+    private static final String PACKAGE_VERSION = "1.0.0";
+
+    private static final int SMALL_ENTRY_SIZE = 64 * 1024;
+
+    private static final int LARGE_ENTRY_SIZE = 5 * 1024 * 1024;
+
+
+    @Test
+    public void testNuspecFirst()
+            throws Exception
+    {
+        byte[] nupkg = createNupkg(true, SMALL_ENTRY_SIZE);
+
+        assertUpload(nupkg);
+    }
+
+    @Test
+    public void testNuspecLast()
+            throws Exception
+    {
+        byte[] nupkg = createNupkg(false, SMALL_ENTRY_SIZE);
+
+        assertUpload(nupkg);
+    }
+
+    @Test
+    public void testOversizedLeadingEntry()
+            throws Exception
+    {
+        byte[] nupkg = createNupkg(false, LARGE_ENTRY_SIZE);
+
+        assertUpload(nupkg);
+    }
+
+    @Test
+    public void testPackageWithoutNuspec()
+            throws Exception
+    {
+        ByteArrayOutputStream nupkg = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(nupkg))
+        {
+            zos.putNextEntry(new ZipEntry("lib/net45/Library.dll"));
+            zos.write(new byte[SMALL_ENTRY_SIZE]);
+            zos.closeEntry();
+        }
+
+        try (NupkgUpload upload = NupkgUpload.read(new ByteArrayInputStream(nupkg.toByteArray())))
+        {
+            assertNull(upload.getNuspecFile());
+        }
+    }
+
+    private void assertUpload(byte[] nupkg)
+            throws IOException, NugetFormatException
+    {
+        try (NupkgUpload upload = NupkgUpload.read(new ByteArrayInputStream(nupkg)))
+        {
+            NuspecFile nuspecFile = upload.getNuspecFile();
+            assertNotNull(nuspecFile);
+            assertEquals(PACKAGE_ID, nuspecFile.getMetadata().id);
+            assertEquals(PACKAGE_VERSION, nuspecFile.getMetadata().version.toString());
+
+            assertArrayEquals(nupkg, IOUtils.toByteArray(upload.getContent()));
+        }
+    }
+
+    /**
+     * @param nuspecFirst whether the <code>.nuspec</code> is the first entry or the last one
+     * @param entrySize   the size of the (stored, so not compressed) library entry
+     */
+    private static byte[] createNupkg(boolean nuspecFirst,
+                                      int entrySize)
+            throws Exception
+    {
+        ByteArrayOutputStream nupkg = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(nupkg))
+        {
+            if (nuspecFirst)
+            {
+                addNuspec(zos);
+            }
+
+            byte[] library = new byte[entrySize];
+            new Random(entrySize).nextBytes(library);
+
+            CRC32 crc = new CRC32();
+            crc.update(library);
+
+            ZipEntry entry = new ZipEntry("lib/net45/Library.dll");
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(library.length);
+            entry.setCrc(crc.getValue());
+            zos.putNextEntry(entry);
+            zos.write(library);
+            zos.closeEntry();
+
+            if (!nuspecFirst)
+            {
+                addNuspec(zos);
+            }
+        }
+
+        return nupkg.toByteArray();
+    }
+
+    private static void addNuspec(ZipOutputStream zos)
+            throws Exception
+    {
+        NuspecFile nuspec = new NuspecFile();
+        NuspecFile.Metadata metadata = nuspec.getMetadata();
+        metadata.id = PACKAGE_ID;
+        metadata.version = Version.parse(PACKAGE_VERSION);
+        metadata.authors = "carlspring";
+        metadata.description = "Strongbox Nuget package for tests";
+
+        ByteArrayOutputStream nuspecContent = new ByteArrayOutputStream();
+        nuspec.saveTo(nuspecContent);
+
+        zos.putNextEntry(new ZipEntry(PACKAGE_ID + ".nuspec"));
+        zos.write(nuspecContent.toByteArray());
+        zos.closeEntry();
+    }
+
+}
@@ -0,0 +1,46 @@
+package org.carlspring.strongbox.forms.configuration;
+
+import javax.validation.Valid;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A set of storages and repositories to be saved as a single configuration change.
+ */
+public class ConfigurationBatchForm
+{
+
+    /**
+     * Storages to add or replace, along with their repositories.
+     */
+    @Valid
+    private List<StorageForm> storages = new ArrayList<>();
+
+    /**
+     * Repositories to add or update, by the id of their storage.
+     */
+    private Map<String, List<@Valid RepositoryForm>> repositories = new LinkedHashMap<>();
+
+    public List<StorageForm> getStorages()
+    {
+        return storages;
+    }
+
+    public void setStorages(final List<StorageForm> storages)
+    {
+        this.storages = storages;
+    }
+
+    public Map<String, List<RepositoryForm>> getRepositories()
+    {
+        return repositories;
+    }
+
+    public void setRepositories(final Map<String, List<RepositoryForm>> repositories)
+    {
+        this.repositories = repositories;
+    }
+
+}
@@ -22,6 +22,8 @@ public class StorageForm
 
     private String basedir;
 
+    private boolean deduplicate;
+
     @Valid
     private List<RepositoryForm> repositories;
 
@@ -45,6 +47,16 @@ public class StorageForm
         this.basedir = basedir;
     }
 
+    public boolean isDeduplicate()
+    {
+        return deduplicate;
+    }
+
+    public void setDeduplicate(final boolean deduplicate)
+    {
+        this.deduplicate = deduplicate;
+    }
+
     public List<RepositoryForm> getRepositories()
     {
         return repositories;